@@ -22,7 +22,7 @@
 package org.eclipse.tractusx.puris.backend;
 
 import lombok.extern.slf4j.Slf4j;
-import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcAdapterService;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcRegistrationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
@@ -32,16 +32,12 @@ import org.springframework.stereotype.Component;
 public class AssetCreatorCommandLineRunner implements CommandLineRunner {
 
     @Autowired
-    private EdcAdapterService edcAdapterService;
+    private EdcRegistrationService edcRegistrationService;
 
     @Override
-    public void run(String... args) throws Exception {
-        if (!edcAdapterService.registerAssetsInitially()) {
-            // retry
-            int retryDelaySeconds = 3;
-            log.warn("retrying initial asset registration in " + retryDelaySeconds + " seconds");
-            Thread.sleep(retryDelaySeconds * 1000);
-            log.warn("retry successful: " + edcAdapterService.registerAssetsInitially());
-        }
+    public void run(String... args) {
+        // registrations run in the background, their progress is reported at /edc/registrations
+        edcRegistrationService.registerInitially().thenAccept(success ->
+            log.info("Initial asset registration successful: " + success));
     }
 }
@@ -23,18 +23,24 @@ package org.eclipse.tractusx.puris.backend;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import jakarta.validation.ValidatorFactory;
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.config.Configuration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
-
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class PurisApplication {
 
+    public static final String DTR_EXECUTOR = "dtrExecutorService";
+
+    public static final String ERP_EXECUTOR = "erpExecutorService";
+
     public static void main(String[] args) {
         SpringApplication.run(PurisApplication.class, args);
     }
@@ -49,9 +55,38 @@ public class PurisApplication {
         return new ModelMapper();
     }
 
+    /**
+     * Executor for requests to partners, e.g. the refresh of reported data.
+     */
     @Bean
-    public ExecutorService getExecutorService() {
-        return Executors.newCachedThreadPool();
+    @Primary
+    public BoundedExecutorService getExecutorService(
+        @Value("${puris.executor.partnerrequests.maxconcurrent}") int maxConcurrent,
+        @Value("${puris.executor.maxqueued}") int maxQueued,
+        @Value("${puris.executor.maxperpartner}") int maxPerPartner) {
+        return new BoundedExecutorService("partner-requests", maxConcurrent, maxQueued, maxPerPartner);
+    }
+
+    /**
+     * Executor for registrations of assets, policies and shell descriptors.
+     */
+    @Bean(DTR_EXECUTOR)
+    public BoundedExecutorService getDtrExecutorService(
+        @Value("${puris.executor.registration.maxconcurrent}") int maxConcurrent,
+        @Value("${puris.executor.maxqueued}") int maxQueued,
+        @Value("${puris.executor.maxperpartner}") int maxPerPartner) {
+        return new BoundedExecutorService("registration", maxConcurrent, maxQueued, maxPerPartner);
+    }
+
+    /**
+     * Executor for requests to the ERP adapter.
+     */
+    @Bean(ERP_EXECUTOR)
+    public BoundedExecutorService getErpExecutorService(
+        @Value("${puris.executor.erpadapter.maxconcurrent}") int maxConcurrent,
+        @Value("${puris.executor.maxqueued}") int maxQueued,
+        @Value("${puris.executor.maxperpartner}") int maxPerPartner) {
+        return new BoundedExecutorService("erp-adapter", maxConcurrent, maxQueued, maxPerPartner);
     }
 
     @Bean
@@ -21,6 +21,7 @@
 package org.eclipse.tractusx.puris.backend.common.ddtr.logic;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
@@ -35,6 +36,7 @@ import org.springframework.stereotype.Service;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -55,6 +57,14 @@ public class DtrAdapterService {
     @Autowired
     private DigitalTwinMappingService digitalTwinMappingService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * The number of shell descriptors requested from the DTR at once.
+     */
+    private static final int SHELL_DESCRIPTOR_PAGE_SIZE = 100;
+
     @Autowired(required = false)
     public DtrAdapterService(@Nullable OAuth2ClientInterceptor oAuth2ClientInterceptor) {
         OkHttpClient.Builder clientBuilder = new OkHttpClient.Builder();
@@ -187,4 +197,36 @@ public class DtrAdapterService {
         }
         return null;
     }
+
+    /**
+     * Retrieves all shell descriptors that are registered at your dDTR, page by page.
+     *
+     * @return the shell descriptors by their id, or null if they could not be retrieved completely
+     */
+    public Map<String, JsonNode> getAllShellDescriptors() {
+        Map<String, JsonNode> descriptors = new HashMap<>();
+        String cursor = null;
+        do {
+            Map<String, String> queryParams = new HashMap<>();
+            queryParams.put("limit", String.valueOf(SHELL_DESCRIPTOR_PAGE_SIZE));
+            if (cursor != null) {
+                queryParams.put("cursor", cursor);
+            }
+            try (var response = sendDtrGetRequest(List.of("api", "v3", "shell-descriptors"), null, queryParams)) {
+                if (!response.isSuccessful() || response.body() == null) {
+                    log.warn("Failed to retrieve shell descriptors from DTR, result: " + response.code());
+                    return null;
+                }
+                JsonNode page = objectMapper.readTree(response.body().string());
+                for (var descriptor : page.path("result")) {
+                    descriptors.put(descriptor.path("id").asText(), descriptor);
+                }
+                cursor = page.path("paging_metadata").path("cursor").asText(null);
+            } catch (Exception e) {
+                log.error("Failed to retrieve shell descriptors from DTR", e);
+                return null;
+            }
+        } while (cursor != null && !cursor.isEmpty());
+        return descriptors;
+    }
 }
@@ -0,0 +1,433 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.ddtr.logic;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.PurisApplication;
+import org.eclipse.tractusx.puris.backend.common.ddtr.logic.util.DtrRequestBodyBuilder;
+import org.eclipse.tractusx.puris.backend.common.logic.service.LeaseService;
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
+import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.MaterialPartnerRelationRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.MaterialRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the shell descriptors at your dDTR in line with the masterdata.
+ * <p>
+ * Changes are collected per shell, i.e. per product twin and per material twin of a supplier partner,
+ * during the {@link VariablesService#getDtrSyncWindow() sync window}. When the window closes, the shell is
+ * written once with the current state of the database, no matter how many changes affected it. A change
+ * that arrives while the shell is being written opens a new window after the write has finished, so at
+ * most one request per shell is in progress at any time. Failed writes are retried a few times.
+ * <p>
+ * Additionally, all shell descriptors can regularly be fetched from the dDTR and compared with the
+ * masterdata. Deviating shells are updated and missing shells are registered. Only one replica of the
+ * backend does so, see {@link LeaseService}.
+ */
+@Service
+@Slf4j
+public class DtrSyncService {
+
+    @Autowired
+    private DtrAdapterService dtrAdapterService;
+
+    @Autowired
+    private DtrRequestBodyBuilder dtrRequestBodyBuilder;
+
+    @Autowired
+    private DigitalTwinMappingService digitalTwinMappingService;
+
+    @Autowired
+    private MaterialPartnerRelationRepository mprRepository;
+
+    @Autowired
+    private MaterialRepository materialRepository;
+
+    @Autowired
+    private VariablesService variablesService;
+
+    @Autowired
+    private LeaseService leaseService;
+
+    @Autowired
+    @Qualifier(PurisApplication.DTR_EXECUTOR)
+    private BoundedExecutorService executorService;
+
+    static final String LEASE = "dtr-reconciliation";
+
+    /**
+     * number of retries of a failed write of a shell
+     */
+    static final int MAX_RETRIES = 3;
+
+    /**
+     * pause before a failed write of a shell is retried (milliseconds)
+     */
+    static final long RETRY_DELAY = 2000;
+
+    /**
+     * Identifies a shell at the dDTR.
+     *
+     * @param ownMaterialNumber   the material number
+     * @param supplierPartnerUuid the supplier partner of a material twin, null for the product twin
+     */
+    private record ShellKey(String ownMaterialNumber, UUID supplierPartnerUuid) {
+    }
+
+    private enum State {
+        /**
+         * the window is open, the shell will be written when it closes
+         */
+        WAITING,
+        /**
+         * the shell is being written
+         */
+        RUNNING,
+        /**
+         * the shell is being written and was changed again in the meantime
+         */
+        RUNNING_CHANGED
+    }
+
+    private static class PendingShell {
+        State state = State.WAITING;
+        int failures;
+    }
+
+    /**
+     * The statistics of the synchronization.
+     *
+     * @param pending                  number of shells that are waiting or being written
+     * @param changes                  number of changes received
+     * @param coalesced                number of changes that were merged into a pending write
+     * @param written                  number of successful writes of shells
+     * @param failed                   number of failed writes of shells
+     * @param lastReconciliation       end of the last reconciliation with the dDTR
+     * @param lastReconciliationResult result of the last reconciliation with the dDTR
+     */
+    public record Statistics(int pending, long changes, long coalesced, long written, long failed,
+                             Date lastReconciliation, ReconciliationResult lastReconciliationResult) {
+    }
+
+    /**
+     * The number of shells affected by a reconciliation.
+     */
+    public record ReconciliationResult(int unchanged, int updated, int registered, int failed) {
+    }
+
+    private enum Outcome {UNCHANGED, UPDATED, REGISTERED, FAILED}
+
+    /**
+     * the shells with pending changes, guarded by itself
+     */
+    private final Map<ShellKey, PendingShell> pendingShells = new HashMap<>();
+
+    private final AtomicLong changes = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile Date lastReconciliation;
+    private volatile ReconciliationResult lastReconciliationResult;
+
+    /**
+     * Call this method when a MaterialPartnerRelation was created or updated. The product twin
+     * of the material and the material twin of the partner are written, if necessary.
+     *
+     * @param materialPartnerRelation the changed relation
+     * @param wasCustomer             true, if the partner was a customer before the change
+     */
+    public void relationChanged(MaterialPartnerRelation materialPartnerRelation, boolean wasCustomer) {
+        if (materialPartnerRelation.isPartnerBuysMaterial() || wasCustomer) {
+            productChanged(materialPartnerRelation.getMaterial());
+        }
+        if (materialPartnerRelation.isPartnerSuppliesMaterial()) {
+            materialChanged(materialPartnerRelation);
+        }
+    }
+
+    /**
+     * Call this method when the product twin of the given material has to be written,
+     * e.g. because the customers of the material changed.
+     *
+     * @param material the material
+     */
+    public void productChanged(Material material) {
+        changed(new ShellKey(material.getOwnMaterialNumber(), null));
+    }
+
+    /**
+     * Call this method when the material twin of the given supplier relation has to be written,
+     * e.g. because the partner's CX id of the material is known now.
+     *
+     * @param supplierPartnerRelation the MaterialPartnerRelation indicating a supplier for a given Material
+     */
+    public void materialChanged(MaterialPartnerRelation supplierPartnerRelation) {
+        changed(new ShellKey(supplierPartnerRelation.getMaterial().getOwnMaterialNumber(),
+            supplierPartnerRelation.getPartner().getUuid()));
+    }
+
+    private void changed(ShellKey key) {
+        changes.incrementAndGet();
+        synchronized (pendingShells) {
+            PendingShell shell = pendingShells.get(key);
+            if (shell != null) {
+                if (shell.state == State.RUNNING) {
+                    shell.state = State.RUNNING_CHANGED;
+                } else {
+                    coalesced.incrementAndGet();
+                }
+                return;
+            }
+            pendingShells.put(key, new PendingShell());
+        }
+        schedule(key, variablesService.getDtrSyncWindow());
+    }
+
+    private void schedule(ShellKey key, long delay) {
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> start(key));
+    }
+
+    private void start(ShellKey key) {
+        synchronized (pendingShells) {
+            pendingShells.get(key).state = State.RUNNING;
+        }
+        try {
+            executorService.execute(() -> finish(key, write(key)));
+        } catch (RejectedExecutionException e) {
+            finish(key, false);
+        }
+    }
+
+    private void finish(ShellKey key, boolean success) {
+        long delay;
+        synchronized (pendingShells) {
+            PendingShell shell = pendingShells.get(key);
+            shell.failures = success ? 0 : shell.failures + 1;
+            if (shell.state == State.RUNNING_CHANGED) {
+                delay = variablesService.getDtrSyncWindow();
+            } else if (!success && shell.failures <= MAX_RETRIES) {
+                delay = RETRY_DELAY;
+            } else {
+                if (!success) {
+                    log.warn("Gave up writing the shell of " + key + " to the DTR");
+                }
+                pendingShells.remove(key);
+                return;
+            }
+            shell.state = State.WAITING;
+        }
+        schedule(key, delay);
+    }
+
+    private boolean write(ShellKey key) {
+        boolean success;
+        try {
+            success = key.supplierPartnerUuid() == null ? writeProduct(key.ownMaterialNumber()) :
+                writeMaterial(new MaterialPartnerRelation.Key(key.ownMaterialNumber(), key.supplierPartnerUuid()));
+        } catch (Exception e) {
+            log.error("Failed to write the shell of " + key + " to the DTR", e);
+            success = false;
+        }
+        (success ? written : failed).incrementAndGet();
+        return success;
+    }
+
+    private boolean writeProduct(String ownMaterialNumber) {
+        var customers = mprRepository.findAllByMaterial_OwnMaterialNumberAndPartnerBuysMaterialIsTrue(ownMaterialNumber);
+        Material material = customers.isEmpty() ? materialRepository.findById(ownMaterialNumber).orElse(null) :
+            customers.get(0).getMaterial();
+        if (material == null || !material.isProductFlag()) {
+            return true;
+        }
+        Integer result = dtrAdapterService.updateProduct(material, customers);
+        if (result != null && result == 404) {
+            if (customers.isEmpty()) {
+                // there never was a product twin for this material, and there is no need for one
+                return true;
+            }
+            result = dtrAdapterService.registerProductAtDtr(material, customers);
+        }
+        log.info("Wrote product ShellDescriptor to DTR for " + ownMaterialNumber + " and " + customers.size() +
+            " customer partners. Result: " + result);
+        return result != null && result < 400;
+    }
+
+    private boolean writeMaterial(MaterialPartnerRelation.Key key) {
+        MaterialPartnerRelation supplierPartnerRelation = mprRepository.findById(key).orElse(null);
+        if (supplierPartnerRelation == null || !supplierPartnerRelation.isPartnerSuppliesMaterial() ||
+            !supplierPartnerRelation.getMaterial().isMaterialFlag()) {
+            return true;
+        }
+        if (supplierPartnerRelation.getPartnerCXNumber() == null) {
+            // the shell is written as soon as the partner's CX id has been fetched
+            log.info("Postponed material ShellDescriptor for " + key + " until the partner's CX id is known");
+            return true;
+        }
+        Integer result = dtrAdapterService.updateMaterialAtDtr(supplierPartnerRelation);
+        if (result != null && result == 404) {
+            result = dtrAdapterService.registerMaterialAtDtr(supplierPartnerRelation);
+        }
+        log.info("Wrote material ShellDescriptor to DTR for " + key.getOwnMaterialNumber() + " and supplier partner " +
+            supplierPartnerRelation.getPartner().getBpnl() + ". Result: " + result);
+        return result != null && result < 400;
+    }
+
+    @Scheduled(fixedDelayString = "${puris.dtr.reconciliation.interval}", initialDelayString = "${puris.dtr.reconciliation.interval}")
+    public void scheduledReconciliation() {
+        if (variablesService.isDtrReconciliationEnabled() &&
+            leaseService.tryAcquire(LEASE, variablesService.getDtrReconciliationInterval())) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Fetches all shell descriptors from the dDTR and compares them with the product twins and
+     * the material twins that the masterdata requires. Deviating shells are updated, missing
+     * shells are registered.
+     *
+     * @return the number of affected shells, or null if the shell descriptors could not be fetched
+     */
+    public ReconciliationResult reconcile() {
+        Map<String, JsonNode> descriptors = dtrAdapterService.getAllShellDescriptors();
+        if (descriptors == null) {
+            log.warn("Skipped reconciliation with DTR, the shell descriptors could not be fetched");
+            return null;
+        }
+        List<Outcome> outcomes = new ArrayList<>();
+        Map<Material, List<MaterialPartnerRelation>> customersByProduct = mprRepository.findAllByPartnerBuysMaterialIsTrue()
+            .stream()
+            .filter(mpr -> mpr.getMaterial().isProductFlag())
+            .collect(Collectors.groupingBy(MaterialPartnerRelation::getMaterial));
+        customersByProduct.forEach((material, customers) -> outcomes.add(reconcileProduct(descriptors, material, customers)));
+        mprRepository.findAllByPartnerSuppliesMaterialIsTrue()
+            .stream()
+            .filter(mpr -> mpr.getMaterial().isMaterialFlag() && mpr.getPartnerCXNumber() != null)
+            .forEach(mpr -> outcomes.add(reconcileMaterial(descriptors, mpr)));
+
+        var result = new ReconciliationResult(
+            Collections.frequency(outcomes, Outcome.UNCHANGED),
+            Collections.frequency(outcomes, Outcome.UPDATED),
+            Collections.frequency(outcomes, Outcome.REGISTERED),
+            Collections.frequency(outcomes, Outcome.FAILED));
+        lastReconciliation = new Date();
+        lastReconciliationResult = result;
+        log.info("Reconciled " + descriptors.size() + " shell descriptors with DTR: " + result);
+        return result;
+    }
+
+    private Outcome reconcileProduct(Map<String, JsonNode> descriptors, Material material, List<MaterialPartnerRelation> customers) {
+        try {
+            String twinId = digitalTwinMappingService.get(material).getProductTwinId();
+            var expected = dtrRequestBodyBuilder.createProductRegistrationRequestBody(material, twinId, customers);
+            return reconcile(descriptors.get(twinId), expected,
+                () -> dtrAdapterService.updateProduct(material, customers),
+                () -> dtrAdapterService.registerProductAtDtr(material, customers));
+        } catch (Exception e) {
+            log.error("Failed to reconcile product twin of " + material.getOwnMaterialNumber(), e);
+            return Outcome.FAILED;
+        }
+    }
+
+    private Outcome reconcileMaterial(Map<String, JsonNode> descriptors, MaterialPartnerRelation supplierPartnerRelation) {
+        try {
+            var expected = dtrRequestBodyBuilder.createMaterialRegistrationRequestBody(supplierPartnerRelation);
+            return reconcile(descriptors.get(supplierPartnerRelation.getPartnerCXNumber()), expected,
+                () -> dtrAdapterService.updateMaterialAtDtr(supplierPartnerRelation),
+                () -> dtrAdapterService.registerMaterialAtDtr(supplierPartnerRelation));
+        } catch (Exception e) {
+            log.error("Failed to reconcile material twin of " + supplierPartnerRelation.getKey(), e);
+            return Outcome.FAILED;
+        }
+    }
+
+    private Outcome reconcile(JsonNode actual, JsonNode expected, Supplier<Integer> update, Supplier<Integer> register) {
+        if (actual == null) {
+            Integer result = register.get();
+            return result != null && result < 400 ? Outcome.REGISTERED : Outcome.FAILED;
+        }
+        if (ShellContent.of(actual).equals(ShellContent.of(expected))) {
+            return Outcome.UNCHANGED;
+        }
+        Integer result = update.get();
+        return result != null && result < 400 ? Outcome.UPDATED : Outcome.FAILED;
+    }
+
+    /**
+     * The parts of a shell descriptor that are derived from the masterdata. Generated ids of the
+     * submodel descriptors and the order of the entries are ignored.
+     */
+    private record ShellContent(String globalAssetId, Set<List<String>> specificAssetIds, Set<List<String>> submodels) {
+
+        static ShellContent of(JsonNode descriptor) {
+            Set<List<String>> specificAssetIds = new HashSet<>();
+            for (var specificAssetId : descriptor.path("specificAssetIds")) {
+                List<String> entry = new ArrayList<>();
+                entry.add(specificAssetId.path("name").asText());
+                entry.add(specificAssetId.path("value").asText());
+                List<String> references = new ArrayList<>();
+                for (var key : specificAssetId.path("externalSubjectId").path("keys")) {
+                    references.add(key.path("value").asText());
+                }
+                Collections.sort(references);
+                entry.addAll(references);
+                specificAssetIds.add(entry);
+            }
+            Set<List<String>> submodels = new HashSet<>();
+            for (var submodel : descriptor.path("submodelDescriptors")) {
+                List<String> entry = new ArrayList<>();
+                entry.add(submodel.path("semanticId").path("keys").path(0).path("value").asText());
+                for (var endpoint : submodel.path("endpoints")) {
+                    entry.add(endpoint.path("protocolInformation").path("href").asText());
+                    entry.add(endpoint.path("protocolInformation").path("subprotocolBody").asText());
+                }
+                submodels.add(entry);
+            }
+            return new ShellContent(descriptor.path("globalAssetId").asText(), specificAssetIds, submodels);
+        }
+    }
+
+    /**
+     * @return the statistics of the synchronization
+     */
+    public Statistics getStatistics() {
+        int pending;
+        synchronized (pendingShells) {
+            pending = pendingShells.size();
+        }
+        return new Statistics(pending, changes.get(), coalesced.get(), written.get(), failed.get(),
+            lastReconciliation, lastReconciliationResult);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.domain.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Version;
+import lombok.*;
+
+import java.util.Date;
+
+/**
+ * Lease on a background workload that must only run on one backend replica at a time.
+ * <p>
+ * The lease is held by {@link #getOwner()} until {@link #getExpiresAt()} (milliseconds since epoch).
+ * Concurrent attempts to take over the lease are detected by the version.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Lease {
+
+    /**
+     * name of the workload
+     */
+    @Id
+    private String name;
+
+    private String owner;
+
+    private long expiresAt;
+
+    @Version
+    private Long version;
+
+    @Override
+    public String toString() {
+        return "Lease{" +
+            "name='" + name + '\'' +
+            ", owner='" + owner + '\'' +
+            ", expiresAt=" + new Date(expiresAt) +
+            '}';
+    }
+}
@@ -25,10 +25,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.Response;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.CatalogCache;
 import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcAdapterService;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcRegistrationService;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdrSessionCache;
 import org.eclipse.tractusx.puris.backend.common.util.PatternStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -49,11 +53,20 @@ public class EdcController {
     private EdcAdapterService edcAdapter;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private EdrSessionCache edrSessionCache;
+    @Autowired
+    private CatalogCache catalogCache;
+    @Autowired
+    private EdcRegistrationService edcRegistrationService;
 
     private static final String CATALOG = "catalog";
     private static final String ASSETS = "assets";
     private static final String CONTRACTNEGOTIATIONS = "contractnegotiations";
     private static final String TRANSFERS = "transfers";
+    private static final String EDR_CACHE = "edr-cache";
+    private static final String CATALOG_CACHE = "catalog-cache";
+    private static final String REGISTRATIONS = "registrations";
 
 
     /**
@@ -200,6 +213,54 @@ public class EdcController {
         }
     }
 
+    /**
+     * Retrieves the statistics of the cache that keeps EDRs
+     * of open transfers for reuse.
+     *
+     * @return the number of cached sessions, hits, misses, refreshes and evictions
+     */
+    @GetMapping(EDR_CACHE)
+    public ResponseEntity<EdrSessionCache.Statistics> getEdrCacheStatistics() {
+        return ResponseEntity.ok(edrSessionCache.getStatistics());
+    }
+
+    /**
+     * Retrieves the statistics and the content of the cache that keeps
+     * catalogs received from partners for further negotiations.
+     *
+     * @return the number of cached catalogs, hits, misses, coalesced requests and the cached catalogs
+     */
+    @GetMapping(CATALOG_CACHE)
+    public ResponseEntity<CatalogCache.Statistics> getCatalogCacheStatistics() {
+        return ResponseEntity.ok(catalogCache.getStatistics());
+    }
+
+    /**
+     * Removes cached catalogs, so that they are requested from the partner again
+     * for the next negotiation.
+     *
+     * @param partnerBpnl bpnl of the partner whose catalogs are removed, all catalogs are removed if omitted.
+     * @return the number of removed catalogs
+     */
+    @DeleteMapping(CATALOG_CACHE)
+    public ResponseEntity<Integer> flushCatalogCache(@RequestParam(required = false) String partnerBpnl) {
+        if (partnerBpnl != null && !PatternStore.BPNL_PATTERN.matcher(partnerBpnl).matches()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(catalogCache.invalidateAll(partnerBpnl));
+    }
+
+    /**
+     * Retrieves the progress of the registrations of assets, policy definitions and
+     * contract definitions at the control plane, both the initial ones and those for the partners.
+     *
+     * @return the progress per batch of registrations
+     */
+    @GetMapping(REGISTRATIONS)
+    public ResponseEntity<List<EdcRegistrationService.Status>> getRegistrationStatuses() {
+        return ResponseEntity.ok(edcRegistrationService.getStatuses());
+    }
+
     private String exceptionMessageGenerator(String endpointName) {
         return "Exception in " + endpointName + " endpoint ";
     }
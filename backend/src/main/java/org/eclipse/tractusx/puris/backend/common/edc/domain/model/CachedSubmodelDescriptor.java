@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.domain.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Stores the submodel endpoint data that was resolved from a partner's DTR for
+ * a MaterialPartnerRelation, a submodel semanticId and a direction, so that it
+ * survives restarts of the application.
+ */
+@Entity
+@IdClass(CachedSubmodelDescriptor.Key.class)
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class CachedSubmodelDescriptor {
+
+    @Id
+    private String ownMaterialNumber;
+
+    @Id
+    private UUID partnerUuid;
+
+    @Id
+    private String semanticId;
+
+    /**
+     * The name of the DirectionCharacteristic or an empty String,
+     * if the submodel is not direction-sensitive.
+     */
+    @Id
+    private String directionCharacteristic;
+
+    private String assetId;
+
+    private String dspUrl;
+
+    private String href;
+
+    private long fetchedAt;
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    @ToString
+    public static class Key implements Serializable {
+        private String ownMaterialNumber;
+        private UUID partnerUuid;
+        private String semanticId;
+        private String directionCharacteristic;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the catalogs received from partners per dspUrl, partner and filter.
+ * <p>
+ * Partner catalogs rarely change, but every negotiation starts with a catalog request that makes a round trip
+ * through both connectors. Catalogs are therefore reused until the configured time to live has passed or a
+ * negotiation based on them has failed. Concurrent requests for the same catalog share a single request to
+ * the partner.
+ */
+@Service
+@Slf4j
+public class CatalogCache {
+
+    @Autowired
+    private VariablesService variablesService;
+
+    /**
+     * Identifies a catalog by the dspUrl it was requested from, the partner and the filter of the request.
+     */
+    public record Key(String dspUrl, String partnerBpnl, Map<String, String> filter) {
+
+        public Key {
+            filter = filter == null ? Map.of() : Map.copyOf(filter);
+        }
+    }
+
+    private record Entry(JsonNode catalog, long fetchedAt) {
+    }
+
+    /**
+     * Requests a catalog from the partner.
+     */
+    @FunctionalInterface
+    public interface CatalogRequest {
+        JsonNode send() throws IOException;
+    }
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Map<Key, CompletableFuture<JsonNode>> pendingRequests = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Snapshot of a cached catalog.
+     */
+    public record CachedCatalog(String dspUrl, String partnerBpnl, Map<String, String> filter, Date fetchedAt) {
+    }
+
+    /**
+     * Snapshot of the cache's counters and content.
+     */
+    public record Statistics(int size, long hits, long misses, long coalesced, List<CachedCatalog> catalogs) {
+    }
+
+    /**
+     * Returns the cached catalog for the given key. If there is none or it has expired, the catalog is requested
+     * from the partner. If another thread is already requesting the same catalog, its result is awaited instead.
+     * Failed requests are not cached.
+     *
+     * @param key     the key
+     * @param request requests the catalog from the partner
+     * @return a copy of the catalog that the caller may modify
+     * @throws IOException if the request to the partner failed
+     */
+    public JsonNode get(Key key, CatalogRequest request) throws IOException {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.fetchedAt() + variablesService.getCatalogCacheTtl() > System.currentTimeMillis()) {
+            hits.incrementAndGet();
+            return entry.catalog().deepCopy();
+        }
+        CompletableFuture<JsonNode> future = new CompletableFuture<>();
+        CompletableFuture<JsonNode> pendingRequest = pendingRequests.putIfAbsent(key, future);
+        if (pendingRequest != null) {
+            coalesced.incrementAndGet();
+            return await(pendingRequest).deepCopy();
+        }
+        misses.incrementAndGet();
+        try {
+            JsonNode catalog = request.send();
+            entries.put(key, new Entry(catalog, System.currentTimeMillis()));
+            future.complete(catalog);
+            return catalog.deepCopy();
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingRequests.remove(key, future);
+        }
+    }
+
+    /**
+     * Removes the catalog for the given key, e.g. after a negotiation based on it has failed.
+     *
+     * @param key the key
+     */
+    public void invalidate(Key key) {
+        if (entries.remove(key) != null) {
+            log.debug("Invalidated cached catalog {}", key);
+        }
+    }
+
+    /**
+     * Removes all catalogs of the given partner or all catalogs, if no partner is given.
+     *
+     * @param partnerBpnl the partner's BPNL, may be null
+     * @return the number of removed catalogs
+     */
+    public int invalidateAll(String partnerBpnl) {
+        int size = entries.size();
+        if (partnerBpnl == null) {
+            entries.clear();
+        } else {
+            entries.keySet().removeIf(key -> key.partnerBpnl().equals(partnerBpnl));
+        }
+        return Math.max(0, size - entries.size());
+    }
+
+    public Statistics getStatistics() {
+        List<CachedCatalog> catalogs = entries.entrySet().stream()
+            .map(entry -> new CachedCatalog(entry.getKey().dspUrl(), entry.getKey().partnerBpnl(),
+                entry.getKey().filter(), new Date(entry.getValue().fetchedAt())))
+            .toList();
+        return new Statistics(catalogs.size(), hits.get(), misses.get(), coalesced.get(), catalogs);
+    }
+
+    private static JsonNode await(CompletableFuture<JsonNode> pendingRequest) throws IOException {
+        try {
+            return pendingRequest.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while awaiting catalog", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("Catalog request failed", e.getCause());
+        }
+    }
+}
@@ -34,11 +34,14 @@ import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.regex.Pattern;
 
 /**
@@ -61,6 +64,21 @@ public class EdcAdapterService {
     @Autowired
     private JsonLdUtils jsonLdUtils;
 
+    @Autowired
+    private EdrSessionCache edrSessionCache;
+
+    @Autowired
+    private EdcStateTracker edcStateTracker;
+
+    @Autowired
+    private SubmodelDescriptorCache submodelDescriptorCache;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private NegotiationCoalescer negotiationCoalescer;
+
     private final Pattern urlPattern = PatternStore.URL_PATTERN;
 
     public EdcAdapterService(ObjectMapper objectMapper) {
@@ -134,195 +152,154 @@ public class EdcAdapterService {
     }
 
     /**
-     * Call this method at startup to register the necessary request and
-     * response apis. In case you are using the framework agreement feature,
-     * the framework agreement policy will be registered as well here.
+     * An asset, policy definition or contract definition to be registered at your control plane.
      *
-     * @return true if all registrations were successful, otherwise false
+     * @param resource    the resource of the management api, e.g. {@link #ASSETS}
+     * @param description describes the registration in log messages
+     * @param body        the request body, its "@id" is the id of the registered object
      */
-    public boolean registerAssetsInitially() {
-        boolean result;
-        log.info("Registration of framework agreement policy successful {}", (result = createContractPolicy()));
-        boolean assetRegistration;
-        log.info("Registration of DTR Asset successful {}", (assetRegistration = registerDtrAsset()));
-        result &= assetRegistration;
-        log.info("Registration of ItemStock 2.0.0 submodel successful {}", (assetRegistration = registerSubmodelAsset(
-            variablesService.getItemStockSubmodelApiAssetId(),
-            variablesService.getItemStockSubmodelEndpoint(),
-            AssetType.ITEM_STOCK_SUBMODEL.URN_SEMANTIC_ID
-        )));
-        result &= assetRegistration;
-        log.info("Registration of Planned Production 2.0.0 submodel successful {}", (assetRegistration = registerSubmodelAsset(
-            variablesService.getProductionSubmodelApiAssetId(),
-            variablesService.getProductionSubmodelEndpoint(),
-            AssetType.PRODUCTION_SUBMODEL.URN_SEMANTIC_ID
-        )));
-        result &= assetRegistration;
-        log.info("Registration of Short Term Material Demand 1.0.0 submodel successful {}", (assetRegistration = registerSubmodelAsset(
-            variablesService.getDemandSubmodelApiAssetId(),
-            variablesService.getDemandSubmodelEndpoint(),
-            AssetType.DEMAND_SUBMODEL.URN_SEMANTIC_ID
-        )));
-        result &= assetRegistration;
-        log.info("Registration of Delivery Information 2.0.0 submodel successful {}", (assetRegistration = registerSubmodelAsset(
-            variablesService.getDeliverySubmodelApiAssetId(),
-            variablesService.getDeliverySubmodelEndpoint(),
-            AssetType.DELIVERY_SUBMODEL.URN_SEMANTIC_ID
-        )));
-        result &= assetRegistration;
-        log.info("Registration of Demand and Capacity Notification 2.0.0 asset successful {}", (assetRegistration = registerNotificationAsset(
-            variablesService.getNotificationApiAssetId(),
-            variablesService.getNotificationEndpoint()
-        )));
-        log.info("Registration of Days of Supply 2.0.0 submodel successful {}", (assetRegistration = registerSubmodelAsset(
-            variablesService.getDaysOfSupplySubmodelApiAssetId(),
-            variablesService.getDaysOfSupplySubmodelEndpoint(),
-            AssetType.DAYS_OF_SUPPLY.URN_SEMANTIC_ID
-        )));
-        log.info("Registration of PartTypeInformation 1.0.0 submodel successful {}", (assetRegistration = registerPartTypeInfoSubmodelAsset()));
-        result &= assetRegistration;
-        return result;
+    public record EdcRegistration(String resource, String description, JsonNode body) {
+
+        public String id() {
+            return body.get("@id").asText();
+        }
     }
 
+    public static final String ASSETS = "assets";
+
+    public static final String POLICY_DEFINITIONS = "policydefinitions";
+
+    public static final String CONTRACT_DEFINITIONS = "contractdefinitions";
 
     /**
-     * Utility method to register policy- and contract-definitions for both the
-     * REQUEST and the RESPONSE-Api specifically for the given partner.
+     * Returns the registrations of the request and response apis that are necessary
+     * at startup, including the framework agreement policy. They don't depend on each other.
      *
-     * @param partner The partner
-     * @return true, if all registrations ran successfully
+     * @return the registrations
      */
-    public boolean createPolicyAndContractDefForPartner(Partner partner) {
-        boolean result = createBpnlAndMembershipPolicyDefinitionForPartner(partner);
-        result &= createSubmodelContractDefinitionForPartner(AssetType.ITEM_STOCK_SUBMODEL.URN_SEMANTIC_ID, variablesService.getItemStockSubmodelApiAssetId(), partner);
-        result &= createSubmodelContractDefinitionForPartner(AssetType.PRODUCTION_SUBMODEL.URN_SEMANTIC_ID, variablesService.getProductionSubmodelApiAssetId(), partner);
-        result &= createSubmodelContractDefinitionForPartner(AssetType.DEMAND_SUBMODEL.URN_SEMANTIC_ID, variablesService.getDemandSubmodelApiAssetId(), partner);
-        result &= createSubmodelContractDefinitionForPartner(AssetType.DELIVERY_SUBMODEL.URN_SEMANTIC_ID, variablesService.getDeliverySubmodelApiAssetId(), partner);
-        result &= createSubmodelContractDefinitionForPartner(AssetType.NOTIFICATION.URN_SEMANTIC_ID, variablesService.getNotificationApiAssetId(), partner);
-        result &= createSubmodelContractDefinitionForPartner(AssetType.DAYS_OF_SUPPLY.URN_SEMANTIC_ID, variablesService.getDaysOfSupplySubmodelApiAssetId(), partner);
-        result &= createDtrContractDefinitionForPartner(partner);
-        return createSubmodelContractDefinitionForPartner(AssetType.PART_TYPE_INFORMATION_SUBMODEL.URN_SEMANTIC_ID, variablesService.getPartTypeSubmodelApiAssetId(), partner) && result;
-    }
-
-    private boolean createSubmodelContractDefinitionForPartner(String semanticId, String assetId, Partner partner) {
-        var body = edcRequestBodyBuilder.buildSubmodelContractDefinitionWithBpnRestrictedPolicy(assetId, partner);
-        try (var response = sendPostRequest(body, List.of("v3", "contractdefinitions"))) {
-            if (!response.isSuccessful()) {
-                log.warn("Contract definition registration failed for partner " + partner.getBpnl() + " and {} Submodel", semanticId);
-                if (response.body() != null) {
-                    log.warn("Response: \n" + response.body().string());
-                }
-                return false;
-            }
-            return true;
-        } catch (Exception e) {
-            log.error("Contract definition registration failed for partner " + partner.getBpnl() + " and {} Submodel", semanticId);
-            return false;
-        }
-    }
-
-    private boolean createDtrContractDefinitionForPartner(Partner partner) {
-        var body = edcRequestBodyBuilder.buildDtrContractDefinitionForPartner(partner);
-        try (var response = sendPostRequest(body, List.of("v3", "contractdefinitions"))) {
-            if (!response.isSuccessful()) {
-                log.warn("Contract definition registration failed for partner " + partner.getBpnl() + " and DTR");
-                return false;
-            }
-            return true;
-        } catch (Exception e) {
-            log.error("Contract definition registration failed for partner " + partner.getBpnl() + " and DTR", e);
-            return false;
-        }
+    public List<EdcRegistration> getInitialRegistrations() {
+        return List.of(
+            new EdcRegistration(POLICY_DEFINITIONS, "framework agreement policy", edcRequestBodyBuilder.buildFrameworkPolicy()),
+            new EdcRegistration(ASSETS, "DTR Asset", edcRequestBodyBuilder.buildDtrRegistrationBody()),
+            new EdcRegistration(ASSETS, "ItemStock 2.0.0 submodel", edcRequestBodyBuilder.buildSubmodelRegistrationBody(
+                variablesService.getItemStockSubmodelApiAssetId(),
+                variablesService.getItemStockSubmodelEndpoint(),
+                AssetType.ITEM_STOCK_SUBMODEL.URN_SEMANTIC_ID
+            )),
+            new EdcRegistration(ASSETS, "Planned Production 2.0.0 submodel", edcRequestBodyBuilder.buildSubmodelRegistrationBody(
+                variablesService.getProductionSubmodelApiAssetId(),
+                variablesService.getProductionSubmodelEndpoint(),
+                AssetType.PRODUCTION_SUBMODEL.URN_SEMANTIC_ID
+            )),
+            new EdcRegistration(ASSETS, "Short Term Material Demand 1.0.0 submodel", edcRequestBodyBuilder.buildSubmodelRegistrationBody(
+                variablesService.getDemandSubmodelApiAssetId(),
+                variablesService.getDemandSubmodelEndpoint(),
+                AssetType.DEMAND_SUBMODEL.URN_SEMANTIC_ID
+            )),
+            new EdcRegistration(ASSETS, "Delivery Information 2.0.0 submodel", edcRequestBodyBuilder.buildSubmodelRegistrationBody(
+                variablesService.getDeliverySubmodelApiAssetId(),
+                variablesService.getDeliverySubmodelEndpoint(),
+                AssetType.DELIVERY_SUBMODEL.URN_SEMANTIC_ID
+            )),
+            new EdcRegistration(ASSETS, "Demand and Capacity Notification 2.0.0 asset", edcRequestBodyBuilder.buildNotificationRegistrationBody(
+                variablesService.getNotificationApiAssetId(),
+                variablesService.getNotificationEndpoint()
+            )),
+            new EdcRegistration(ASSETS, "Days of Supply 2.0.0 submodel", edcRequestBodyBuilder.buildSubmodelRegistrationBody(
+                variablesService.getDaysOfSupplySubmodelApiAssetId(),
+                variablesService.getDaysOfSupplySubmodelEndpoint(),
+                AssetType.DAYS_OF_SUPPLY.URN_SEMANTIC_ID
+            )),
+            new EdcRegistration(ASSETS, "PartTypeInformation 1.0.0 submodel", edcRequestBodyBuilder.buildPartTypeInfoSubmodelRegistrationBody())
+        );
     }
 
     /**
-     * Registers a policy definition that evaluates to true in case all the following conditions apply:
+     * Returns the registration of the policy definition that evaluates to true in case all the following conditions apply:
      * 1. The BPNL of the requesting connector is equal to the BPNL of the partner
      * 2. There's a CX membership credential present
      *
      * @param partner The partner to create the policy for
-     * @return true, if registration ran successfully
+     * @return the registration
      */
-    private boolean createBpnlAndMembershipPolicyDefinitionForPartner(Partner partner) {
-        var body = edcRequestBodyBuilder.buildBpnAndMembershipRestrictedPolicy(partner);
-        try (var response = sendPostRequest(body, List.of("v3", "policydefinitions"))) {
-            if (!response.isSuccessful()) {
-                log.warn("Policy Registration failed");
-                if (response.body() != null) {
-                    log.warn("Response: \n" + response.body().string());
-                }
-                return false;
-            }
-            return true;
-        } catch (Exception e) {
-            log.error("Failed to register bpnl and membership policy definition for partner " + partner.getBpnl(), e);
-            return false;
+    public EdcRegistration getPartnerPolicyRegistration(Partner partner) {
+        return new EdcRegistration(POLICY_DEFINITIONS, "bpnl and membership policy of partner " + partner.getBpnl(),
+            edcRequestBodyBuilder.buildBpnAndMembershipRestrictedPolicy(partner));
+    }
+
+    /**
+     * Returns the registrations of the contract definitions for both the REQUEST and the
+     * RESPONSE-Api specifically for the given partner. They refer to the partner's policy definition.
+     *
+     * @param partner The partner
+     * @return the registrations
+     */
+    public List<EdcRegistration> getPartnerContractDefinitionRegistrations(Partner partner) {
+        List<EdcRegistration> registrations = new ArrayList<>();
+        for (var entry : List.of(
+            Map.entry(AssetType.ITEM_STOCK_SUBMODEL, variablesService.getItemStockSubmodelApiAssetId()),
+            Map.entry(AssetType.PRODUCTION_SUBMODEL, variablesService.getProductionSubmodelApiAssetId()),
+            Map.entry(AssetType.DEMAND_SUBMODEL, variablesService.getDemandSubmodelApiAssetId()),
+            Map.entry(AssetType.DELIVERY_SUBMODEL, variablesService.getDeliverySubmodelApiAssetId()),
+            Map.entry(AssetType.NOTIFICATION, variablesService.getNotificationApiAssetId()),
+            Map.entry(AssetType.DAYS_OF_SUPPLY, variablesService.getDaysOfSupplySubmodelApiAssetId()),
+            Map.entry(AssetType.PART_TYPE_INFORMATION_SUBMODEL, variablesService.getPartTypeSubmodelApiAssetId()))) {
+            registrations.add(new EdcRegistration(CONTRACT_DEFINITIONS,
+                "contract definition of partner " + partner.getBpnl() + " and " + entry.getKey().URN_SEMANTIC_ID,
+                edcRequestBodyBuilder.buildSubmodelContractDefinitionWithBpnRestrictedPolicy(entry.getValue(), partner)));
         }
+        registrations.add(new EdcRegistration(CONTRACT_DEFINITIONS, "contract definition of partner " + partner.getBpnl() + " and DTR",
+            edcRequestBodyBuilder.buildDtrContractDefinitionForPartner(partner)));
+        return registrations;
     }
 
     /**
-     * Registers the framework agreement policy definition
+     * Queries which of the given objects are already registered at your control plane
+     * in one single request.
      *
-     * @return true, if registration ran successfully
+     * @param resource the resource of the management api, e.g. {@link #ASSETS}
+     * @param ids      the ids of the objects
+     * @return the ids of the objects that are already registered
+     * @throws IOException If the connection to your control plane fails or the request was not successful
      */
-    private boolean createContractPolicy() {
-        var body = edcRequestBodyBuilder.buildFrameworkPolicy();
-        try (var response = sendPostRequest(body, List.of("v3", "policydefinitions"))) {
-            if (!response.isSuccessful()) {
-                if (response.code() == 409) {
-                    log.info("Framework agreement policy definition already existed");
-                    return true;
-                }
-                log.warn("Framework Policy Registration failed");
-                if (response.body() != null) {
-                    log.warn("Response: \n" + response.body().string());
+    public Set<String> findRegisteredIds(String resource, Collection<String> ids) throws IOException {
+        try (var response = sendPostRequest(edcRequestBodyBuilder.buildQuerySpecForIds(ids), List.of("v3", resource, "request"))) {
+            if (!response.isSuccessful() || response.body() == null) {
+                throw new IOException("Querying " + resource + " failed with status code " + response.code());
+            }
+            Set<String> registeredIds = new HashSet<>();
+            for (var registered : objectMapper.readTree(response.body().string())) {
+                if (registered.hasNonNull("@id")) {
+                    registeredIds.add(registered.get("@id").asText());
                 }
-                return false;
             }
-            return true;
-        } catch (Exception e) {
-            log.error("Failed to register Framework Policy", e);
-            return false;
+            return registeredIds;
         }
     }
 
-
-    private boolean registerDtrAsset() {
-        var body = edcRequestBodyBuilder.buildDtrRegistrationBody();
-        return sendAssetRegistrationRequest(body, "DTR");
-    }
-
-    private boolean registerPartTypeInfoSubmodelAsset() {
-        var body = edcRequestBodyBuilder.buildPartTypeInfoSubmodelRegistrationBody();
-        return sendAssetRegistrationRequest(body, variablesService.getPartTypeSubmodelApiAssetId());
-    }
-
-    private boolean registerSubmodelAsset(String assetId, String endpoint, String semanticId) {
-        var body = edcRequestBodyBuilder.buildSubmodelRegistrationBody(assetId, endpoint, semanticId);
-        return sendAssetRegistrationRequest(body, assetId);
-    }
-
-    private boolean registerNotificationAsset(String assetId, String endpoint) {
-        var body = edcRequestBodyBuilder.buildNotificationRegistrationBody(assetId, endpoint);
-        return sendAssetRegistrationRequest(body, assetId);
-    }
-
-    private boolean sendAssetRegistrationRequest(JsonNode body, String assetId) {
-        try (var response = sendPostRequest(body, List.of("v3", "assets"))) {
+    /**
+     * Registers the given asset, policy definition or contract definition at your control plane.
+     *
+     * @param registration the registration
+     * @return true, if the registration was successful or the object already existed
+     */
+    public boolean register(EdcRegistration registration) {
+        try (var response = sendPostRequest(registration.body(), List.of("v3", registration.resource()))) {
             if (!response.isSuccessful()) {
                 if (response.code() == 409) {
-                    log.info("Asset {} already existed", assetId);
+                    log.info("{} already existed", registration.description());
                     return true;
                 }
-                log.warn("Asset registration failed for {}", assetId);
+                log.warn("Registration of {} failed with status code {}", registration.description(), response.code());
                 if (response.body() != null) {
                     log.warn("Response: \n" + response.body().string());
                 }
                 return false;
             }
+            log.info("Registration of {} successful", registration.description());
             return true;
         } catch (Exception e) {
-            log.error("Failed to register {} Asset", assetId, e);
+            log.error("Failed to register {}", registration.description(), e);
             return false;
         }
     }
@@ -347,16 +324,21 @@ public class EdcAdapterService {
      * @param dspUrl      The dspUrl of your partner
      * @param partnerBpnl The bpnl of your partner
      * @param filter      Map of key (leftOperand) and values (rightOperand) to use as filterExpression with equal operand
-     * @return The full catalog
-     * @throws IOException If the connection to the partners control plane fails
+     * @return The full catalog, possibly from the catalog cache
+     * @throws IOException If the connection to the partners control plane fails or the request was not successful
      */
     public JsonNode getCatalog(String dspUrl, String partnerBpnl, Map<String, String> filter) throws IOException {
-        try (var response = getCatalogResponse(dspUrl, partnerBpnl, filter)) {
-            JsonNode responseNode = objectMapper.readTree(response.body().string());
-            log.debug("Got Catalog response {}", responseNode.toPrettyString());
-            return responseNode;
-        }
-
+        return catalogCache.get(new CatalogCache.Key(dspUrl, partnerBpnl, filter), () -> {
+            try (var response = getCatalogResponse(dspUrl, partnerBpnl, filter)) {
+                String responseBody = response.body().string();
+                if (!response.isSuccessful()) {
+                    throw new IOException("Catalog request to " + dspUrl + " failed with status " + response.code() + ": " + responseBody);
+                }
+                JsonNode responseNode = objectMapper.readTree(responseBody);
+                log.debug("Got Catalog response {}", responseNode.toPrettyString());
+                return responseNode;
+            }
+        });
     }
 
     /**
@@ -539,6 +521,8 @@ public class EdcAdapterService {
             return null;
         }
         boolean failed = true;
+        boolean edrRejected = false;
+        EdrSessionCache.EdrSession edrSession = null;
         String partnerDspUrl = partner.getEdcUrl();
         var assetId = switch (type) {
             case NOTIFICATION -> variablesService.getNotificationApiAssetId();
@@ -555,38 +539,34 @@ public class EdcAdapterService {
                     return postNotificationToPartner(partner, type, payload, --retries);
                 }
             }
-            // Request EdrToken
-            var transferResp = initiateProxyPullTransfer(partner, contractId, partnerDspUrl);
-            log.debug("Transfer Request {}", transferResp.toPrettyString());
-            String transferId = transferResp.get("@id").asText();
-            // try proxy pull and terminate request
-            try {
-                EdrDto edrDto = getAndAwaitEdrDto(transferId);
-                log.info("Received EDR data for " + assetId + " with " + partner.getEdcUrl());
-                if (edrDto == null) {
-                    log.error("Failed to obtain EDR data for " + assetId + " with " + partner.getEdcUrl());
-                    return doNotificationPostRequest(type, partner, payload, --retries);
-                }
-                try (var response = postProxyPullRequest(edrDto.endpoint(), edrDto.authKey(), edrDto.authCode(), new ObjectMapper().writeValueAsString(payload))) {
-                    if (response.isSuccessful()) {
-                        String responseString = response.body().string();
-                        failed = false;
-                        return objectMapper.readTree(responseString);
-                    }
-                    log.info("Failed to post Notification to Partner.");
-                }
-            } finally {
-                if (transferId != null) {
-                    terminateTransfer(transferId);
+            // Request EdrToken or reuse an open transfer
+            edrSession = acquireEdrSession(partner, assetId, contractId, partnerDspUrl);
+            if (edrSession == null) {
+                log.error("Failed to obtain EDR data for " + assetId + " with " + partner.getEdcUrl());
+                return doNotificationPostRequest(type, partner, payload, --retries);
+            }
+            EdrDto edrDto = edrSession.edr();
+            log.info("Received EDR data for " + assetId + " with " + partner.getEdcUrl());
+            try (var response = postProxyPullRequest(edrDto.endpoint(), edrDto.authKey(), edrDto.authCode(), new ObjectMapper().writeValueAsString(payload))) {
+                if (response.isSuccessful()) {
+                    String responseString = response.body().string();
+                    failed = false;
+                    return objectMapper.readTree(responseString);
                 }
+                edrRejected = isEdrRejected(response.code());
+                log.info("Failed to post Notification to Partner.");
             }
         } catch (Exception e) {
             log.error("Error in Transfer Request for " + type + " at " + partner.getBpnl(), e);
         } finally {
             if (failed) {
                 log.warn("Invalidating Contract data for " + type + " with " + partner.getBpnl());
-                edcContractMappingService.putContractId(partner, type, assetId, partnerDspUrl, null);
+                edcContractMappingService.invalidateContractId(partner, type, assetId, partnerDspUrl);
             }
+            if (edrRejected) {
+                invalidateEdrSession(new EdrSessionCache.Key(partner.getBpnl(), assetId, partnerDspUrl), edrSession);
+            }
+            releaseEdrSession(edrSession);
         }
         return postNotificationToPartner(partner, type, payload, --retries);
     }
@@ -607,6 +587,8 @@ public class EdcAdapterService {
             case PART_TYPE_INFORMATION_SUBMODEL -> fetchPartTypeSubmodelData(mpr);
         };
         boolean failed = true;
+        boolean edrRejected = false;
+        EdrSessionCache.EdrSession edrSession = null;
         try {
             String assetId = submodelData.assetId();
             String partnerDspUrl = submodelData.dspUrl();
@@ -625,71 +607,267 @@ public class EdcAdapterService {
                 log.warn("General Partner EdcUrl: " + partner.getEdcUrl());
                 log.warn("URL from AAS: " + partnerDspUrl);
             }
-            // Request EdrToken
-            var transferResp = initiateProxyPullTransfer(partner, submodelContractId, partnerDspUrl);
-            log.debug("Transfer Request {}", transferResp.toPrettyString());
-            String transferId = transferResp.get("@id").asText();
-            // try proxy pull and terminate request
-            try {
-                EdrDto edrDto = getAndAwaitEdrDto(transferId);
-                log.info("Received EDR data for " + assetId + " with " + partner.getEdcUrl());
-                if (edrDto == null) {
-                    log.error("Failed to obtain EDR data for " + assetId + " with " + partner.getEdcUrl());
-                    return doSubmodelRequest(type, mpr, direction, --retries);
-                }
-                if (!submodelData.href().startsWith(edrDto.endpoint())) {
-                    log.warn("Diverging URLs in ItemStock Submodel request");
-                    log.warn("href: " + submodelData.href());
-                    log.warn("Data plane base URL from EDR: " + edrDto.endpoint());
-                }
-                try (var response = getProxyPullRequest(submodelData.href, edrDto.authKey(), edrDto.authCode(), new String[]{type.REPRESENTATION})) {
-                    if (response.isSuccessful()) {
-                        String responseString = response.body().string();
-                        failed = false;
-                        return objectMapper.readTree(responseString);
-                    }
-                }
-            } finally {
-                if (transferId != null) {
-                    terminateTransfer(transferId);
+            // Request EdrToken or reuse an open transfer
+            edrSession = acquireEdrSession(partner, assetId, submodelContractId, partnerDspUrl);
+            if (edrSession == null) {
+                log.error("Failed to obtain EDR data for " + assetId + " with " + partner.getEdcUrl());
+                return doSubmodelRequest(type, mpr, direction, --retries);
+            }
+            EdrDto edrDto = edrSession.edr();
+            log.info("Received EDR data for " + assetId + " with " + partner.getEdcUrl());
+            if (!submodelData.href().startsWith(edrDto.endpoint())) {
+                log.warn("Diverging URLs in ItemStock Submodel request");
+                log.warn("href: " + submodelData.href());
+                log.warn("Data plane base URL from EDR: " + edrDto.endpoint());
+            }
+            try (var response = getProxyPullRequest(submodelData.href, edrDto.authKey(), edrDto.authCode(), new String[]{type.REPRESENTATION})) {
+                if (response.isSuccessful()) {
+                    String responseString = response.body().string();
+                    failed = false;
+                    return objectMapper.readTree(responseString);
                 }
+                edrRejected = isEdrRejected(response.code());
             }
         } catch (Exception e) {
             log.error("Error in Submodel Transfer Request for " + type + " at " + partner.getBpnl(), e);
         } finally {
             if (failed) {
+                submodelDescriptorCache.invalidate(mpr, type.URN_SEMANTIC_ID, direction);
                 log.warn("Invalidating Contract data for " + type + " with " + partner.getBpnl());
-                edcContractMappingService.putContractId(partner, type, submodelData.assetId(), submodelData.dspUrl(), null);
+                edcContractMappingService.invalidateContractId(partner, type, submodelData.assetId(), submodelData.dspUrl());
+            }
+            if (edrRejected) {
+                invalidateEdrSession(new EdrSessionCache.Key(partner.getBpnl(), submodelData.assetId(), submodelData.dspUrl()), edrSession);
             }
+            releaseEdrSession(edrSession);
         }
         return getSubmodelFromPartner(mpr, type, direction, --retries);
     }
 
     /**
-     * Get the EDR via edr api and retry multiple times in case the EDR has not yet been available
+     * Awaits the transfer process to be STARTED and then awaits its EDR to be available,
+     * e.g. if Data Space Protocol / Data Plane Provisioning communication needs time to prepare.
+     * Both are tracked by the EdcStateTracker, no longer than the state timeout each.
      *
      * @param transferProcessId to get the EDR for, not null
-     * @return edr received, or null if not yet available
-     * @throws InterruptedException if thread was not able to sleep
+     * @return edr received, or null if the transfer was not started or the EDR was not available in time
+     * @throws InterruptedException if thread was interrupted while waiting
      */
-    private @Nullable EdrDto getAndAwaitEdrDto(String transferProcessId) throws InterruptedException, IOException {
-        for (int i = 0; i < 100; i++) {
-            Thread.sleep(100);
-            JsonNode transferResp = getTransferState(transferProcessId);
-            if ("STARTED".equals(transferResp.get("state").asText())) {
-                break;
-            }
+    private @Nullable EdrDto getAndAwaitEdrDto(String transferProcessId) throws InterruptedException {
+        try {
+            return edcStateTracker.awaitState(EdcStateTracker.ProcessType.TRANSFER, transferProcessId, "STARTED")
+                .thenCompose(transferProcess -> edcStateTracker.awaitEdr(transferProcessId))
+                .get();
+        } catch (ExecutionException e) {
+            log.error("No EDR for transfer process {}: {}", transferProcessId, e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Awaits the contract negotiation to be FINALIZED.
+     *
+     * @param negotiationId the id of the negotiation
+     * @return the contractAgreementId, or null if the negotiation was not finalized in time
+     * @throws InterruptedException if thread was interrupted while waiting
+     */
+    private @Nullable String awaitContractAgreementId(String negotiationId) throws InterruptedException {
+        try {
+            JsonNode negotiation = edcStateTracker.awaitState(EdcStateTracker.ProcessType.NEGOTIATION, negotiationId, "FINALIZED").get();
+            return negotiation.get("contractAgreementId").asText();
+        } catch (ExecutionException e) {
+            log.warn("Negotiation {} was not finalized: {}", negotiationId, e.getCause().getMessage());
+            return null;
         }
-        EdrDto edrDto = null;
-        // retry, if Data Space Protocol / Data Plane Provisioning communication needs time to prepare
-        for (int i = 0; i < 100; i++) {
-            edrDto = getEdrForTransferProcessId(transferProcessId, 2);
+    }
+
+    /**
+     * Queries the states of all negotiations and transfer processes that are awaited by the
+     * EdcStateTracker. Each kind of process is queried with one single request to your control plane,
+     * regardless of the number of processes awaited.
+     */
+    @Scheduled(fixedDelayString = "${puris.edc.statepollinterval}")
+    public void pollAwaitedProcessStates() {
+        edcStateTracker.expireOverdue();
+        pollAwaitedProcessStates(EdcStateTracker.ProcessType.NEGOTIATION, List.of("v3", "contractnegotiations", "request"));
+        pollAwaitedProcessStates(EdcStateTracker.ProcessType.TRANSFER, List.of("v3", "transferprocesses", "request"));
+    }
+
+    /**
+     * Queries the EDRs of all started transfer processes whose EDR is awaited by the EdcStateTracker
+     * and not yet available.
+     */
+    @Scheduled(fixedDelayString = "${puris.edc.edrretryinterval}")
+    public void pollAwaitedEdrs() {
+        for (var transferProcessId : edcStateTracker.getPendingEdrIds()) {
+            EdrDto edrDto = getEdrForTransferProcessId(transferProcessId);
             if (edrDto != null) {
-                break;
+                edcStateTracker.updateEdr(transferProcessId, edrDto);
+            }
+        }
+    }
+
+    private void pollAwaitedProcessStates(EdcStateTracker.ProcessType type, List<String> pathSegments) {
+        var pendingIds = edcStateTracker.getPendingIds(type);
+        if (pendingIds.isEmpty()) {
+            return;
+        }
+        try (var response = sendPostRequest(edcRequestBodyBuilder.buildQuerySpecForIds(pendingIds), pathSegments)) {
+            if (!response.isSuccessful() || response.body() == null) {
+                log.warn("Querying states of {} {} processes failed with status code {}", pendingIds.size(), type, response.code());
+                return;
+            }
+            JsonNode processes = objectMapper.readTree(response.body().string());
+            for (var process : processes) {
+                edcStateTracker.update(type, process);
+            }
+        } catch (Exception e) {
+            log.error("Querying states of {} processes failed", type, e);
+        }
+    }
+
+    /**
+     * Acquires an EDR session for the given partner's asset. If the EdrSessionCache holds an open transfer
+     * for this asset that was started with the given contract, it is reused (and its EDR refreshed, if the
+     * token has already expired). Otherwise, a new proxy pull transfer is initiated and kept open for
+     * subsequent requests. Concurrent requests for the same asset wait for one single transfer.
+     * <p>
+     * The caller has to release the session with {@link #releaseEdrSession(EdrSessionCache.EdrSession)}
+     * after its request.
+     *
+     * @param partner    the partner
+     * @param assetId    the partner's assetId
+     * @param contractId the contract for the asset
+     * @param dspUrl     the dspUrl under which the asset was contracted
+     * @return the session, or null if no EDR could be obtained
+     * @throws IOException          If the connection to your control plane fails
+     * @throws InterruptedException if thread was interrupted while waiting
+     */
+    private @Nullable EdrSessionCache.EdrSession acquireEdrSession(Partner partner, String assetId, String contractId, String dspUrl) throws IOException, InterruptedException {
+        var key = new EdrSessionCache.Key(partner.getBpnl(), assetId, dspUrl);
+        while (true) {
+            List<EdrSessionCache.EdrSession> evicted = new ArrayList<>();
+            var session = edrSessionCache.acquire(key, contractId, evicted);
+            terminateEdrSessions(evicted);
+            if (session != null) {
+                if (!edrSessionCache.isExpired(session)) {
+                    return session;
+                }
+                EdrDto refreshedEdr = getEdrForTransferProcessId(session.transferProcessId());
+                if (refreshedEdr != null) {
+                    edrSessionCache.refresh(session, refreshedEdr);
+                    return session;
+                }
+                log.warn("Failed to refresh EDR for transfer process {}", session.transferProcessId());
+                invalidateEdrSession(key, session);
+                releaseEdrSession(session);
+            }
+            CompletableFuture<EdrSessionCache.EdrSession> transfer = new CompletableFuture<>();
+            var pendingTransfer = edrSessionCache.getPendingTransfer(key, transfer);
+            if (pendingTransfer != transfer) {
+                EdrSessionCache.EdrSession startedSession;
+                try {
+                    startedSession = pendingTransfer.get();
+                } catch (ExecutionException e) {
+                    startedSession = null;
+                }
+                if (startedSession == null) {
+                    return null;
+                }
+                if (startedSession.contractId().equals(contractId) && edrSessionCache.acquire(startedSession)) {
+                    return startedSession;
+                }
+                // the session has been replaced or evicted in the meantime
+                continue;
+            }
+            EdrSessionCache.EdrSession startedSession = null;
+            try {
+                // another transfer may have completed since the cache was checked
+                startedSession = edrSessionCache.acquireIfPresent(key, contractId);
+                if (startedSession == null) {
+                    startedSession = startEdrSession(key, partner, contractId, dspUrl);
+                }
+                return startedSession;
+            } finally {
+                edrSessionCache.completePendingTransfer(key, transfer, startedSession);
+            }
+        }
+    }
+
+    private @Nullable EdrSessionCache.EdrSession startEdrSession(EdrSessionCache.Key key, Partner partner, String contractId, String dspUrl) throws IOException, InterruptedException {
+        var transferResp = initiateProxyPullTransfer(partner, contractId, dspUrl);
+        log.debug("Transfer Request {}", transferResp.toPrettyString());
+        String transferId = transferResp.get("@id").asText();
+        EdrDto edrDto = getAndAwaitEdrDto(transferId);
+        if (edrDto == null) {
+            terminateTransfer(transferId);
+            return null;
+        }
+        List<EdrSessionCache.EdrSession> evicted = new ArrayList<>();
+        var session = edrSessionCache.put(key, transferId, contractId, edrDto, evicted);
+        terminateEdrSessions(evicted);
+        return session;
+    }
+
+    /**
+     * Releases an EDR session after a request has used it and terminates its transfer process,
+     * if the session was removed from the EdrSessionCache and no other request is using it.
+     *
+     * @param session the session, may be null
+     */
+    private void releaseEdrSession(@Nullable EdrSessionCache.EdrSession session) {
+        if (session != null && edrSessionCache.release(session)) {
+            terminateTransfer(session.transferProcessId());
+        }
+    }
+
+    /**
+     * Removes the EDR session from the EdrSessionCache. Its transfer process is terminated as soon as
+     * no request is using it anymore.
+     *
+     * @param key     the key of the session
+     * @param session the session
+     */
+    private void invalidateEdrSession(EdrSessionCache.Key key, EdrSessionCache.EdrSession session) {
+        if (edrSessionCache.invalidate(key, session)) {
+            terminateTransfer(session.transferProcessId());
+        }
+    }
+
+    /**
+     * Checks whether the partner's data plane has rejected an EDR. Only then the EDR session is
+     * invalidated, because other failures do not indicate that the EDR itself is unusable.
+     *
+     * @param responseCode the status code of the response of the partner's data plane
+     * @return true, if the status code is 401 or 403
+     */
+    private static boolean isEdrRejected(int responseCode) {
+        return responseCode == 401 || responseCode == 403;
+    }
+
+    private void terminateEdrSessions(List<EdrSessionCache.EdrSession> sessions) {
+        for (var session : sessions) {
+            terminateTransfer(session.transferProcessId());
+        }
+    }
+
+    /**
+     * Terminates the transfers of EDR sessions that have been idle for too long and
+     * refreshes the tokens of the remaining sessions ahead of their expiry.
+     */
+    @Scheduled(fixedDelayString = "${puris.edr.cache.maintenanceinterval}")
+    public void maintainEdrSessions() {
+        terminateEdrSessions(edrSessionCache.evictIdleSessions());
+        for (var entry : edrSessionCache.getSessionsDueForRefresh().entrySet()) {
+            var session = entry.getValue();
+            EdrDto refreshedEdr = getEdrForTransferProcessId(session.transferProcessId());
+            if (refreshedEdr != null) {
+                edrSessionCache.refresh(session, refreshedEdr);
+            } else if (edrSessionCache.isExpired(session)) {
+                log.warn("Could not refresh EDR for transfer process {}, removing it", session.transferProcessId());
+                invalidateEdrSession(entry.getKey(), session);
             }
-            Thread.sleep(100);
         }
-        return edrDto;
     }
 
     public JsonNode doSubmodelRequest(AssetType type, MaterialPartnerRelation mpr, DirectionCharacteristic direction, int retries) {
@@ -715,13 +893,26 @@ public class EdcAdapterService {
     }
 
     private boolean negotiateForPartnerDtr(Partner partner) {
+        var key = new NegotiationCoalescer.Key(partner.getBpnl(), AssetType.DTR, null, partner.getEdcUrl());
+        return negotiationCoalescer.negotiate(key, () -> {
+            // another negotiation may have finished since the caller looked up the contract
+            var dtrContractData = edcContractMappingService.getDtrAssetAndContractId(partner);
+            if (dtrContractData[0] != null && dtrContractData[1] != null) {
+                return true;
+            }
+            return startNegotiationForPartnerDtr(partner);
+        });
+    }
+
+    private boolean startNegotiationForPartnerDtr(Partner partner) {
+        Map<String, String> equalFilters = new HashMap<>();
+        equalFilters.put(EdcRequestBodyBuilder.CX_COMMON_NAMESPACE + "version", "3.0");
+        equalFilters.put(
+            "'" + EdcRequestBodyBuilder.DCT_NAMESPACE + "type'.'@id'",
+            EdcRequestBodyBuilder.CX_TAXO_NAMESPACE + "DigitalTwinRegistry"
+        );
+        CatalogCache.Key catalogKey = new CatalogCache.Key(partner.getEdcUrl(), partner.getBpnl(), equalFilters);
         try {
-            Map<String, String> equalFilters = new HashMap<>();
-            equalFilters.put(EdcRequestBodyBuilder.CX_COMMON_NAMESPACE + "version", "3.0");
-            equalFilters.put(
-                "'" + EdcRequestBodyBuilder.DCT_NAMESPACE + "type'.'@id'",
-                EdcRequestBodyBuilder.CX_TAXO_NAMESPACE + "DigitalTwinRegistry"
-            );
             var responseNode = getCatalog(partner.getEdcUrl(), partner.getBpnl(), equalFilters);
             responseNode = jsonLdUtils.expand(responseNode);
 
@@ -739,6 +930,7 @@ public class EdcAdapterService {
             JsonNode targetCatalogEntry = catalogArray.get(0);
             if (targetCatalogEntry == null) {
                 log.error("Could not find asset for DigitalTwinRegistry at partner " + partner.getBpnl() + "'s catalog");
+                catalogCache.invalidate(catalogKey);
                 return false;
             }
             String assetId = targetCatalogEntry.get("@id").asText();
@@ -747,20 +939,14 @@ public class EdcAdapterService {
             String negotiationId = negotiationResponse.get("@id").asText();
             log.info("Started negotiation with id {}", negotiationId);
             // Await confirmation of contract and contractId
-            String contractId = null;
-            for (int i = 0; i < 100; i++) {
-                Thread.sleep(100);
-                var responseObject = getNegotiationState(negotiationId);
-                if ("FINALIZED".equals(responseObject.get("state").asText())) {
-                    contractId = responseObject.get("contractAgreementId").asText();
-                    log.info("Contracted DTR with contractAgreementId {}", contractId);
-                    break;
-                }
-            }
-            if (contractId == null) {
+            String contractId = awaitContractAgreementId(negotiationId);
+            if (contractId != null) {
+                log.info("Contracted DTR with contractAgreementId {}", contractId);
+            } else {
                 var negotiationState = getNegotiationState(negotiationId);
                 log.warn("no contract id, last negotiation state: \n" + negotiationState.toPrettyString());
                 log.error("Failed to obtain " + assetId + " from " + partner.getEdcUrl());
+                catalogCache.invalidate(catalogKey);
                 return false;
             }
             log.info("Got contract for DTR api with partner {}", partner.getBpnl());
@@ -768,11 +954,16 @@ public class EdcAdapterService {
             return true;
         } catch (Exception e) {
             log.error("Error in Negotiation for DTR of " + partner.getBpnl(), e);
+            catalogCache.invalidate(catalogKey);
             return false;
         }
     }
 
     private SubmodelData fetchSubmodelDataByDirection(MaterialPartnerRelation mpr, String semanticId, DirectionCharacteristic direction) {
+        SubmodelData cachedSubmodelData = submodelDescriptorCache.get(mpr, semanticId, direction);
+        if (cachedSubmodelData != null) {
+            return cachedSubmodelData;
+        }
         String manufacturerPartId = switch (direction) {
             case INBOUND -> mpr.getMaterial().getOwnMaterialNumber();
             case OUTBOUND -> mpr.getPartnerMaterialNumber();
@@ -781,18 +972,29 @@ public class EdcAdapterService {
             case INBOUND -> variablesService.getOwnBpnl();
             case OUTBOUND -> mpr.getPartner().getBpnl();
         };
-        return fetchSubmodelData(mpr, semanticId, manufacturerPartId, manufacturerId);
+        SubmodelData submodelData = fetchSubmodelData(mpr, semanticId, manufacturerPartId, manufacturerId);
+        if (submodelData != null) {
+            submodelDescriptorCache.put(mpr, semanticId, direction, submodelData);
+        }
+        return submodelData;
     }
 
     private SubmodelData fetchPartTypeSubmodelData(MaterialPartnerRelation mpr) {
-        return fetchSubmodelData(mpr, "urn:samm:io.catenax.part_type_information:1.0.0#PartTypeInformation",
-            mpr.getPartnerMaterialNumber(), mpr.getPartner().getBpnl());
+        String semanticId = AssetType.PART_TYPE_INFORMATION_SUBMODEL.URN_SEMANTIC_ID;
+        SubmodelData submodelData = submodelDescriptorCache.get(mpr, semanticId, null);
+        if (submodelData == null) {
+            submodelData = fetchSubmodelData(mpr, semanticId, mpr.getPartnerMaterialNumber(), mpr.getPartner().getBpnl());
+            if (submodelData != null) {
+                submodelDescriptorCache.put(mpr, semanticId, null, submodelData);
+            }
+        }
+        return submodelData;
     }
 
-    private record SubmodelData(String assetId, String dspUrl, String href) {
+    record SubmodelData(String assetId, String dspUrl, String href) {
     }
 
-    private record EdrDto(String authKey, String authCode, String endpoint){
+    record EdrDto(String authKey, String authCode, String endpoint){
     }
 
     private SubmodelData fetchSubmodelData(MaterialPartnerRelation mpr, String semanticId, String manufacturerPartId, String manufacturerId) {
@@ -847,6 +1049,9 @@ public class EdcAdapterService {
         // if a response was received that contains the expected answer or at least an empty result.
         boolean criticalFailure = true;
         Partner partner = mpr.getPartner();
+        boolean edrRejected = false;
+        EdrSessionCache.EdrSession edrSession = null;
+        EdrSessionCache.Key edrSessionKey = null;
         try {
             var dtrContractData = edcContractMappingService.getDtrAssetAndContractId(partner);
             String assetId = dtrContractData[0];
@@ -859,81 +1064,76 @@ public class EdcAdapterService {
                 assetId = dtrContractData[0];
                 contractId = dtrContractData[1];
             }
-            var transferResp = initiateProxyPullTransfer(partner, contractId);
-            String transferId = transferResp.get("@id").asText();
-            try {
-                EdrDto edrDto = getAndAwaitEdrDto(transferId);
-                if (edrDto == null) {
-                    log.error("Failed to obtain EDR data for " + assetId + " with " + partner.getEdcUrl());
-                    return getAasSubmodelDescriptors(manufacturerPartId, manufacturerId, mpr, --retries);
-                } else {
-                    log.info("Received EDR data for " + assetId + " with " + partner.getEdcUrl());
-                }
-                HttpUrl.Builder urlBuilder = HttpUrl.parse(edrDto.endpoint()).newBuilder()
-                    .addPathSegment("api")
-                    .addPathSegment("v3")
-                    .addPathSegment("lookup")
-                    .addPathSegment("shells");
-                String query = "{\"name\":\"manufacturerPartId\",\"value\":\"" + manufacturerPartId + "\"}";
-                query += ",{\"name\":\"digitalTwinType\",\"value\":\"PartType\"}";
-                query += ",{\"name\":\"manufacturerId\",\"value\":\"" + manufacturerId + "\"}";
-                String encodedQuery = Base64.getEncoder().encodeToString(query.getBytes(StandardCharsets.UTF_8));
-                urlBuilder.addQueryParameter("assetIds", encodedQuery);
-                var request = new Request.Builder()
-                    .get()
-                    .header(edrDto.authKey(), edrDto.authCode())
-                    .url(urlBuilder.build())
-                    .build();
-                try (var response = CLIENT.newCall(request).execute()) {
-                    var bodyString = response.body().string();
-                    var jsonResponse = objectMapper.readTree(bodyString);
-                    var resultArray = jsonResponse.get("result");
-                    if (resultArray != null && resultArray.isArray() && !resultArray.isEmpty()) {
-                        if (resultArray.size() > 1) {
-                            log.warn("Found more than one result for query " + query);
-                            log.info(resultArray.toPrettyString());
-                        }
-                        String aasId = resultArray.get(0).asText();
-                        urlBuilder = HttpUrl.parse(edrDto.endpoint()).newBuilder()
-                            .addPathSegment("api")
-                            .addPathSegment("v3")
-                            .addPathSegment("shell-descriptors");
-                        String base64AasId = Base64.getEncoder().encodeToString(aasId.getBytes(StandardCharsets.UTF_8));
-                        urlBuilder.addPathSegment(base64AasId);
-                        request = new Request.Builder()
-                            .get()
-                            .header(edrDto.authKey(), edrDto.authCode())
-                            .url(urlBuilder.build())
-                            .build();
-                        try (var response2 = CLIENT.newCall(request).execute()) {
-                            var body2String = response2.body().string();
-                            var aasJson = objectMapper.readTree(body2String);
-                            var submodelDescriptors = aasJson.get("submodelDescriptors");
-                            if (submodelDescriptors != null) {
-                                criticalFailure = false;
-                                return submodelDescriptors;
-                            } else {
-                                log.warn("No SubmodelDescriptors found in DTR shell-descriptors response:\n" + aasJson.toPrettyString());
-                            }
+            edrSessionKey = new EdrSessionCache.Key(partner.getBpnl(), assetId, partner.getEdcUrl());
+            edrSession = acquireEdrSession(partner, assetId, contractId, partner.getEdcUrl());
+            if (edrSession == null) {
+                log.error("Failed to obtain EDR data for " + assetId + " with " + partner.getEdcUrl());
+                return getAasSubmodelDescriptors(manufacturerPartId, manufacturerId, mpr, --retries);
+            } else {
+                log.info("Received EDR data for " + assetId + " with " + partner.getEdcUrl());
+            }
+            EdrDto edrDto = edrSession.edr();
+            HttpUrl.Builder urlBuilder = HttpUrl.parse(edrDto.endpoint()).newBuilder()
+                .addPathSegment("api")
+                .addPathSegment("v3")
+                .addPathSegment("lookup")
+                .addPathSegment("shells");
+            String query = "{\"name\":\"manufacturerPartId\",\"value\":\"" + manufacturerPartId + "\"}";
+            query += ",{\"name\":\"digitalTwinType\",\"value\":\"PartType\"}";
+            query += ",{\"name\":\"manufacturerId\",\"value\":\"" + manufacturerId + "\"}";
+            String encodedQuery = Base64.getEncoder().encodeToString(query.getBytes(StandardCharsets.UTF_8));
+            urlBuilder.addQueryParameter("assetIds", encodedQuery);
+            var request = new Request.Builder()
+                .get()
+                .header(edrDto.authKey(), edrDto.authCode())
+                .url(urlBuilder.build())
+                .build();
+            try (var response = CLIENT.newCall(request).execute()) {
+                edrRejected = isEdrRejected(response.code());
+                var bodyString = response.body().string();
+                var jsonResponse = objectMapper.readTree(bodyString);
+                var resultArray = jsonResponse.get("result");
+                if (resultArray != null && resultArray.isArray() && !resultArray.isEmpty()) {
+                    if (resultArray.size() > 1) {
+                        log.warn("Found more than one result for query " + query);
+                        log.info(resultArray.toPrettyString());
+                    }
+                    String aasId = resultArray.get(0).asText();
+                    urlBuilder = HttpUrl.parse(edrDto.endpoint()).newBuilder()
+                        .addPathSegment("api")
+                        .addPathSegment("v3")
+                        .addPathSegment("shell-descriptors");
+                    String base64AasId = Base64.getEncoder().encodeToString(aasId.getBytes(StandardCharsets.UTF_8));
+                    urlBuilder.addPathSegment(base64AasId);
+                    request = new Request.Builder()
+                        .get()
+                        .header(edrDto.authKey(), edrDto.authCode())
+                        .url(urlBuilder.build())
+                        .build();
+                    try (var response2 = CLIENT.newCall(request).execute()) {
+                        edrRejected = isEdrRejected(response2.code());
+                        var body2String = response2.body().string();
+                        var aasJson = objectMapper.readTree(body2String);
+                        var submodelDescriptors = aasJson.get("submodelDescriptors");
+                        if (submodelDescriptors != null) {
+                            criticalFailure = false;
+                            return submodelDescriptors;
+                        } else {
+                            log.warn("No SubmodelDescriptors found in DTR shell-descriptors response:\n" + aasJson.toPrettyString());
                         }
-                    } else {
-                        if (resultArray != null) {
-                            if (resultArray.isArray() && resultArray.isEmpty()) {
-                                log.warn("Empty Result array received");
-                                criticalFailure = false;
-                            } else {
-                                log.warn("Unexpected Response for DTR lookup with query " + query + "\n" + resultArray.toPrettyString());
-                            }
+                    }
+                } else {
+                    if (resultArray != null) {
+                        if (resultArray.isArray() && resultArray.isEmpty()) {
+                            log.warn("Empty Result array received");
+                            criticalFailure = false;
                         } else {
-                            log.warn("No Result Array received in DTR lookup response: \n" + jsonResponse.toPrettyString());
+                            log.warn("Unexpected Response for DTR lookup with query " + query + "\n" + resultArray.toPrettyString());
                         }
+                    } else {
+                        log.warn("No Result Array received in DTR lookup response: \n" + jsonResponse.toPrettyString());
                     }
                 }
-
-            } finally {
-                if (transferId != null) {
-                    terminateTransfer(transferId);
-                }
             }
         } catch (Exception e) {
             log.error("Error in AasSubmodelDescriptor Request for " + mpr + " and manufacturerPartId " + manufacturerPartId, e);
@@ -941,8 +1141,12 @@ public class EdcAdapterService {
         } finally {
             if (criticalFailure) {
                 log.warn("Invalidating DTR contract data");
-                edcContractMappingService.putDtrContractData(partner, null, null);
+                edcContractMappingService.invalidateDtrContractData(partner);
+            }
+            if (edrRejected) {
+                invalidateEdrSession(edrSessionKey, edrSession);
             }
+            releaseEdrSession(edrSession);
         }
         return getAasSubmodelDescriptors(manufacturerPartId, manufacturerId, mpr, --retries);
     }
@@ -954,11 +1158,9 @@ public class EdcAdapterService {
      * answering.
      *
      * @param transferProcessId to get the EDR for
-     * @return unpersisted EdrDto.
+     * @return unpersisted EdrDto, or null if the EDR is not available (yet)
      */
-    private EdrDto getEdrForTransferProcessId(String transferProcessId, int retries) {
-        if (retries < 0) return null;
-        boolean failed = true;
+    private @Nullable EdrDto getEdrForTransferProcessId(String transferProcessId) {
         try (Response response = sendGetRequest(
             List.of("v3", "edrs", transferProcessId, "dataaddress"),
             Map.of("auto_refresh", "true"))
@@ -971,23 +1173,13 @@ public class EdcAdapterService {
                 if (dataPlaneEndpoint != null && authToken != null) {
                     EdrDto edr = new EdrDto("Authorization", authToken, dataPlaneEndpoint);
                     log.debug("Requested EDR successfully: {}", edr);
-                    failed = false;
                     return edr;
                 }
             }
         } catch (Exception e) {
             log.error("EDR token for transfer process with ID {} could not be obtained", transferProcessId);
-        } finally {
-            if (failed && --retries >= 0) {
-                try {
-                    Thread.sleep(100);
-                } catch (Exception e1) {
-                    log.error("Sleep interrupted", e1);
-                }
-            }
         }
-        return getEdrForTransferProcessId(transferProcessId, retries);
-
+        return null;
     }
 
     /**
@@ -1062,7 +1254,31 @@ public class EdcAdapterService {
         return negotiateContract(partner, variablesService.getNotificationApiAssetId(), type, partner.getEdcUrl(), equalFilters);
     }
 
+    /**
+     * Negotiates a contract for the given asset of the partner and stores its contractId. If a negotiation
+     * for the same asset is already running, its result is awaited instead.
+     *
+     * @param partner      the partner
+     * @param assetId      the id of the asset
+     * @param type         the type of the asset
+     * @param dspUrl       the dspUrl of the partner's connector offering the asset
+     * @param equalFilters the filters for the catalog request
+     * @return true, if a contract was successfully negotiated
+     */
     public boolean negotiateContract(Partner partner, String assetId, AssetType type, String dspUrl, Map<String, String> equalFilters) {
+        var key = new NegotiationCoalescer.Key(partner.getBpnl(), type, assetId, dspUrl);
+        return negotiationCoalescer.negotiate(key, () -> {
+            // another negotiation may have finished since the caller looked up the contract
+            if (edcContractMappingService.getContractId(partner, type, assetId, dspUrl) != null) {
+                return true;
+            }
+            return startNegotiation(partner, assetId, type, dspUrl, equalFilters);
+        });
+    }
+
+    private boolean startNegotiation(Partner partner, String assetId, AssetType type, String dspUrl, Map<String, String> equalFilters) {
+        // a failed negotiation may be caused by an outdated catalog, so it is requested again next time
+        CatalogCache.Key catalogKey = new CatalogCache.Key(dspUrl, partner.getBpnl(), equalFilters);
         try {
             var responseNode = getCatalog(dspUrl, partner.getBpnl(), equalFilters);
             responseNode = jsonLdUtils.expand(responseNode);
@@ -1097,24 +1313,18 @@ public class EdcAdapterService {
             if (targetCatalogEntry == null) {
                 log.error("Could not find asset for " + type + " at partner " + partner.getBpnl() + "'s catalog");
                 log.warn("CATALOG CONTENT \n" + catalogArray.toPrettyString());
+                catalogCache.invalidate(catalogKey);
                 return false;
             }
             JsonNode negotiationResponse = initiateNegotiation(partner, targetCatalogEntry, dspUrl);
             String negotiationId = negotiationResponse.get("@id").asText();
             // Await confirmation of contract and contractId
-            String contractId = null;
-            for (int i = 0; i < 100; i++) {
-                Thread.sleep(100);
-                var responseObject = getNegotiationState(negotiationId);
-                if ("FINALIZED".equals(responseObject.get("state").asText())) {
-                    contractId = responseObject.get("contractAgreementId").asText();
-                    break;
-                }
-            }
+            String contractId = awaitContractAgreementId(negotiationId);
             if (contractId == null) {
                 var negotiationState = getNegotiationState(negotiationId);
                 log.error("Failed to obtain " + type + " from " + partner.getEdcUrl() + ", last negotiation state: \n"
                     + negotiationState.toPrettyString());
+                catalogCache.invalidate(catalogKey);
                 return false;
             }
             log.info("Putting new ContractId" + contractId + "for " + type + " api with partner " + partner.getBpnl());
@@ -1124,6 +1334,7 @@ public class EdcAdapterService {
 
         } catch (Exception e) {
             log.error("Error in negotiation for " + type, e);
+            catalogCache.invalidate(catalogKey);
             return false;
         }
     }
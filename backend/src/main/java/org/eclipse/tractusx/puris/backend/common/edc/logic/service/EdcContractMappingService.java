@@ -20,6 +20,7 @@
 
 package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.tractusx.puris.backend.common.edc.domain.model.ContractMapping;
 import org.eclipse.tractusx.puris.backend.common.edc.domain.model.DtrContractMapping;
@@ -38,7 +39,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.lang.reflect.Constructor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Keeps track of the contracts that were negotiated with partners.
+ * <p>
+ * All contract ids are held in memory and written through to the database. Lookups only read from memory,
+ * unless the contract id is unknown, in which case the database is read in case another instance has
+ * negotiated the contract in the meantime. The memory is filled from the database on startup.
+ */
 @Service
 @Slf4j
 public class EdcContractMappingService {
@@ -69,23 +79,107 @@ public class EdcContractMappingService {
 
     private final String SEPARATOR = "\n@\n";
 
+    private static final String DTR_ASSET_ID = "dtrAssetId";
+
+    private static final String DTR_CONTRACT_ID = "dtrContractId";
+
+    /**
+     * Contract ids by partner BPNL, AssetType, assetId and dspUrl. The nested maps allow lookups
+     * without building a composite key. Null assetIds and dspUrls are stored as "null", just like in
+     * the composite keys of the database.
+     */
+    private final Map<String, Map<AssetType, Map<String, Map<String, String>>>> contractIds = new ConcurrentHashMap<>();
+
+    private record DtrContractData(String assetId, String contractId) {
+    }
+
+    private final Map<String, DtrContractData> dtrContractData = new ConcurrentHashMap<>();
+
+    /**
+     * Fills the memory with all contract ids stored in the database.
+     */
+    @PostConstruct
+    public void loadContractMappings() {
+        int count = 0;
+        for (AssetType type : AssetType.values()) {
+            for (ContractMapping contractMapping : getContractMappingRepository(type).findAll()) {
+                if (type == AssetType.DTR) {
+                    cacheDtrContractData(contractMapping);
+                    count++;
+                    continue;
+                }
+                for (var entry : contractMapping.getAssetToContractMapping().entrySet()) {
+                    int separatorIndex = entry.getKey().indexOf(SEPARATOR);
+                    if (separatorIndex < 0 || entry.getValue() == null) {
+                        continue;
+                    }
+                    getContractIdsByDspUrl(contractMapping.getPartnerBpnl(), type, entry.getKey().substring(0, separatorIndex))
+                        .put(entry.getKey().substring(separatorIndex + SEPARATOR.length()), entry.getValue());
+                    count++;
+                }
+            }
+        }
+        log.info("Loaded " + count + " contract mappings");
+    }
+
     public String getContractId(Partner partner, AssetType type, String assetId, String dspUrl) {
+        String contractId = getCachedContractId(partner.getBpnl(), type, String.valueOf(assetId), String.valueOf(dspUrl));
+        if (contractId != null) {
+            return contractId;
+        }
         ContractMapping contractMapping = getOrCreateContractMapping(partner, type);
-        return contractMapping.getAssetToContractMapping().get(assetId + SEPARATOR + dspUrl);
+        contractId = contractMapping.getAssetToContractMapping().get(assetId + SEPARATOR + dspUrl);
+        if (contractId != null) {
+            getContractIdsByDspUrl(partner.getBpnl(), type, String.valueOf(assetId)).putIfAbsent(String.valueOf(dspUrl), contractId);
+        }
+        return contractId;
     }
 
-    public void putContractId(Partner partner, AssetType type, String assetId, String dspUrl, String contractId) {
+    public synchronized void putContractId(Partner partner, AssetType type, String assetId, String dspUrl, String contractId) {
+        if (contractId == null) {
+            invalidateContractId(partner, type, assetId, dspUrl);
+            return;
+        }
         ContractMapping contractMapping = getOrCreateContractMapping(partner, type);
         contractMapping.getAssetToContractMapping().put(assetId + SEPARATOR + dspUrl, contractId);
         var repository = getContractMappingRepository(type);
         repository.checkedSave(contractMapping);
+        getContractIdsByDspUrl(partner.getBpnl(), type, String.valueOf(assetId)).put(String.valueOf(dspUrl), contractId);
+    }
+
+    /**
+     * Removes the contract id, e.g. after a request using it has failed, so that a new contract
+     * is negotiated for the next request.
+     *
+     * @param partner the partner
+     * @param type    the type of the asset
+     * @param assetId the id of the asset
+     * @param dspUrl  the dspUrl under which the asset was contracted
+     */
+    public synchronized void invalidateContractId(Partner partner, AssetType type, String assetId, String dspUrl) {
+        ContractMapping contractMapping = getOrCreateContractMapping(partner, type);
+        if (contractMapping.getAssetToContractMapping().remove(assetId + SEPARATOR + dspUrl) != null) {
+            getContractMappingRepository(type).checkedSave(contractMapping);
+        }
+        var contractIdsByDspUrl = getContractIdsByDspUrl(partner.getBpnl(), type, String.valueOf(assetId));
+        contractIdsByDspUrl.remove(String.valueOf(dspUrl));
     }
 
-    public void putDtrContractData(Partner partner, String dtrAssetId, String dtrContractId) {
+    public synchronized void putDtrContractData(Partner partner, String dtrAssetId, String dtrContractId) {
         ContractMapping contractMapping = getOrCreateContractMapping(partner, AssetType.DTR);
-        contractMapping.getAssetToContractMapping().put("dtrContractId", dtrContractId);
-        contractMapping.getAssetToContractMapping().put("dtrAssetId", dtrAssetId);
+        contractMapping.getAssetToContractMapping().put(DTR_CONTRACT_ID, dtrContractId);
+        contractMapping.getAssetToContractMapping().put(DTR_ASSET_ID, dtrAssetId);
         dtrContractMappingRepository.save((DtrContractMapping) contractMapping);
+        cacheDtrContractData(contractMapping);
+    }
+
+    /**
+     * Removes the DTR contract data of the partner, e.g. after a request using it has failed.
+     *
+     * @param partner the partner
+     */
+    public void invalidateDtrContractData(Partner partner) {
+        putDtrContractData(partner, null, null);
     }
 
     /**
@@ -96,12 +190,45 @@ public class EdcContractMappingService {
      * @return  a String array as described above
      */
     public String [] getDtrAssetAndContractId(Partner partner) {
-        ContractMapping contractMapping = getOrCreateContractMapping(partner, AssetType.DTR);
-        String assetId = contractMapping.getAssetToContractMapping().get("dtrAssetId");
-        String contractId = contractMapping.getAssetToContractMapping().get("dtrContractId");
-        return new String[] {assetId, contractId};
+        DtrContractData data = dtrContractData.get(partner.getBpnl());
+        if (data == null) {
+            ContractMapping contractMapping = getOrCreateContractMapping(partner, AssetType.DTR);
+            data = cacheDtrContractData(contractMapping);
+        }
+        return data == null ? new String[] {null, null} : new String[] {data.assetId(), data.contractId()};
+    }
+
+    private String getCachedContractId(String partnerBpnl, AssetType type, String assetId, String dspUrl) {
+        var contractIdsByType = contractIds.get(partnerBpnl);
+        if (contractIdsByType == null) {
+            return null;
+        }
+        var contractIdsByAssetId = contractIdsByType.get(type);
+        if (contractIdsByAssetId == null) {
+            return null;
+        }
+        var contractIdsByDspUrl = contractIdsByAssetId.get(assetId);
+        return contractIdsByDspUrl == null ? null : contractIdsByDspUrl.get(dspUrl);
+    }
+
+    private Map<String, String> getContractIdsByDspUrl(String partnerBpnl, AssetType type, String assetId) {
+        return contractIds
+            .computeIfAbsent(partnerBpnl, bpnl -> new ConcurrentHashMap<>())
+            .computeIfAbsent(type, assetType -> new ConcurrentHashMap<>())
+            .computeIfAbsent(assetId, id -> new ConcurrentHashMap<>());
     }
 
+    private DtrContractData cacheDtrContractData(ContractMapping contractMapping) {
+        String assetId = contractMapping.getAssetToContractMapping().get(DTR_ASSET_ID);
+        String contractId = contractMapping.getAssetToContractMapping().get(DTR_CONTRACT_ID);
+        if (assetId == null || contractId == null) {
+            dtrContractData.remove(contractMapping.getPartnerBpnl());
+            return null;
+        }
+        DtrContractData data = new DtrContractData(assetId, contractId);
+        dtrContractData.put(contractMapping.getPartnerBpnl(), data);
+        return data;
+    }
 
     private ContractMapping getOrCreateContractMapping(Partner partner, AssetType type) {
         GeneralContractMappingRepository<? extends ContractMapping> repository = getContractMappingRepository(type);
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.PurisApplication;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcAdapterService.EdcRegistration;
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
+import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Registers the assets, policy definitions and contract definitions at your control plane
+ * without blocking the caller.
+ * <p>
+ * Before registering, the control plane is asked once per kind of object which of them already
+ * exist, those are skipped. The remaining registrations run concurrently on the registration executor.
+ * A failed registration is retried on its own with an exponential backoff. The progress of every
+ * batch of registrations is kept for the readiness probe.
+ */
+@Service
+@Slf4j
+public class EdcRegistrationService {
+
+    /**
+     * Name of the registrations that are necessary at startup.
+     */
+    public static final String INITIAL = "initial";
+
+    @Autowired
+    private EdcAdapterService edcAdapterService;
+
+    @Autowired
+    private VariablesService variablesService;
+
+    @Autowired
+    @Qualifier(PurisApplication.DTR_EXECUTOR)
+    private BoundedExecutorService executorService;
+
+    public enum State {
+        IN_PROGRESS, COMPLETED, FAILED
+    }
+
+    /**
+     * Snapshot of the progress of a batch of registrations.
+     *
+     * @param name       {@link #INITIAL} or the BPNL of the partner
+     * @param state      the state of the batch
+     * @param total      the number of registrations in the batch
+     * @param skipped    the number of objects that already existed at the control plane
+     * @param registered the number of successful registrations
+     * @param failed     the number of registrations that failed in their last attempt
+     * @param updatedAt  the time of the last change
+     */
+    public record Status(String name, State state, int total, int skipped, int registered, int failed, Date updatedAt) {
+    }
+
+    private static class Progress {
+        private final String name;
+        private final int total;
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicInteger registered = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private volatile State state = State.IN_PROGRESS;
+        private volatile Date updatedAt = new Date();
+
+        private Progress(String name, int total) {
+            this.name = name;
+            this.total = total;
+        }
+
+        private Status toStatus() {
+            return new Status(name, state, total, skipped.get(), registered.get(), failed.get(), updatedAt);
+        }
+    }
+
+    private final Map<String, Progress> progresses = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the request and response apis as well as the framework agreement policy.
+     *
+     * @return completes with true, if all registrations were successful
+     */
+    public CompletableFuture<Boolean> registerInitially() {
+        List<EdcRegistration> registrations = edcAdapterService.getInitialRegistrations();
+        Progress progress = start(INITIAL, registrations.size());
+        return finish(progress, registerAll(progress, null, registrations));
+    }
+
+    /**
+     * Registers the policy definition and the contract definitions for the given partner.
+     * The contract definitions are registered after the policy definition they refer to.
+     *
+     * @param partner the partner
+     * @return completes with true, if all registrations were successful
+     */
+    public CompletableFuture<Boolean> registerForPartner(Partner partner) {
+        EdcRegistration policyRegistration = edcAdapterService.getPartnerPolicyRegistration(partner);
+        List<EdcRegistration> contractDefinitionRegistrations = edcAdapterService.getPartnerContractDefinitionRegistrations(partner);
+        Progress progress = start(partner.getBpnl(), contractDefinitionRegistrations.size() + 1);
+        var result = registerAll(progress, partner.getBpnl(), List.of(policyRegistration))
+            .thenCompose(policySuccess -> registerAll(progress, partner.getBpnl(), contractDefinitionRegistrations)
+                .thenApply(contractDefinitionSuccess -> policySuccess && contractDefinitionSuccess));
+        return finish(progress, result);
+    }
+
+    /**
+     * @return true, if the registrations necessary at startup were completed successfully
+     */
+    public boolean isInitialRegistrationCompleted() {
+        return getInitialRegistrationState() == State.COMPLETED;
+    }
+
+    /**
+     * @return the state of the registrations necessary at startup, {@link State#IN_PROGRESS} if they weren't started yet
+     */
+    public State getInitialRegistrationState() {
+        Progress progress = progresses.get(INITIAL);
+        return progress == null ? State.IN_PROGRESS : progress.state;
+    }
+
+    /**
+     * @return the progress of all batches of registrations since startup
+     */
+    public List<Status> getStatuses() {
+        return progresses.values().stream().map(Progress::toStatus).sorted(Comparator.comparing(Status::name)).toList();
+    }
+
+    private Progress start(String name, int total) {
+        Progress progress = new Progress(name, total);
+        progresses.put(name, progress);
+        log.info("Started {} registrations for {}", total, name);
+        return progress;
+    }
+
+    private CompletableFuture<Boolean> finish(Progress progress, CompletableFuture<Boolean> result) {
+        return result.whenComplete((success, throwable) -> {
+            progress.state = Boolean.TRUE.equals(success) ? State.COMPLETED : State.FAILED;
+            progress.updatedAt = new Date();
+            log.info("Registrations for {} finished: {}", progress.name, progress.toStatus());
+        });
+    }
+
+    private CompletableFuture<Boolean> registerAll(Progress progress, String partnerBpnl, List<EdcRegistration> registrations) {
+        return supplyAsync(partnerBpnl, () -> findMissing(registrations))
+            .thenCompose(missing -> {
+                progress.skipped.addAndGet(registrations.size() - missing.size());
+                var futures = missing.stream()
+                    .map(registration -> registerWithRetry(partnerBpnl, registration, 1)
+                        .thenApply(success -> {
+                            (success ? progress.registered : progress.failed).incrementAndGet();
+                            progress.updatedAt = new Date();
+                            return success;
+                        }))
+                    .toList();
+                return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .thenApply(v -> futures.stream().allMatch(CompletableFuture::join));
+            });
+    }
+
+    /**
+     * Asks the control plane once per kind of object, which of the objects already exist.
+     *
+     * @param registrations the registrations
+     * @return the registrations of the objects that don't exist yet
+     */
+    private List<EdcRegistration> findMissing(List<EdcRegistration> registrations) {
+        List<EdcRegistration> missing = new ArrayList<>();
+        var registrationsByResource = registrations.stream().collect(Collectors.groupingBy(EdcRegistration::resource));
+        for (var entry : registrationsByResource.entrySet()) {
+            Set<String> registeredIds;
+            try {
+                registeredIds = edcAdapterService.findRegisteredIds(entry.getKey(),
+                    entry.getValue().stream().map(EdcRegistration::id).toList());
+            } catch (IOException e) {
+                // registering an existing object is answered with a conflict, which counts as success
+                log.warn("Could not query existing {}, registering all of them: {}", entry.getKey(), e.getMessage());
+                registeredIds = Set.of();
+            }
+            for (EdcRegistration registration : entry.getValue()) {
+                if (registeredIds.contains(registration.id())) {
+                    log.info("{} already existed", registration.description());
+                } else {
+                    missing.add(registration);
+                }
+            }
+        }
+        return missing;
+    }
+
+    private CompletableFuture<Boolean> registerWithRetry(String partnerBpnl, EdcRegistration registration, int attempt) {
+        return supplyAsync(partnerBpnl, () -> edcAdapterService.register(registration))
+            .exceptionally(throwable -> false)
+            .thenCompose(success -> {
+                if (success || attempt >= variablesService.getEdcRegistrationMaxAttempts()) {
+                    return CompletableFuture.completedFuture(success);
+                }
+                long backoff = variablesService.getEdcRegistrationBackoff() << (attempt - 1);
+                log.warn("Retrying registration of {} in {} ms", registration.description(), backoff);
+                // wait without occupying a slot of the executor
+                Executor delayed = CompletableFuture.delayedExecutor(backoff, TimeUnit.MILLISECONDS);
+                return CompletableFuture.runAsync(() -> {
+                }, delayed).thenCompose(v -> registerWithRetry(partnerBpnl, registration, attempt + 1));
+            });
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(String partnerBpnl, Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, command -> executorService.submit(partnerBpnl, command));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
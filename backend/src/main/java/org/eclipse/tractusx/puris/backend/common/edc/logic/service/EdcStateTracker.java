@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Keeps track of contract negotiations and transfer processes at your control plane
+ * that are awaited to reach a certain state.
+ * <p>
+ * Instead of each caller polling the state of its own negotiation or transfer, callers
+ * register the process here and receive a CompletableFuture. The {@link EdcAdapterService}
+ * queries the states of all pending processes of one kind with a single request and hands
+ * the results to {@link #update(ProcessType, JsonNode)}, which completes the futures.
+ * <p>
+ * In the same way, callers can await the EDR of a started transfer process, which the data plane
+ * may need some time to provision. The EdcAdapterService queries the pending EDRs in a fixed interval
+ * and hands them to {@link #updateEdr(String, EdcAdapterService.EdrDto)}.
+ */
+@Service
+@Slf4j
+public class EdcStateTracker {
+
+    @Autowired
+    private VariablesService variablesService;
+
+    public enum ProcessType {
+        NEGOTIATION, TRANSFER
+    }
+
+    private record PendingProcess(String targetState, CompletableFuture<JsonNode> future, long deadline) {
+    }
+
+    private record PendingEdr(CompletableFuture<EdcAdapterService.EdrDto> future, long deadline) {
+    }
+
+    private final Map<ProcessType, Map<String, PendingProcess>> pendingProcesses = Map.of(
+        ProcessType.NEGOTIATION, new ConcurrentHashMap<>(),
+        ProcessType.TRANSFER, new ConcurrentHashMap<>()
+    );
+
+    private final Map<String, PendingEdr> pendingEdrs = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a process that is awaited to reach the given state.
+     * <p>
+     * The returned future is completed with the process object as received from the control plane
+     * once the process reached the target state. It is completed exceptionally if the process was
+     * terminated or did not reach the target state in time.
+     *
+     * @param type        the kind of process
+     * @param processId   the id of the negotiation or transfer process
+     * @param targetState the awaited state, e.g. FINALIZED or STARTED
+     * @return the future
+     */
+    public CompletableFuture<JsonNode> awaitState(ProcessType type, String processId, String targetState) {
+        var pendingProcess = new PendingProcess(targetState, new CompletableFuture<>(),
+            System.currentTimeMillis() + variablesService.getEdcStateTimeout());
+        var previous = pendingProcesses.get(type).putIfAbsent(processId, pendingProcess);
+        return previous != null ? previous.future() : pendingProcess.future();
+    }
+
+    /**
+     * Registers a transfer process whose EDR is awaited.
+     * <p>
+     * The returned future is completed with the EDR once the data plane has provisioned it.
+     * It is completed exceptionally if the EDR was not available in time.
+     *
+     * @param transferProcessId the id of the started transfer process
+     * @return the future
+     */
+    public CompletableFuture<EdcAdapterService.EdrDto> awaitEdr(String transferProcessId) {
+        var pendingEdr = new PendingEdr(new CompletableFuture<>(), System.currentTimeMillis() + variablesService.getEdcStateTimeout());
+        var previous = pendingEdrs.putIfAbsent(transferProcessId, pendingEdr);
+        return previous != null ? previous.future() : pendingEdr.future();
+    }
+
+    /**
+     * @return the ids of all transfer processes whose EDR is still awaited
+     */
+    public List<String> getPendingEdrIds() {
+        return List.copyOf(pendingEdrs.keySet());
+    }
+
+    /**
+     * Completes the future of the given transfer process with its EDR.
+     *
+     * @param transferProcessId the id of the transfer process
+     * @param edr               the EDR as received from the control plane
+     */
+    public void updateEdr(String transferProcessId, EdcAdapterService.EdrDto edr) {
+        var pendingEdr = pendingEdrs.remove(transferProcessId);
+        if (pendingEdr != null) {
+            pendingEdr.future().complete(edr);
+        }
+    }
+
+    /**
+     * @param type the kind of process
+     * @return the ids of all processes of this kind that are still awaited
+     */
+    public List<String> getPendingIds(ProcessType type) {
+        return List.copyOf(pendingProcesses.get(type).keySet());
+    }
+
+    /**
+     * Completes the future of the given process, if it reached its target state
+     * or reached a state from which the target state can't be reached any more.
+     *
+     * @param type          the kind of process
+     * @param processObject the process as received from the control plane
+     */
+    public void update(ProcessType type, JsonNode processObject) {
+        var idNode = processObject.get("@id");
+        var stateNode = processObject.get("state");
+        if (idNode == null || stateNode == null) {
+            return;
+        }
+        var pending = pendingProcesses.get(type);
+        var pendingProcess = pending.get(idNode.asText());
+        if (pendingProcess == null) {
+            return;
+        }
+        String state = stateNode.asText();
+        if (pendingProcess.targetState().equals(state)) {
+            pending.remove(idNode.asText());
+            pendingProcess.future().complete(processObject);
+        } else if ("TERMINATED".equals(state)) {
+            pending.remove(idNode.asText());
+            log.warn("{} {} was terminated: \n{}", type, idNode.asText(), processObject.toPrettyString());
+            pendingProcess.future().completeExceptionally(new IllegalStateException(type + " " + idNode.asText() + " was terminated"));
+        }
+    }
+
+    /**
+     * Completes the futures of all processes that did not reach their target state in time
+     * and of all EDRs that were not available in time exceptionally.
+     */
+    public void expireOverdue() {
+        long now = System.currentTimeMillis();
+        for (var entry : pendingProcesses.entrySet()) {
+            entry.getValue().entrySet().removeIf(pending -> {
+                if (pending.getValue().deadline() > now) {
+                    return false;
+                }
+                pending.getValue().future().completeExceptionally(new TimeoutException(entry.getKey() + " " + pending.getKey()
+                    + " did not reach state " + pending.getValue().targetState() + " in time"));
+                return true;
+            });
+        }
+        pendingEdrs.entrySet().removeIf(pending -> {
+            if (pending.getValue().deadline() > now) {
+                return false;
+            }
+            pending.getValue().future().completeExceptionally(new TimeoutException("EDR for " + ProcessType.TRANSFER + " "
+                + pending.getKey() + " was not available in time"));
+            return true;
+        });
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of the transfer processes that were started in order to receive an EDR
+ * for a partner's asset. Instead of starting and terminating a transfer for every single
+ * request, the transfer is kept open and its EDR is reused until the session has been idle
+ * for too long or the cache is full.
+ * <p>
+ * Sessions are shared between concurrent requests. Every caller that acquires a session must
+ * release it after its request. A session that was removed from the cache while other requests
+ * were still using it is only handed back for termination when the last of them releases it.
+ * <p>
+ * This class only holds the state. Starting, refreshing and terminating transfers is
+ * done by the {@link EdcAdapterService}, which receives all sessions that are no longer
+ * in use from the methods of this class and has the responsibility to terminate them.
+ */
+@Service
+@Slf4j
+public class EdrSessionCache {
+
+    @Autowired
+    private VariablesService variablesService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<Key, EdrSession> sessions = new ConcurrentHashMap<>();
+
+    private final Map<Key, CompletableFuture<EdrSession>> pendingTransfers = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong refreshes = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Identifies a session by the partner, the partner's asset and the dspUrl under which
+     * the asset was contracted.
+     */
+    public record Key(String partnerBpnl, String assetId, String dspUrl) {
+    }
+
+    /**
+     * An open transfer process together with the most recently received EDR.
+     */
+    public static final class EdrSession {
+        private final String transferProcessId;
+        private final String contractId;
+        private volatile EdcAdapterService.EdrDto edr;
+        private volatile long expiresAt;
+        private volatile long lastAccess;
+        // guarded by this
+        private int users;
+        // guarded by this
+        private boolean removed;
+
+        private EdrSession(String transferProcessId, String contractId, EdcAdapterService.EdrDto edr, long expiresAt) {
+            this.transferProcessId = transferProcessId;
+            this.contractId = contractId;
+            this.edr = edr;
+            this.expiresAt = expiresAt;
+            this.lastAccess = System.currentTimeMillis();
+        }
+
+        public String transferProcessId() {
+            return transferProcessId;
+        }
+
+        public String contractId() {
+            return contractId;
+        }
+
+        public EdcAdapterService.EdrDto edr() {
+            return edr;
+        }
+
+        public long expiresAt() {
+            return expiresAt;
+        }
+
+        private synchronized boolean retain() {
+            if (removed) {
+                return false;
+            }
+            users++;
+            lastAccess = System.currentTimeMillis();
+            return true;
+        }
+
+        /**
+         * @return true, if the session was removed from the cache and this was its last user
+         */
+        private synchronized boolean release() {
+            users--;
+            return removed && users == 0;
+        }
+
+        /**
+         * @return true, if the session is not used by any request
+         */
+        private synchronized boolean remove() {
+            removed = true;
+            return users == 0;
+        }
+
+        private synchronized boolean isIdleSince(long threshold) {
+            return users == 0 && lastAccess < threshold;
+        }
+    }
+
+    /**
+     * Snapshot of the cache's counters.
+     */
+    public record Statistics(int size, long hits, long misses, long refreshes, long evictions) {
+    }
+
+    /**
+     * Acquires the session for the given key, if there is one that was started with the
+     * given contractId. The caller has to {@link #release(EdrSession) release} it after its request.
+     * A session that was started with a different contract is removed from the cache. If no other
+     * request is using it, it must be terminated by the caller, which is signalled by returning
+     * it in the list of evicted sessions.
+     *
+     * @param key        the key
+     * @param contractId the contractId that the caller intends to use
+     * @param evicted    list to which a stale session will be added
+     * @return the session or null
+     */
+    public EdrSession acquire(Key key, String contractId, List<EdrSession> evicted) {
+        EdrSession session = sessions.get(key);
+        if (session != null && !session.contractId.equals(contractId)) {
+            remove(key, session, evicted);
+            session = null;
+        }
+        if (session == null || !session.retain()) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return session;
+    }
+
+    /**
+     * Acquires the session for the given key without counting a hit or a miss, e.g. when a
+     * caller re-checks the cache before starting a transfer.
+     *
+     * @param key        the key
+     * @param contractId the contractId that the caller intends to use
+     * @return the session or null
+     */
+    public EdrSession acquireIfPresent(Key key, String contractId) {
+        EdrSession session = sessions.get(key);
+        if (session != null && session.contractId.equals(contractId) && session.retain()) {
+            return session;
+        }
+        return null;
+    }
+
+    /**
+     * Acquires a session that another request has started, after its transfer has completed.
+     *
+     * @param session the session
+     * @return false, if the session has already been removed from the cache in the meantime
+     */
+    public boolean acquire(EdrSession session) {
+        return session.retain();
+    }
+
+    /**
+     * Releases a session after a request has used it.
+     *
+     * @param session the session
+     * @return true, if the session was removed from the cache in the meantime and this was
+     * its last user, so that the caller must terminate it
+     */
+    public boolean release(EdrSession session) {
+        return session.release();
+    }
+
+    /**
+     * Returns the transfer that is currently being started for the given key, so that
+     * concurrent cache misses wait for one single transfer. If there is none, the given
+     * transfer is registered and returned and the caller has to start it and
+     * {@link #completePendingTransfer(Key, CompletableFuture, EdrSession) complete} it.
+     *
+     * @param key      the key
+     * @param transfer the caller's own transfer
+     * @return the pending transfer for the key
+     */
+    public CompletableFuture<EdrSession> getPendingTransfer(Key key, CompletableFuture<EdrSession> transfer) {
+        return pendingTransfers.computeIfAbsent(key, k -> transfer);
+    }
+
+    /**
+     * Completes a transfer registered with {@link #getPendingTransfer(Key, CompletableFuture)}.
+     *
+     * @param key      the key
+     * @param transfer the transfer
+     * @param session  the session that was stored for the transfer, or null if it failed
+     */
+    public void completePendingTransfer(Key key, CompletableFuture<EdrSession> transfer, EdrSession session) {
+        pendingTransfers.remove(key, transfer);
+        transfer.complete(session);
+    }
+
+    /**
+     * Stores a new session, which is acquired for the caller. If there already was a session for
+     * this key or if the cache exceeds its maximum size, the replaced or least recently used sessions
+     * are removed from the cache. Those not used by any request are added to the list of evicted
+     * sessions and must be terminated by the caller.
+     *
+     * @param key               the key
+     * @param transferProcessId the id of the transfer process that is kept open
+     * @param contractId        the contract used for the transfer
+     * @param edr               the EDR received for the transfer
+     * @param evicted           list to which the removed sessions will be added
+     * @return the new session
+     */
+    public EdrSession put(Key key, String transferProcessId, String contractId, EdcAdapterService.EdrDto edr, List<EdrSession> evicted) {
+        EdrSession session = new EdrSession(transferProcessId, contractId, edr, getTokenExpiry(edr.authCode()));
+        session.retain();
+        EdrSession previous = sessions.put(key, session);
+        if (previous != null) {
+            evictions.incrementAndGet();
+            if (previous.remove()) {
+                evicted.add(previous);
+            }
+        }
+        int overflow = sessions.size() - variablesService.getEdrCacheMaxSize();
+        if (overflow > 0) {
+            sessions.entrySet().stream()
+                .filter(entry -> entry.getValue() != session)
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+                .limit(overflow)
+                .toList()
+                .forEach(entry -> remove(entry.getKey(), entry.getValue(), evicted));
+        }
+        return session;
+    }
+
+    /**
+     * Replaces the EDR of a session after its token has been refreshed.
+     * The transfer process stays the same.
+     *
+     * @param session the session that was refreshed
+     * @param edr     the refreshed EDR
+     */
+    public void refresh(EdrSession session, EdcAdapterService.EdrDto edr) {
+        session.expiresAt = getTokenExpiry(edr.authCode());
+        session.edr = edr;
+        refreshes.incrementAndGet();
+    }
+
+    /**
+     * Removes the given session from the cache, e.g. after the partner has rejected its EDR.
+     *
+     * @param key     the key
+     * @param session the session
+     * @return true, if no request is using the session anymore and the caller must terminate it
+     */
+    public boolean invalidate(Key key, EdrSession session) {
+        List<EdrSession> evicted = new ArrayList<>();
+        remove(key, session, evicted);
+        return !evicted.isEmpty();
+    }
+
+    /**
+     * Removes all sessions that have not been used within the configured idle timeout.
+     *
+     * @return the removed sessions that must be terminated by the caller
+     */
+    public List<EdrSession> evictIdleSessions() {
+        long threshold = System.currentTimeMillis() - variablesService.getEdrCacheIdleTimeout();
+        List<EdrSession> evicted = new ArrayList<>();
+        for (var entry : sessions.entrySet()) {
+            if (entry.getValue().isIdleSince(threshold)) {
+                remove(entry.getKey(), entry.getValue(), evicted);
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * @return all sessions whose token will expire within the configured refresh margin
+     */
+    public Map<Key, EdrSession> getSessionsDueForRefresh() {
+        Map<Key, EdrSession> result = new HashMap<>();
+        for (var entry : sessions.entrySet()) {
+            if (needsRefresh(entry.getValue())) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param session the session
+     * @return true, if the session's token expires within the configured refresh margin
+     */
+    public boolean needsRefresh(EdrSession session) {
+        return session.expiresAt - variablesService.getEdrCacheRefreshMargin() <= System.currentTimeMillis();
+    }
+
+    /**
+     * @param session the session
+     * @return true, if the session's token has already expired
+     */
+    public boolean isExpired(EdrSession session) {
+        return session.expiresAt <= System.currentTimeMillis();
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(sessions.size(), hits.get(), misses.get(), refreshes.get(), evictions.get());
+    }
+
+    private void remove(Key key, EdrSession session, List<EdrSession> evicted) {
+        if (sessions.remove(key, session)) {
+            evictions.incrementAndGet();
+            if (session.remove()) {
+                evicted.add(session);
+            }
+        }
+    }
+
+    /**
+     * Reads the expiry from the token, if it is a JWT with an exp claim. Otherwise, the
+     * token is assumed to be valid for the configured idle timeout.
+     *
+     * @param token the auth code of the EDR
+     * @return the point in time (epoch millis) when the token expires
+     */
+    private long getTokenExpiry(String token) {
+        long fallback = System.currentTimeMillis() + variablesService.getEdrCacheIdleTimeout();
+        if (token == null) {
+            return fallback;
+        }
+        String[] parts = token.replace("Bearer ", "").split("\\.");
+        if (parts.length < 2) {
+            return fallback;
+        }
+        try {
+            JsonNode claims = objectMapper.readTree(new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8));
+            JsonNode exp = claims.get("exp");
+            if (exp != null && exp.canConvertToLong()) {
+                return exp.asLong() * 1000;
+            }
+        } catch (Exception e) {
+            log.debug("Could not read expiry from EDR token", e);
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Makes sure that only one contract negotiation per partner asset is running at a time.
+ * <p>
+ * If a negotiation for the same partner, AssetType, assetId and dspUrl is already in flight,
+ * later callers await its result instead of starting another negotiation, which would lead to
+ * duplicate contract agreements at both connectors.
+ */
+@Component
+@Slf4j
+public class NegotiationCoalescer {
+
+    /**
+     * Identifies a partner asset. The assetId is null for the partner's DTR, because it is only
+     * known from the partner's catalog.
+     */
+    public record Key(String partnerBpnl, AssetType type, String assetId, String dspUrl) {
+    }
+
+    private final Map<Key, CompletableFuture<Boolean>> pendingNegotiations = new ConcurrentHashMap<>();
+
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Runs the negotiation, unless another thread is already negotiating for the same key. In that case
+     * the result of the other negotiation is awaited.
+     *
+     * @param key         the key
+     * @param negotiation negotiates the contract and stores it, returns true if successful
+     * @return true, if a contract was successfully negotiated
+     */
+    public boolean negotiate(Key key, BooleanSupplier negotiation) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        CompletableFuture<Boolean> pendingNegotiation = pendingNegotiations.putIfAbsent(key, future);
+        if (pendingNegotiation != null) {
+            coalesced.incrementAndGet();
+            log.info("Awaiting running negotiation for " + key);
+            return await(pendingNegotiation);
+        }
+        boolean success = false;
+        try {
+            success = negotiation.getAsBoolean();
+            return success;
+        } finally {
+            pendingNegotiations.remove(key, future);
+            future.complete(success);
+        }
+    }
+
+    /**
+     * @return the number of callers that awaited another caller's negotiation
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    private boolean await(CompletableFuture<Boolean> pendingNegotiation) {
+        try {
+            return pendingNegotiation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+}
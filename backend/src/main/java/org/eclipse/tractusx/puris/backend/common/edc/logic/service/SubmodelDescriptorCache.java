@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.CachedSubmodelDescriptor;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.repository.CachedSubmodelDescriptorRepository;
+import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the submodel endpoint data (assetId, dspUrl and href) that was resolved from a partner's
+ * DTR for a MaterialPartnerRelation, a submodel semanticId and a direction.
+ * <p>
+ * Submodel descriptors rarely change, so subsequent requests for the same submodel can skip the
+ * shell lookup and the shell-descriptor request at the partner's DTR until the configured time to live
+ * has passed. Entries are invalidated when a request using them fails or when the MaterialPartnerRelation
+ * is updated. If persistence is enabled, entries are also written to the database and survive restarts.
+ */
+@Service
+@Slf4j
+public class SubmodelDescriptorCache {
+
+    @Autowired
+    private VariablesService variablesService;
+
+    @Autowired
+    private CachedSubmodelDescriptorRepository repository;
+
+    private record Key(String ownMaterialNumber, UUID partnerUuid, String semanticId, String direction) {
+
+        private CachedSubmodelDescriptor.Key toEntityKey() {
+            return new CachedSubmodelDescriptor.Key(ownMaterialNumber, partnerUuid, semanticId, direction);
+        }
+    }
+
+    private record Entry(EdcAdapterService.SubmodelData submodelData, long fetchedAt) {
+    }
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param mpr        the MaterialPartnerRelation
+     * @param semanticId the semanticId of the submodel
+     * @param direction  the direction, may be null if the submodel is not direction-sensitive
+     * @return the cached submodel data or null, if there is none or it has expired
+     */
+    public EdcAdapterService.SubmodelData get(MaterialPartnerRelation mpr, String semanticId, DirectionCharacteristic direction) {
+        Key key = getKey(mpr, semanticId, direction);
+        Entry entry = entries.get(key);
+        if (entry == null && variablesService.isSubmodelDescriptorCachePersistent()) {
+            entry = repository.findById(key.toEntityKey())
+                .map(entity -> new Entry(new EdcAdapterService.SubmodelData(entity.getAssetId(), entity.getDspUrl(),
+                    entity.getHref()), entity.getFetchedAt()))
+                .orElse(null);
+            if (entry != null) {
+                entries.put(key, entry);
+            }
+        }
+        if (entry == null) {
+            return null;
+        }
+        if (entry.fetchedAt() + variablesService.getSubmodelDescriptorCacheTtl() <= System.currentTimeMillis()) {
+            invalidate(key);
+            return null;
+        }
+        return entry.submodelData();
+    }
+
+    /**
+     * Stores the submodel data that was resolved from the partner's DTR.
+     *
+     * @param mpr          the MaterialPartnerRelation
+     * @param semanticId   the semanticId of the submodel
+     * @param direction    the direction, may be null if the submodel is not direction-sensitive
+     * @param submodelData the resolved submodel data
+     */
+    public void put(MaterialPartnerRelation mpr, String semanticId, DirectionCharacteristic direction, EdcAdapterService.SubmodelData submodelData) {
+        Key key = getKey(mpr, semanticId, direction);
+        long now = System.currentTimeMillis();
+        entries.put(key, new Entry(submodelData, now));
+        if (variablesService.isSubmodelDescriptorCachePersistent()) {
+            repository.save(new CachedSubmodelDescriptor(key.ownMaterialNumber(), key.partnerUuid(), key.semanticId(),
+                key.direction(), submodelData.assetId(), submodelData.dspUrl(), submodelData.href(), now));
+        }
+    }
+
+    /**
+     * Removes the submodel data for the given parameters, e.g. after a request using it has failed.
+     *
+     * @param mpr        the MaterialPartnerRelation
+     * @param semanticId the semanticId of the submodel
+     * @param direction  the direction, may be null if the submodel is not direction-sensitive
+     */
+    public void invalidate(MaterialPartnerRelation mpr, String semanticId, DirectionCharacteristic direction) {
+        invalidate(getKey(mpr, semanticId, direction));
+    }
+
+    /**
+     * Removes all submodel data that was resolved for the given MaterialPartnerRelation.
+     *
+     * @param mprKey the key of the MaterialPartnerRelation
+     */
+    public void invalidateAll(MaterialPartnerRelation.Key mprKey) {
+        entries.keySet().removeIf(key -> key.ownMaterialNumber().equals(mprKey.getOwnMaterialNumber())
+            && key.partnerUuid().equals(mprKey.getPartnerUuid()));
+        if (variablesService.isSubmodelDescriptorCachePersistent()) {
+            repository.deleteAll(repository.findAllByOwnMaterialNumberAndPartnerUuid(mprKey.getOwnMaterialNumber(), mprKey.getPartnerUuid()));
+        }
+    }
+
+    private void invalidate(Key key) {
+        if (entries.remove(key) != null) {
+            log.debug("Invalidated cached submodel descriptor {}", key);
+        }
+        if (variablesService.isSubmodelDescriptorCachePersistent() && repository.existsById(key.toEntityKey())) {
+            repository.deleteById(key.toEntityKey());
+        }
+    }
+
+    private static Key getKey(MaterialPartnerRelation mpr, String semanticId, DirectionCharacteristic direction) {
+        return new Key(mpr.getMaterial().getOwnMaterialNumber(), mpr.getPartner().getUuid(), semanticId,
+            direction != null ? direction.name() : "");
+    }
+}
@@ -33,6 +33,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -359,6 +360,29 @@ public class EdcRequestBodyBuilder {
         return body;
     }
 
+    /**
+     * Creates the request body for requesting the contract negotiations or
+     * transfer processes with the given ids from your EDC control plane
+     * in one single request.
+     *
+     * @param ids the ids of the negotiations or transfer processes
+     * @return The request body
+     */
+    public JsonNode buildQuerySpecForIds(Collection<String> ids) {
+        var body = getEdcContextObject();
+        body.put("@type", "QuerySpec");
+        body.put("offset", 0);
+        body.put("limit", ids.size());
+        ArrayNode idArray = MAPPER.createArrayNode();
+        ids.forEach(idArray::add);
+        ObjectNode filterExpressionObject = MAPPER.createObjectNode();
+        filterExpressionObject.put("operandLeft", "id");
+        filterExpressionObject.put("operator", "in");
+        filterExpressionObject.set("operandRight", idArray);
+        body.set("filterExpression", MAPPER.createArrayNode().add(filterExpressionObject));
+        return body;
+    }
+
     /**
      * Creates the request body for requesting a full list of all
      * transfers in the history of your EDC control plane.
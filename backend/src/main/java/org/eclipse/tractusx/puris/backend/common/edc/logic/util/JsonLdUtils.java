@@ -21,19 +21,31 @@
 package org.eclipse.tractusx.puris.backend.common.edc.logic.util;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.json.Json;
-import jakarta.json.JsonReader;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonBuilderFactory;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import jakarta.json.spi.JsonProvider;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.edc.jsonld.TitaniumJsonLd;
 import org.eclipse.edc.spi.monitor.Monitor;
+import org.eclipse.edc.spi.result.Result;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import java.io.File;
-import java.io.StringReader;
+import java.math.BigInteger;
 import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -42,7 +54,28 @@ import java.util.function.Supplier;
 @Service
 public class JsonLdUtils {
 
-    private final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonProvider JSON_PROVIDER = JsonProvider.provider();
+
+    private static final JsonBuilderFactory JSON_BUILDER_FACTORY = Json.createBuilderFactory(null);
+
+    private static final JsonNodeFactory NODE_FACTORY = JsonNodeFactory.instance;
+
+    /**
+     * The maximum number of expanded documents that are remembered.
+     */
+    private static final int EXPANDED_CACHE_SIZE = 64;
+
+    /**
+     * Remembers the expansion of recently received documents, e.g. catalogs that are requested
+     * again for every negotiation with the same partner. The keys are compared by their content.
+     */
+    private final Map<JsonNode, ObjectNode> expandedCache = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<JsonNode, ObjectNode> eldest) {
+                return size() > EXPANDED_CACHE_SIZE;
+            }
+        });
 
     private final TitaniumJsonLd TITANIUM_JSON_LD = new TitaniumJsonLd(new MonitorAdapter() {
     });
@@ -82,29 +115,119 @@ public class JsonLdUtils {
     }
 
     public ObjectNode expand(JsonNode node) {
-        JsonReader jsonReader = Json.createReader(new StringReader(node.toString()));
-        var jakartaJson = jsonReader.readObject();
-        var expandedJakartaJson = TITANIUM_JSON_LD.expand(jakartaJson).getContent();
-        try {
-            return (ObjectNode) MAPPER.readTree(expandedJakartaJson.toString());
-        } catch (Exception e) {
-            log.error("Failure expanding json node: \n{}", node.toPrettyString(), e);
-            return null;
+        ObjectNode cached = expandedCache.get(node);
+        if (cached != null) {
+            return cached.deepCopy();
+        }
+        ObjectNode expanded = process(node, TITANIUM_JSON_LD::expand, "expanding");
+        if (expanded != null) {
+            expandedCache.put(node.deepCopy(), expanded.deepCopy());
         }
+        return expanded;
     }
 
     public ObjectNode compact(JsonNode node) {
-        JsonReader jsonReader = Json.createReader(new StringReader(node.toString()));
-        var jakartaJson = jsonReader.readObject();
-        var expandedJakartaJson = TITANIUM_JSON_LD.compact(jakartaJson).getContent();
+        return process(node, TITANIUM_JSON_LD::compact, "compacting");
+    }
+
+    private ObjectNode process(JsonNode node, Function<JsonObject, Result<JsonObject>> operation, String operationName) {
+        var jakartaJson = toJakartaJson(node).asJsonObject();
+        var processedJakartaJson = operation.apply(jakartaJson).getContent();
         try {
-            return (ObjectNode) MAPPER.readTree(expandedJakartaJson.toString());
+            return (ObjectNode) toJackson(processedJakartaJson);
         } catch (Exception e) {
-            log.error("Failure compacting json node: \n{}", node.toPrettyString(), e);
+            log.error("Failure {} json node: \n{}", operationName, node.toPrettyString(), e);
             return null;
         }
     }
 
+    /**
+     * Converts a Jackson tree to a jakarta.json tree without serializing it to a String in between.
+     *
+     * @param node the Jackson tree
+     * @return the equivalent jakarta.json tree
+     */
+    static JsonValue toJakartaJson(JsonNode node) {
+        switch (node.getNodeType()) {
+            case OBJECT -> {
+                JsonObjectBuilder builder = JSON_BUILDER_FACTORY.createObjectBuilder();
+                node.fields().forEachRemaining(field -> builder.add(field.getKey(), toJakartaJson(field.getValue())));
+                return builder.build();
+            }
+            case ARRAY -> {
+                JsonArrayBuilder builder = JSON_BUILDER_FACTORY.createArrayBuilder();
+                node.elements().forEachRemaining(element -> builder.add(toJakartaJson(element)));
+                return builder.build();
+            }
+            case NUMBER -> {
+                if (node.isIntegralNumber()) {
+                    return node.canConvertToLong() ? JSON_PROVIDER.createValue(node.longValue())
+                        : JSON_PROVIDER.createValue(node.bigIntegerValue());
+                }
+                return JSON_PROVIDER.createValue(node.decimalValue());
+            }
+            case BOOLEAN -> {
+                return node.booleanValue() ? JsonValue.TRUE : JsonValue.FALSE;
+            }
+            case NULL, MISSING -> {
+                return JsonValue.NULL;
+            }
+            default -> {
+                return JSON_PROVIDER.createValue(node.asText());
+            }
+        }
+    }
+
+    /**
+     * Converts a jakarta.json tree to a Jackson tree without serializing it to a String in between.
+     * Numbers are represented by the same node types that parsing them with Jackson would yield.
+     *
+     * @param value the jakarta.json tree
+     * @return the equivalent Jackson tree
+     */
+    static JsonNode toJackson(JsonValue value) {
+        switch (value.getValueType()) {
+            case OBJECT -> {
+                ObjectNode node = NODE_FACTORY.objectNode();
+                value.asJsonObject().forEach((key, member) -> node.set(key, toJackson(member)));
+                return node;
+            }
+            case ARRAY -> {
+                ArrayNode node = NODE_FACTORY.arrayNode();
+                for (JsonValue element : (JsonArray) value) {
+                    node.add(toJackson(element));
+                }
+                return node;
+            }
+            case STRING -> {
+                return NODE_FACTORY.textNode(((JsonString) value).getString());
+            }
+            case NUMBER -> {
+                JsonNumber number = (JsonNumber) value;
+                if (!number.isIntegral()) {
+                    return NODE_FACTORY.numberNode(number.doubleValue());
+                }
+                BigInteger integer = number.bigIntegerValue();
+                if (integer.bitLength() < Integer.SIZE) {
+                    return NODE_FACTORY.numberNode(integer.intValue());
+                }
+                if (integer.bitLength() < Long.SIZE) {
+                    return NODE_FACTORY.numberNode(integer.longValue());
+                }
+                return NODE_FACTORY.numberNode(integer);
+            }
+            case TRUE -> {
+                return NODE_FACTORY.booleanNode(true);
+            }
+            case FALSE -> {
+                return NODE_FACTORY.booleanNode(false);
+            }
+            default -> {
+                return NODE_FACTORY.nullNode();
+            }
+        }
+    }
+
     private static class MonitorAdapter implements Monitor {
 
         @Override
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.logic.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.domain.model.Lease;
+import org.eclipse.tractusx.puris.backend.common.domain.repository.LeaseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Elects one backend replica for a background workload by means of leases stored in the database.
+ * <p>
+ * A replica holds a lease until it expires. It has to renew the lease well before that, otherwise
+ * another replica may take it over. Both taking over and renewing only succeed if nobody else
+ * changed the lease in the meantime, so at most one replica holds a lease at any time, as long as
+ * the clocks of the replicas differ by much less than the duration of the lease.
+ */
+@Service
+@Slf4j
+public class LeaseService {
+
+    @Autowired
+    private LeaseRepository leaseRepository;
+
+    /**
+     * identifies this replica as owner of leases
+     */
+    private final String owner = UUID.randomUUID().toString();
+
+    /**
+     * Acquires or renews the lease with the given name.
+     *
+     * @param name     the name of the workload
+     * @param duration the duration of the lease (milliseconds)
+     * @return true, if this replica holds the lease now
+     */
+    public boolean tryAcquire(String name, long duration) {
+        long now = System.currentTimeMillis();
+        Lease lease = leaseRepository.findById(name).orElse(null);
+        if (lease != null && !owner.equals(lease.getOwner()) && lease.getExpiresAt() > now) {
+            return false;
+        }
+        if (lease == null) {
+            lease = new Lease(name, owner, now + duration, null);
+        } else {
+            lease.setOwner(owner);
+            lease.setExpiresAt(now + duration);
+        }
+        try {
+            leaseRepository.saveAndFlush(lease);
+            return true;
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            // another replica was faster
+            log.debug("Failed to acquire lease {}: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Gives up the lease with the given name, if this replica holds it, so that another
+     * replica can take over without waiting for the lease to expire.
+     *
+     * @param name the name of the workload
+     */
+    public void release(String name) {
+        Lease lease = leaseRepository.findById(name).orElse(null);
+        if (lease == null || !owner.equals(lease.getOwner())) {
+            return;
+        }
+        lease.setExpiresAt(0);
+        try {
+            leaseRepository.saveAndFlush(lease);
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("Lease {} was taken over before it was released", name);
+        }
+    }
+}
@@ -99,7 +99,9 @@ public class SecurityConfig {
                         "/days-of-supply/**",
                         "/edc/**",
                         "/erp-adapter/**",
-                        "/parttypeinformation/**"
+                        "/parttypeinformation/**",
+                        "/refresh/**",
+                        "/statistics/**"
                     )
                     .authenticated()
                     .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/health/**").permitAll()
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ExecutorService for one kind of workload (e.g. requests to partners or DTR registrations).
+ * <p>
+ * Every task runs on its own virtual thread, so tasks that mostly wait for remote responses
+ * don't occupy platform threads. The number of tasks that are running at the same time is
+ * limited, as well as the number of tasks that are waiting for their turn. Tasks that are
+ * submitted for a partner via {@link #submit(String, Runnable)} are additionally limited per
+ * partner, so that a single slow partner can't occupy all slots.
+ * <p>
+ * If the queue limit is exceeded, a RejectedExecutionException is thrown.
+ */
+@Slf4j
+public class BoundedExecutorService extends AbstractExecutorService {
+
+    private final String name;
+
+    private final ExecutorService delegate;
+
+    private final Semaphore slots;
+
+    private final int maxQueued;
+
+    private final int maxPerPartner;
+
+    private final Map<String, Semaphore> partnerSlots = new ConcurrentHashMap<>();
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final AtomicLong completed = new AtomicLong();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Snapshot of the executor's counters.
+     */
+    public record Statistics(String name, int active, int queued, long completed, long rejected) {
+    }
+
+    /**
+     * @param name          name of the workload, used for the thread names and the statistics
+     * @param maxConcurrent maximum number of tasks running at the same time
+     * @param maxQueued     maximum number of tasks waiting for a free slot
+     * @param maxPerPartner maximum number of tasks running at the same time for one partner
+     */
+    public BoundedExecutorService(String name, int maxConcurrent, int maxQueued, int maxPerPartner) {
+        this.name = name;
+        this.delegate = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory());
+        this.slots = new Semaphore(maxConcurrent, true);
+        this.maxQueued = maxQueued;
+        this.maxPerPartner = maxPerPartner;
+    }
+
+    /**
+     * Submits a task that is limited by the per partner limit of this executor.
+     *
+     * @param partnerBpnl the BPNL of the partner the task communicates with
+     * @param task        the task
+     * @return a Future representing the pending completion of the task
+     */
+    public Future<?> submit(String partnerBpnl, Runnable task) {
+        RunnableFuture<Void> future = newTaskFor(task, null);
+        execute(partnerBpnl, future);
+        return future;
+    }
+
+    /**
+     * Submits a task that is limited by the per partner limit of this executor.
+     *
+     * @param partnerBpnl the BPNL of the partner the task communicates with
+     * @param task        the task
+     * @param <T>         the type of the task's result
+     * @return a Future representing the pending completion of the task
+     */
+    public <T> Future<T> submit(String partnerBpnl, Callable<T> task) {
+        RunnableFuture<T> future = newTaskFor(task);
+        execute(partnerBpnl, future);
+        return future;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        execute(null, command);
+    }
+
+    private void execute(String partnerBpnl, Runnable command) {
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            rejected.incrementAndGet();
+            log.warn("Rejected task in executor {}, {} tasks are already waiting", name, maxQueued);
+            throw new RejectedExecutionException("Too many waiting tasks in executor " + name);
+        }
+        try {
+            delegate.execute(() -> run(partnerBpnl, command));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            rejected.incrementAndGet();
+            throw e;
+        }
+    }
+
+    private void run(String partnerBpnl, Runnable command) {
+        Semaphore partnerSlot = partnerBpnl == null ? null :
+            partnerSlots.computeIfAbsent(partnerBpnl, bpnl -> new Semaphore(maxPerPartner, true));
+        boolean partnerSlotAcquired = false;
+        boolean slotAcquired = false;
+        try {
+            // acquire the partner's slot first, so that tasks waiting for a busy partner
+            // don't block slots that could be used for other partners
+            if (partnerSlot != null) {
+                partnerSlot.acquire();
+                partnerSlotAcquired = true;
+            }
+            slots.acquire();
+            slotAcquired = true;
+        } catch (InterruptedException e) {
+            log.warn("Interrupted while waiting for a free slot in executor {}", name);
+            if (command instanceof Future<?> future) {
+                future.cancel(false);
+            }
+            Thread.currentThread().interrupt();
+            return;
+        } finally {
+            queued.decrementAndGet();
+            if (!slotAcquired && partnerSlotAcquired) {
+                partnerSlot.release();
+            }
+        }
+        active.incrementAndGet();
+        try {
+            command.run();
+        } finally {
+            active.decrementAndGet();
+            completed.incrementAndGet();
+            slots.release();
+            if (partnerSlot != null) {
+                partnerSlot.release();
+            }
+        }
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(name, active.get(), queued.get(), completed.get(), rejected.get());
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.util;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Imports large numbers of entities from a request body without materializing the whole body.
+ * <p>
+ * The body may either be a JSON array or newline delimited JSON (one object per line). The entries are
+ * parsed one by one, converted to entities and persisted in chunks of {@link #CHUNK_SIZE}. Each chunk is
+ * persisted in its own transaction, so a rejected chunk does not undo the chunks persisted before. A rejected
+ * chunk is persisted again entry by entry, so that only the offending entries are rejected.
+ */
+@Component
+@Slf4j
+public class BulkImporter {
+
+    /**
+     * The number of entities that are persisted together.
+     */
+    public static final int CHUNK_SIZE = 500;
+
+    /**
+     * The media type of newline delimited JSON.
+     */
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public BulkImporter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * The outcome of an import.
+     *
+     * @param received       the number of entries read from the body
+     * @param created        the number of entities that were persisted
+     * @param rejected       the number of entries that were not persisted
+     * @param durationMillis the duration of the import
+     * @param errors         the reasons for rejected entries, referring to entries by their zero-based index
+     */
+    public record Result(int received, int created, int rejected, long durationMillis, List<String> errors) {
+    }
+
+    /**
+     * Reads all entries from the body and persists them chunk by chunk.
+     * <p>
+     * Entries the converter rejects are skipped. If the persister rejects a chunk, its entities are persisted
+     * one by one and each rejected entity is reported with its own index. Reading stops at the first malformed entry, but the entries before it are still persisted.
+     *
+     * @param body      the request body, either a JSON array or newline delimited JSON
+     * @param dtoType   the type of the entries
+     * @param converter converts an entry to an entity, throws an IllegalArgumentException if the entry is invalid
+     * @param persister persists a chunk of entities and returns them, throws an IllegalArgumentException
+     *                  (including KeyAlreadyExistsException) if an entity of the chunk is rejected
+     * @param <D>       the type of the entries
+     * @param <E>       the type of the entities
+     * @return the outcome of the import
+     */
+    public <D, E> Result importAll(InputStream body, Class<D> dtoType, Function<D, E> converter,
+                                   Function<List<E>, List<E>> persister) {
+        long start = System.currentTimeMillis();
+        List<String> errors = new ArrayList<>();
+        List<E> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<Integer> indices = new ArrayList<>(CHUNK_SIZE);
+        int received = 0;
+        int created = 0;
+        try (MappingIterator<D> entries = objectMapper.readerFor(dtoType).readValues(body)) {
+            while (entries.hasNextValue()) {
+                D dto = entries.nextValue();
+                int index = received++;
+                try {
+                    chunk.add(converter.apply(dto));
+                    indices.add(index);
+                } catch (IllegalArgumentException e) {
+                    errors.add("Entry " + index + ": " + e.getMessage());
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    created += persist(chunk, indices, persister, errors);
+                    chunk.clear();
+                    indices.clear();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Stopped reading " + dtoType.getSimpleName() + " entries at entry " + received + ": " + e.getMessage());
+            errors.add("Entry " + received + ": Malformed entry, stopped reading.");
+        }
+        if (!chunk.isEmpty()) {
+            created += persist(chunk, indices, persister, errors);
+        }
+        long duration = System.currentTimeMillis() - start;
+        log.info("Imported " + created + " of " + received + " " + dtoType.getSimpleName() + " entries in "
+            + duration + " ms (" + (duration > 0 ? created * 1000L / duration : created) + " entries/s)");
+        return new Result(received, created, received - created, duration, errors);
+    }
+
+    /**
+     * Checks an optional field of an entry against a precompiled pattern. Converters use this instead of running
+     * the bean validation for every entry.
+     *
+     * @param field   the name of the field, used in the error message
+     * @param value   the value of the field, may be null
+     * @param pattern the pattern a present value has to match
+     * @throws IllegalArgumentException if the value is present and does not match the pattern
+     */
+    public static void requireMatchIfPresent(String field, String value, Pattern pattern) {
+        if (value != null && !pattern.matcher(value).matches()) {
+            throw new IllegalArgumentException("Invalid " + field + ".");
+        }
+    }
+
+    private <E> int persist(List<E> chunk, List<Integer> indices, Function<List<E>, List<E>> persister,
+                            List<String> errors) {
+        try {
+            return persister.apply(new ArrayList<>(chunk)).size();
+        } catch (IllegalArgumentException e) {
+            log.debug("Chunk of " + chunk.size() + " entries was rejected, persisting them one by one: " + e.getMessage());
+        }
+        int created = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            try {
+                created += persister.apply(List.of(chunk.get(i))).size();
+            } catch (IllegalArgumentException e) {
+                errors.add("Entry " + indices.get(i) + ": " + e.getMessage());
+            }
+        }
+        return created;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.util;
+
+import org.eclipse.tractusx.puris.backend.common.domain.model.DailyQuantity;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Quantities per day for a period of days in a compact form for charts.
+ * <p>
+ * The quantity of the day {@code from + i} is found at {@code quantities[i]}, days without
+ * any quantity are 0. Days are calendar days in UTC, which is also the time zone in which
+ * the dates are stored in the database.
+ *
+ * @param from       the first day of the period (inclusive)
+ * @param to         the end of the period (exclusive)
+ * @param quantities the quantities per day
+ */
+public record DailyTimeSeries(LocalDate from, LocalDate to, double[] quantities) {
+
+    /**
+     * Maximum number of days of a period.
+     */
+    public static final int MAX_DAYS = 366;
+
+    /**
+     * Creates the time series for the given period from the quantities aggregated by the database.
+     *
+     * @param from            the first day of the period (inclusive)
+     * @param to              the end of the period (exclusive)
+     * @param dailyQuantities the quantities per day, days outside the period are ignored
+     * @return the time series
+     */
+    public static DailyTimeSeries of(LocalDate from, LocalDate to, List<DailyQuantity> dailyQuantities) {
+        double[] quantities = new double[(int) ChronoUnit.DAYS.between(from, to)];
+        for (DailyQuantity dailyQuantity : dailyQuantities) {
+            long index = ChronoUnit.DAYS.between(from, dailyQuantity.day());
+            if (index >= 0 && index < quantities.length) {
+                quantities[(int) index] += dailyQuantity.quantity();
+            }
+        }
+        return new DailyTimeSeries(from, to, quantities);
+    }
+
+    /**
+     * @param from the first day of the period (inclusive)
+     * @param to   the end of the period (exclusive)
+     * @throws IllegalArgumentException if the period is empty or longer than {@link #MAX_DAYS}
+     */
+    public static void checkPeriod(LocalDate from, LocalDate to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("The period must end after it starts");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_DAYS) {
+            throw new IllegalArgumentException("The period must not be longer than " + MAX_DAYS + " days");
+        }
+    }
+
+    /**
+     * @param day the day
+     * @return the start of the day in UTC
+     */
+    public static Date startOf(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Replaces the data a partner reported to us with the latest data received from this partner.
+ * <p>
+ * Instead of deleting all old entities and inserting all new ones, the old and new entities are matched
+ * by their natural key. Entities whose state did not change are left untouched, changed entities are
+ * updated in place, new ones are inserted and outdated ones are deleted. All of this happens in one
+ * transaction, so readers never see a partially refreshed data set. Received entities whose natural key
+ * was already received are skipped.
+ */
+@Component
+@Slf4j
+public class ReportedDataReconciler {
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public ReportedDataReconciler(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * The number of entities affected by a reconciliation.
+     */
+    public record Result(int inserted, int updated, int deleted, int unchanged) {
+    }
+
+    /**
+     * Reconciles the currently stored entities with the newly received ones.
+     *
+     * @param repository      the repository of the entities
+     * @param currentEntities supplies the currently stored entities, called within the transaction
+     * @param newEntities     the newly received entities
+     * @param naturalKey      extracts the natural key of an entity, e.g. location, order position and date
+     * @param state           extracts all other values of an entity that are compared to detect changes
+     * @param updater         copies the state of the second (new) entity onto the first (stored) entity
+     * @param <T>             the type of the entities
+     * @return the number of affected entities
+     */
+    public <T> Result reconcile(JpaRepository<T, UUID> repository, Supplier<List<T>> currentEntities, List<T> newEntities,
+                                Function<T, ?> naturalKey, Function<T, ?> state, BiConsumer<T, T> updater) {
+        return transactionTemplate.execute(status -> {
+            Map<Object, Deque<T>> storedByKey = new HashMap<>();
+            for (T stored : currentEntities.get()) {
+                storedByKey.computeIfAbsent(naturalKey.apply(stored), k -> new ArrayDeque<>()).add(stored);
+            }
+            List<T> toInsert = new ArrayList<>();
+            int updated = 0;
+            int unchanged = 0;
+            Set<Object> receivedKeys = new HashSet<>();
+            for (T received : newEntities) {
+                Object key = naturalKey.apply(received);
+                if (!receivedKeys.add(key)) {
+                    // the natural key is unique, keep the first entity only
+                    log.warn("Skipped duplicate of " + key);
+                    continue;
+                }
+                Deque<T> candidates = storedByKey.get(key);
+                T stored = candidates == null ? null : candidates.poll();
+                if (stored == null) {
+                    toInsert.add(received);
+                } else if (Objects.equals(state.apply(stored), state.apply(received))) {
+                    unchanged++;
+                } else {
+                    // stored entity is managed, the change is written when the transaction commits
+                    updater.accept(stored, received);
+                    updated++;
+                }
+            }
+            List<T> toDelete = storedByKey.values().stream().flatMap(Collection::stream).toList();
+            if (!toDelete.isEmpty()) {
+                repository.deleteAllInBatch(toDelete);
+            }
+            repository.saveAll(toInsert);
+            return new Result(toInsert.size(), updated, toDelete.size(), unchanged);
+        });
+    }
+}
@@ -202,6 +202,47 @@ public class VariablesService {
         return getPurisBaseUrl() + getContextPath() + "parttypeinformation";
     }
 
+    @Value("${puris.dtr.descriptorcache.ttl}")
+    /**
+     * Period (minutes) for which submodel descriptors resolved from a partner's DTR are reused.
+     */
+    private long submodelDescriptorCacheTtl;
+
+    /**
+     * Period (milliseconds) for which submodel descriptors resolved from a partner's DTR are reused.
+     */
+    public long getSubmodelDescriptorCacheTtl() {
+        return submodelDescriptorCacheTtl * 60 * 1000;
+    }
+
+    @Value("${puris.dtr.descriptorcache.persist}")
+    /**
+     * A flag that signals whether submodel descriptors resolved from a
+     * partner's DTR should be stored to the database as well.
+     */
+    private boolean submodelDescriptorCachePersistent;
+
+    @Value("${puris.dtr.sync.window}")
+    /**
+     * Period (milliseconds) during which changes of the masterdata are collected
+     * before the affected shell descriptors are updated at your DTR.
+     */
+    private long dtrSyncWindow;
+
+    @Value("${puris.dtr.reconciliation.enabled}")
+    /**
+     * A flag that signals whether all shell descriptors at your DTR should
+     * regularly be compared with the masterdata.
+     */
+    private boolean dtrReconciliationEnabled;
+
+    @Value("${puris.dtr.reconciliation.interval}")
+    /**
+     * Interval (milliseconds) between two comparisons of the shell descriptors
+     * at your DTR with the masterdata.
+     */
+    private long dtrReconciliationInterval;
+
     @Value("${puris.generatematerialcatenaxid}")
     /**
      * A flag that signals whether the MaterialService
@@ -233,6 +274,109 @@ public class VariablesService {
      */
     private String edcDataplanePublicUrl;
 
+    @Value("${puris.edc.statetimeout}")
+    /**
+     * Period (seconds) after which awaiting a contract negotiation or transfer
+     * process to reach a certain state is given up.
+     */
+    private long edcStateTimeout;
+
+    /**
+     * Period (milliseconds) after which awaiting a contract negotiation or transfer
+     * process to reach a certain state is given up.
+     */
+    public long getEdcStateTimeout() {
+        return edcStateTimeout * 1000;
+    }
+
+    @Value("${puris.edc.registration.maxattempts}")
+    /**
+     * Maximum number of attempts to register a single asset, policy definition
+     * or contract definition at the control plane.
+     */
+    private int edcRegistrationMaxAttempts;
+
+    @Value("${puris.edc.registration.backoff}")
+    /**
+     * Period (seconds) to wait before the second attempt of a failed registration,
+     * doubled for every further attempt.
+     */
+    private long edcRegistrationBackoff;
+
+    /**
+     * Period (milliseconds) to wait before the second attempt of a failed registration,
+     * doubled for every further attempt.
+     */
+    public long getEdcRegistrationBackoff() {
+        return edcRegistrationBackoff * 1000;
+    }
+
+    @Value("${puris.edr.cache.idletimeout}")
+    /**
+     * Period (seconds) after which an unused EDR session is removed from the
+     * cache and its transfer process is terminated.
+     */
+    private long edrCacheIdleTimeout;
+
+    /**
+     * Period (milliseconds) after which an unused EDR session is removed from the
+     * cache and its transfer process is terminated.
+     */
+    public long getEdrCacheIdleTimeout() {
+        return edrCacheIdleTimeout * 1000;
+    }
+
+    @Value("${puris.edr.cache.refreshmargin}")
+    /**
+     * Period (seconds) before the expiry of an EDR token in which the token
+     * is refreshed ahead of time.
+     */
+    private long edrCacheRefreshMargin;
+
+    /**
+     * Period (milliseconds) before the expiry of an EDR token in which the token
+     * is refreshed ahead of time.
+     */
+    public long getEdrCacheRefreshMargin() {
+        return edrCacheRefreshMargin * 1000;
+    }
+
+    @Value("${puris.edr.cache.maxsize}")
+    /**
+     * The maximum number of EDR sessions (i.e. open transfer processes) kept in the cache.
+     */
+    private int edrCacheMaxSize;
+
+    @Value("${puris.catalog.cache.ttl}")
+    /**
+     * Period (seconds) for which catalogs received from partners
+     * are reused for further negotiations.
+     */
+    private long catalogCacheTtl;
+
+    /**
+     * Period (milliseconds) for which catalogs received from partners
+     * are reused for further negotiations.
+     */
+    public long getCatalogCacheTtl() {
+        return catalogCacheTtl * 1000;
+    }
+
+    @Value("${puris.masterdata.cache.ttl}")
+    /**
+     * Period (seconds) for which partners, materials and material partner relations
+     * are served from memory before they are read from the database again.
+     */
+    private long masterDataCacheTtl;
+
+    /**
+     * Period (milliseconds) for which partners, materials and material partner relations
+     * are served from memory before they are read from the database again.
+     */
+    public long getMasterDataCacheTtl() {
+        return masterDataCacheTtl * 1000;
+    }
+
     @Value("${own.bpnl}")
     /**
      * The BPNL that was assigned to you.
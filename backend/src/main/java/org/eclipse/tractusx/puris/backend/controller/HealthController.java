@@ -20,6 +20,9 @@
  */
 package org.eclipse.tractusx.puris.backend.controller;
 
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcRegistrationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -32,6 +35,9 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("health")
 public class HealthController {
 
+    @Autowired
+    private EdcRegistrationService edcRegistrationService;
+
     /**
      * Return 200 OK status for health and readiness probes.
      *
@@ -42,4 +48,17 @@ public class HealthController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Return the readiness regarding the registrations of assets, policy definitions and
+     * contract definitions at the control plane that are necessary at startup.
+     *
+     * @return 200 OK if the initial registration was completed successfully, otherwise 503
+     */
+    @GetMapping("/edc-registration")
+    public ResponseEntity<EdcRegistrationService.State> getEdcRegistrationState() {
+        var state = edcRegistrationService.getInitialRegistrationState();
+        var status = state == EdcRegistrationService.State.COMPLETED ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status).body(state);
+    }
+
 }
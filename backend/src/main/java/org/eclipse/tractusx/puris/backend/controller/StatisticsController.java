@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2023 Volkswagen AG
+ * Copyright (c) 2023 Fraunhofer-Gesellschaft zur Foerderung der angewandten Forschung e.V. (represented by Fraunhofer ISST)
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import org.eclipse.tractusx.puris.backend.PurisApplication;
+import org.eclipse.tractusx.puris.backend.common.ddtr.logic.DtrSyncService;
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MasterDataCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller for the statistics of the background work. Unlike the {@link HealthController},
+ * it requires authentication.
+ */
+@RestController
+@RequestMapping("statistics")
+public class StatisticsController {
+
+    @Autowired
+    private BoundedExecutorService partnerRequestExecutor;
+
+    @Autowired
+    @Qualifier(PurisApplication.DTR_EXECUTOR)
+    private BoundedExecutorService registrationExecutor;
+
+    @Autowired
+    @Qualifier(PurisApplication.ERP_EXECUTOR)
+    private BoundedExecutorService erpAdapterExecutor;
+
+    @Autowired
+    private MasterDataCache masterDataCache;
+
+    @Autowired
+    private DtrSyncService dtrSyncService;
+
+    @GetMapping("executors")
+    @Operation(summary = "Returns the statistics of the executors for background work",
+        description = "Returns the number of active, queued, completed and rejected tasks per executor.")
+    public ResponseEntity<List<BoundedExecutorService.Statistics>> getExecutorStatistics() {
+        return ResponseEntity.ok(List.of(
+            partnerRequestExecutor.getStatistics(),
+            registrationExecutor.getStatistics(),
+            erpAdapterExecutor.getStatistics()
+        ));
+    }
+
+    @GetMapping("masterdata-cache")
+    @Operation(summary = "Returns the statistics of the masterdata cache",
+        description = "Returns the size, the number of hits and misses and the hit rate per cache region.")
+    public ResponseEntity<List<MasterDataCache.Statistics>> getMasterDataCacheStatistics() {
+        return ResponseEntity.ok(masterDataCache.getStatistics());
+    }
+
+    @GetMapping("dtr-sync")
+    @Operation(summary = "Returns the statistics of the DTR synchronization",
+        description = "Returns the number of pending, coalesced and written shell descriptors and the result of the " +
+            "last reconciliation with the DTR.")
+    public ResponseEntity<DtrSyncService.Statistics> getDtrSyncStatistics() {
+        return ResponseEntity.ok(dtrSyncService.getStatistics());
+    }
+}
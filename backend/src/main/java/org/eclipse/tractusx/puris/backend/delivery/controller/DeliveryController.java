@@ -27,6 +27,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
+import org.eclipse.tractusx.puris.backend.common.util.BulkImporter;
+import org.eclipse.tractusx.puris.backend.common.util.DailyTimeSeries;
 import org.eclipse.tractusx.puris.backend.common.util.PatternStore;
 import org.eclipse.tractusx.puris.backend.delivery.domain.model.OwnDelivery;
 import org.eclipse.tractusx.puris.backend.delivery.domain.model.ReportedDelivery;
@@ -37,23 +40,29 @@ import org.eclipse.tractusx.puris.backend.delivery.logic.service.ReportedDeliver
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.dto.PartnerDto;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MasterDataMemo;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
 import javax.management.openmbean.KeyAlreadyExistsException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -88,7 +97,10 @@ public class DeliveryController {
     private final Pattern materialPattern = PatternStore.NON_EMPTY_NON_VERTICAL_WHITESPACE_PATTERN;
 
     @Autowired
-    private ExecutorService executorService;
+    private BoundedExecutorService executorService;
+
+    @Autowired
+    private BulkImporter bulkImporter;
 
     @GetMapping()
     @ResponseBody
@@ -107,6 +119,52 @@ public class DeliveryController {
         return List.of(reportedDeliveries, ownDeliveries).stream().flatMap(List::stream).toList();
     }
 
+    @GetMapping("timeseries")
+    @ResponseBody
+    @Operation(
+        summary = "Get the quantities of own deliveries per day for the given Material",
+        description = "Get the quantities of own deliveries per day of arrival (INBOUND) or departure (OUTBOUND) for the given material number. Optionally a bpns (destination for INBOUND, origin for OUTBOUND) and partner bpnl can be provided to filter the deliveries further. The quantities are summed up per day by the database. The element at index i of quantities belongs to the day from + i. The day to is exclusive and the period may span at most 366 days."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Quantities per day."),
+        @ApiResponse(responseCode = "400", description = "Invalid period.", content = @Content)
+    })
+    public DailyTimeSeries getDeliveryTimeSeries(
+        @RequestParam @Parameter(description = "encoded in base64") String ownMaterialNumber, @RequestParam DirectionCharacteristic direction,
+        Optional<String> bpns, Optional<String> bpnl,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ownMaterialNumber = new String(Base64.getDecoder().decode(ownMaterialNumber));
+        try {
+            return ownDeliveryService.getDailyQuantities(ownMaterialNumber, bpnl, bpns, direction, from, to);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("reported/timeseries")
+    @ResponseBody
+    @Operation(
+        summary = "Get the quantities of reported deliveries per day for the given Material",
+        description = "Get the quantities of deliveries reported by partners per day of arrival (INBOUND) or departure (OUTBOUND) for the given material number. Optionally a bpns (destination for INBOUND, origin for OUTBOUND) and partner bpnl can be provided to filter the deliveries further. The quantities are summed up per day by the database. The element at index i of quantities belongs to the day from + i. The day to is exclusive and the period may span at most 366 days."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Quantities per day."),
+        @ApiResponse(responseCode = "400", description = "Invalid period.", content = @Content)
+    })
+    public DailyTimeSeries getReportedDeliveryTimeSeries(
+        @RequestParam @Parameter(description = "encoded in base64") String ownMaterialNumber, @RequestParam DirectionCharacteristic direction,
+        Optional<String> bpns, Optional<String> bpnl,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ownMaterialNumber = new String(Base64.getDecoder().decode(ownMaterialNumber));
+        try {
+            return reportedDeliveryService.getDailyQuantities(ownMaterialNumber, bpnl, bpns, direction, from, to);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @PostMapping()
     @ResponseBody
     @Operation(summary = "Creates a new delivery")
@@ -133,7 +191,7 @@ public class DeliveryController {
         }
 
         try {
-            return convertToDto(ownDeliveryService.create(convertToEntity(deliveryDto)));
+            return convertToDto(ownDeliveryService.create(convertToEntity(deliveryDto, materialService::findByOwnMaterialNumber, partnerService::findByBpnl)));
         } catch (KeyAlreadyExistsException e) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Delivery already exists. Use PUT instead.");
         } catch (IllegalArgumentException e) {
@@ -142,6 +200,26 @@ public class DeliveryController {
         }
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, BulkImporter.APPLICATION_NDJSON_VALUE})
+    @ResponseBody
+    @Operation(
+        summary = "Imports a large number of deliveries",
+        description = "Imports deliveries given as JSON array or as newline delimited JSON. The entries are " +
+            "persisted in chunks, invalid entries and already existing deliveries are rejected one by one " +
+            "without affecting the other entries."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import was processed, see result for rejected entries."),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error.", content = @Content)
+    })
+    public BulkImporter.Result importDeliveries(InputStream body) {
+        MasterDataMemo memo = new MasterDataMemo(materialService, partnerService);
+        return bulkImporter.importAll(body, DeliveryDto.class, dto -> {
+            checkBulkEntry(dto);
+            return convertToEntity(dto, memo::findMaterial, memo::findPartner);
+        }, ownDeliveryService::createAll);
+    }
+
     @PutMapping()
     @Operation(summary = "Updates a delivery by its UUID")
     @ApiResponses(value = {
@@ -152,7 +230,7 @@ public class DeliveryController {
     })
     @ResponseStatus(HttpStatus.ACCEPTED)
     public DeliveryDto updateDelivery(@RequestBody DeliveryDto dto) {
-        OwnDelivery updatedDelivery = ownDeliveryService.update(convertToEntity(dto));
+        OwnDelivery updatedDelivery = ownDeliveryService.update(convertToEntity(dto, materialService::findByOwnMaterialNumber, partnerService::findByBpnl));
         if (updatedDelivery == null) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Delivery does not exist.");
         }
@@ -200,7 +278,7 @@ public class DeliveryController {
             partners = mprService.findAllCustomersForOwnMaterialNumber(ownMaterialNumber);
         }
         for (Partner partner : partners) {
-            executorService.submit(() ->
+            executorService.submit(partner.getBpnl(), () ->
             deliveryRequestApiService.doReportedDeliveryRequest(partner, materialEntity));
         }
 
@@ -209,18 +287,58 @@ public class DeliveryController {
             .toList());
     }
 
-    private OwnDelivery convertToEntity(DeliveryDto dto) {
-        OwnDelivery entity = modelMapper.map(dto, OwnDelivery.class);
+    private void checkBulkEntry(DeliveryDto dto) {
+        BulkImporter.requireMatchIfPresent("tracking number", dto.getTrackingNumber(),
+            PatternStore.NON_EMPTY_NON_VERTICAL_WHITESPACE_PATTERN);
+        BulkImporter.requireMatchIfPresent("supplier order number", dto.getSupplierOrderNumber(),
+            PatternStore.NON_EMPTY_NON_VERTICAL_WHITESPACE_PATTERN);
+        BulkImporter.requireMatchIfPresent("customer order number", dto.getCustomerOrderNumber(),
+            PatternStore.NON_EMPTY_NON_VERTICAL_WHITESPACE_PATTERN);
+        BulkImporter.requireMatchIfPresent("customer order position number", dto.getCustomerOrderPositionNumber(),
+            PatternStore.NON_EMPTY_NON_VERTICAL_WHITESPACE_PATTERN);
+        BulkImporter.requireMatchIfPresent("destination site", dto.getDestinationBpns(), PatternStore.BPNS_PATTERN);
+        BulkImporter.requireMatchIfPresent("destination address", dto.getDestinationBpna(), PatternStore.BPNA_PATTERN);
+        BulkImporter.requireMatchIfPresent("origin site", dto.getOriginBpns(), PatternStore.BPNS_PATTERN);
+        BulkImporter.requireMatchIfPresent("origin address", dto.getOriginBpna(), PatternStore.BPNA_PATTERN);
+    }
 
-        Material material = materialService.findByOwnMaterialNumber(dto.getOwnMaterialNumber());
-        entity.setMaterial(material);
+    private OwnDelivery convertToEntity(DeliveryDto dto, Function<String, Material> materialLookup,
+                                        Function<String, Partner> partnerLookup) {
+        if (dto.getOwnMaterialNumber() == null || dto.getOwnMaterialNumber().isEmpty()) {
+            throw new IllegalArgumentException("Delivery Information misses material identification.");
+        }
+        if (dto.getPartnerBpnl() == null || dto.getPartnerBpnl().isEmpty()) {
+            throw new IllegalArgumentException("Delivery Information misses partner identification.");
+        }
+        OwnDelivery entity = new OwnDelivery();
+        entity.setUuid(dto.getUuid());
+        entity.setQuantity(dto.getQuantity());
+        entity.setMeasurementUnit(dto.getMeasurementUnit());
+        entity.setTrackingNumber(dto.getTrackingNumber());
+        entity.setIncoterm(dto.getIncoterm());
+        entity.setSupplierOrderNumber(dto.getSupplierOrderNumber());
+        entity.setCustomerOrderNumber(dto.getCustomerOrderNumber());
+        entity.setCustomerOrderPositionNumber(dto.getCustomerOrderPositionNumber());
+        entity.setDestinationBpns(dto.getDestinationBpns());
+        entity.setDestinationBpna(dto.getDestinationBpna());
+        entity.setOriginBpns(dto.getOriginBpns());
+        entity.setOriginBpna(dto.getOriginBpna());
+        entity.setDateOfDeparture(dto.getDateOfDeparture());
+        entity.setDateOfArrival(dto.getDateOfArrival());
+        entity.setDepartureType(dto.getDepartureType());
+        entity.setArrivalType(dto.getArrivalType());
 
-        Partner existingPartner = partnerService.findByBpnl(dto.getPartnerBpnl());
+        Material material = materialLookup.apply(dto.getOwnMaterialNumber());
+        if (material == null) {
+            throw new IllegalArgumentException(String.format(
+                    "Material %s could not be found", dto.getOwnMaterialNumber()));
+        }
+        entity.setMaterial(material);
 
+        Partner existingPartner = partnerLookup.apply(dto.getPartnerBpnl());
         if (existingPartner == null) {
-            throw new IllegalStateException(String.format(
-                    "Partner for bpnl %s could not be found",
-                    dto.getPartnerBpnl()));
+            throw new IllegalArgumentException(String.format(
+                    "Partner for bpnl %s could not be found", dto.getPartnerBpnl()));
         }
         entity.setPartner(existingPartner);
         return entity;
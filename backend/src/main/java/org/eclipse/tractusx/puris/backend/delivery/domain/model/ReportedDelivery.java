@@ -21,11 +21,25 @@
 package org.eclipse.tractusx.puris.backend.delivery.domain.model;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
 @Entity
+@Table(uniqueConstraints = {
+    @UniqueConstraint(name = "uc_reported_delivery_natural_key", columnNames = {
+        "material_ownMaterialNumber", "partner_uuid", "trackingNumber", "incoterm", "destinationBpns",
+        "destinationBpna", "originBpns", "originBpna", "dateOfDeparture", "dateOfArrival", "departureType",
+        "arrivalType", "customerOrderNumber", "customerOrderPositionNumber", "supplierOrderNumber"
+    })
+}, indexes = {
+    @Index(name = "idx_reported_delivery_inbound", columnList = "material_ownMaterialNumber, partner_uuid, destinationBpns, dateOfArrival"),
+    @Index(name = "idx_reported_delivery_outbound", columnList = "material_ownMaterialNumber, partner_uuid, originBpns, dateOfDeparture"),
+    @Index(name = "idx_reported_delivery_partner", columnList = "partner_uuid")
+})
 @SuperBuilder
 @NoArgsConstructor
 @ToString(callSuper = true)
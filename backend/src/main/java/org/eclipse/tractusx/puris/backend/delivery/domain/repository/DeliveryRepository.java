@@ -20,11 +20,87 @@
 
 package org.eclipse.tractusx.puris.backend.delivery.domain.repository;
 
+import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
+import org.eclipse.tractusx.puris.backend.common.domain.model.DailyQuantity;
 import org.eclipse.tractusx.puris.backend.delivery.domain.model.Delivery;
+import org.eclipse.tractusx.puris.backend.delivery.domain.model.EventTypeEnumeration;
+import org.eclipse.tractusx.puris.backend.delivery.domain.model.IncotermEnumeration;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface DeliveryRepository<T extends Delivery> extends JpaRepository<T, UUID> {
-    
+public interface DeliveryRepository<T extends Delivery> extends JpaRepository<T, UUID>, JpaSpecificationExecutor<T> {
+
+    List<T> findAllByPartner_Bpnl(String partnerBpnl);
+
+    List<T> findAllByPartner_Uuid(UUID partnerUuid);
+
+    List<T> findAllByMaterial_OwnMaterialNumber(String ownMaterialNumber);
+
+    /**
+     * Sums up the quantities of the deliveries per day of arrival.
+     *
+     * @param ownMaterialNumber the material number
+     * @param partnerBpnl       the partner's BPNL, may be null
+     * @param siteBpns          the destination, may be null
+     * @param from              start of the period (inclusive)
+     * @param to                end of the period (exclusive)
+     * @return the quantities per day, ordered by day
+     */
+    @Query("select new org.eclipse.tractusx.puris.backend.common.domain.model.DailyQuantity(cast(d.dateOfArrival as LocalDate), sum(d.quantity)) " +
+        "from #{#entityName} d where d.material.ownMaterialNumber = :ownMaterialNumber " +
+        "and (:partnerBpnl is null or d.partner.bpnl = :partnerBpnl) " +
+        "and (:siteBpns is null or d.destinationBpns = :siteBpns) " +
+        "and d.dateOfArrival >= :from and d.dateOfArrival < :to " +
+        "group by cast(d.dateOfArrival as LocalDate) order by cast(d.dateOfArrival as LocalDate)")
+    List<DailyQuantity> sumQuantitiesPerDayOfArrival(@Param("ownMaterialNumber") String ownMaterialNumber, @Param("partnerBpnl") String partnerBpnl,
+        @Param("siteBpns") String siteBpns, @Param("from") Date from, @Param("to") Date to);
+
+    /**
+     * Sums up the quantities of the deliveries per day of departure.
+     *
+     * @param ownMaterialNumber the material number
+     * @param partnerBpnl       the partner's BPNL, may be null
+     * @param siteBpns          the origin, may be null
+     * @param from              start of the period (inclusive)
+     * @param to                end of the period (exclusive)
+     * @return the quantities per day, ordered by day
+     */
+    @Query("select new org.eclipse.tractusx.puris.backend.common.domain.model.DailyQuantity(cast(d.dateOfDeparture as LocalDate), sum(d.quantity)) " +
+        "from #{#entityName} d where d.material.ownMaterialNumber = :ownMaterialNumber " +
+        "and (:partnerBpnl is null or d.partner.bpnl = :partnerBpnl) " +
+        "and (:siteBpns is null or d.originBpns = :siteBpns) " +
+        "and d.dateOfDeparture >= :from and d.dateOfDeparture < :to " +
+        "group by cast(d.dateOfDeparture as LocalDate) order by cast(d.dateOfDeparture as LocalDate)")
+    List<DailyQuantity> sumQuantitiesPerDayOfDeparture(@Param("ownMaterialNumber") String ownMaterialNumber, @Param("partnerBpnl") String partnerBpnl,
+        @Param("siteBpns") String siteBpns, @Param("from") Date from, @Param("to") Date to);
+
+    List<T> findAllByMaterial_OwnMaterialNumberAndPartner_BpnlAndDateOfArrivalGreaterThanEqualAndDateOfArrivalLessThan(
+        String ownMaterialNumber, String partnerBpnl, Date from, Date to);
+
+    List<T> findAllByMaterial_OwnMaterialNumberAndPartner_BpnlAndDateOfDepartureGreaterThanEqualAndDateOfDepartureLessThan(
+        String ownMaterialNumber, String partnerBpnl, Date from, Date to);
+
+    boolean existsByMaterial_OwnMaterialNumberAndPartner_UuidAndTrackingNumberAndIncotermAndDestinationBpnsAndDestinationBpnaAndOriginBpnsAndOriginBpnaAndDateOfDepartureAndDateOfArrivalAndDepartureTypeAndArrivalTypeAndCustomerOrderNumberAndCustomerOrderPositionNumberAndSupplierOrderNumber(
+        String ownMaterialNumber, UUID partnerUuid, String trackingNumber, IncotermEnumeration incoterm,
+        String destinationBpns, String destinationBpna, String originBpns, String originBpna,
+        Date dateOfDeparture, Date dateOfArrival, EventTypeEnumeration departureType, EventTypeEnumeration arrivalType,
+        String customerOrderNumber, String customerOrderPositionNumber, String supplierOrderNumber);
+
+    /**
+     * @param delivery the delivery
+     * @return true, if a delivery equal to the given one (see {@link Delivery#equals(Object)}) exists
+     */
+    default boolean existsByNaturalKey(T delivery) {
+        return existsByMaterial_OwnMaterialNumberAndPartner_UuidAndTrackingNumberAndIncotermAndDestinationBpnsAndDestinationBpnaAndOriginBpnsAndOriginBpnaAndDateOfDepartureAndDateOfArrivalAndDepartureTypeAndArrivalTypeAndCustomerOrderNumberAndCustomerOrderPositionNumberAndSupplierOrderNumber(
+            delivery.getMaterial().getOwnMaterialNumber(), delivery.getPartner().getUuid(),
+            delivery.getTrackingNumber(), delivery.getIncoterm(),
+            delivery.getDestinationBpns(), delivery.getDestinationBpna(), delivery.getOriginBpns(), delivery.getOriginBpna(),
+            delivery.getDateOfDeparture(), delivery.getDateOfArrival(), delivery.getDepartureType(), delivery.getArrivalType(),
+            delivery.getCustomerOrderNumber(), delivery.getCustomerOrderPositionNumber(), delivery.getSupplierOrderNumber());
+    }
 }
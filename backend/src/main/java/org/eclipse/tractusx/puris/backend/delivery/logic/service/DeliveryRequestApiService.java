@@ -148,7 +148,10 @@ public class DeliveryRequestApiService {
         return sammMapper.ownDeliveryToSamm(currentDeliveries, partner, material);
     }
 
-    public void doReportedDeliveryRequest(Partner partner, Material material) {
+    /**
+     * @return true, if the partner's data was received and stored
+     */
+    public boolean doReportedDeliveryRequest(Partner partner, Material material) {
         try {
             var mpr = mprService.find(material, partner);
             if (mpr.getPartnerCXNumber() == null) {
@@ -164,20 +167,15 @@ public class DeliveryRequestApiService {
                 var deliveryMaterial = delivery.getMaterial();
                 if (!partner.equals(deliveryPartner) || !material.equals(deliveryMaterial)) {
                     log.warn("Received inconsistent data from " + partner.getBpnl() + "\n" + deliveries);
-                    return;
+                    return false;
                 }
             }
-            // delete older data:
-            var oldDeliveries = reportedDeliveryService.findAllByFilters(Optional.of(material.getOwnMaterialNumber()), Optional.empty(), Optional.of(partner.getBpnl()), Optional.empty(), Optional.empty());
-            for (var oldDelivery : oldDeliveries) {
-                reportedDeliveryService.delete(oldDelivery.getUuid());
-            }
-            for (var newDelivery : deliveries) {
-                reportedDeliveryService.create(newDelivery);
-            }
-            log.info("Updated Reported Deliveries for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl());
+            var result = reportedDeliveryService.replaceAll(partner, material, deliveries);
+            log.info("Updated Reported Deliveries for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl() + ": " + result);
+            return true;
         } catch (Exception e) {
             log.error("Error in Reported Deliveries Request for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl(), e);
+            return false;
         }
     }
 
@@ -22,19 +22,20 @@ package org.eclipse.tractusx.puris.backend.delivery.logic.service;
 
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Stream;
 
+import jakarta.persistence.criteria.Predicate;
+import org.eclipse.tractusx.puris.backend.common.util.DailyTimeSeries;
 import org.eclipse.tractusx.puris.backend.delivery.domain.model.Delivery;
 import org.eclipse.tractusx.puris.backend.delivery.domain.repository.DeliveryRepository;
 import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 
 public abstract class DeliveryService<T extends Delivery> {
     @Autowired
@@ -48,44 +49,75 @@ public abstract class DeliveryService<T extends Delivery> {
         return repository.findById(id).orElse(null);
     }
 
+    /**
+     * Returns all deliveries matching the given filters. The filters are evaluated by the database.
+     *
+     * @param ownMaterialNumber the material number
+     * @param bpns              the site, matched against the destination or the origin of the delivery
+     *                          (depending on the direction, if given)
+     * @param bpnl              the partner's BPNL
+     * @param day               the day of arrival (INBOUND) or departure (OUTBOUND)
+     * @param direction         if given together with bpns, INBOUND only matches the destination and
+     *                          OUTBOUND only matches the origin of the delivery
+     * @return the matching deliveries
+     */
     public final List<T> findAllByFilters(
         Optional<String> ownMaterialNumber,
         Optional<String> bpns,
         Optional<String> bpnl,
         Optional<Date> day,
         Optional<DirectionCharacteristic> direction) {
-        Stream<T> stream = repository.findAll().stream();
-        if (ownMaterialNumber.isPresent()) {
-            stream = stream.filter(delivery -> delivery.getMaterial().getOwnMaterialNumber().equals(ownMaterialNumber.get()));
-        }
-        if (bpns.isPresent()) {
-            stream = stream.filter(delivery -> delivery.getDestinationBpns().equals(bpns.get()) || delivery.getOriginBpns().equals(bpns.get()));
-        }
-        if (bpnl.isPresent()) {
-            stream = stream.filter(delivery -> delivery.getPartner().getBpnl().equals(bpnl.get()));
-        }
-        if (day.isPresent()) {
-            LocalDate localDayDate = Instant.ofEpochMilli(day.get().getTime())
-                .atOffset(ZoneOffset.UTC)
-                .toLocalDate();
-            stream = stream.filter(delivery -> {
-                long time = direction.get() == DirectionCharacteristic.INBOUND
-                    ? delivery.getDateOfArrival().getTime()
-                    : delivery.getDateOfDeparture().getTime();
-                LocalDate deliveryDayDate = Instant.ofEpochMilli(time)
+        return repository.findAll(byFilters(ownMaterialNumber, bpns, bpnl, day, direction));
+    }
+
+    private Specification<T> byFilters(
+        Optional<String> ownMaterialNumber,
+        Optional<String> bpns,
+        Optional<String> bpnl,
+        Optional<Date> day,
+        Optional<DirectionCharacteristic> direction) {
+        return (root, query, builder) -> {
+            if (query.getResultType() != Long.class) {
+                // fetch partner and material with the deliveries instead of selecting them one by one
+                root.fetch("partner");
+                root.fetch("material");
+            }
+            List<Predicate> predicates = new ArrayList<>();
+            ownMaterialNumber.ifPresent(materialNumber ->
+                predicates.add(builder.equal(root.get("material").get("ownMaterialNumber"), materialNumber)));
+            bpnl.ifPresent(partnerBpnl ->
+                predicates.add(builder.equal(root.get("partner").get("bpnl"), partnerBpnl)));
+            bpns.ifPresent(siteBpns -> {
+                if (direction.isEmpty()) {
+                    predicates.add(builder.or(
+                        builder.equal(root.get("destinationBpns"), siteBpns),
+                        builder.equal(root.get("originBpns"), siteBpns)));
+                } else if (direction.get() == DirectionCharacteristic.INBOUND) {
+                    predicates.add(builder.equal(root.get("destinationBpns"), siteBpns));
+                } else {
+                    predicates.add(builder.equal(root.get("originBpns"), siteBpns));
+                }
+            });
+            day.ifPresent(date -> {
+                LocalDate localDayDate = Instant.ofEpochMilli(date.getTime())
                     .atOffset(ZoneOffset.UTC)
                     .toLocalDate();
-                return deliveryDayDate.getDayOfMonth() == localDayDate.getDayOfMonth();
+                Date startOfDay = Date.from(localDayDate.atStartOfDay(ZoneOffset.UTC).toInstant());
+                Date startOfNextDay = Date.from(localDayDate.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+                Predicate arrival = builder.and(
+                    builder.greaterThanOrEqualTo(root.get("dateOfArrival"), startOfDay),
+                    builder.lessThan(root.get("dateOfArrival"), startOfNextDay));
+                Predicate departure = builder.and(
+                    builder.greaterThanOrEqualTo(root.get("dateOfDeparture"), startOfDay),
+                    builder.lessThan(root.get("dateOfDeparture"), startOfNextDay));
+                if (direction.isEmpty()) {
+                    predicates.add(builder.or(arrival, departure));
+                } else {
+                    predicates.add(direction.get() == DirectionCharacteristic.INBOUND ? arrival : departure);
+                }
             });
-        }
-        if (direction.isPresent()) {
-            if (direction.get() == DirectionCharacteristic.INBOUND) {
-                stream = stream.filter(delivery -> delivery.getDestinationBpns().equals(bpns.get()));
-            } else {
-                stream = stream.filter(delivery -> delivery.getOriginBpns().equals(bpns.get()));
-            }
-        }
-        return stream.toList();
+            return builder.and(predicates.toArray(new Predicate[0]));
+        };
     }
 
     public final double getSumOfQuantities(List<T> deliveries) {
@@ -96,18 +128,48 @@ public abstract class DeliveryService<T extends Delivery> {
         return sum;
     }
 
-    public final List<Double> getQuantityForDays(String material, String partnerBpnl, String siteBpns, DirectionCharacteristic direction, int numberOfDays) {
-        List<Double> deliveryQtys = new ArrayList<>();
-        LocalDate localDate = LocalDate.now();
-
-        for (int i = 0; i < numberOfDays; i++) {
-            Date date = Date.from(localDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
-            List<T> deliveries = findAllByFilters(Optional.of(material), Optional.of(siteBpns), Optional.of(partnerBpnl), Optional.of(date), Optional.of(direction));
-            deliveryQtys.add(getSumOfQuantities(deliveries));
-
-            localDate = localDate.plusDays(1);
+    /**
+     * Returns all deliveries of the given material and partner that arrive (INBOUND)
+     * or depart (OUTBOUND) within the given period.
+     *
+     * @param ownMaterialNumber the material number
+     * @param partnerBpnl       the partner's BPNL
+     * @param direction         INBOUND to filter by the date of arrival, OUTBOUND by the date of departure
+     * @param from              start of the period (inclusive)
+     * @param to                end of the period (exclusive)
+     * @return the matching deliveries
+     */
+    public final List<T> findAllByDateRange(String ownMaterialNumber, String partnerBpnl, DirectionCharacteristic direction, Date from, Date to) {
+        if (direction == DirectionCharacteristic.INBOUND) {
+            return repository.findAllByMaterial_OwnMaterialNumberAndPartner_BpnlAndDateOfArrivalGreaterThanEqualAndDateOfArrivalLessThan(
+                ownMaterialNumber, partnerBpnl, from, to);
         }
-        return deliveryQtys;
+        return repository.findAllByMaterial_OwnMaterialNumberAndPartner_BpnlAndDateOfDepartureGreaterThanEqualAndDateOfDepartureLessThan(
+            ownMaterialNumber, partnerBpnl, from, to);
+    }
+
+    /**
+     * Sums up the quantities of the deliveries per day of arrival (INBOUND) or departure (OUTBOUND)
+     * within the given period. The sums are calculated by the database.
+     *
+     * @param ownMaterialNumber the material number
+     * @param bpnl              the partner's BPNL
+     * @param bpns              the destination (INBOUND) or origin (OUTBOUND) of the deliveries
+     * @param direction         INBOUND to sum up by the date of arrival, OUTBOUND by the date of departure
+     * @param from              the first day of the period (inclusive)
+     * @param to                the end of the period (exclusive)
+     * @return the quantities per day
+     * @throws IllegalArgumentException if the period is invalid, see {@link DailyTimeSeries#checkPeriod(LocalDate, LocalDate)}
+     */
+    public final DailyTimeSeries getDailyQuantities(String ownMaterialNumber, Optional<String> bpnl, Optional<String> bpns,
+                                                    DirectionCharacteristic direction, LocalDate from, LocalDate to) {
+        DailyTimeSeries.checkPeriod(from, to);
+        var dailyQuantities = direction == DirectionCharacteristic.INBOUND ?
+            repository.sumQuantitiesPerDayOfArrival(ownMaterialNumber, bpnl.orElse(null), bpns.orElse(null),
+                DailyTimeSeries.startOf(from), DailyTimeSeries.startOf(to)) :
+            repository.sumQuantitiesPerDayOfDeparture(ownMaterialNumber, bpnl.orElse(null), bpns.orElse(null),
+                DailyTimeSeries.startOf(from), DailyTimeSeries.startOf(to));
+        return DailyTimeSeries.of(from, to, dailyQuantities);
     }
 
     public final T update(T delivery) {
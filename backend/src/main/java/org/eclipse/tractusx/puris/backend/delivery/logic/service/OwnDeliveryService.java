@@ -31,6 +31,7 @@ import org.eclipse.tractusx.puris.backend.delivery.domain.model.OwnDelivery;
 import org.eclipse.tractusx.puris.backend.delivery.domain.repository.OwnDeliveryRepository;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -50,13 +51,11 @@ public class OwnDeliveryService extends DeliveryService<OwnDelivery> {
     }
 
     public final List<OwnDelivery> findAllByBpnl(String bpnl) {
-        return repository.findAll().stream().filter(delivery -> delivery.getPartner().getBpnl().equals(bpnl))
-                .toList();
+        return repository.findAllByPartner_Bpnl(bpnl);
     }
 
     public final List<OwnDelivery> findAllByOwnMaterialNumber(String ownMaterialNumber) {
-        return repository.findAll().stream().filter(delivery -> delivery.getMaterial().getOwnMaterialNumber().equals(ownMaterialNumber))
-                .toList();
+        return repository.findAllByMaterial_OwnMaterialNumber(ownMaterialNumber);
     }
 
     public final OwnDelivery create(OwnDelivery delivery) {
@@ -73,11 +72,15 @@ public class OwnDeliveryService extends DeliveryService<OwnDelivery> {
         if (deliveries.stream().anyMatch(delivery -> !validator.apply(delivery))) {
             throw new IllegalArgumentException("Invalid delivery");
         }
-        if (repository.findAll().stream()
-                .anyMatch(existing -> deliveries.stream().anyMatch(delivery -> delivery.equals(existing)))) {
+        if (deliveries.stream().anyMatch(repository::existsByNaturalKey)) {
+            throw new KeyAlreadyExistsException("delivery already exists");
+        }
+        try {
+            return repository.saveAll(deliveries);
+        } catch (DataIntegrityViolationException e) {
+            // the list itself contains the same delivery twice
             throw new KeyAlreadyExistsException("delivery already exists");
         }
-        return repository.saveAll(deliveries);
     }
 
     public boolean validate(OwnDelivery delivery) {
@@ -20,16 +20,22 @@
 
 package org.eclipse.tractusx.puris.backend.delivery.logic.service;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
 
+import org.eclipse.tractusx.puris.backend.common.util.ReportedDataReconciler;
 import org.eclipse.tractusx.puris.backend.delivery.domain.model.EventTypeEnumeration;
 import org.eclipse.tractusx.puris.backend.delivery.domain.model.ReportedDelivery;
 import org.eclipse.tractusx.puris.backend.delivery.domain.repository.ReportedDeliveryRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -38,6 +44,9 @@ public class ReportedDeliveryService extends DeliveryService<ReportedDelivery> {
 
     private final PartnerService partnerService;
 
+    @Autowired
+    private ReportedDataReconciler reconciler;
+
     protected final Function<ReportedDelivery, Boolean> validator;
 
     private Partner ownPartnerEntity;
@@ -49,8 +58,7 @@ public class ReportedDeliveryService extends DeliveryService<ReportedDelivery> {
     }
 
     public final List<ReportedDelivery> findAllByReportedId(UUID reportedId) {
-        return repository.findAll().stream().filter(delivery -> delivery.getPartner().getUuid().equals(reportedId))
-            .toList();
+        return repository.findAllByPartner_Uuid(reportedId);
     }
 
     public final ReportedDelivery create(ReportedDelivery delivery) {
@@ -67,11 +75,49 @@ public class ReportedDeliveryService extends DeliveryService<ReportedDelivery> {
         if (deliveries.stream().anyMatch(delivery -> !validator.apply(delivery))) {
             return null;
         }
-        if (repository.findAll().stream()
-                .anyMatch(existing -> deliveries.stream().anyMatch(delivery -> delivery.equals(existing)))) {
+        if (deliveries.stream().anyMatch(repository::existsByNaturalKey)) {
+            return null;
+        }
+        try {
+            return repository.saveAll(deliveries);
+        } catch (DataIntegrityViolationException e) {
+            // the list itself contains the same delivery twice
             return null;
         }
-        return repository.saveAll(deliveries);
+    }
+
+    /**
+     * Replaces all deliveries of the given partner and material with the given deliveries.
+     * <p>
+     * Deliveries are matched by their transit locations, transit events, incoterm, tracking number and
+     * order position reference. Only deliveries that were added, changed or removed are written, in one
+     * transaction. Invalid deliveries are skipped.
+     *
+     * @param partner    the partner
+     * @param material   the material
+     * @param deliveries the complete list of current deliveries of this partner and material
+     * @return the number of affected deliveries
+     */
+    public final ReportedDataReconciler.Result replaceAll(Partner partner, Material material, List<ReportedDelivery> deliveries) {
+        List<ReportedDelivery> validDeliveries = deliveries.stream().filter(validator::apply).toList();
+        return reconciler.reconcile(repository,
+            () -> findAllByFilters(Optional.of(material.getOwnMaterialNumber()), Optional.empty(), Optional.of(partner.getBpnl()), Optional.empty(), Optional.empty()),
+            validDeliveries,
+            delivery -> Arrays.asList(delivery.getOriginBpns(), delivery.getOriginBpna(),
+                delivery.getDestinationBpns(), delivery.getDestinationBpna(),
+                delivery.getDepartureType(), delivery.getArrivalType(), delivery.getIncoterm(),
+                getTime(delivery.getDateOfDeparture()), getTime(delivery.getDateOfArrival()),
+                delivery.getTrackingNumber(), delivery.getSupplierOrderNumber(),
+                delivery.getCustomerOrderNumber(), delivery.getCustomerOrderPositionNumber()),
+            delivery -> Arrays.asList(delivery.getQuantity(), delivery.getMeasurementUnit()),
+            (stored, received) -> {
+                stored.setQuantity(received.getQuantity());
+                stored.setMeasurementUnit(received.getMeasurementUnit());
+            });
+    }
+
+    private static Long getTime(Date date) {
+        return date == null ? null : date.getTime();
     }
 
     public boolean validate(ReportedDelivery delivery) {
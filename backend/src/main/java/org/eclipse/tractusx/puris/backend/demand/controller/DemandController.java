@@ -25,6 +25,9 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Validator;
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
+import org.eclipse.tractusx.puris.backend.common.util.BulkImporter;
+import org.eclipse.tractusx.puris.backend.common.util.DailyTimeSeries;
 import org.eclipse.tractusx.puris.backend.common.util.PatternStore;
 import org.eclipse.tractusx.puris.backend.demand.domain.model.OwnDemand;
 import org.eclipse.tractusx.puris.backend.demand.domain.model.ReportedDemand;
@@ -35,23 +38,28 @@ import org.eclipse.tractusx.puris.backend.demand.logic.services.ReportedDemandSe
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.dto.PartnerDto;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MasterDataMemo;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
 import javax.management.openmbean.KeyAlreadyExistsException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -85,7 +93,10 @@ public class DemandController {
     private final Pattern materialPattern = PatternStore.NON_EMPTY_NON_VERTICAL_WHITESPACE_PATTERN;
 
     @Autowired
-    private ExecutorService executorService;
+    private BoundedExecutorService executorService;
+
+    @Autowired
+    private BulkImporter bulkImporter;
 
     @GetMapping()
     @ResponseBody
@@ -122,7 +133,7 @@ public class DemandController {
         }
 
         try {
-            return convertToDto(ownDemandService.create(convertToEntity(demandDto)));
+            return convertToDto(ownDemandService.create(convertToEntity(demandDto, materialService::findByOwnMaterialNumber, partnerService::findByBpnl)));
         } catch (KeyAlreadyExistsException e) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Demand already exists. Use PUT instead.");
         } catch (IllegalArgumentException e) {
@@ -130,6 +141,26 @@ public class DemandController {
         }
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, BulkImporter.APPLICATION_NDJSON_VALUE})
+    @ResponseBody
+    @Operation(
+        summary = "Imports a large number of demands",
+        description = "Imports demands given as JSON array or as newline delimited JSON. The entries are " +
+            "persisted in chunks, invalid entries and already existing demands are rejected one by one " +
+            "without affecting the other entries."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import was processed, see result for rejected entries."),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error.", content = @Content)
+    })
+    public BulkImporter.Result importDemands(InputStream body) {
+        MasterDataMemo memo = new MasterDataMemo(materialService, partnerService);
+        return bulkImporter.importAll(body, DemandDto.class, dto -> {
+            checkBulkEntry(dto);
+            return convertToEntity(dto, memo::findMaterial, memo::findPartner);
+        }, ownDemandService::createAll);
+    }
+
     @PutMapping()
     @Operation(summary = "Updates a demand by its UUID")
     @ApiResponses(value = {
@@ -140,7 +171,7 @@ public class DemandController {
     })
     @ResponseStatus(HttpStatus.OK)
     public DemandDto updateDemand(@RequestBody DemandDto dto) {
-        OwnDemand updatedDemand = ownDemandService.update(convertToEntity(dto));
+        OwnDemand updatedDemand = ownDemandService.update(convertToEntity(dto, materialService::findByOwnMaterialNumber, partnerService::findByBpnl));
         if (updatedDemand == null) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Demand does not exist.");
         }
@@ -164,6 +195,28 @@ public class DemandController {
         ownDemandService.delete(id);
     }
 
+    @GetMapping("timeseries")
+    @ResponseBody
+    @Operation(
+        summary = "Get the demanded quantities per day for the given Material",
+        description = "Get the demanded quantities per day for the given material number. Optionally the demanding site can be filtered by its bpns. The quantities are summed up per day by the database. The element at index i of quantities belongs to the day from + i. The day to is exclusive and the period may span at most 366 days."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Quantities per day."),
+        @ApiResponse(responseCode = "400", description = "Invalid period.", content = @Content)
+    })
+    public DailyTimeSeries getDemandTimeSeries(
+        @RequestParam @Parameter(description = "encoded in base64") String ownMaterialNumber, Optional<String> site,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ownMaterialNumber = new String(Base64.getDecoder().decode(ownMaterialNumber));
+        try {
+            return ownDemandService.getDailyQuantities(ownMaterialNumber, Optional.empty(), site, from, to);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @GetMapping("reported")
     @ResponseBody
     @Operation(
@@ -179,6 +232,29 @@ public class DemandController {
                 .stream().map(this::convertToDto).collect(Collectors.toList());
     }
 
+    @GetMapping("reported/timeseries")
+    @ResponseBody
+    @Operation(
+        summary = "Get the demanded quantities of partners per day for a material",
+        description = "Get the demanded quantities of partners per day for a material number. Optionally the partners can be filtered by their bpnl and the demanding site can be filtered by its bpns. The quantities are summed up per day by the database. The element at index i of quantities belongs to the day from + i. The day to is exclusive and the period may span at most 366 days."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Quantities per day."),
+        @ApiResponse(responseCode = "400", description = "Invalid period.", content = @Content)
+    })
+    public DailyTimeSeries getReportedDemandTimeSeries(
+        @RequestParam @Parameter(description = "encoded in base64") String ownMaterialNumber, Optional<String> bpnl,
+        Optional<String> site,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ownMaterialNumber = new String(Base64.getDecoder().decode(ownMaterialNumber));
+        try {
+            return reportedDemandService.getDailyQuantities(ownMaterialNumber, bpnl, site, from, to);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @GetMapping("reported/refresh")
     @ResponseBody
     @Operation(
@@ -194,7 +270,7 @@ public class DemandController {
         Material materialEntity = materialService.findByOwnMaterialNumber(ownMaterialNumber);
         List<Partner> allCustomerPartnerEntities = mprService.findAllCustomersForOwnMaterialNumber(ownMaterialNumber);
         for (Partner customerPartner : allCustomerPartnerEntities) {
-            executorService.submit(() ->
+            executorService.submit(customerPartner.getBpnl(), () ->
             demandRequestApiService.doReportedDemandRequest(customerPartner, materialEntity));
         }
 
@@ -211,17 +287,39 @@ public class DemandController {
         return dto;
     }
 
-    private OwnDemand convertToEntity(DemandDto dto) {
-        OwnDemand entity = modelMapper.map(dto, OwnDemand.class);
-        Material material = materialService.findByOwnMaterialNumber(dto.getOwnMaterialNumber());
-        entity.setMaterial(material);
+    private void checkBulkEntry(DemandDto dto) {
+        BulkImporter.requireMatchIfPresent("demand location", dto.getDemandLocationBpns(), PatternStore.BPNS_PATTERN);
+        BulkImporter.requireMatchIfPresent("supplier location", dto.getSupplierLocationBpns(), PatternStore.BPNS_PATTERN);
+    }
 
-        Partner existingPartner = partnerService.findByBpnl(dto.getPartnerBpnl());
+    private OwnDemand convertToEntity(DemandDto dto, Function<String, Material> materialLookup,
+                                     Function<String, Partner> partnerLookup) {
+        if (dto.getOwnMaterialNumber() == null || dto.getOwnMaterialNumber().isEmpty()) {
+            throw new IllegalArgumentException("Demand Information misses material identification.");
+        }
+        if (dto.getPartnerBpnl() == null || dto.getPartnerBpnl().isEmpty()) {
+            throw new IllegalArgumentException("Demand Information misses partner identification.");
+        }
+        OwnDemand entity = new OwnDemand();
+        entity.setUuid(dto.getUuid());
+        entity.setQuantity(dto.getQuantity());
+        entity.setMeasurementUnit(dto.getMeasurementUnit());
+        entity.setDay(dto.getDay());
+        entity.setDemandLocationBpns(dto.getDemandLocationBpns());
+        entity.setSupplierLocationBpns(dto.getSupplierLocationBpns());
+        entity.setDemandCategoryCode(dto.getDemandCategoryCode());
+
+        Material material = materialLookup.apply(dto.getOwnMaterialNumber());
+        if (material == null) {
+            throw new IllegalArgumentException(String.format(
+                    "Material %s could not be found", dto.getOwnMaterialNumber()));
+        }
+        entity.setMaterial(material);
 
+        Partner existingPartner = partnerLookup.apply(dto.getPartnerBpnl());
         if (existingPartner == null) {
-            throw new IllegalStateException(String.format(
-                    "Partner for bpnl %s could not be found",
-                    dto.getPartnerBpnl()));
+            throw new IllegalArgumentException(String.format(
+                    "Partner for bpnl %s could not be found", dto.getPartnerBpnl()));
         }
         entity.setPartner(existingPartner);
         return entity;
@@ -20,11 +20,23 @@ SPDX-License-Identifier: Apache-2.0
 package org.eclipse.tractusx.puris.backend.demand.domain.model;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
 @Entity
+@Table(uniqueConstraints = {
+    @UniqueConstraint(name = "uc_reported_demand_natural_key", columnNames = {
+        "material_ownMaterialNumber", "partner_uuid", "day", "demandCategoryCode", "demandLocationBpns",
+        "supplierLocationBpns"
+    })
+}, indexes = {
+    @Index(name = "idx_reported_demand_partner", columnList = "partner_uuid, day"),
+    @Index(name = "idx_reported_demand_location", columnList = "material_ownMaterialNumber, demandLocationBpns, day")
+})
 @SuperBuilder
 @NoArgsConstructor
 @ToString(callSuper = true)
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.demand.domain.repository;
+
+import org.eclipse.tractusx.puris.backend.demand.domain.model.Demand;
+import org.eclipse.tractusx.puris.backend.demand.domain.model.DemandCategoryEnumeration;
+import org.eclipse.tractusx.puris.backend.common.domain.model.DailyQuantity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+public interface DemandRepository<T extends Demand> extends JpaRepository<T, UUID>, JpaSpecificationExecutor<T> {
+
+    List<T> findAllByPartner_Bpnl(String partnerBpnl);
+
+    List<T> findAllByMaterial_OwnMaterialNumber(String ownMaterialNumber);
+
+    /**
+     * Sums up the quantities of the demands per day.
+     *
+     * @param ownMaterialNumber the material number
+     * @param partnerBpnl       the partner's BPNL, may be null
+     * @param siteBpns          the demand location, may be null
+     * @param from              start of the period (inclusive)
+     * @param to                end of the period (exclusive)
+     * @return the quantities per day, ordered by day
+     */
+    @Query("select new org.eclipse.tractusx.puris.backend.common.domain.model.DailyQuantity(cast(d.day as LocalDate), sum(d.quantity)) " +
+        "from #{#entityName} d where d.material.ownMaterialNumber = :ownMaterialNumber " +
+        "and (:partnerBpnl is null or d.partner.bpnl = :partnerBpnl) " +
+        "and (:siteBpns is null or d.demandLocationBpns = :siteBpns) " +
+        "and d.day >= :from and d.day < :to " +
+        "group by cast(d.day as LocalDate) order by cast(d.day as LocalDate)")
+    List<DailyQuantity> sumQuantitiesPerDay(@Param("ownMaterialNumber") String ownMaterialNumber, @Param("partnerBpnl") String partnerBpnl,
+        @Param("siteBpns") String siteBpns, @Param("from") Date from, @Param("to") Date to);
+
+    boolean existsByMaterial_OwnMaterialNumberAndPartner_UuidAndDayAndDemandCategoryCodeAndDemandLocationBpnsAndSupplierLocationBpns(
+        String ownMaterialNumber, UUID partnerUuid, Date day, DemandCategoryEnumeration demandCategoryCode,
+        String demandLocationBpns, String supplierLocationBpns);
+
+    /**
+     * @param demand the demand
+     * @return true, if a demand equal to the given one (see {@link Demand#equals(Object)}) exists
+     */
+    default boolean existsByNaturalKey(T demand) {
+        return existsByMaterial_OwnMaterialNumberAndPartner_UuidAndDayAndDemandCategoryCodeAndDemandLocationBpnsAndSupplierLocationBpns(
+            demand.getMaterial().getOwnMaterialNumber(), demand.getPartner().getUuid(), demand.getDay(),
+            demand.getDemandCategoryCode(), demand.getDemandLocationBpns(), demand.getSupplierLocationBpns());
+    }
+}
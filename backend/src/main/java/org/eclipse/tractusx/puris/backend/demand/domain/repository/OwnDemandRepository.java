@@ -19,13 +19,16 @@ SPDX-License-Identifier: Apache-2.0
 */
 package org.eclipse.tractusx.puris.backend.demand.domain.repository;
 
+import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 import org.eclipse.tractusx.puris.backend.demand.domain.model.OwnDemand;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface OwnDemandRepository extends JpaRepository<OwnDemand, UUID> {
-  
+public interface OwnDemandRepository extends DemandRepository<OwnDemand> {
+
+    List<OwnDemand> findAllByMaterial_OwnMaterialNumberAndPartner_BpnlAndDayGreaterThanEqualAndDayLessThan(
+        String ownMaterialNumber, String partnerBpnl, Date from, Date to);
 }
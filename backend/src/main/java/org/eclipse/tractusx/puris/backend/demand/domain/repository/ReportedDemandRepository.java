@@ -19,13 +19,10 @@ SPDX-License-Identifier: Apache-2.0
 */
 package org.eclipse.tractusx.puris.backend.demand.domain.repository;
 
-import java.util.UUID;
-
 import org.eclipse.tractusx.puris.backend.demand.domain.model.ReportedDemand;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface ReportedDemandRepository  extends JpaRepository<ReportedDemand, UUID> {
+public interface ReportedDemandRepository  extends DemandRepository<ReportedDemand> {
   
 }
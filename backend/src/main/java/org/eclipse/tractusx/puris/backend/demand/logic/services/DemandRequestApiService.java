@@ -90,7 +90,10 @@ public class DemandRequestApiService {
         return sammMapper.ownDemandToSamm(currentDemands, partner, material);
     }
 
-    public void doReportedDemandRequest(Partner partner, Material material) {
+    /**
+     * @return true, if the partner's data was received and stored
+     */
+    public boolean doReportedDemandRequest(Partner partner, Material material) {
         try {
             var mpr = mprService.find(material, partner);
             if (mpr.getPartnerCXNumber() == null) {
@@ -105,7 +108,7 @@ public class DemandRequestApiService {
                 var demandMaterial = demand.getMaterial();
                 if (!partner.equals(demandPartner) || !material.equals(demandMaterial)) {
                     log.warn("Received inconsistent data from " + partner.getBpnl() + "\n" + demands);
-                    return;
+                    return false;
                 }
             }
             // delete older data:
@@ -117,8 +120,10 @@ public class DemandRequestApiService {
                 reportedDemandService.create(newDemand);
             }
             log.info("Updated ReportedDemand for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl());
+            return true;
         } catch (Exception e) {
             log.error("Error in ReportedDemandRequest for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl(), e);
+            return false;
         }
     }
 }
@@ -22,6 +22,7 @@ package org.eclipse.tractusx.puris.backend.demand.logic.services;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -30,12 +31,16 @@ import java.util.function.Function;
 
 import javax.management.openmbean.KeyAlreadyExistsException;
 
+import jakarta.persistence.criteria.Predicate;
+import org.eclipse.tractusx.puris.backend.common.util.DailyTimeSeries;
 import org.eclipse.tractusx.puris.backend.demand.domain.model.Demand;
+import org.eclipse.tractusx.puris.backend.demand.domain.repository.DemandRepository;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
 
-public abstract class DemandService<TEntity extends Demand, TRepository extends JpaRepository<TEntity, UUID> >  {
+public abstract class DemandService<TEntity extends Demand, TRepository extends DemandRepository<TEntity>>  {
     protected final TRepository repository;
     protected final PartnerService partnerService;
     protected final MaterialPartnerRelationService mprService;
@@ -58,42 +63,93 @@ public abstract class DemandService<TEntity extends Demand, TRepository extends
     }
 
     public final List<TEntity> findAllByBpnl(String bpnl) {
-        return repository.findAll().stream().filter(demand -> demand.getPartner().getBpnl().equals(bpnl))
-                .toList();
+        return repository.findAllByPartner_Bpnl(bpnl);
     }
 
     public final List<TEntity> findAllByOwnMaterialNumber(String ownMaterialNumber) {
-        return repository.findAll().stream().filter(demand -> demand.getMaterial().getOwnMaterialNumber().equals(ownMaterialNumber))
-                .toList();
+        return repository.findAllByMaterial_OwnMaterialNumber(ownMaterialNumber);
     }
 
+    /**
+     * Returns all demands matching the given filters. The filters are evaluated by the database.
+     *
+     * @param ownMaterialNumber  the material number
+     * @param bpnl               the partner's BPNL
+     * @param demandLocationBpns the site at which the material is demanded
+     * @return the matching demands
+     */
     public final List<TEntity> findAllByFilters(
         Optional<String> ownMaterialNumber,
         Optional<String> bpnl,
         Optional<String> demandLocationBpns) {
-        var stream = repository.findAll().stream();
-        if (ownMaterialNumber.isPresent()) {
-            stream = stream.filter(demand -> demand.getMaterial().getOwnMaterialNumber().equals(ownMaterialNumber.get()));
-        }
-        if (bpnl.isPresent()) {
-            stream = stream.filter(demand -> demand.getPartner().getBpnl().equals(bpnl.get()));
-        }
-        if (demandLocationBpns.isPresent()) {
-            stream = stream.filter(demand -> demand.getDemandLocationBpns().equals(demandLocationBpns.get()));
-        }
-        return stream.toList();
+        return repository.findAll(byFilters(ownMaterialNumber, bpnl, demandLocationBpns));
+    }
+
+    private Specification<TEntity> byFilters(
+        Optional<String> ownMaterialNumber,
+        Optional<String> bpnl,
+        Optional<String> demandLocationBpns) {
+        return (root, query, builder) -> {
+            if (query.getResultType() != Long.class) {
+                // fetch partner and material with the demands instead of selecting them one by one
+                root.fetch("partner");
+                root.fetch("material");
+            }
+            List<Predicate> predicates = new ArrayList<>();
+            ownMaterialNumber.ifPresent(materialNumber ->
+                predicates.add(builder.equal(root.get("material").get("ownMaterialNumber"), materialNumber)));
+            bpnl.ifPresent(partnerBpnl ->
+                predicates.add(builder.equal(root.get("partner").get("bpnl"), partnerBpnl)));
+            demandLocationBpns.ifPresent(siteBpns ->
+                predicates.add(builder.equal(root.get("demandLocationBpns"), siteBpns)));
+            return builder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Sums up the quantities of the demands per day within the given period. The sums are
+     * calculated by the database.
+     *
+     * @param ownMaterialNumber  the material number
+     * @param bpnl               the partner's BPNL
+     * @param demandLocationBpns the site at which the material is demanded
+     * @param from               the first day of the period (inclusive)
+     * @param to                 the end of the period (exclusive)
+     * @return the quantities per day
+     * @throws IllegalArgumentException if the period is invalid, see {@link DailyTimeSeries#checkPeriod(LocalDate, LocalDate)}
+     */
+    public final DailyTimeSeries getDailyQuantities(String ownMaterialNumber, Optional<String> bpnl,
+                                                    Optional<String> demandLocationBpns, LocalDate from, LocalDate to) {
+        DailyTimeSeries.checkPeriod(from, to);
+        return DailyTimeSeries.of(from, to, repository.sumQuantitiesPerDay(ownMaterialNumber, bpnl.orElse(null),
+            demandLocationBpns.orElse(null), DailyTimeSeries.startOf(from), DailyTimeSeries.startOf(to)));
     }
 
     public final TEntity create(TEntity demand) {
         if (!validator.apply(demand)) {
             throw new IllegalArgumentException("Invalid demand");
         }
-        if (repository.findAll().stream().anyMatch(d -> d.equals(demand))) {
+        if (repository.existsByNaturalKey(demand)) {
             throw new KeyAlreadyExistsException("Demand already exists");
         }
         return repository.save(demand);
     }
 
+    public final List<TEntity> createAll(List<TEntity> demands) {
+        if (demands.stream().anyMatch(demand -> !validator.apply(demand))) {
+            throw new IllegalArgumentException("Invalid demand");
+        }
+        if (demands.stream().anyMatch(repository::existsByNaturalKey)) {
+            throw new KeyAlreadyExistsException("Demand already exists");
+        }
+        try {
+            return repository.saveAll(demands);
+        } catch (DataIntegrityViolationException e) {
+            // the list itself contains the same demand twice
+            throw new KeyAlreadyExistsException("Demand already exists");
+        }
+    }
+
     public final TEntity update(TEntity demand) {
         if (demand.getUuid() == null || repository.findById(demand.getUuid()).isEmpty()) {
             return null;
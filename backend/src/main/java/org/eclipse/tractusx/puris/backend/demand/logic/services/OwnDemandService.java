@@ -19,14 +19,8 @@ SPDX-License-Identifier: Apache-2.0
 */
 package org.eclipse.tractusx.puris.backend.demand.logic.services;
 
-import java.time.Instant;
-import java.time.LocalDate;
-import java.time.ZoneId;
-import java.time.ZoneOffset;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Optional;
 
 import org.eclipse.tractusx.puris.backend.demand.domain.model.OwnDemand;
 import org.eclipse.tractusx.puris.backend.demand.domain.repository.OwnDemandRepository;
@@ -44,23 +38,18 @@ public class OwnDemandService extends DemandService<OwnDemand, OwnDemandReposito
         super(repository, partnerService, mprService);
     }
 
-    public final List<Double> getQuantityForDays(String material, String partnerBpnl, String siteBpns, int numberOfDays) {
-        List<Double> quantities = new ArrayList<>();
-        LocalDate localDate = LocalDate.now();
-        List<OwnDemand> demands = findAllByFilters(Optional.of(material), Optional.of(partnerBpnl), Optional.of(siteBpns));
-        for (int i = 0; i < numberOfDays; i++) {
-            Date date = Date.from(localDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
-            LocalDate localDayDate = Instant.ofEpochMilli(date.getTime()).atOffset(ZoneOffset.UTC).toLocalDate();
-            List<OwnDemand> demandsForDate = demands.stream().filter(demand -> {
-                LocalDate demandDayDate = Instant.ofEpochMilli(demand.getDay().getTime()).atOffset(ZoneOffset.UTC).toLocalDate();
-                return demandDayDate.getDayOfMonth() == localDayDate.getDayOfMonth();
-            }).toList();
-            double demandQuantity = getSumOfQuantities(demandsForDate);
-            quantities.add(demandQuantity);
-
-            localDate = localDate.plusDays(1);
-        }
-        return quantities;
+    /**
+     * Returns all demands of the given material and partner within the given period.
+     *
+     * @param ownMaterialNumber the material number
+     * @param partnerBpnl       the partner's BPNL
+     * @param from              start of the period (inclusive)
+     * @param to                end of the period (exclusive)
+     * @return the matching demands
+     */
+    public final List<OwnDemand> findAllByDateRange(String ownMaterialNumber, String partnerBpnl, Date from, Date to) {
+        return repository.findAllByMaterial_OwnMaterialNumberAndPartner_BpnlAndDayGreaterThanEqualAndDayLessThan(
+            ownMaterialNumber, partnerBpnl, from, to);
     }
 
     @Override
@@ -79,12 +68,4 @@ public class OwnDemandService extends DemandService<OwnDemand, OwnDemandReposito
             ownPartnerEntity.getSites().stream().anyMatch(site -> site.getBpns().equals(demand.getDemandLocationBpns())) &&
             (demand.getSupplierLocationBpns() == null || demand.getPartner().getSites().stream().anyMatch(site -> site.getBpns().equals(demand.getSupplierLocationBpns())));
     }
-
-    private final double getSumOfQuantities(List<OwnDemand> demands) {
-        double sum = 0;
-        for (OwnDemand demand : demands) {
-            sum += demand.getQuantity();
-        }
-        return sum;
-    }
 }
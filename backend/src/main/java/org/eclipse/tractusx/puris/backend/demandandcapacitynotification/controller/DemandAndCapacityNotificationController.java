@@ -25,6 +25,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Validator;
 import jakarta.validation.constraints.Pattern;
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
 import org.eclipse.tractusx.puris.backend.common.util.PatternStore;
 import org.eclipse.tractusx.puris.backend.demandandcapacitynotification.domain.model.OwnDemandAndCapacityNotification;
 import org.eclipse.tractusx.puris.backend.demandandcapacitynotification.domain.model.ReportedDemandAndCapacityNotification;
@@ -48,7 +49,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @RestController
@@ -76,7 +77,7 @@ public class DemandAndCapacityNotificationController {
     private Validator validator;
 
     @Autowired
-    private ExecutorService executorService;
+    private BoundedExecutorService executorService;
 
     @GetMapping()
     @ResponseBody
@@ -96,7 +97,8 @@ public class DemandAndCapacityNotificationController {
             @ApiResponse(responseCode = "201", description = "Notification was created."),
             @ApiResponse(responseCode = "400", description = "Malformed or invalid request body.", content = @Content),
             @ApiResponse(responseCode = "409", description = "Notification already exists. Use PUT instead.", content = @Content),
-            @ApiResponse(responseCode = "500", description = "Internal Server Error.", content = @Content)
+            @ApiResponse(responseCode = "500", description = "Internal Server Error.", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Too many pending requests to partners, retry later.", content = @Content)
     })
     @ResponseStatus(HttpStatus.CREATED)
     public DemandAndCapacityNotificationDto createNotification(@RequestBody DemandAndCapacityNotificationDto notificationDto) {
@@ -111,7 +113,13 @@ public class DemandAndCapacityNotificationController {
 
         try {
             var entity = ownNotificationService.create(convertToEntity(notificationDto));
-            executorService.submit(() -> demandAndCapacityNotifcationRequestApiService.sendDemandAndCapacityNotification(entity));
+            try {
+                executorService.submit(entity.getPartner().getBpnl(), () -> demandAndCapacityNotifcationRequestApiService.sendDemandAndCapacityNotification(entity));
+            } catch (RejectedExecutionException e) {
+                // the notification would never be sent, so the client has to be able to create it again
+                ownNotificationService.delete(entity.getUuid());
+                throw e;
+            }
             return convertToDto(entity);
         } catch (KeyAlreadyExistsException e) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Notification already exists. Use PUT instead.");
@@ -128,7 +136,8 @@ public class DemandAndCapacityNotificationController {
             @ApiResponse(responseCode = "200", description = "Notification was updated."),
             @ApiResponse(responseCode = "400", description = "Malformed or invalid request body.", content = @Content),
             @ApiResponse(responseCode = "404", description = "Notification does not exist.", content = @Content),
-            @ApiResponse(responseCode = "500", description = "Internal Server Error.", content = @Content)
+            @ApiResponse(responseCode = "500", description = "Internal Server Error.", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Too many pending requests to partners, retry later.", content = @Content)
     })
     @ResponseStatus(HttpStatus.OK)
     public DemandAndCapacityNotificationDto updateNotification(@RequestBody DemandAndCapacityNotificationDto dto) {
@@ -136,7 +145,7 @@ public class DemandAndCapacityNotificationController {
         if (updatedNotification == null) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Notification does not exist.");
         }
-        executorService.submit(() -> demandAndCapacityNotifcationRequestApiService.sendDemandAndCapacityNotification(updatedNotification));
+        executorService.submit(updatedNotification.getPartner().getBpnl(), () -> demandAndCapacityNotifcationRequestApiService.sendDemandAndCapacityNotification(updatedNotification));
         return convertToDto(updatedNotification);
     }
 
@@ -21,11 +21,21 @@ SPDX-License-Identifier: Apache-2.0
 package org.eclipse.tractusx.puris.backend.demandandcapacitynotification.domain.model;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
 @Entity
+@Table(uniqueConstraints = {
+    @UniqueConstraint(name = "uc_reported_demand_and_capacity_notification_natural_key", columnNames = {
+        "partner_uuid", "notificationId"
+    })
+}, indexes = {
+    @Index(name = "idx_reported_demand_and_capacity_notification_id", columnList = "notificationId")
+})
 @SuperBuilder
 @NoArgsConstructor
 @ToString(callSuper = true)
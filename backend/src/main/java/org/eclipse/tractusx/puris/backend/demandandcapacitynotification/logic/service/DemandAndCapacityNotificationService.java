@@ -28,11 +28,11 @@ import java.util.function.Function;
 import javax.management.openmbean.KeyAlreadyExistsException;
 
 import org.eclipse.tractusx.puris.backend.demandandcapacitynotification.domain.model.DemandAndCapacityNotification;
+import org.eclipse.tractusx.puris.backend.demandandcapacitynotification.domain.repository.DemandAndCapacityNotificationRepository;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
-import org.springframework.data.jpa.repository.JpaRepository;
 
-public abstract class DemandAndCapacityNotificationService<TEntity extends DemandAndCapacityNotification, TRepository extends JpaRepository<TEntity, UUID>> {
+public abstract class DemandAndCapacityNotificationService<TEntity extends DemandAndCapacityNotification, TRepository extends DemandAndCapacityNotificationRepository<TEntity>> {
     protected final TRepository repository;
     protected final PartnerService partnerService;
     protected final MaterialPartnerRelationService mprService;
@@ -51,8 +51,7 @@ public abstract class DemandAndCapacityNotificationService<TEntity extends Deman
     }
 
     public final TEntity findByNotificationId(UUID notificationId) {
-        return repository.findAll().stream().filter(notification -> notification.getNotificationId().equals(notificationId))
-                .findFirst().orElse(null);
+        return repository.findFirstByNotificationId(notificationId).orElse(null);
     }
 
     public final List<TEntity> findAll() {
@@ -60,15 +59,15 @@ public abstract class DemandAndCapacityNotificationService<TEntity extends Deman
     }
 
     public final List<TEntity> findAllByBpnl(String bpnl) {
-        return repository.findAll().stream().filter(demand -> demand.getPartner().getBpnl().equals(bpnl))
-                .toList();
+        return repository.findAllByPartner_Bpnl(bpnl);
     }
 
     public final TEntity create(TEntity notification) {
         if (!validator.apply(notification)) {
             throw new IllegalArgumentException("Invalid notification");
         }
-        if (repository.findAll().stream().anyMatch(d -> d.equals(notification))) {
+        if (notification.getNotificationId() != null
+            && repository.existsByPartner_UuidAndNotificationId(notification.getPartner().getUuid(), notification.getNotificationId())) {
             throw new KeyAlreadyExistsException("Notification already exists");
         }
         if (notification.getNotificationId() == null) {
@@ -36,7 +36,7 @@ public class OwnDemandAndCapacityNotificationService extends DemandAndCapacityNo
     }
 
     public List<OwnDemandAndCapacityNotification>  findAllByPartnerBpnl(String bpnl) {
-        return repository.findAll().stream().filter(notification -> notification.getPartner().getBpnl().equals(bpnl)).toList();
+        return repository.findAllByPartner_Bpnl(bpnl);
     }
 
     @Override
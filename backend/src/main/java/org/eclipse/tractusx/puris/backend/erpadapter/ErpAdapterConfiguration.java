@@ -41,6 +41,32 @@ public class ErpAdapterConfiguration {
     private String erpAdapterUrl;
 
 
+    /**
+     * Toggles grouping of requests to the ERP adapter for the same partner and asset type
+     * into one request that covers several materials
+     */
+    @Value("${puris.erpadapter.batching.enabled}")
+    private boolean batchingEnabled;
+
+    /**
+     * Period for which requests to the ERP adapter are collected before they are sent as
+     * one batch (milliseconds)
+     */
+    @Value("${puris.erpadapter.batching.window}")
+    private long batchingWindow;
+
+    /**
+     * Maximum number of materials in one batch, a full batch is sent right away
+     */
+    @Value("${puris.erpadapter.batching.maxsize}")
+    private int batchingMaxSize;
+
+    /**
+     * Number of accepted responses from the ERP adapter that are loaded and processed at once
+     */
+    @Value("${puris.erpadapter.responses.batchsize}")
+    private int responsesBatchSize;
+
     @Value("${puris.baseurl}")
     @Getter(AccessLevel.NONE)
     private String purisBaseUrl;
@@ -71,6 +97,14 @@ public class ErpAdapterConfiguration {
     @Getter(AccessLevel.NONE)
     private long refreshTimeLimit;
 
+    @Value("${puris.erpadapter.flushinterval}")
+    @Getter(AccessLevel.NONE)
+    private long flushInterval;
+
+    @Value("${puris.erpadapter.leaseduration}")
+    @Getter(AccessLevel.NONE)
+    private long leaseDuration;
+
     /**
      * Period since last received partner request after which no more new update requests to the
      * erp adapter will be sent (milliseconds).
@@ -117,6 +151,34 @@ public class ErpAdapterConfiguration {
         return refreshInterval * 60 * 1000;
     }
 
+    /**
+     * Interval in which changes to the schedule of the ErpAdapterTriggerService are written
+     * to the database (milliseconds).
+     * <p>
+     * The schedule is kept in memory, so this interval only affects how much of the schedule may be
+     * lost on a crash. Scheduled requests are sent exactly when they are due regardless of this interval.
+     *
+     * @return the interval
+     */
+    public long getFlushInterval() {
+        // translate seconds to milliseconds
+        return flushInterval * 1000;
+    }
+
+    /**
+     * Duration of the lease on the schedule of the ErpAdapterTriggerService (milliseconds).
+     * <p>
+     * Only the backend replica that holds the lease sends scheduled requests to the ErpAdapter. The lease is
+     * renewed every flush interval, so it has to be considerably longer than that. If the replica stops,
+     * another replica takes over the schedule after this duration at the latest.
+     *
+     * @return the duration
+     */
+    public long getLeaseDuration() {
+        // translate seconds to milliseconds
+        return leaseDuration * 1000;
+    }
+
     /**
      * Provides the URL, under which we expect to receive a response from the ERP Adapter
      *
@@ -30,8 +30,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
 import org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterRequest;
+import org.eclipse.tractusx.puris.backend.erpadapter.logic.service.ErpAdapterResponseService;
 import org.eclipse.tractusx.puris.backend.erpadapter.logic.service.ErpAdapterTriggerService;
-import org.eclipse.tractusx.puris.backend.erpadapter.logic.service.ItemStockErpAdapterService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,7 +52,7 @@ import static org.eclipse.tractusx.puris.backend.common.util.PatternStore.NON_EM
 public class ErpAdapterController {
 
     @Autowired
-    private ItemStockErpAdapterService itemStockErpAdapterService;
+    private ErpAdapterResponseService erpAdapterResponseService;
 
     @Autowired
     private ErpAdapterTriggerService erpAdapterTriggerService;
@@ -97,10 +97,12 @@ public class ErpAdapterController {
         "Currently supported: \n\n" +
         "| response-type | samm-version |\n" +
         "|---------------|--------------|\n" +
-        "| ItemStock     | 2.0          |"
+        "| ItemStock     | 2.0          |\n\n" +
+        "The message is only checked against its request and stored. It is processed asynchronously, the outcome " +
+        "can be queried at GET /erp-adapter/status."
         )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "201", description = "accepted"),
+        @ApiResponse(responseCode = "202", description = "accepted"),
         @ApiResponse(responseCode = "400", description = "bad request"),
         @ApiResponse(responseCode = "404", description = "unknown request-id"),
         @ApiResponse(responseCode = "409", description = "repeated answer for request-id"),
@@ -119,7 +121,7 @@ public class ErpAdapterController {
         @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {@Content(examples = {
             @ExampleObject(itemStock20Sample)
         })})
-        @RequestBody JsonNode requestBody
+        @RequestBody String requestBody
         ) {
         boolean valid = BPNL_PATTERN.matcher(partnerBpnl).matches()
                      && NON_EMPTY_NON_VERTICAL_WHITESPACE_PATTERN.matcher(responseType).matches()
@@ -127,14 +129,15 @@ public class ErpAdapterController {
         if (!valid) {
             return ResponseEntity.badRequest().build();
         }
-        Dto dto = new Dto(requestId, partnerBpnl, responseType, sammVersion, new Date(responseTimestamp), requestBody);
+        // the body is parsed when the response is processed
+        Dto dto = new Dto(requestId, partnerBpnl, responseType, sammVersion, new Date(responseTimestamp), null);
         AssetType assetType = Arrays.stream(AssetType.values()).filter(type -> type.ERP_KEYWORD.equals(responseType)).findFirst().orElse(null);
         if (!ErpAdapterRequest.SUPPORTED_TYPES.contains(assetType)) {
             return ResponseEntity.badRequest().body("Unsupported Type");
         }
         int responseCode = 501;
         switch (assetType) {
-            case ITEM_STOCK_SUBMODEL -> responseCode = itemStockErpAdapterService.receiveItemStockUpdate(dto);
+            case ITEM_STOCK_SUBMODEL -> responseCode = erpAdapterResponseService.accept(dto, requestBody);
             case null, default -> {
                 return ResponseEntity.status(responseCode).body("Unsupported response type: " + responseType);
             }
@@ -142,6 +145,28 @@ public class ErpAdapterController {
         return ResponseEntity.status(responseCode).build();
     }
 
+    @Operation(description = "Returns the processing state of the response that the ERP adapter sent for the given request-id. " +
+        "The status code is the outcome of the processing, as it would have been returned to the ERP adapter " +
+        "if the response had been processed synchronously.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "state of the response"),
+        @ApiResponse(responseCode = "404", description = "no response received for request-id")
+    })
+    @GetMapping("/status")
+    public ResponseEntity<ErpAdapterResponseService.Status> getResponseStatus(@RequestParam("request-id") UUID requestId) {
+        var status = erpAdapterResponseService.getStatus(requestId);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(status);
+    }
+
+    @Operation(description = "Returns the size and the backlog of the schedule of requests to the ERP adapter.")
+    @GetMapping("/trigger/statistics")
+    public ResponseEntity<ErpAdapterTriggerService.Statistics> getTriggerStatistics() {
+        return ResponseEntity.ok(erpAdapterTriggerService.getStatistics());
+    }
+
     public record Dto(UUID requestId, String partnerBpnl, String responseType, String sammVersion,
                       Date responseTimeStamp, JsonNode body){}
 
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.erpadapter.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.Length;
+import org.springframework.data.domain.Persistable;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * A response from the ERP adapter that was accepted and is processed asynchronously.
+ * The raw body is kept until the response was processed.
+ * <p>
+ * A new response is always inserted, never merged into an existing row with the same request-id,
+ * so that a duplicate response fails with a constraint violation instead of overwriting the first one.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_erp_adapter_response_state", columnList = "state, receivedDate"))
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString(exclude = "body")
+public class ErpAdapterResponse implements Persistable<UUID> {
+
+    public enum State {
+        /**
+         * accepted, waiting to be processed
+         */
+        ACCEPTED,
+        /**
+         * currently processed by a backend replica
+         */
+        PROCESSING,
+        /**
+         * processed successfully
+         */
+        PROCESSED,
+        /**
+         * rejected because of invalid content, see the status code
+         */
+        REJECTED,
+        /**
+         * processing failed unexpectedly
+         */
+        FAILED
+    }
+
+    /**
+     * the id of the request this response belongs to
+     */
+    @Id
+    private UUID requestId;
+
+    private String partnerBpnl;
+
+    private String responseType;
+
+    private String sammVersion;
+
+    private Date responseTimestamp;
+
+    @Enumerated(EnumType.STRING)
+    private State state;
+
+    /**
+     * the HTTP status code that the synchronous processing would have answered with
+     */
+    private Integer statusCode;
+
+    private Date receivedDate;
+
+    private Date processingStartedDate;
+
+    private Date processedDate;
+
+    @Column(length = Length.LONG32)
+    private String body;
+
+    /**
+     * true once the response was loaded from or written to the database
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean stored;
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+
+    @Override
+    public UUID getId() {
+        return requestId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+}
@@ -24,6 +24,8 @@ package org.eclipse.tractusx.puris.backend.erpadapter.domain.model;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.*;
 import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
 
@@ -33,6 +35,7 @@ import java.util.Objects;
 
 @Entity
 @IdClass(ErpAdapterTriggerDataset.Key.class)
+@Table(indexes = @Index(name = "idx_erp_adapter_trigger_dataset_last_request", columnList = "lastPartnerRequest"))
 @Getter
 @Setter
 @AllArgsConstructor
@@ -22,10 +22,25 @@ package org.eclipse.tractusx.puris.backend.erpadapter.domain.repository;
 
 import org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface ErpAdapterRequestRepository extends JpaRepository<ErpAdapterRequest, UUID> {
+
+    /**
+     * Stores the response code of the ERP adapter for all requests that were sent in one batch.
+     *
+     * @return the number of updated requests
+     */
+    @Modifying
+    @Transactional
+    @Query("update ErpAdapterRequest r set r.responseCode = :responseCode where r.id in :ids")
+    int updateResponseCode(@Param("ids") List<UUID> ids, @Param("responseCode") int responseCode);
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.erpadapter.domain.repository;
+
+import org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterResponse;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ErpAdapterResponseRepository extends JpaRepository<ErpAdapterResponse, UUID> {
+
+    List<ErpAdapterResponse> findByStateOrderByReceivedDateAsc(ErpAdapterResponse.State state, Limit limit);
+
+    /**
+     * Marks the response as being processed, unless another replica already did so.
+     *
+     * @return 1 if this replica may process the response, otherwise 0
+     */
+    @Modifying
+    @Transactional
+    @Query("update ErpAdapterResponse r set r.state = org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterResponse.State.PROCESSING, " +
+        "r.processingStartedDate = :now " +
+        "where r.requestId = :requestId and r.state = org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterResponse.State.ACCEPTED")
+    int claim(@Param("requestId") UUID requestId, @Param("now") Date now);
+
+    /**
+     * Puts responses back into the queue whose processing was started before the given date and never
+     * finished, e.g. because the processing replica was stopped.
+     *
+     * @return the number of responses put back into the queue
+     */
+    @Modifying
+    @Transactional
+    @Query("update ErpAdapterResponse r set r.state = org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterResponse.State.ACCEPTED " +
+        "where r.state = org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterResponse.State.PROCESSING " +
+        "and r.processingStartedDate < :startedBefore")
+    int requeueStale(@Param("startedBefore") Date startedBefore);
+}
@@ -21,10 +21,74 @@
 
 package org.eclipse.tractusx.puris.backend.erpadapter.domain.repository;
 
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
 import org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterTriggerDataset;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Repository
 public interface ErpAdapterTriggerDatasetRepository extends JpaRepository<ErpAdapterTriggerDataset, ErpAdapterTriggerDataset.Key> {
+
+    /**
+     * @param lastPartnerRequest the earliest time of the last partner request
+     * @return the datasets that were requested by a partner at or after the given time
+     */
+    List<ErpAdapterTriggerDataset> findAllByLastPartnerRequestGreaterThanEqual(long lastPartnerRequest);
+
+    /**
+     * Stores the time of the last partner request, unless a later one is already stored.
+     *
+     * @return the number of updated datasets, 0 if the dataset doesn't exist or a later request is already stored
+     */
+    @Modifying
+    @Transactional
+    @Query("update ErpAdapterTriggerDataset d set d.lastPartnerRequest = :lastPartnerRequest " +
+        "where d.partnerBpnl = :partnerBpnl and d.ownMaterialNumber = :ownMaterialNumber and d.assetType = :assetType " +
+        "and d.directionCharacteristic = :directionCharacteristic and d.lastPartnerRequest < :lastPartnerRequest")
+    int updateLastPartnerRequest(@Param("partnerBpnl") String partnerBpnl,
+                                 @Param("ownMaterialNumber") String ownMaterialNumber,
+                                 @Param("assetType") AssetType assetType,
+                                 @Param("directionCharacteristic") String directionCharacteristic,
+                                 @Param("lastPartnerRequest") long lastPartnerRequest);
+
+    /**
+     * Stores the time of the next scheduled request. The time of the last partner request is
+     * only stored, if no later one is already stored.
+     *
+     * @return the number of updated datasets, 0 if the dataset doesn't exist
+     */
+    @Modifying
+    @Transactional
+    @Query("update ErpAdapterTriggerDataset d set d.nextErpRequestScheduled = :nextErpRequestScheduled, " +
+        "d.lastPartnerRequest = case when d.lastPartnerRequest < :lastPartnerRequest then :lastPartnerRequest else d.lastPartnerRequest end " +
+        "where d.partnerBpnl = :partnerBpnl and d.ownMaterialNumber = :ownMaterialNumber and d.assetType = :assetType " +
+        "and d.directionCharacteristic = :directionCharacteristic")
+    int updateSchedule(@Param("partnerBpnl") String partnerBpnl,
+                       @Param("ownMaterialNumber") String ownMaterialNumber,
+                       @Param("assetType") AssetType assetType,
+                       @Param("directionCharacteristic") String directionCharacteristic,
+                       @Param("lastPartnerRequest") long lastPartnerRequest,
+                       @Param("nextErpRequestScheduled") long nextErpRequestScheduled);
+
+    /**
+     * Deletes the dataset, unless a partner request later than the given one was stored in the meantime.
+     *
+     * @return the number of deleted datasets
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from ErpAdapterTriggerDataset d " +
+        "where d.partnerBpnl = :partnerBpnl and d.ownMaterialNumber = :ownMaterialNumber and d.assetType = :assetType " +
+        "and d.directionCharacteristic = :directionCharacteristic and d.lastPartnerRequest <= :lastPartnerRequest")
+    int deleteIfNotRequestedSince(@Param("partnerBpnl") String partnerBpnl,
+                                  @Param("ownMaterialNumber") String ownMaterialNumber,
+                                  @Param("assetType") AssetType assetType,
+                                  @Param("directionCharacteristic") String directionCharacteristic,
+                                  @Param("lastPartnerRequest") long lastPartnerRequest);
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2024 Fraunhofer-Gesellschaft zur Foerderung der angewandten Forschung e.V.
+ * (represented by Fraunhofer ISST)
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.erpadapter.logic.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.PurisApplication;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
+import org.eclipse.tractusx.puris.backend.erpadapter.ErpAdapterConfiguration;
+import org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects requests to the ERP adapter for the same partner and asset type during the
+ * {@link ErpAdapterConfiguration#getBatchingWindow() batching window} and sends them as one request
+ * for several materials. A batch is sent right away once it reaches the
+ * {@link ErpAdapterConfiguration#getBatchingMaxSize() maximum size}. Requests for a material and
+ * direction that is already part of the open batch are dropped.
+ * <p>
+ * Every material is still stored as a separate ErpAdapterRequest with its own id, so the responses
+ * of the ERP adapter are matched to the requests as before.
+ */
+@Service
+@Slf4j
+public class ErpAdapterRequestBatcher {
+
+    @Autowired
+    private ErpAdapterConfiguration erpAdapterConfiguration;
+
+    @Autowired
+    private ErpAdapterRequestService erpAdapterRequestService;
+
+    @Autowired
+    @Qualifier(PurisApplication.ERP_EXECUTOR)
+    private BoundedExecutorService executorService;
+
+    private record BatchKey(String partnerBpnl, AssetType requestType) {
+    }
+
+    /**
+     * the batches that are currently collecting requests
+     */
+    private final Map<BatchKey, List<ErpAdapterRequest>> openBatches = new HashMap<>();
+
+    /**
+     * Adds the request to the open batch for its partner and request type.
+     *
+     * @param erpAdapterRequest the new request
+     */
+    public void add(ErpAdapterRequest erpAdapterRequest) {
+        var key = new BatchKey(erpAdapterRequest.getPartnerBpnl(), erpAdapterRequest.getRequestType());
+        List<ErpAdapterRequest> batch;
+        boolean opened = false;
+        boolean full = false;
+        synchronized (openBatches) {
+            batch = openBatches.get(key);
+            if (batch == null) {
+                batch = new ArrayList<>();
+                openBatches.put(key, batch);
+                opened = true;
+            }
+            boolean alreadyRequested = batch.stream().anyMatch(request ->
+                request.getOwnMaterialNumber().equals(erpAdapterRequest.getOwnMaterialNumber()) &&
+                request.getDirectionCharacteristic() == erpAdapterRequest.getDirectionCharacteristic());
+            if (alreadyRequested) {
+                log.debug("Dropped duplicate request for {} and {}", erpAdapterRequest.getPartnerBpnl(),
+                    erpAdapterRequest.getOwnMaterialNumber());
+            } else {
+                batch.add(erpAdapterRequest);
+            }
+            if (batch.size() >= erpAdapterConfiguration.getBatchingMaxSize()) {
+                openBatches.remove(key);
+                full = true;
+            }
+        }
+        if (full) {
+            send(batch);
+        } else if (opened) {
+            final List<ErpAdapterRequest> openedBatch = batch;
+            CompletableFuture.delayedExecutor(erpAdapterConfiguration.getBatchingWindow(), TimeUnit.MILLISECONDS)
+                .execute(() -> close(key, openedBatch));
+        }
+    }
+
+    private void close(BatchKey key, List<ErpAdapterRequest> batch) {
+        synchronized (openBatches) {
+            // the batch may already have been sent because it was full
+            if (!openBatches.remove(key, batch)) {
+                return;
+            }
+        }
+        send(batch);
+    }
+
+    private void send(List<ErpAdapterRequest> batch) {
+        String partnerBpnl = batch.get(0).getPartnerBpnl();
+        try {
+            if (batch.size() == 1) {
+                executorService.submit(partnerBpnl, () -> erpAdapterRequestService.createAndSend(batch.get(0)));
+            } else {
+                executorService.submit(partnerBpnl, () -> erpAdapterRequestService.createAndSendBatch(batch));
+            }
+        } catch (RejectedExecutionException e) {
+            log.warn("Skipped batch of {} erp adapter requests for {}", batch.size(), partnerBpnl);
+        }
+    }
+}
@@ -21,6 +21,7 @@
 package org.eclipse.tractusx.puris.backend.erpadapter.logic.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,6 +31,7 @@ import org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterRequ
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.List;
 
 @Service
 @Slf4j
@@ -56,6 +58,43 @@ public class ErpAdapterRequestClient {
         requestBody.put("direction", erpAdapterRequest.getDirectionCharacteristic().toString());
         requestBody.put("responseUrl", erpAdapterConfiguration.getErpResponseUrl());
 
+        return send(urlBuilder, requestBody);
+    }
+
+    /**
+     * Sends one request for several materials to the ERP adapter. All requests must have the same
+     * partner, request type and samm version. Every material is listed with the id of its request,
+     * so that the ERP adapter can answer every material separately with its request-id. Unlike a single
+     * request, the batch request has no request-id query parameter, and the direction is omitted for
+     * requests without one.
+     *
+     * @param erpAdapterRequests the stored requests
+     * @return the response code of the ERP adapter, null if the request could not be sent
+     */
+    public Integer sendBatchRequest(List<ErpAdapterRequest> erpAdapterRequests) {
+        ErpAdapterRequest first = erpAdapterRequests.get(0);
+        HttpUrl.Builder urlBuilder = HttpUrl.parse(erpAdapterConfiguration.getErpAdapterUrl()).newBuilder();
+        urlBuilder.addQueryParameter("bpnl", first.getPartnerBpnl());
+        urlBuilder.addQueryParameter("request-type", first.getRequestType().ERP_KEYWORD);
+        urlBuilder.addQueryParameter("samm-version", first.getSammVersion());
+        urlBuilder.addQueryParameter("request-timestamp", String.valueOf(first.getRequestDate().getTime()));
+
+        ObjectNode requestBody = mapper.createObjectNode();
+        ArrayNode requests = requestBody.putArray("requests");
+        for (ErpAdapterRequest erpAdapterRequest : erpAdapterRequests) {
+            ObjectNode entry = requests.addObject();
+            entry.put("request-id", erpAdapterRequest.getId().toString());
+            entry.put("material", erpAdapterRequest.getOwnMaterialNumber());
+            if (erpAdapterRequest.getDirectionCharacteristic() != null) {
+                entry.put("direction", erpAdapterRequest.getDirectionCharacteristic().toString());
+            }
+        }
+        requestBody.put("responseUrl", erpAdapterConfiguration.getErpResponseUrl());
+
+        return send(urlBuilder, requestBody);
+    }
+
+    private Integer send(HttpUrl.Builder urlBuilder, ObjectNode requestBody) {
         RequestBody body = RequestBody.create(requestBody.toString(), MediaType.parse("application/json"));
 
         Request request = new Request.Builder()
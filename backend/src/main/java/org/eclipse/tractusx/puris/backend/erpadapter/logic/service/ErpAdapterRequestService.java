@@ -26,6 +26,7 @@ import org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterRequ
 import org.eclipse.tractusx.puris.backend.erpadapter.domain.repository.ErpAdapterRequestRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -63,6 +64,30 @@ public class ErpAdapterRequestService {
         }
     }
 
+    /**
+     * Stores the given requests and sends them to the ERP adapter as one batch. Every request keeps its own id,
+     * so that the responses of the ERP adapter can be matched to the requests as usual.
+     *
+     * @param erpAdapterRequests new requests with the same partner, request type and samm version
+     */
+    public void createAndSendBatch(List<ErpAdapterRequest> erpAdapterRequests) {
+        List<ErpAdapterRequest> createdRequests = repository.saveAll(erpAdapterRequests);
+        Integer responseCode = erpAdapterRequestClient.sendBatchRequest(createdRequests);
+        if (responseCode != null) {
+            repository.updateResponseCode(createdRequests.stream().map(ErpAdapterRequest::getId).toList(), responseCode);
+            if (responseCode >= 200 && responseCode < 400) {
+                log.info("Successfully sent batch of {} requests to ERP Adapter for {}, got status code {}",
+                    createdRequests.size(), createdRequests.get(0).getPartnerBpnl(), responseCode);
+            } else {
+                log.warn("Received status code {} from ERP Adapter for batch of {} requests for {}",
+                    responseCode, createdRequests.size(), createdRequests.get(0).getPartnerBpnl());
+            }
+        } else {
+            log.error("Failed to send batch of {} requests to ERP Adapter for {}",
+                createdRequests.size(), createdRequests.get(0).getPartnerBpnl());
+        }
+    }
+
     public ErpAdapterRequest get(UUID id) {
         return repository.findById(id).orElse(null);
     }
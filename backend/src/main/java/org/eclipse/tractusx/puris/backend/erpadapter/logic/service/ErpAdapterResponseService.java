@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.erpadapter.logic.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.PurisApplication;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
+import org.eclipse.tractusx.puris.backend.erpadapter.ErpAdapterConfiguration;
+import org.eclipse.tractusx.puris.backend.erpadapter.controller.ErpAdapterController;
+import org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterRequest;
+import org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterResponse;
+import org.eclipse.tractusx.puris.backend.erpadapter.domain.repository.ErpAdapterResponseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Accepts responses from the ERP adapter and processes them asynchronously.
+ * <p>
+ * A response is only checked against its request and stored with its raw body, so that the ERP adapter gets
+ * its answer right away. The stored responses are then processed in batches on the erp adapter executor.
+ * Every response is claimed in the database before it is processed, so that several backend replicas never
+ * process the same response. The outcome can be queried per request-id via {@link #getStatus(UUID)}.
+ */
+@Service
+@Slf4j
+public class ErpAdapterResponseService {
+
+    /**
+     * period after which the processing of a response is assumed to have been interrupted (milliseconds)
+     */
+    private static final long PROCESSING_TIMEOUT = 10 * 60 * 1000;
+
+    @Autowired
+    private ErpAdapterResponseRepository repository;
+
+    @Autowired
+    private ErpAdapterRequestService erpAdapterRequestService;
+
+    @Autowired
+    private ItemStockErpAdapterService itemStockErpAdapterService;
+
+    @Autowired
+    private ErpAdapterConfiguration erpAdapterConfiguration;
+
+    @Autowired
+    @Qualifier(PurisApplication.ERP_EXECUTOR)
+    private BoundedExecutorService executorService;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * true while a task is processing the queue
+     */
+    private final AtomicBoolean processing = new AtomicBoolean();
+
+    /**
+     * true if responses were accepted since the processing task last looked at the queue
+     */
+    private final AtomicBoolean queueChanged = new AtomicBoolean();
+
+    /**
+     * The processing state of the response to a request.
+     *
+     * @param requestId    the request-id
+     * @param state        the processing state
+     * @param statusCode   the outcome of the processing as HTTP status code, null while not processed
+     * @param receivedDate the time at which the response was accepted
+     * @param processedDate the time at which the response was processed, null while not processed
+     */
+    public record Status(UUID requestId, ErpAdapterResponse.State state, Integer statusCode, Date receivedDate,
+                         Date processedDate) {
+    }
+
+    /**
+     * Stores a response from the ERP adapter for asynchronous processing.
+     *
+     * @param dto  the parameters of the response, without body
+     * @param body the raw body of the response
+     * @return 202 if accepted, 400 if the partner doesn't match the request, 404 if the request-id is unknown,
+     * 409 if a response for this request-id was already received
+     */
+    public int accept(ErpAdapterController.Dto dto, String body) {
+        ErpAdapterRequest request = erpAdapterRequestService.get(dto.requestId());
+        if (request == null) {
+            log.error("Unknown request-id {}", dto.requestId());
+            return 404;
+        }
+        if (request.getResponseReceivedDate() != null || repository.existsById(dto.requestId())) {
+            log.error("Received duplicate response for messageId {}", dto.requestId());
+            return 409;
+        }
+        if (!request.getPartnerBpnl().equals(dto.partnerBpnl())) {
+            log.error("BPNL mismatch! request BPNL: {}, message BPNL: {}", request.getPartnerBpnl(), dto.partnerBpnl());
+            return 400;
+        }
+        try {
+            // inserts the response, fails if a concurrent request stored a response for this request-id first
+            repository.saveAndFlush(ErpAdapterResponse.builder()
+                .requestId(dto.requestId())
+                .partnerBpnl(dto.partnerBpnl())
+                .responseType(dto.responseType())
+                .sammVersion(dto.sammVersion())
+                .responseTimestamp(dto.responseTimeStamp())
+                .state(ErpAdapterResponse.State.ACCEPTED)
+                .receivedDate(new Date())
+                .body(body)
+                .build());
+        } catch (DataIntegrityViolationException e) {
+            log.error("Received duplicate response for messageId {}", dto.requestId());
+            return 409;
+        }
+        processQueue();
+        return 202;
+    }
+
+    /**
+     * @param requestId the request-id
+     * @return the processing state of the response to this request, null if no response was received
+     */
+    public Status getStatus(UUID requestId) {
+        return repository.findById(requestId)
+            .map(response -> new Status(response.getRequestId(), response.getState(), response.getStatusCode(),
+                response.getReceivedDate(), response.getProcessedDate()))
+            .orElse(null);
+    }
+
+    /**
+     * Puts responses back into the queue whose processing was interrupted and processes
+     * the responses that were accepted by other replicas or before a restart.
+     */
+    @Scheduled(fixedDelay = 60 * 1000)
+    void processRemaining() {
+        if (!erpAdapterConfiguration.isErpAdapterEnabled()) {
+            return;
+        }
+        int requeued = repository.requeueStale(new Date(System.currentTimeMillis() - PROCESSING_TIMEOUT));
+        if (requeued > 0) {
+            log.warn("Requeued {} responses whose processing was interrupted", requeued);
+        }
+        processQueue();
+    }
+
+    private void processQueue() {
+        queueChanged.set(true);
+        if (!processing.compareAndSet(false, true)) {
+            // the running task will see the change
+            return;
+        }
+        try {
+            executorService.execute(this::drainQueue);
+        } catch (RejectedExecutionException e) {
+            processing.set(false);
+            log.warn("Postponed processing of erp adapter responses, executor is saturated");
+        }
+    }
+
+    private void drainQueue() {
+        while (true) {
+            queueChanged.set(false);
+            List<ErpAdapterResponse> batch;
+            try {
+                batch = repository.findByStateOrderByReceivedDateAsc(ErpAdapterResponse.State.ACCEPTED,
+                    Limit.of(erpAdapterConfiguration.getResponsesBatchSize()));
+                processBatch(batch);
+            } catch (Exception e) {
+                log.error("Error while processing erp adapter responses", e);
+                batch = List.of();
+            }
+            if (batch.isEmpty()) {
+                processing.set(false);
+                // continue if responses were accepted in the meantime and no other task took over
+                if (!queueChanged.get() || !processing.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void processBatch(List<ErpAdapterResponse> batch) {
+        int processed = 0;
+        for (ErpAdapterResponse response : batch) {
+            if (repository.claim(response.getRequestId(), new Date()) == 0) {
+                // claimed by another replica
+                continue;
+            }
+            int statusCode;
+            try {
+                statusCode = process(response);
+            } catch (Exception e) {
+                log.error("Error processing response for request-id {}", response.getRequestId(), e);
+                statusCode = 500;
+            }
+            response.setStatusCode(statusCode);
+            response.setState(statusCode >= 200 && statusCode < 400 ? ErpAdapterResponse.State.PROCESSED :
+                statusCode >= 500 ? ErpAdapterResponse.State.FAILED : ErpAdapterResponse.State.REJECTED);
+            response.setProcessedDate(new Date());
+            // the raw body is no longer needed
+            response.setBody(null);
+            // store the outcome right away, so that a later failure can't leave this response in PROCESSING
+            repository.save(response);
+            processed++;
+        }
+        log.debug("Processed {} erp adapter responses", processed);
+    }
+
+    private int process(ErpAdapterResponse response) {
+        JsonNode body;
+        try {
+            body = mapper.readTree(response.getBody());
+        } catch (JsonProcessingException e) {
+            log.error("Error parsing response body for request-id {}", response.getRequestId(), e);
+            return 400;
+        }
+        var dto = new ErpAdapterController.Dto(response.getRequestId(), response.getPartnerBpnl(),
+            response.getResponseType(), response.getSammVersion(), response.getResponseTimestamp(), body);
+        AssetType assetType = Arrays.stream(AssetType.values())
+            .filter(type -> type.ERP_KEYWORD.equals(response.getResponseType())).findFirst().orElse(null);
+        return switch (assetType) {
+            case ITEM_STOCK_SUBMODEL -> itemStockErpAdapterService.receiveItemStockUpdate(dto);
+            case null, default -> 501;
+        };
+    }
+}
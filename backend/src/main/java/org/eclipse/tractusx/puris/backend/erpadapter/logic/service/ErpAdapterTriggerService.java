@@ -21,30 +21,55 @@
 
 package org.eclipse.tractusx.puris.backend.erpadapter.logic.service;
 
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.PurisApplication;
 import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.logic.service.LeaseService;
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
 import org.eclipse.tractusx.puris.backend.erpadapter.ErpAdapterConfiguration;
 import org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterRequest;
 import org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterTriggerDataset;
 import org.eclipse.tractusx.puris.backend.erpadapter.domain.repository.ErpAdapterTriggerDatasetRepository;
 import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
+import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Schedules regular requests to the erp adapter for the kinds of requests we recently received from partners.
+ * <p>
+ * If several backend replicas are running, only the replica that holds the {@link #LEASE} sends scheduled
+ * requests. It loads the schedule from the database when it acquires the lease and then keeps it in memory,
+ * ordered by the time at which the next request of each dataset is due. The daemon thread sleeps until the
+ * earliest request is due, hands it over to the erp adapter executor (which limits the number of concurrent
+ * requests to the erp adapter) and schedules the next one. Every {@link ErpAdapterConfiguration#getFlushInterval()}
+ * the changes to the schedule are written to the database in one transaction, the partner requests received
+ * by the other replicas are read from the database and the lease is renewed.
+ * <p>
+ * The other replicas store the partner requests they receive directly in the database.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ErpAdapterTriggerService {
 
+    /**
+     * name of the lease on the schedule
+     */
+    public static final String LEASE = "erp-adapter-trigger";
+
     @Autowired
     private ErpAdapterTriggerDatasetRepository repository;
     @Autowired
@@ -52,82 +77,424 @@ public class ErpAdapterTriggerService {
     @Autowired
     private ErpAdapterRequestService erpAdapterRequestService;
     @Autowired
-    private ExecutorService executorService;
+    private ErpAdapterRequestBatcher erpAdapterRequestBatcher;
+    @Autowired
+    @Qualifier(PurisApplication.ERP_EXECUTOR)
+    private BoundedExecutorService executorService;
+    @Autowired
+    private LeaseService leaseService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
-    private final long daemonActivityInterval = 1 * 60 * 1000; // daemon wakes up every minute
+    private Thread daemonObject;
 
-    private Future<?> daemonObject;
+    /**
+     * true while this replica holds the lease on the schedule
+     */
+    private boolean leader;
 
-    private final List<ErpAdapterTriggerDataset> datasets = new ArrayList<>();
+    /**
+     * the time at which the lease expires, unless it is renewed
+     */
+    private long leaseExpiresAt;
 
     /**
-     * protect accesses to the datasets list
+     * the time at which the partner requests of the other replicas were last read from the database
+     */
+    private long lastSync;
+
+    /**
+     * the scheduled datasets by their key
+     */
+    private final Map<ErpAdapterTriggerDataset.Key, ErpAdapterTriggerDataset> datasets = new HashMap<>();
+
+    /**
+     * the keys of the scheduled datasets, ordered by the time at which their next request is due
+     */
+    private final PriorityQueue<ScheduledRequest> schedule = new PriorityQueue<>(Comparator.comparingLong(ScheduledRequest::due));
+
+    /**
+     * datasets that were created or changed since the last flush
+     */
+    private final Map<ErpAdapterTriggerDataset.Key, ErpAdapterTriggerDataset> pendingWrites = new HashMap<>();
+
+    /**
+     * datasets that expired since the last flush, with the time of their last partner request
+     */
+    private final Map<ErpAdapterTriggerDataset.Key, Long> pendingDeletes = new HashMap<>();
+
+    /**
+     * protect accesses to the leadership, the datasets, the schedule and the pending changes
      */
     private final Lock lock = new ReentrantLock();
 
-    private final Runnable daemon = () -> {
+    /**
+     * wakes up the daemon when a request was added to the schedule
+     */
+    private final Condition scheduleChanged = lock.newCondition();
+
+    private final AtomicLong dispatched = new AtomicLong();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final AtomicLong expired = new AtomicLong();
+
+    private record ScheduledRequest(long due, ErpAdapterTriggerDataset.Key key) {
+    }
+
+    /**
+     * Snapshot of the schedule.
+     *
+     * @param leader        whether this replica holds the lease on the schedule, the schedule is empty if not
+     * @param scheduled     number of scheduled datasets
+     * @param overdue       number of requests that are due but were not yet handed over to the executor
+     * @param pendingWrites number of changes that were not yet written to the database
+     * @param dispatched    number of requests handed over to the executor, or to the batcher if batching is enabled
+     * @param rejected      number of requests that were skipped, because the executor was saturated
+     * @param expired       number of datasets that were removed, because no partner requested them for too long
+     * @param nextDue       the time at which the next request is due, null if nothing is scheduled
+     */
+    public record Statistics(boolean leader, int scheduled, int overdue, int pendingWrites, long dispatched,
+                             long rejected, long expired, Date nextDue) {
+    }
+
+    @PostConstruct
+    void start() {
+        if (!erpAdapterConfiguration.isErpAdapterEnabled()) {
+            return;
+        }
+        // the daemon runs on its own thread, so that it doesn't permanently occupy a slot of the executor
+        daemonObject = Thread.ofVirtual().name("erp-adapter-trigger-daemon").start(this::runDaemon);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (daemonObject != null) {
+            daemonObject.interrupt();
+            try {
+                daemonObject.join(erpAdapterConfiguration.getFlushInterval());
+            } catch (InterruptedException ignore) {
+            }
+            if (isLeader()) {
+                flush();
+                leaseService.release(LEASE);
+            }
+        }
+    }
+
+    private void runDaemon() {
         log.info("Daemon thread started");
-        ArrayList<ErpAdapterTriggerDataset> updatedData = new ArrayList<>();
-        while (true) {
-            lock.lock();
+        long nextFlush = 0;
+        while (!Thread.currentThread().isInterrupted()) {
             try {
-                // keep the most recent information in case of conflict
-                for (ErpAdapterTriggerDataset dataset : datasets) {
-                    for (ErpAdapterTriggerDataset updatedDataset : updatedData) {
-                        if (dataset.equals(updatedDataset)) {
-                            dataset.setLastPartnerRequest(
-                                Math.max(dataset.getLastPartnerRequest(), updatedDataset.getLastPartnerRequest()));
-                            dataset.setNextErpRequestScheduled(
-                                Math.max(dataset.getNextErpRequestScheduled(), updatedDataset.getNextErpRequestScheduled()));
-                        }
+                if (!isLeader()) {
+                    // taken before acquiring, so that the lease never expires earlier than we assume
+                    long acquired = System.currentTimeMillis();
+                    if (leaseService.tryAcquire(LEASE, erpAdapterConfiguration.getLeaseDuration())) {
+                        takeOver(acquired);
+                        nextFlush = System.currentTimeMillis() + erpAdapterConfiguration.getFlushInterval();
+                    } else {
+                        Thread.sleep(erpAdapterConfiguration.getFlushInterval());
+                        continue;
                     }
                 }
-                updatedData.clear();
-                repository.saveAll(datasets);
-                datasets.clear();
-            } finally {
-                lock.unlock();
+                List<ErpAdapterRequest> dueRequests = awaitDueRequests(nextFlush);
+                dueRequests.forEach(this::dispatch);
+                if (System.currentTimeMillis() >= nextFlush) {
+                    if (System.currentTimeMillis() >= leaseExpiresAt) {
+                        // another replica may already have taken over
+                        stepDown();
+                        continue;
+                    }
+                    flush();
+                    sync();
+                    long renewed = System.currentTimeMillis();
+                    if (leaseService.tryAcquire(LEASE, erpAdapterConfiguration.getLeaseDuration())) {
+                        leaseExpiresAt = renewed + erpAdapterConfiguration.getLeaseDuration();
+                    } else {
+                        stepDown();
+                    }
+                    nextFlush = System.currentTimeMillis() + erpAdapterConfiguration.getFlushInterval();
+                }
+            } catch (InterruptedException e) {
+                break;
+            } catch (Exception e) {
+                log.error("Error in daemon thread", e);
+                try {
+                    // e.g. the database is unreachable, don't retry right away
+                    Thread.sleep(erpAdapterConfiguration.getFlushInterval());
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+            }
+        }
+        log.info("Daemon thread stopped");
+    }
+
+    private boolean isLeader() {
+        lock.lock();
+        try {
+            return leader;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Loads the schedule from the database after this replica acquired the lease.
+     *
+     * @param acquired the time right before the lease was acquired
+     */
+    private void takeOver(long acquired) {
+        List<ErpAdapterTriggerDataset> allDatasets = repository.findAll();
+        lock.lock();
+        try {
+            datasets.clear();
+            schedule.clear();
+            pendingWrites.clear();
+            pendingDeletes.clear();
+            for (ErpAdapterTriggerDataset dataset : allDatasets) {
+                var key = keyOf(dataset);
+                datasets.put(key, dataset);
+                schedule.add(new ScheduledRequest(dataset.getNextErpRequestScheduled(), key));
             }
+            leaseExpiresAt = acquired + erpAdapterConfiguration.getLeaseDuration();
+            lastSync = acquired;
+            leader = true;
+        } finally {
+            lock.unlock();
+        }
+        log.info("Acquired the lease, loaded {} datasets", allDatasets.size());
+    }
 
+    /**
+     * Drops the schedule after this replica lost the lease. Partner requests that were not yet written
+     * to the database are stored the way the other replicas store them.
+     */
+    private void stepDown() {
+        Collection<ErpAdapterTriggerDataset> unwritten;
+        lock.lock();
+        try {
+            leader = false;
+            unwritten = new ArrayList<>(pendingWrites.values());
+            datasets.clear();
+            schedule.clear();
+            pendingWrites.clear();
+            pendingDeletes.clear();
+        } finally {
+            lock.unlock();
+        }
+        log.warn("Lost the lease, stopped scheduling requests");
+        unwritten.forEach(this::storePartnerRequest);
+    }
+
+    /**
+     * Waits until either requests are due or the given deadline has passed.
+     *
+     * @param deadline the latest point in time to return at
+     * @return the due requests, empty if the deadline has passed first
+     * @throws InterruptedException if the daemon was stopped
+     */
+    private List<ErpAdapterRequest> awaitDueRequests(long deadline) throws InterruptedException {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            while (schedule.isEmpty() || schedule.peek().due() > now) {
+                long wakeUp = schedule.isEmpty() ? deadline : Math.min(deadline, schedule.peek().due());
+                if (wakeUp <= now) {
+                    return List.of();
+                }
+                scheduleChanged.await(wakeUp - now, TimeUnit.MILLISECONDS);
+                now = System.currentTimeMillis();
+            }
+            if (now >= leaseExpiresAt) {
+                // don't send requests unless the lease is certainly ours
+                return List.of();
+            }
             long timeLimit = erpAdapterConfiguration.getRefreshTimeLimit();
-            var allDatasets = repository.findAll();
-            long now = new Date().getTime();
-            log.info("Daemon waking up, found {} datasets", allDatasets.size());
-            for (var dataset : allDatasets) {
+            long refreshInterval = erpAdapterConfiguration.getRefreshInterval();
+            List<ErpAdapterRequest> dueRequests = new ArrayList<>();
+            while (!schedule.isEmpty() && schedule.peek().due() <= now) {
+                ScheduledRequest scheduledRequest = schedule.poll();
+                var key = scheduledRequest.key();
+                ErpAdapterTriggerDataset dataset = datasets.get(key);
+                if (dataset == null || dataset.getNextErpRequestScheduled() != scheduledRequest.due()) {
+                    // outdated entry
+                    continue;
+                }
                 if (dataset.getLastPartnerRequest() + timeLimit <= now) {
                     // too much time has passed since last request of this kind, so
                     // we will stop triggering further updates from the erp adapter
-                    repository.delete(dataset);
+                    datasets.remove(key);
+                    pendingWrites.remove(key);
+                    pendingDeletes.put(key, dataset.getLastPartnerRequest());
+                    expired.incrementAndGet();
                     log.info("Stopped scheduling further requests for : {}", dataset);
-                } else {
-                    if (dataset.getNextErpRequestScheduled() <= now) {
-                        // the time has come for a new erp adapter request
-                        ErpAdapterRequest request = new ErpAdapterRequest();
-                        request.setOwnMaterialNumber(dataset.getOwnMaterialNumber());
-                        request.setPartnerBpnl(dataset.getPartnerBpnl());
-                        request.setRequestDate(new Date(now));
-                        DirectionCharacteristic directionCharacteristic = dataset.getDirectionCharacteristic().isEmpty() ?
-                            null : DirectionCharacteristic.valueOf(dataset.getDirectionCharacteristic());
-                        request.setDirectionCharacteristic(directionCharacteristic);
-                        request.setRequestType(dataset.getAssetType());
-                        request.setSammVersion(dataset.getAssetType().ERP_SAMMVERSION);
-                        executorService.submit(() -> erpAdapterRequestService.createAndSend(request));
-
-                        // schedule next request
-                        dataset.setNextErpRequestScheduled(now + erpAdapterConfiguration.getRefreshInterval());
-                        dataset = repository.save(dataset);
-                        updatedData.add(dataset);
-                        log.info("Scheduled next erp adapter request: {}", dataset);
-                    }
+                    continue;
                 }
+                // the time has come for a new erp adapter request
+                dueRequests.add(createRequest(dataset, now));
+
+                // schedule next request, keeping the interval unless we fell behind by more than one interval
+                long next = scheduledRequest.due() + refreshInterval;
+                dataset.setNextErpRequestScheduled(next > now ? next : now + refreshInterval);
+                schedule.add(new ScheduledRequest(dataset.getNextErpRequestScheduled(), key));
+                pendingWrites.put(key, dataset);
+                log.info("Scheduled next erp adapter request: {}", dataset);
             }
+            return dueRequests;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the changes to the schedule since the last flush to the database in one transaction.
+     * <p>
+     * Partner requests that another replica stored in the meantime are neither overwritten by an earlier
+     * one nor deleted.
+     */
+    private synchronized void flush() {
+        List<ErpAdapterTriggerDataset> writes;
+        Map<ErpAdapterTriggerDataset.Key, Long> deletes;
+        lock.lock();
+        try {
+            if (pendingWrites.isEmpty() && pendingDeletes.isEmpty()) {
+                return;
+            }
+            // copy the datasets, so that they are not changed while they are written
+            writes = pendingWrites.values().stream().map(ErpAdapterTriggerService::copyOf).toList();
+            deletes = new HashMap<>(pendingDeletes);
+            pendingWrites.clear();
+            pendingDeletes.clear();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                deletes.forEach((key, lastPartnerRequest) -> repository.deleteIfNotRequestedSince(key.getPartnerBpnl(),
+                    key.getOwnMaterialNumber(), key.getAssetType(), key.getDirectionCharacteristic(), lastPartnerRequest));
+                for (ErpAdapterTriggerDataset dataset : writes) {
+                    int updated = repository.updateSchedule(dataset.getPartnerBpnl(), dataset.getOwnMaterialNumber(),
+                        dataset.getAssetType(), dataset.getDirectionCharacteristic(), dataset.getLastPartnerRequest(),
+                        dataset.getNextErpRequestScheduled());
+                    if (updated == 0) {
+                        repository.save(dataset);
+                    }
+                }
+            });
+            log.debug("Wrote {} and deleted {} datasets", writes.size(), deletes.size());
+        } catch (Exception e) {
+            log.error("Failed to write the schedule, will retry", e);
+            lock.lock();
             try {
-                // sleep for the defined interval
-                Thread.sleep(daemonActivityInterval);
-            } catch (InterruptedException ignore) {
+                // keep more recent changes
+                for (ErpAdapterTriggerDataset dataset : writes) {
+                    var key = keyOf(dataset);
+                    if (datasets.containsKey(key)) {
+                        pendingWrites.putIfAbsent(key, datasets.get(key));
+                    }
+                }
+                deletes.forEach((key, lastPartnerRequest) -> {
+                    if (!datasets.containsKey(key)) {
+                        pendingDeletes.putIfAbsent(key, lastPartnerRequest);
+                    }
+                });
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Reads the partner requests that the other replicas stored since the last sync. The lease duration
+     * is subtracted from the time of the last sync, so that requests stored by replicas with a clock
+     * that is slightly behind are not missed.
+     */
+    private void sync() {
+        long now = System.currentTimeMillis();
+        List<ErpAdapterTriggerDataset> requested = repository.findAllByLastPartnerRequestGreaterThanEqual(
+            lastSync - erpAdapterConfiguration.getLeaseDuration());
+        lastSync = now;
+        lock.lock();
+        try {
+            for (ErpAdapterTriggerDataset storedDataset : requested) {
+                var key = keyOf(storedDataset);
+                ErpAdapterTriggerDataset dataset = datasets.get(key);
+                if (dataset == null) {
+                    pendingDeletes.remove(key);
+                    datasets.put(key, storedDataset);
+                    schedule.add(new ScheduledRequest(storedDataset.getNextErpRequestScheduled(), key));
+                    scheduleChanged.signal();
+                } else if (storedDataset.getLastPartnerRequest() > dataset.getLastPartnerRequest()) {
+                    dataset.setLastPartnerRequest(storedDataset.getLastPartnerRequest());
+                }
             }
+        } finally {
+            lock.unlock();
         }
-    };
+    }
+
+    /**
+     * Stores a partner request directly in the database, used while another replica holds the lease.
+     *
+     * @param dataset the dataset with the time of the partner request
+     * @return true, if the dataset didn't exist before
+     */
+    private boolean storePartnerRequest(ErpAdapterTriggerDataset dataset) {
+        int updated = repository.updateLastPartnerRequest(dataset.getPartnerBpnl(), dataset.getOwnMaterialNumber(),
+            dataset.getAssetType(), dataset.getDirectionCharacteristic(), dataset.getLastPartnerRequest());
+        if (updated > 0 || repository.existsById(keyOf(dataset))) {
+            return false;
+        }
+        try {
+            repository.save(dataset);
+        } catch (DataIntegrityViolationException e) {
+            // another replica created the dataset in the meantime
+            log.debug("Dataset {} was created concurrently", keyOf(dataset));
+            return false;
+        }
+        return true;
+    }
+
+    private void dispatch(ErpAdapterRequest request) {
+        try {
+            if (erpAdapterConfiguration.isBatchingEnabled()) {
+                erpAdapterRequestBatcher.add(request);
+            } else {
+                executorService.submit(request.getPartnerBpnl(), () -> erpAdapterRequestService.createAndSend(request));
+            }
+            dispatched.incrementAndGet();
+        } catch (RejectedExecutionException e) {
+            // the next scheduled request will catch up
+            rejected.incrementAndGet();
+            log.warn("Skipped erp adapter request for {} and {}", request.getPartnerBpnl(), request.getOwnMaterialNumber());
+        }
+    }
+
+    private static ErpAdapterRequest createRequest(ErpAdapterTriggerDataset dataset, long now) {
+        ErpAdapterRequest request = new ErpAdapterRequest();
+        request.setOwnMaterialNumber(dataset.getOwnMaterialNumber());
+        request.setPartnerBpnl(dataset.getPartnerBpnl());
+        request.setRequestDate(new Date(now));
+        DirectionCharacteristic directionCharacteristic = dataset.getDirectionCharacteristic().isEmpty() ?
+            null : DirectionCharacteristic.valueOf(dataset.getDirectionCharacteristic());
+        request.setDirectionCharacteristic(directionCharacteristic);
+        request.setRequestType(dataset.getAssetType());
+        request.setSammVersion(dataset.getAssetType().ERP_SAMMVERSION);
+        return request;
+    }
+
+    private static ErpAdapterTriggerDataset.Key keyOf(ErpAdapterTriggerDataset dataset) {
+        return new ErpAdapterTriggerDataset.Key(dataset.getPartnerBpnl(), dataset.getOwnMaterialNumber(),
+            dataset.getAssetType(), dataset.getDirectionCharacteristic());
+    }
+
+    private static ErpAdapterTriggerDataset copyOf(ErpAdapterTriggerDataset dataset) {
+        return new ErpAdapterTriggerDataset(dataset.getPartnerBpnl(), dataset.getOwnMaterialNumber(),
+            dataset.getAssetType(), dataset.getDirectionCharacteristic(), dataset.getLastPartnerRequest(),
+            dataset.getNextErpRequestScheduled());
+    }
 
     /**
      * Send a notification about a just received request from a partner via this
@@ -143,46 +510,66 @@ public class ErpAdapterTriggerService {
             return;
         }
         String directionString = direction != null ? direction.name() : "";
-
-        ErpAdapterTriggerDataset dataset = repository.findById(new ErpAdapterTriggerDataset.Key(partnerBpnl,
-                ownMaterialNumber, type, directionString))
-            .orElse(null);
+        var key = new ErpAdapterTriggerDataset.Key(partnerBpnl, ownMaterialNumber, type, directionString);
 
         long now = new Date().getTime();
-        if (dataset == null) {
-            // unknown request specifics, so we trigger a new request right now
-            ErpAdapterRequest erpAdapterRequest = new ErpAdapterRequest();
-            erpAdapterRequest.setRequestDate(new Date(now));
-            erpAdapterRequest.setPartnerBpnl(partnerBpnl);
-            erpAdapterRequest.setOwnMaterialNumber(ownMaterialNumber);
-            erpAdapterRequest.setDirectionCharacteristic(direction);
-            erpAdapterRequest.setRequestType(type);
-            erpAdapterRequest.setSammVersion(type.ERP_SAMMVERSION);
-            executorService.submit(() -> erpAdapterRequestService.createAndSend(erpAdapterRequest));
-
-            // create dataset for the daemon thread to schedule future erp adapter requests
-            dataset = new ErpAdapterTriggerDataset(partnerBpnl, ownMaterialNumber, type, directionString, now,
-                now + erpAdapterConfiguration.getRefreshInterval());
-            // it seems safer when only the Daemon thread writes to the repository
-            lock.lock();
-            try {
-                datasets.add(dataset);
-            } finally {
-                lock.unlock();
+        ErpAdapterTriggerDataset createdDataset = null;
+        boolean stored = false;
+        lock.lock();
+        try {
+            if (leader) {
+                ErpAdapterTriggerDataset dataset = datasets.get(key);
+                if (dataset == null) {
+                    // create dataset to schedule future erp adapter requests
+                    dataset = new ErpAdapterTriggerDataset(partnerBpnl, ownMaterialNumber, type, directionString, now,
+                        now + erpAdapterConfiguration.getRefreshInterval());
+                    datasets.put(key, dataset);
+                    pendingDeletes.remove(key);
+                    schedule.add(new ScheduledRequest(dataset.getNextErpRequestScheduled(), key));
+                    scheduleChanged.signal();
+                    createdDataset = dataset;
+                } else {
+                    // we had previous requests of that kind, so we just store the timestamp of this latest request
+                    dataset.setLastPartnerRequest(now);
+                }
+                pendingWrites.put(key, dataset);
+                stored = true;
             }
-            log.info("Created {}", dataset);
-        } else {
-            // we had previous requests of that kind, so we just store the timestamp of this latest request
-            dataset.setLastPartnerRequest(now);
-            lock.lock();
-            try {
-                datasets.add(dataset);
-            } finally {
-                lock.unlock();
+        } finally {
+            lock.unlock();
+        }
+        if (!stored) {
+            // another replica holds the schedule and will pick up the dataset from the database
+            var dataset = new ErpAdapterTriggerDataset(partnerBpnl, ownMaterialNumber, type, directionString, now,
+                now + erpAdapterConfiguration.getRefreshInterval());
+            if (storePartnerRequest(dataset)) {
+                createdDataset = dataset;
             }
         }
-        if (daemonObject == null) {
-            daemonObject = executorService.submit(daemon);
+        if (createdDataset != null) {
+            // unknown request specifics, so we trigger a new request right now
+            dispatch(createRequest(createdDataset, now));
+            log.info("Created {}", createdDataset);
+        }
+    }
+
+    /**
+     * @return the size of the schedule and the number of dispatched, rejected and expired requests
+     */
+    public Statistics getStatistics() {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            int overdue = (int) schedule.stream()
+                .filter(scheduledRequest -> scheduledRequest.due() <= now)
+                .filter(scheduledRequest -> datasets.containsKey(scheduledRequest.key()) &&
+                    datasets.get(scheduledRequest.key()).getNextErpRequestScheduled() == scheduledRequest.due())
+                .count();
+            Date nextDue = schedule.isEmpty() ? null : new Date(schedule.peek().due());
+            return new Statistics(leader, datasets.size(), overdue, pendingWrites.size() + pendingDeletes.size(),
+                dispatched.get(), rejected.get(), expired.get(), nextDue);
+        } finally {
+            lock.unlock();
         }
     }
 
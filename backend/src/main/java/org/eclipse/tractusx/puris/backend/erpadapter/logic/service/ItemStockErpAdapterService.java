@@ -120,15 +120,13 @@ public class ItemStockErpAdapterService {
                         return 400;
                     }
                     List<MaterialItemStock> materialItemStockList = sammMapper.erpSammToMaterialItemStock(samm, partner, material);
-                    int initialSize = materialItemStockList.size();
-                    materialItemStockList.removeIf(stock -> !materialItemStockService.validate(stock));
-                    int removed = initialSize - materialItemStockList.size();
-                    if (removed > 0) {
-                        log.warn("Removed {} out of {} MaterialItemStocks because of failing validation.", removed, initialSize);
+                    // replace the stocks in one transaction, writing only the stocks that changed
+                    var result = materialItemStockService.replaceAll(partner, material, materialItemStockList);
+                    int skipped = materialItemStockList.size() - result.inserted() - result.updated() - result.unchanged();
+                    if (skipped > 0) {
+                        log.warn("Skipped {} out of {} MaterialItemStocks because of failing validation.", skipped, materialItemStockList.size());
                     }
-                    materialItemStockService.findByPartnerAndMaterial(partner, material).forEach(stock -> materialItemStockService.delete(stock.getUuid()));
-                    materialItemStockList.forEach(stock -> materialItemStockService.create(stock));
-                    log.info("Inserted {} MaterialItemStocks for {} and {}", materialItemStockList.size(), material.getOwnMaterialNumber(), partner.getBpnl());
+                    log.info("Replaced MaterialItemStocks for {} and {}: {}", material.getOwnMaterialNumber(), partner.getBpnl(), result);
                     request.setResponseReceivedDate(dto.responseTimeStamp());
                     erpAdapterRequestService.update(request);
                     return 201;
@@ -140,15 +138,13 @@ public class ItemStockErpAdapterService {
                         return 400;
                     }
                     List<ProductItemStock> productItemStockList = sammMapper.erpSammToProductItemStock(samm, partner, material);
-                    int initialSize = productItemStockList.size();
-                    productItemStockList.removeIf(stock -> !productItemStockService.validate(stock));
-                    int removed = initialSize - productItemStockList.size();
-                    if (removed > 0) {
-                        log.warn("Removed {} out of {} ProductItemStocks because of failing validation.", removed, initialSize);
+                    // replace the stocks in one transaction, writing only the stocks that changed
+                    var result = productItemStockService.replaceAll(partner, material, productItemStockList);
+                    int skipped = productItemStockList.size() - result.inserted() - result.updated() - result.unchanged();
+                    if (skipped > 0) {
+                        log.warn("Skipped {} out of {} ProductItemStocks because of failing validation.", skipped, productItemStockList.size());
                     }
-                    productItemStockService.findByPartnerAndMaterial(partner, material).forEach(stock -> productItemStockService.delete(stock.getUuid()));
-                    productItemStockList.forEach(stock -> productItemStockService.create(stock));
-                    log.info("Inserted {} ProductItemStocks for {} and {}", productItemStockList.size(), material.getOwnMaterialNumber(), partner.getBpnl());
+                    log.info("Replaced ProductItemStocks for {} and {}: {}", material.getOwnMaterialNumber(), partner.getBpnl(), result);
                     request.setResponseReceivedDate(dto.responseTimeStamp());
                     erpAdapterRequestService.update(request);
                     return 201;
@@ -38,6 +38,10 @@ public interface MaterialPartnerRelationRepository extends JpaRepository<Materia
 
     List<MaterialPartnerRelation> findAllByPartner_UuidAndPartnerBuysMaterialIsTrue(UUID partnerUuid);
 
+    List<MaterialPartnerRelation> findAllByPartnerSuppliesMaterialIsTrue();
+
+    List<MaterialPartnerRelation> findAllByPartnerBuysMaterialIsTrue();
+
     List<MaterialPartnerRelation> findAllByMaterial_OwnMaterialNumber(String ownMaterialNumber);
 
     List<MaterialPartnerRelation> findAllByMaterial_OwnMaterialNumberAndPartnerSuppliesMaterialIsTrue(String ownMaterialNumber);
@@ -22,9 +22,11 @@
 package org.eclipse.tractusx.puris.backend.masterdata.domain.repository;
 
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -33,5 +35,15 @@ public interface PartnerRepository extends JpaRepository<Partner, UUID> {
 
     Optional<Partner> findFirstByBpnl(String bpnl);
 
+    /**
+     * Loads the partners with the given BPNL together with their addresses and sites,
+     * so that these can still be accessed after the session is closed.
+     *
+     * @param bpnl the BPNL
+     * @return the partners, usually at most one
+     */
+    @EntityGraph(attributePaths = {"addresses", "sites", "sites.addresses"})
+    List<Partner> findAllWithSitesByBpnl(String bpnl);
+
     Optional<Partner> findFirstBySites_Bpns(String siteBpns);
 }
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.masterdata.logic.service;
+
+import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Keeps partners, materials and material partner relations in memory, so that validations and
+ * conversions that look up the same masterdata for every single entity don't query the database each time.
+ * <p>
+ * The services owning the masterdata read through this cache and invalidate the affected entries whenever
+ * they create or update an entity. Since other instances of the application may change the masterdata as well,
+ * entries also expire after the configured time to live. Cached entities are shared between callers and
+ * must not be modified without passing them to the owning service's update method afterwards.
+ */
+@Component
+public class MasterDataCache {
+
+    private final Region<String, Partner> partnersByBpnl;
+
+    private final Region<String, Material> materialsByOwnMaterialNumber;
+
+    private final Region<String, Material> materialsByMaterialNumberCx;
+
+    private final Region<MaterialPartnerRelation.Key, MaterialPartnerRelation> relationsByKey;
+
+    @Autowired
+    public MasterDataCache(VariablesService variablesService) {
+        long ttl = variablesService.getMasterDataCacheTtl();
+        partnersByBpnl = new Region<>("partnersByBpnl", ttl);
+        materialsByOwnMaterialNumber = new Region<>("materialsByOwnMaterialNumber", ttl);
+        materialsByMaterialNumberCx = new Region<>("materialsByMaterialNumberCx", ttl);
+        relationsByKey = new Region<>("relationsByKey", ttl);
+    }
+
+    /**
+     * Snapshot of the counters of one cache region.
+     */
+    public record Statistics(String name, int size, long hits, long misses, double hitRate) {
+    }
+
+    /**
+     * @param bpnl   the BPNL
+     * @param loader loads the partner with its sites and addresses if it is not cached
+     * @return the partner or null, if there is none
+     */
+    public Partner getPartner(String bpnl, Function<String, Partner> loader) {
+        return partnersByBpnl.get(bpnl, loader);
+    }
+
+    /**
+     * @param ownMaterialNumber the material number
+     * @param loader            loads the material if it is not cached
+     * @return the material or null, if there is none
+     */
+    public Material getMaterial(String ownMaterialNumber, Function<String, Material> loader) {
+        return materialsByOwnMaterialNumber.get(ownMaterialNumber, loader);
+    }
+
+    /**
+     * @param materialNumberCx the CatenaX material number
+     * @param loader           loads the material if it is not cached
+     * @return the material or null, if there is none
+     */
+    public Material getMaterialByMaterialNumberCx(String materialNumberCx, Function<String, Material> loader) {
+        return materialsByMaterialNumberCx.get(materialNumberCx, loader);
+    }
+
+    /**
+     * @param key    the key of the relation
+     * @param loader loads the relation if it is not cached
+     * @return the relation or null, if there is none
+     */
+    public MaterialPartnerRelation getRelation(MaterialPartnerRelation.Key key,
+                                               Function<MaterialPartnerRelation.Key, MaterialPartnerRelation> loader) {
+        return relationsByKey.get(key, loader);
+    }
+
+    /**
+     * Removes the partner with the given BPNL and all relations, since they contain the partner as well.
+     *
+     * @param bpnl the BPNL
+     */
+    public void invalidatePartner(String bpnl) {
+        partnersByBpnl.invalidate(bpnl);
+        relationsByKey.invalidateAll();
+    }
+
+    /**
+     * Removes the material with the given material number and all relations, since they contain the
+     * material as well.
+     *
+     * @param ownMaterialNumber the material number
+     */
+    public void invalidateMaterial(String ownMaterialNumber) {
+        materialsByOwnMaterialNumber.invalidate(ownMaterialNumber);
+        materialsByMaterialNumberCx.invalidateAll();
+        relationsByKey.invalidateAll();
+    }
+
+    /**
+     * @param key the key of the relation
+     */
+    public void invalidateRelation(MaterialPartnerRelation.Key key) {
+        relationsByKey.invalidate(key);
+    }
+
+    /**
+     * @return the counters of all cache regions
+     */
+    public List<Statistics> getStatistics() {
+        return List.of(partnersByBpnl.getStatistics(), materialsByOwnMaterialNumber.getStatistics(),
+            materialsByMaterialNumberCx.getStatistics(), relationsByKey.getStatistics());
+    }
+
+    private static final class Region<K, V> {
+
+        private record Entry<V>(Optional<V> value, long loadedAt) {
+        }
+
+        private final String name;
+
+        private final long ttl;
+
+        private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+        private final AtomicLong hits = new AtomicLong();
+
+        private final AtomicLong misses = new AtomicLong();
+
+        private final AtomicLong generation = new AtomicLong();
+
+        private Region(String name, long ttl) {
+            this.name = name;
+            this.ttl = ttl;
+        }
+
+        private V get(K key, Function<K, V> loader) {
+            if (key == null) {
+                return loader.apply(null);
+            }
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.loadedAt() + ttl > System.currentTimeMillis()) {
+                hits.incrementAndGet();
+                return entry.value().orElse(null);
+            }
+            misses.incrementAndGet();
+            long generationBeforeLoad = generation.get();
+            Entry<V> loaded = new Entry<>(Optional.ofNullable(loader.apply(key)), System.currentTimeMillis());
+            // if anything was invalidated while loading, the loaded value may already be outdated
+            if (generation.get() == generationBeforeLoad) {
+                entries.put(key, loaded);
+            }
+            return loaded.value().orElse(null);
+        }
+
+        private void invalidate(K key) {
+            if (key != null) {
+                generation.incrementAndGet();
+                entries.remove(key);
+            }
+        }
+
+        private void invalidateAll() {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+
+        private Statistics getStatistics() {
+            long hitCount = hits.get();
+            long total = hitCount + misses.get();
+            return new Statistics(name, entries.size(), hitCount, total - hitCount, total == 0 ? 0 : (double) hitCount / total);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.masterdata.logic.service;
+
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Remembers the materials and partners that were already looked up while processing a single request,
+ * so that a request with many entries for the same material and partner only queries each of them once.
+ * <p>
+ * An instance is meant to be created per request and is not thread safe.
+ */
+public class MasterDataMemo {
+
+    private final MaterialService materialService;
+
+    private final PartnerService partnerService;
+
+    private final Map<String, Optional<Material>> materials = new HashMap<>();
+
+    private final Map<String, Optional<Partner>> partners = new HashMap<>();
+
+    public MasterDataMemo(MaterialService materialService, PartnerService partnerService) {
+        this.materialService = materialService;
+        this.partnerService = partnerService;
+    }
+
+    /**
+     * @param ownMaterialNumber the material number
+     * @return the material, or null if there is none with this material number
+     */
+    public Material findMaterial(String ownMaterialNumber) {
+        return materials.computeIfAbsent(ownMaterialNumber,
+            key -> Optional.ofNullable(materialService.findByOwnMaterialNumber(key))).orElse(null);
+    }
+
+    /**
+     * @param bpnl the partner's BPNL
+     * @return the partner, or null if there is none with this BPNL
+     */
+    public Partner findPartner(String bpnl) {
+        return partners.computeIfAbsent(bpnl,
+            key -> Optional.ofNullable(partnerService.findByBpnl(key))).orElse(null);
+    }
+}
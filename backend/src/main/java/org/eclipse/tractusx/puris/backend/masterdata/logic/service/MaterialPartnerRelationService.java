@@ -25,6 +25,7 @@ import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -45,6 +46,8 @@ public interface MaterialPartnerRelationService {
 
     List<MaterialPartnerRelation> findAll();
 
+    List<MaterialPartnerRelation> findAll(Collection<MaterialPartnerRelation.Key> keys);
+
     Map<String, String> getBPNL_To_MaterialNumberMap(String ownMaterialNumber);
 
     MaterialPartnerRelation find(String ownMaterialNumber, UUID partnerUuid);
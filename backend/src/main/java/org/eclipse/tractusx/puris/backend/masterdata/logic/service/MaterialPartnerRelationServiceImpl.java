@@ -23,8 +23,11 @@ package org.eclipse.tractusx.puris.backend.masterdata.logic.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.eclipse.tractusx.puris.backend.common.ddtr.logic.DtrAdapterService;
+import org.eclipse.tractusx.puris.backend.PurisApplication;
+import org.eclipse.tractusx.puris.backend.common.ddtr.logic.DtrSyncService;
 import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcAdapterService;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.SubmodelDescriptorCache;
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
 import org.eclipse.tractusx.puris.backend.common.util.PatternStore;
 import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
@@ -32,13 +35,15 @@ import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartne
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.MaterialPartnerRelationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -54,13 +59,20 @@ public class MaterialPartnerRelationServiceImpl implements MaterialPartnerRelati
     private VariablesService variablesService;
 
     @Autowired
-    private DtrAdapterService dtrAdapterService;
+    private DtrSyncService dtrSyncService;
 
     @Autowired
     private EdcAdapterService edcAdapterService;
 
     @Autowired
-    private ExecutorService executorService;
+    private SubmodelDescriptorCache submodelDescriptorCache;
+
+    @Autowired
+    private MasterDataCache masterDataCache;
+
+    @Autowired
+    @Qualifier(PurisApplication.DTR_EXECUTOR)
+    private BoundedExecutorService executorService;
 
 
     /**
@@ -81,8 +93,11 @@ public class MaterialPartnerRelationServiceImpl implements MaterialPartnerRelati
         flagConsistencyTest(materialPartnerRelation);
         var searchResult = find(materialPartnerRelation.getMaterial(), materialPartnerRelation.getPartner());
         if (searchResult == null) {
-            executorService.submit(new DtrRegistrationTask(materialPartnerRelation, 3));
-            return mprRepository.save(materialPartnerRelation);
+            MaterialPartnerRelation createdRelation = mprRepository.save(materialPartnerRelation);
+            masterDataCache.invalidateRelation(materialPartnerRelation.getKey());
+            dtrSyncService.relationChanged(createdRelation, false);
+            fetchPartnerCXNumber(createdRelation);
+            return createdRelation;
         }
         log.error("Could not create MaterialPartnerRelation, " + materialPartnerRelation.getKey() + " already exists");
         return null;
@@ -112,16 +127,23 @@ public class MaterialPartnerRelationServiceImpl implements MaterialPartnerRelati
             .stream()
             .filter(mpr -> mpr.getPartnerCXNumber() == null)
             .filter(mpr -> !currentPartTypeFetches.contains(mpr))
-            .map(mpr -> executorService.submit(new DtrRegistrationTask(mpr, 1)))
+            .map(mpr -> executorService.submit(mpr.getPartner().getBpnl(), new PartTypeInformationRetrievalTask(mpr, 1)))
             .toList();
         if (futures.isEmpty()) {
             return;
         }
 
-        do {
-            Thread.yield();
-            // wait until all triggered tasks have returned
-        } while (!futures.stream().allMatch(Future::isDone));
+        // wait until all triggered tasks have returned
+        for (var future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.warn("PartTypeInformationRetrievalTask failed", e.getCause());
+            }
+        }
 
         // give the database a little bit of time to handle the updates
         try {
@@ -189,6 +211,8 @@ public class MaterialPartnerRelationServiceImpl implements MaterialPartnerRelati
                 if (partnerCXId != null && PatternStore.URN_OR_UUID_PATTERN.matcher(partnerCXId).matches()) {
                     materialPartnerRelation.setPartnerCXNumber(partnerCXId);
                     mprRepository.save(materialPartnerRelation);
+                    masterDataCache.invalidateRelation(materialPartnerRelation.getKey());
+                    dtrSyncService.materialChanged(materialPartnerRelation);
                     log.info("Successfully inserted Partner CX Id for Partner " +
                         materialPartnerRelation.getPartner().getBpnl() + " and Material "
                         + materialPartnerRelation.getMaterial().getOwnMaterialNumber() +
@@ -216,156 +240,25 @@ public class MaterialPartnerRelationServiceImpl implements MaterialPartnerRelati
     }
 
 
-    private class DtrRegistrationTask implements Callable<Boolean> {
-
-        /**
-         * The MaterialPartnerRelation that was created or updated and therefore makes it necessary to
-         * create or update material- and/or product AAS's in the dDTR.
-         */
-        MaterialPartnerRelation materialPartnerRelation;
-        /**
-         * The number of retries that this task has currently left.
-         */
-        int retries;
-        /**
-         * The number of retries that this task was given at creation (minimum value is 1).
-         */
-        final int initialRetries;
-        /**
-         * If the materialPartnerRelation indicates that the partner is a customer, this
-         * is set to true
-         */
-        final boolean needProductRegistration;
-        /**
-         * Is set to true during runtime if a product registration call to the dDTR ran successfully
-         */
-        boolean completedProductRegistration = false;
-        /**
-         * If the materialPartnerRelation indicates that the partner is a supplier, this
-         * is set to true
-         */
-        final boolean needMaterialRegistration;
-        /**
-         * Is set to true during runtime if a material registration call to the dDTR ran successfully
-         */
-        boolean completedMaterialRegistration = false;
-
-        /**
-         * Constructor for a task that makes sure that all potentially needed material and/or product AAS's
-         * are inserted into the dDTR, when a MaterialPartnerRelation entity is created or updated.
-         *
-         * @param materialPartnerRelation
-         * @param retries
-         */
-        public DtrRegistrationTask(MaterialPartnerRelation materialPartnerRelation, int retries) {
-            this.materialPartnerRelation = materialPartnerRelation;
-            this.initialRetries = Math.max(retries, 1);
-            this.retries = initialRetries;
-            this.needProductRegistration = materialPartnerRelation.isPartnerBuysMaterial();
-            this.needMaterialRegistration = materialPartnerRelation.isPartnerSuppliesMaterial();
+    /**
+     * Starts to fetch the partner's CX id of the material asynchronously, if the partner is a
+     * supplier and the CX id is neither known nor currently being fetched. As soon as the
+     * CX id is known, the material twin is written to the dDTR.
+     *
+     * @param materialPartnerRelation the MaterialPartnerRelation
+     */
+    private void fetchPartnerCXNumber(MaterialPartnerRelation materialPartnerRelation) {
+        if (!materialPartnerRelation.isPartnerSuppliesMaterial() || materialPartnerRelation.getPartnerCXNumber() != null
+            || currentPartTypeFetches.contains(materialPartnerRelation)) {
+            return;
         }
-
-        /**
-         * This method contains all the duties which the DtrRegistrationTask is trying to fulfill.
-         *
-         * @return true, if the task finished successfully
-         */
-        @Override
-        public Boolean call() throws Exception {
-            if (retries < 0) {
-                return false;
-            }
-            if (retries < initialRetries) {
-                Thread.sleep(2000);
-            } else {
-                Thread.sleep(400);
-            }
-
-            if (needProductRegistration && !completedProductRegistration) {
-                var allCustomers =
-                    mprRepository.findAllByMaterial_OwnMaterialNumberAndPartnerBuysMaterialIsTrue(
-                        materialPartnerRelation.getMaterial().getOwnMaterialNumber());
-                if (allCustomers.contains(materialPartnerRelation)) {
-                    Integer result = dtrAdapterService.updateProduct(materialPartnerRelation.getMaterial(), allCustomers);
-                    if (result != null) {
-                        if (result < 400) {
-                            log.info("Updated product ShellDescriptor at DTR for " + materialPartnerRelation.getMaterial().getOwnMaterialNumber() + " and "
-                                + allCustomers.size() + " customer partners. Result: " + result);
-                            completedProductRegistration = true;
-                        } else {
-                            if (result == 404) {
-                                Integer registrationResult = dtrAdapterService.registerProductAtDtr(materialPartnerRelation.getMaterial(), allCustomers);
-                                log.info("Tried to create product AAS for " + materialPartnerRelation.getMaterial().getOwnMaterialNumber()
-                                    + ", result: " + registrationResult);
-                                if (registrationResult != null && registrationResult < 400) {
-                                    completedProductRegistration = true;
-                                }
-                            }
-                        }
-                    } else {
-                        log.warn("Update of product ShellDescriptor failed at DTR for " + materialPartnerRelation.getMaterial().getOwnMaterialNumber());
-                    }
-                } else {
-                    log.warn("AllCustomers did not contain " + materialPartnerRelation.getKey());
-                    log.warn("Update of product ShellDescriptor failed at DTR for " + materialPartnerRelation.getMaterial().getOwnMaterialNumber());
-                }
-            }
-
-            if (needMaterialRegistration && !completedMaterialRegistration) {
-                if (materialPartnerRelation.getPartnerCXNumber() == null) {
-                    if (currentPartTypeFetches.contains(materialPartnerRelation)) {
-                        log.info("Awaiting PartTypeInformation Fetch");
-                        // await return of ongoing fetch task
-                        while (currentPartTypeFetches.contains(materialPartnerRelation)) {
-                            Thread.yield();
-                        }
-                    } else {
-                        // initiate new fetch
-                        log.info("Initiating new PartTypeInformation Fetch");
-                        Future<Boolean> futureResult = executorService.submit(new PartTypeInformationRetrievalTask(materialPartnerRelation, 1));
-                        while (!futureResult.isDone()) {
-                            Thread.yield();
-                        }
-                    }
-                    Thread.sleep(500);
-                    // get result from database
-                    materialPartnerRelation = find(materialPartnerRelation.getMaterial(), materialPartnerRelation.getPartner());
-                    if (materialPartnerRelation.getPartnerCXNumber() == null) {
-                        log.error("Missing partnerCX Number in " + materialPartnerRelation + ", retries left: " + retries);
-                        retries--;
-                        return call();
-                    }
-                }
-
-                Integer result = dtrAdapterService.updateMaterialAtDtr(materialPartnerRelation);
-                if (result != null) {
-                    if (result < 400) {
-                        completedMaterialRegistration = true;
-                        log.info("Updated material ShellDescriptor at DTR for " + materialPartnerRelation.getMaterial().getOwnMaterialNumber() +
-                            " and supplier partner " + materialPartnerRelation.getPartner().getBpnl());
-                    } else {
-                        if (result == 404) {
-                            Integer registrationResult = dtrAdapterService.registerMaterialAtDtr(materialPartnerRelation);
-                            log.info("Tried to create material AAS for " + materialPartnerRelation.getMaterial().getOwnMaterialNumber() +
-                                " and partner " + materialPartnerRelation.getPartner().getBpnl() +
-                                ", result: " + registrationResult);
-                        }
-                    }
-                }
-            }
-            if ((needMaterialRegistration && !completedMaterialRegistration) || (needProductRegistration && !completedProductRegistration)) {
-                retries--;
-                String message = "DTR Registration for " + materialPartnerRelation.getMaterial().getOwnMaterialNumber() + " and " + materialPartnerRelation.getPartner().getBpnl() + " failed";
-                if (needMaterialRegistration && !completedMaterialRegistration) {
-                    message += ", Material Registration still needed";
-                }
-                if (needProductRegistration && !completedProductRegistration) {
-                    message += ", Product Registration still needed";
-                }
-                log.warn(message);
-                return call();
-            }
-            return true;
+        try {
+            executorService.submit(materialPartnerRelation.getPartner().getBpnl(),
+                new PartTypeInformationRetrievalTask(materialPartnerRelation, 3));
+        } catch (RejectedExecutionException e) {
+            currentPartTypeFetches.remove(materialPartnerRelation);
+            log.warn("Skipped PartTypeInformation fetch from " + materialPartnerRelation.getPartner().getBpnl() +
+                " for " + materialPartnerRelation.getMaterial().getOwnMaterialNumber());
         }
     }
 
@@ -377,11 +270,20 @@ public class MaterialPartnerRelationServiceImpl implements MaterialPartnerRelati
      */
     @Override
     public MaterialPartnerRelation update(MaterialPartnerRelation materialPartnerRelation) {
+        // the given relation may be a cached instance that the caller has modified
+        masterDataCache.invalidateRelation(materialPartnerRelation.getKey());
         flagConsistencyTest(materialPartnerRelation);
         var foundEntity = mprRepository.findById(materialPartnerRelation.getKey());
         if (foundEntity.isPresent()) {
-            executorService.submit(new DtrRegistrationTask(materialPartnerRelation, 3));
-            return mprRepository.save(materialPartnerRelation);
+            // partner material number or roles may have changed, so the partner's shell must be looked up again
+            submodelDescriptorCache.invalidateAll(materialPartnerRelation.getKey());
+            boolean wasCustomer = foundEntity.get().isPartnerBuysMaterial();
+            MaterialPartnerRelation updatedRelation = mprRepository.save(materialPartnerRelation);
+            masterDataCache.invalidateRelation(materialPartnerRelation.getKey());
+            // the product twin lists all customers, so it has to be written if the partner was or is a customer
+            dtrSyncService.relationChanged(updatedRelation, wasCustomer);
+            fetchPartnerCXNumber(updatedRelation);
+            return updatedRelation;
         }
         log.error("Could not update MaterialPartnerRelation, " + materialPartnerRelation.getKey() + " didn't exist before");
         return null;
@@ -451,6 +353,20 @@ public class MaterialPartnerRelationServiceImpl implements MaterialPartnerRelati
         return mprRepository.findAll();
     }
 
+    /**
+     * Returns the MaterialPartnerRelations with the given keys, using a single query.
+     *
+     * @param keys the keys
+     * @return the existing MaterialPartnerRelations among the given keys
+     */
+    @Override
+    public List<MaterialPartnerRelation> findAll(Collection<MaterialPartnerRelation.Key> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        return mprRepository.findAllById(keys);
+    }
+
     /**
      * Generates a Map of key-value-pairs. Each key represents the BPNL of a
      * partner (and yourself), each corresponding value is the materialNumber
@@ -483,11 +399,8 @@ public class MaterialPartnerRelationServiceImpl implements MaterialPartnerRelati
      */
     @Override
     public MaterialPartnerRelation find(String ownMaterialNumber, UUID partnerUuid) {
-        var searchResult = mprRepository.findById(new MaterialPartnerRelation.Key(ownMaterialNumber, partnerUuid));
-        if (searchResult.isPresent()) {
-            return searchResult.get();
-        }
-        return null;
+        return masterDataCache.getRelation(new MaterialPartnerRelation.Key(ownMaterialNumber, partnerUuid),
+            key -> mprRepository.findById(key).orElse(null));
     }
 
     /**
@@ -51,6 +51,9 @@ public class MaterialServiceImpl implements MaterialService {
     @Autowired
     private DigitalTwinMappingService dtmService;
 
+    @Autowired
+    private MasterDataCache masterDataCache;
+
 
     @Override
     public Material create(Material material) {
@@ -74,7 +77,9 @@ public class MaterialServiceImpl implements MaterialService {
         var searchResult = materialRepository.findById(material.getOwnMaterialNumber());
         if (searchResult.isEmpty()) {
             dtmService.create(material);
-            return materialRepository.save(material);
+            Material createdMaterial = materialRepository.save(material);
+            masterDataCache.invalidateMaterial(material.getOwnMaterialNumber());
+            return createdMaterial;
         }
         log.error("Could not create material " + material.getOwnMaterialNumber() + " because it already exists");
         return null;
@@ -83,6 +88,8 @@ public class MaterialServiceImpl implements MaterialService {
 
     @Override
     public Material update(Material material) {
+        // the given material may be a cached instance that the caller has modified
+        masterDataCache.invalidateMaterial(material.getOwnMaterialNumber());
         Optional<Material> existingMaterial =
             materialRepository.findById(material.getOwnMaterialNumber());
         if (existingMaterial.isPresent()) {
@@ -95,7 +102,9 @@ public class MaterialServiceImpl implements MaterialService {
                 dtmService.update(material);
             }
 
-            return materialRepository.save(material);
+            Material updatedMaterial = materialRepository.save(material);
+            masterDataCache.invalidateMaterial(material.getOwnMaterialNumber());
+            return updatedMaterial;
         }
         log.error("Could not update material " + material.getOwnMaterialNumber() + " because it didn't exist before");
         return null;
@@ -113,21 +122,21 @@ public class MaterialServiceImpl implements MaterialService {
 
     @Override
     public Material findByOwnMaterialNumber(String ownMaterialNumber) {
-        var searchResult = materialRepository.findById(ownMaterialNumber);
-        return searchResult.orElse(null);
+        return masterDataCache.getMaterial(ownMaterialNumber, key -> materialRepository.findById(key).orElse(null));
     }
 
     @Override
     public Material findByMaterialNumberCx(String materialNumberCx) {
-        List<Material> foundMaterial = materialRepository.findByMaterialNumberCx(materialNumberCx);
-        if (foundMaterial.isEmpty()) {
-            return null;
-        }
-        if (foundMaterial.size() > 1) {
-            log.warn("Found more than one result for materialNumberCx " + materialNumberCx);
-        }
-        return foundMaterial.get(0);
-
+        return masterDataCache.getMaterialByMaterialNumberCx(materialNumberCx, key -> {
+            List<Material> foundMaterial = materialRepository.findByMaterialNumberCx(key);
+            if (foundMaterial.isEmpty()) {
+                return null;
+            }
+            if (foundMaterial.size() > 1) {
+                log.warn("Found more than one result for materialNumberCx " + key);
+            }
+            return foundMaterial.get(0);
+        });
     }
 
     @Override
@@ -21,10 +21,9 @@
  */
 package org.eclipse.tractusx.puris.backend.masterdata.logic.service;
 
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcAdapterService;
 import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcContractMappingService;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcRegistrationService;
 import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.PartnerRepository;
@@ -35,8 +34,6 @@ import java.net.URL;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
 import java.util.regex.Pattern;
 
 @Service
@@ -53,13 +50,13 @@ public class PartnerServiceImpl implements PartnerService {
     private VariablesService variablesService;
 
     @Autowired
-    private ExecutorService executorService;
+    private EdcRegistrationService edcRegistrationService;
 
     @Autowired
-    private EdcAdapterService edcAdapterService;
+    private EdcContractMappingService edcContractMappingService;
 
     @Autowired
-    private EdcContractMappingService edcContractMappingService;
+    private MasterDataCache masterDataCache;
 
     private final Pattern bpnlPattern = Pattern.compile("^BPNL[0-9a-zA-Z]{12}$");
     private final Pattern bpnsPattern = Pattern.compile("^BPNS[0-9a-zA-Z]{12}$");
@@ -73,7 +70,9 @@ public class PartnerServiceImpl implements PartnerService {
         }
         if (partner.getUuid() == null && partnerRepository.findFirstByBpnl(partner.getBpnl()).isEmpty()) {
             prepareApiAssetsForPartner(partner);
-            return partnerRepository.save(partner);
+            Partner createdPartner = partnerRepository.save(partner);
+            masterDataCache.invalidatePartner(partner.getBpnl());
+            return createdPartner;
         }
         log.error("Could not create Partner " + partner.getBpnl() + " because it already existed before");
         return null;
@@ -82,34 +81,10 @@ public class PartnerServiceImpl implements PartnerService {
     @Override
     public void prepareApiAssetsForPartner(Partner partner) {
         if (!variablesService.getOwnBpnl().equals(partner.getBpnl())) {
-            executorService.submit(new RegistrationTask(partner));
-        }
-    }
-
-    @AllArgsConstructor
-    private class RegistrationTask implements Callable<Boolean> {
-        private Partner partner;
-
-        @Override
-        public Boolean call() throws Exception {
-            if (edcAdapterService.createPolicyAndContractDefForPartner(partner)) {
-                log.info("Policy / ContractDef Registration successful for partner " + partner.getBpnl());
-                return true;
-            } else {
-                log.warn("Policy / ContractDef Registration failed for partner " + partner.getBpnl());
-                log.warn("Retrying in 3 seconds");
-                Thread.sleep(3000);
-                if (edcAdapterService.createPolicyAndContractDefForPartner(partner)) {
-                    log.info("Retry successful");
-                    return true;
-                }
-                log.warn("Retry failed");
-                return false;
-            }
+            edcRegistrationService.registerForPartner(partner);
         }
     }
 
-
     private boolean testConstraints(Partner partner) {
         // Each Partner needs a BPNL, a name, an edcUrl and a BPNA or a BPNS (containing a BPNA)
         boolean validData = bpnlPattern.matcher(partner.getBpnl()).matches();
@@ -180,6 +155,8 @@ public class PartnerServiceImpl implements PartnerService {
 
     @Override
     public Partner update(Partner partner) {
+        // the given partner may be a cached instance that the caller has modified
+        masterDataCache.invalidatePartner(partner.getBpnl());
         if (!testConstraints(partner)) {
             log.error("Could not update Partner " + partner.getBpnl() + " because of constraint violation");
             return null;
@@ -187,7 +164,9 @@ public class PartnerServiceImpl implements PartnerService {
         Optional<Partner> existingPartner =
             partnerRepository.findById(partner.getUuid());
         if (existingPartner.isPresent() && existingPartner.get().getBpnl().equals(partner.getBpnl())) {
-            return partnerRepository.save(partner);
+            Partner updatedPartner = partnerRepository.save(partner);
+            masterDataCache.invalidatePartner(partner.getBpnl());
+            return updatedPartner;
         }
         log.error("Could not update Partner " + partner.getBpnl() + " because it didn't exist before");
         return null;
@@ -195,7 +174,10 @@ public class PartnerServiceImpl implements PartnerService {
 
     @Override
     public Partner findByBpnl(String bpnl) {
-        return partnerRepository.findFirstByBpnl(bpnl).orElse(null);
+        return masterDataCache.getPartner(bpnl, key -> {
+            List<Partner> partners = partnerRepository.findAllWithSitesByBpnl(key);
+            return partners.isEmpty() ? null : partners.get(0);
+        });
     }
 
     @Override
@@ -205,6 +187,6 @@ public class PartnerServiceImpl implements PartnerService {
 
     @Override
     public Partner getOwnPartnerEntity() {
-        return partnerRepository.findFirstByBpnl(variablesService.getOwnBpnl()).orElse(null);
+        return findByBpnl(variablesService.getOwnBpnl());
     }
 }
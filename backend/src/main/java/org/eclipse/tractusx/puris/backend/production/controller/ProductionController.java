@@ -26,10 +26,14 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Validator;
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
+import org.eclipse.tractusx.puris.backend.common.util.BulkImporter;
+import org.eclipse.tractusx.puris.backend.common.util.DailyTimeSeries;
 import org.eclipse.tractusx.puris.backend.common.util.PatternStore;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.dto.PartnerDto;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MasterDataMemo;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
@@ -41,18 +45,22 @@ import org.eclipse.tractusx.puris.backend.production.logic.service.ProductionReq
 import org.eclipse.tractusx.puris.backend.production.logic.service.ReportedProductionService;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
 import javax.management.openmbean.KeyAlreadyExistsException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -86,7 +94,10 @@ public class ProductionController {
     private final Pattern materialPattern = PatternStore.NON_EMPTY_NON_VERTICAL_WHITESPACE_PATTERN;
 
     @Autowired
-    private ExecutorService executorService;
+    private BoundedExecutorService executorService;
+
+    @Autowired
+    private BulkImporter bulkImporter;
 
     @GetMapping()
     @ResponseBody
@@ -126,7 +137,7 @@ public class ProductionController {
         }
 
         try {
-            return convertToDto(ownProductionService.create(convertToEntity(productionDto)));
+            return convertToDto(ownProductionService.create(convertToEntity(productionDto, materialService::findByOwnMaterialNumber, partnerService::findByBpnl)));
         } catch (KeyAlreadyExistsException e) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Production already exists. Use PUT instead.");
         } catch (IllegalArgumentException e) {
@@ -145,28 +156,48 @@ public class ProductionController {
     })
     @ResponseStatus(HttpStatus.CREATED)
     public List<ProductionDto> createProductionRange(@RequestBody List<ProductionDto> productionDtos) {
-        List<OwnProduction> productions = productionDtos.stream().map(dto -> {
-            if (!validator.validate(dto).isEmpty()) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Rejected invalid message body");
-            }
-            if (dto.getMaterial().getMaterialNumberSupplier() == null ||
-                    dto.getMaterial().getMaterialNumberSupplier().isEmpty()) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Production Information misses material identification.");
-            }
-            if (dto.getPartner().getBpnl() == null || dto.getPartner().getBpnl().isEmpty()) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Production Information misses partner identification.");
-            }
-            return convertToEntity(dto);
-        }).collect(Collectors.toList());
         try {
+            List<OwnProduction> productions = productionDtos.stream().map(dto -> {
+                if (!validator.validate(dto).isEmpty()) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Rejected invalid message body");
+                }
+                if (dto.getMaterial().getMaterialNumberSupplier() == null ||
+                        dto.getMaterial().getMaterialNumberSupplier().isEmpty()) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "Production Information misses material identification.");
+                }
+                if (dto.getPartner().getBpnl() == null || dto.getPartner().getBpnl().isEmpty()) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "Production Information misses partner identification.");
+                }
+                return convertToEntity(dto, materialService::findByOwnMaterialNumber, partnerService::findByBpnl);
+            }).collect(Collectors.toList());
             return ownProductionService.createAll(productions).stream().map(this::convertToDto).collect(Collectors.toList());
         } catch (KeyAlreadyExistsException e) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "One or more productions already exist. Use PUT instead.");
         } catch (IllegalArgumentException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "One or more productions are invalid.");
-        }      
+        }
+    }
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, BulkImporter.APPLICATION_NDJSON_VALUE})
+    @ResponseBody
+    @Operation(
+        summary = "Imports a large number of planned productions",
+        description = "Imports planned productions given as JSON array or as newline delimited JSON. The entries are " +
+            "persisted in chunks, invalid entries and already existing productions are rejected one by one " +
+            "without affecting the other entries."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import was processed, see result for rejected entries."),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error.", content = @Content)
+    })
+    public BulkImporter.Result importProductions(InputStream body) {
+        MasterDataMemo memo = new MasterDataMemo(materialService, partnerService);
+        return bulkImporter.importAll(body, ProductionDto.class, dto -> {
+            checkBulkEntry(dto);
+            return convertToEntity(dto, memo::findMaterial, memo::findPartner);
+        }, ownProductionService::createAll);
     }
 
     @PutMapping()
@@ -179,7 +210,7 @@ public class ProductionController {
     })
     @ResponseStatus(HttpStatus.OK)
     public ProductionDto updateProduction(@RequestBody ProductionDto dto) {
-        OwnProduction updatedProduction = ownProductionService.update(convertToEntity(dto));
+        OwnProduction updatedProduction = ownProductionService.update(convertToEntity(dto, materialService::findByOwnMaterialNumber, partnerService::findByBpnl));
         if (updatedProduction == null) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Production does not exist.");
         }
@@ -203,6 +234,28 @@ public class ProductionController {
         ownProductionService.delete(id);
     }
 
+    @GetMapping("timeseries")
+    @ResponseBody
+    @Operation(
+        summary = "Get the planned production quantities per day for the given Material",
+        description = "Get the planned production quantities per day of completion for the given material number. Optionally the production site can be filtered by its bpns. The quantities are summed up per day by the database. The element at index i of quantities belongs to the day from + i. The day to is exclusive and the period may span at most 366 days."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Quantities per day."),
+        @ApiResponse(responseCode = "400", description = "Invalid period.", content = @Content)
+    })
+    public DailyTimeSeries getProductionTimeSeries(
+        @RequestParam @Parameter(description = "encoded in base64") String ownMaterialNumber, Optional<String> site,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ownMaterialNumber = new String(Base64.getDecoder().decode(ownMaterialNumber));
+        try {
+            return ownProductionService.getDailyQuantities(ownMaterialNumber, Optional.empty(), site, from, to);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @GetMapping("reported")
     @ResponseBody
     @Operation(
@@ -218,6 +271,29 @@ public class ProductionController {
                 .stream().map(this::convertToDto).collect(Collectors.toList());
     }
 
+    @GetMapping("reported/timeseries")
+    @ResponseBody
+    @Operation(
+        summary = "Get the production quantities of partners per day for a material",
+        description = "Get the production quantities of partners per day of completion for a material number. Optionally the partners can be filtered by their bpnl and the production site can be filtered by its bpns. The quantities are summed up per day by the database. The element at index i of quantities belongs to the day from + i. The day to is exclusive and the period may span at most 366 days."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Quantities per day."),
+        @ApiResponse(responseCode = "400", description = "Invalid period.", content = @Content)
+    })
+    public DailyTimeSeries getReportedProductionTimeSeries(
+        @RequestParam @Parameter(description = "encoded in base64") String ownMaterialNumber, Optional<String> bpnl,
+        Optional<String> site,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ownMaterialNumber = new String(Base64.getDecoder().decode(ownMaterialNumber));
+        try {
+            return reportedProductionService.getDailyQuantities(ownMaterialNumber, bpnl, site, from, to);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @GetMapping("reported/refresh")
     @ResponseBody
     @Operation(
@@ -232,7 +308,7 @@ public class ProductionController {
         Material materialEntity = materialService.findByOwnMaterialNumber(ownMaterialNumber);
         List<Partner> allSupplierPartnerEntities = mprService.findAllSuppliersForOwnMaterialNumber(ownMaterialNumber);
         for (Partner supplierPartner : allSupplierPartnerEntities) {
-            executorService.submit(() ->
+            executorService.submit(supplierPartner.getBpnl(), () ->
             productionRequestApiService.doReportedProductionRequest(supplierPartner, materialEntity));
         }
 
@@ -254,19 +330,46 @@ public class ProductionController {
         return dto;
     }
 
-    private OwnProduction convertToEntity(ProductionDto dto) {
-        OwnProduction entity = modelMapper.map(dto, OwnProduction.class);
+    private void checkBulkEntry(ProductionDto dto) {
+        BulkImporter.requireMatchIfPresent("production site", dto.getProductionSiteBpns(), PatternStore.BPNS_PATTERN);
+        BulkImporter.requireMatchIfPresent("customer order number", dto.getCustomerOrderNumber(),
+            PatternStore.NON_EMPTY_NON_VERTICAL_WHITESPACE_PATTERN);
+        BulkImporter.requireMatchIfPresent("customer order position number", dto.getCustomerOrderPositionNumber(),
+            PatternStore.NON_EMPTY_NON_VERTICAL_WHITESPACE_PATTERN);
+        BulkImporter.requireMatchIfPresent("supplier order number", dto.getSupplierOrderNumber(),
+            PatternStore.NON_EMPTY_NON_VERTICAL_WHITESPACE_PATTERN);
+    }
 
-        Material material = materialService.findByOwnMaterialNumber(dto.getMaterial().getMaterialNumberSupplier());
+    private OwnProduction convertToEntity(ProductionDto dto, Function<String, Material> materialLookup,
+                                          Function<String, Partner> partnerLookup) {
+        if (dto.getMaterial() == null || dto.getMaterial().getMaterialNumberSupplier() == null ||
+            dto.getMaterial().getMaterialNumberSupplier().isEmpty()) {
+            throw new IllegalArgumentException("Production Information misses material identification.");
+        }
+        if (dto.getPartner() == null || dto.getPartner().getBpnl() == null || dto.getPartner().getBpnl().isEmpty()) {
+            throw new IllegalArgumentException("Production Information misses partner identification.");
+        }
+        OwnProduction entity = new OwnProduction();
+        entity.setUuid(dto.getUuid());
+        entity.setQuantity(dto.getQuantity());
+        entity.setMeasurementUnit(dto.getMeasurementUnit());
+        entity.setProductionSiteBpns(dto.getProductionSiteBpns());
+        entity.setEstimatedTimeOfCompletion(dto.getEstimatedTimeOfCompletion());
+        entity.setCustomerOrderNumber(dto.getCustomerOrderNumber());
+        entity.setCustomerOrderPositionNumber(dto.getCustomerOrderPositionNumber());
+        entity.setSupplierOrderNumber(dto.getSupplierOrderNumber());
+
+        Material material = materialLookup.apply(dto.getMaterial().getMaterialNumberSupplier());
+        if (material == null) {
+            throw new IllegalArgumentException(String.format(
+                    "Material %s could not be found", dto.getMaterial().getMaterialNumberSupplier()));
+        }
         entity.setMaterial(material);
 
-        PartnerDto partnerDto = dto.getPartner();
-        Partner existingPartner = partnerService.findByBpnl(partnerDto.getBpnl());
-
+        Partner existingPartner = partnerLookup.apply(dto.getPartner().getBpnl());
         if (existingPartner == null) {
-            throw new IllegalStateException(String.format(
-                    "Partner for bpnl %s could not be found",
-                    partnerDto.getBpnl()));
+            throw new IllegalArgumentException(String.format(
+                    "Partner for bpnl %s could not be found", dto.getPartner().getBpnl()));
         }
         entity.setPartner(existingPartner);
         return entity;
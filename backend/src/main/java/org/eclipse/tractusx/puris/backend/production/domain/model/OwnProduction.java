@@ -21,11 +21,23 @@ SPDX-License-Identifier: Apache-2.0
 package org.eclipse.tractusx.puris.backend.production.domain.model;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
 @Entity
+@Table(uniqueConstraints = {
+    @UniqueConstraint(name = "uc_own_production_natural_key", columnNames = {
+        "material_ownMaterialNumber", "partner_uuid", "estimatedTimeOfCompletion", "productionSiteBpns",
+        "customerOrderNumber", "customerOrderPositionNumber", "supplierOrderNumber"
+    })
+}, indexes = {
+    @Index(name = "idx_own_production_partner", columnList = "partner_uuid, estimatedTimeOfCompletion"),
+    @Index(name = "idx_own_production_site", columnList = "material_ownMaterialNumber, productionSiteBpns, estimatedTimeOfCompletion")
+})
 @SuperBuilder
 @NoArgsConstructor
 @ToString(callSuper = true)
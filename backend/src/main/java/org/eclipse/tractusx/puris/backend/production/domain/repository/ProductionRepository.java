@@ -21,10 +21,56 @@
 package org.eclipse.tractusx.puris.backend.production.domain.repository;
 
 import org.eclipse.tractusx.puris.backend.production.domain.model.Production;
+import org.eclipse.tractusx.puris.backend.common.domain.model.DailyQuantity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
-public interface ProductionRepository<T extends Production> extends JpaRepository<T, UUID> {
-    
+public interface ProductionRepository<T extends Production> extends JpaRepository<T, UUID>, JpaSpecificationExecutor<T> {
+
+    List<T> findAllByPartner_Bpnl(String partnerBpnl);
+
+    List<T> findAllByMaterial_OwnMaterialNumber(String ownMaterialNumber);
+
+    /**
+     * Sums up the quantities of the productions per day of completion.
+     *
+     * @param ownMaterialNumber the material number
+     * @param partnerBpnl       the partner's BPNL, may be null
+     * @param siteBpns          the production site, may be null
+     * @param from              start of the period (inclusive)
+     * @param to                end of the period (exclusive)
+     * @return the quantities per day, ordered by day
+     */
+    @Query("select new org.eclipse.tractusx.puris.backend.common.domain.model.DailyQuantity(cast(p.estimatedTimeOfCompletion as LocalDate), sum(p.quantity)) " +
+        "from #{#entityName} p where p.material.ownMaterialNumber = :ownMaterialNumber " +
+        "and (:partnerBpnl is null or p.partner.bpnl = :partnerBpnl) " +
+        "and (:siteBpns is null or p.productionSiteBpns = :siteBpns) " +
+        "and p.estimatedTimeOfCompletion >= :from and p.estimatedTimeOfCompletion < :to " +
+        "group by cast(p.estimatedTimeOfCompletion as LocalDate) order by cast(p.estimatedTimeOfCompletion as LocalDate)")
+    List<DailyQuantity> sumQuantitiesPerDay(@Param("ownMaterialNumber") String ownMaterialNumber, @Param("partnerBpnl") String partnerBpnl,
+        @Param("siteBpns") String siteBpns, @Param("from") Date from, @Param("to") Date to);
+
+    List<T> findAllByMaterial_OwnMaterialNumberAndPartner_BpnlAndEstimatedTimeOfCompletionGreaterThanEqualAndEstimatedTimeOfCompletionLessThan(
+        String ownMaterialNumber, String partnerBpnl, Date from, Date to);
+
+    boolean existsByMaterial_OwnMaterialNumberAndPartner_UuidAndEstimatedTimeOfCompletionAndProductionSiteBpnsAndCustomerOrderNumberAndCustomerOrderPositionNumberAndSupplierOrderNumber(
+        String ownMaterialNumber, UUID partnerUuid, Date estimatedTimeOfCompletion, String productionSiteBpns,
+        String customerOrderNumber, String customerOrderPositionNumber, String supplierOrderNumber);
+
+    /**
+     * @param production the production
+     * @return true, if a production equal to the given one (see {@link Production#equals(Object)}) exists
+     */
+    default boolean existsByNaturalKey(T production) {
+        return existsByMaterial_OwnMaterialNumberAndPartner_UuidAndEstimatedTimeOfCompletionAndProductionSiteBpnsAndCustomerOrderNumberAndCustomerOrderPositionNumberAndSupplierOrderNumber(
+            production.getMaterial().getOwnMaterialNumber(), production.getPartner().getUuid(),
+            production.getEstimatedTimeOfCompletion(), production.getProductionSiteBpns(),
+            production.getCustomerOrderNumber(), production.getCustomerOrderPositionNumber(), production.getSupplierOrderNumber());
+    }
 }
@@ -29,6 +29,7 @@ import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
 import org.eclipse.tractusx.puris.backend.production.domain.model.OwnProduction;
 import org.eclipse.tractusx.puris.backend.production.domain.repository.OwnProductionRepository;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -50,7 +51,7 @@ public class OwnProductionService extends ProductionService<OwnProduction> {
             
             throw new IllegalArgumentException("Invalid production");
         }
-        if (repository.findAll().stream().anyMatch(prod -> prod.equals(production))) {
+        if (repository.existsByNaturalKey(production)) {
             throw new KeyAlreadyExistsException("Production already exists");
         }
         return repository.save(production);
@@ -60,11 +61,15 @@ public class OwnProductionService extends ProductionService<OwnProduction> {
         if (productions.stream().anyMatch(production -> !validator.apply(production))) {
             throw new IllegalArgumentException("Invalid production");
         }
-        if (repository.findAll().stream()
-                .anyMatch(existing -> productions.stream().anyMatch(production -> production.equals(existing)))) {
+        if (productions.stream().anyMatch(repository::existsByNaturalKey)) {
+            throw new KeyAlreadyExistsException("Production already exists");
+        }
+        try {
+            return repository.saveAll(productions);
+        } catch (DataIntegrityViolationException e) {
+            // the list itself contains the same production twice
             throw new KeyAlreadyExistsException("Production already exists");
         }
-        return repository.saveAll(productions);
     }
 
     public boolean validate(OwnProduction production) {
@@ -77,7 +77,10 @@ public class ProductionRequestApiService {
         return sammMapper.ownProductionToSamm(currentProduction, partner, material);
     }
 
-    public void doReportedProductionRequest(Partner partner, Material material) {
+    /**
+     * @return true, if the partner's data was received and stored
+     */
+    public boolean doReportedProductionRequest(Partner partner, Material material) {
         try {
             var mpr = mprService.find(material, partner);
             var data = edcAdapterService.doSubmodelRequest(AssetType.PRODUCTION_SUBMODEL, mpr, DirectionCharacteristic.OUTBOUND, 1);
@@ -88,7 +91,7 @@ public class ProductionRequestApiService {
                 var productionMaterial = production.getMaterial();
                 if (!partner.equals(productionPartner) || !material.equals(productionMaterial)) {
                     log.warn("Received inconsistent data from " + partner.getBpnl());
-                    return;
+                    return false;
                 }
             }
             // delete older data:
@@ -100,8 +103,10 @@ public class ProductionRequestApiService {
                 reportedProductionService.create(newProduction);
             }
             log.info("Updated ReportedProduction for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl());
+            return true;
         } catch (Exception e) {
             log.error("Error in ReportedProductionRequest for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl(), e);
+            return false;
         }
     }
 }
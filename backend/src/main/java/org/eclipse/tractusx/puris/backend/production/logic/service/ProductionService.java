@@ -19,16 +19,17 @@
  */
 package org.eclipse.tractusx.puris.backend.production.logic.service;
 
+import jakarta.persistence.criteria.Predicate;
+import org.eclipse.tractusx.puris.backend.common.util.DailyTimeSeries;
 import org.eclipse.tractusx.puris.backend.production.domain.model.Production;
 import org.eclipse.tractusx.puris.backend.production.domain.repository.ProductionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.*;
-import java.util.stream.Stream;
 
 public abstract class ProductionService<T extends Production>  {
     @Autowired
@@ -43,57 +44,93 @@ public abstract class ProductionService<T extends Production>  {
     }    
 
     public final List<T> findAllByBpnl(String bpnl) {
-        return repository.findAll().stream().filter(production -> production.getPartner().getBpnl().equals(bpnl))
-                .toList();
+        return repository.findAllByPartner_Bpnl(bpnl);
     }
 
     public final List<T> findAllByOwnMaterialNumber(String ownMaterialNumber) {
-        return repository.findAll().stream().filter(production -> production.getMaterial().getOwnMaterialNumber().equals(ownMaterialNumber))
-                .toList();
+        return repository.findAllByMaterial_OwnMaterialNumber(ownMaterialNumber);
     }
 
+    /**
+     * Returns all productions matching the given filters. The filters are evaluated by the database.
+     *
+     * @param ownMaterialNumber the material number
+     * @param bpnl              the partner's BPNL
+     * @param bpns              the production site
+     * @param dayOfCompletion   the day (UTC) on which the production will be completed
+     * @return the matching productions
+     */
     public final List<T> findAllByFilters(
         Optional<String> ownMaterialNumber,
         Optional<String> bpnl,
         Optional<String> bpns,
         Optional<Date> dayOfCompletion) {
-        Stream<T> stream = repository.findAll().stream();
-        if (ownMaterialNumber.isPresent()) {
-            stream = stream.filter(production -> production.getMaterial().getOwnMaterialNumber().equals(ownMaterialNumber.get()));
-        }
-        if (bpnl.isPresent()) {
-            stream = stream.filter(production -> production.getPartner().getBpnl().equals(bpnl.get()));
-        }
-        if (bpns.isPresent()) {
-            stream = stream.filter(production -> production.getProductionSiteBpns().equals(bpns.get()));
-        }
-        if (dayOfCompletion.isPresent()) {
-            LocalDate localEstimatedTimeOfCompletion = Instant.ofEpochMilli(dayOfCompletion.get().getTime())
-                .atOffset(ZoneOffset.UTC)
-                .toLocalDate();
-            stream = stream.filter(production -> {
-                LocalDate productionEstimatedTimeOfCompletion = Instant.ofEpochMilli(production.getEstimatedTimeOfCompletion().getTime())
+        return repository.findAll(byFilters(ownMaterialNumber, bpnl, bpns, dayOfCompletion));
+    }
+
+    private Specification<T> byFilters(
+        Optional<String> ownMaterialNumber,
+        Optional<String> bpnl,
+        Optional<String> bpns,
+        Optional<Date> dayOfCompletion) {
+        return (root, query, builder) -> {
+            if (query.getResultType() != Long.class) {
+                // fetch partner and material with the productions instead of selecting them one by one
+                root.fetch("partner");
+                root.fetch("material");
+            }
+            List<Predicate> predicates = new ArrayList<>();
+            ownMaterialNumber.ifPresent(materialNumber ->
+                predicates.add(builder.equal(root.get("material").get("ownMaterialNumber"), materialNumber)));
+            bpnl.ifPresent(partnerBpnl ->
+                predicates.add(builder.equal(root.get("partner").get("bpnl"), partnerBpnl)));
+            bpns.ifPresent(siteBpns ->
+                predicates.add(builder.equal(root.get("productionSiteBpns"), siteBpns)));
+            dayOfCompletion.ifPresent(date -> {
+                LocalDate localDayDate = Instant.ofEpochMilli(date.getTime())
                     .atOffset(ZoneOffset.UTC)
                     .toLocalDate();
-                return productionEstimatedTimeOfCompletion.getDayOfMonth() == localEstimatedTimeOfCompletion.getDayOfMonth();
+                Date startOfDay = Date.from(localDayDate.atStartOfDay(ZoneOffset.UTC).toInstant());
+                Date startOfNextDay = Date.from(localDayDate.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+                predicates.add(builder.greaterThanOrEqualTo(root.get("estimatedTimeOfCompletion"), startOfDay));
+                predicates.add(builder.lessThan(root.get("estimatedTimeOfCompletion"), startOfNextDay));
             });
-        }
-        return stream.toList();
+            return builder.and(predicates.toArray(new Predicate[0]));
+        };
     }
 
-    public final List<Double> getQuantityForDays(String material, String partnerBpnl, String siteBpns, int numberOfDays) {
-        List<Double> quantities = new ArrayList<>();
-        LocalDate localDate = LocalDate.now();
-
-        for (int i = 0; i < numberOfDays; i++) {
-            Date date = Date.from(localDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
-            List<T> productions = findAllByFilters(Optional.of(material), Optional.of(partnerBpnl), Optional.of(siteBpns), Optional.of(date));
-            double productionQuantity = getSumOfQuantities(productions);
-            quantities.add(productionQuantity);
+    /**
+     * Returns all productions of the given material and partner that will be
+     * completed within the given period.
+     *
+     * @param ownMaterialNumber the material number
+     * @param partnerBpnl       the partner's BPNL
+     * @param from              start of the period (inclusive)
+     * @param to                end of the period (exclusive)
+     * @return the matching productions
+     */
+    public final List<T> findAllByDateRange(String ownMaterialNumber, String partnerBpnl, Date from, Date to) {
+        return repository.findAllByMaterial_OwnMaterialNumberAndPartner_BpnlAndEstimatedTimeOfCompletionGreaterThanEqualAndEstimatedTimeOfCompletionLessThan(
+            ownMaterialNumber, partnerBpnl, from, to);
+    }
 
-            localDate = localDate.plusDays(1);
-        }
-        return quantities;
+    /**
+     * Sums up the quantities of the productions per day of completion within the given period.
+     * The sums are calculated by the database.
+     *
+     * @param ownMaterialNumber the material number
+     * @param bpnl              the partner's BPNL
+     * @param bpns              the production site
+     * @param from              the first day of the period (inclusive)
+     * @param to                the end of the period (exclusive)
+     * @return the quantities per day
+     * @throws IllegalArgumentException if the period is invalid, see {@link DailyTimeSeries#checkPeriod(LocalDate, LocalDate)}
+     */
+    public final DailyTimeSeries getDailyQuantities(String ownMaterialNumber, Optional<String> bpnl, Optional<String> bpns,
+                                                    LocalDate from, LocalDate to) {
+        DailyTimeSeries.checkPeriod(from, to);
+        return DailyTimeSeries.of(from, to, repository.sumQuantitiesPerDay(ownMaterialNumber, bpnl.orElse(null),
+            bpns.orElse(null), DailyTimeSeries.startOf(from), DailyTimeSeries.startOf(to)));
     }
 
     public final T update(T production) {
@@ -106,12 +143,4 @@ public abstract class ProductionService<T extends Production>  {
     public final void delete(UUID uuid) {
         repository.deleteById(uuid);
     }
-
-    private final double getSumOfQuantities(List<T> productions) {
-        double sum = 0;
-        for (T production : productions) {
-            sum += production.getQuantity();
-        }
-        return sum;
-    }
 }
@@ -25,6 +25,7 @@ import java.util.function.Function;
 
 import org.eclipse.tractusx.puris.backend.production.domain.model.ReportedProduction;
 import org.eclipse.tractusx.puris.backend.production.domain.repository.ReportedProductionRepository;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -39,7 +40,7 @@ public class ReportedProductionService extends ProductionService<ReportedProduct
     }
 
     public final ReportedProduction create(ReportedProduction production) {
-        if (repository.findAll().stream().anyMatch(prod -> prod.equals(production))) {
+        if (repository.existsByNaturalKey(production)) {
             return null;
         }
         if (!validator.apply(production)) {
@@ -52,11 +53,15 @@ public class ReportedProductionService extends ProductionService<ReportedProduct
         if (productions.stream().anyMatch(production -> !validator.apply(production))) {
             return null;
         }
-        if (repository.findAll().stream()
-                .anyMatch(existing -> productions.stream().anyMatch(production -> production.equals(existing)))) {
+        if (productions.stream().anyMatch(repository::existsByNaturalKey)) {
+            return null;
+        }
+        try {
+            return repository.saveAll(productions);
+        } catch (DataIntegrityViolationException e) {
+            // the list itself contains the same production twice
             return null;
         }
-        return repository.saveAll(productions);
     }
 
     public boolean validate(ReportedProduction production) {
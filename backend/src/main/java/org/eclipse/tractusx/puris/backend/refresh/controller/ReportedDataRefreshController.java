@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.refresh.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.eclipse.tractusx.puris.backend.refresh.logic.service.ReportedDataRefreshService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("refresh")
+public class ReportedDataRefreshController {
+
+    @Autowired
+    private ReportedDataRefreshService refreshService;
+
+    @PostMapping
+    @Operation(summary = "Refreshes the reported data of all partners",
+        description = "Requests all submodels for all materials from all partners. The requests are grouped by partner " +
+            "and processed asynchronously, use the GET status endpoint to follow the progress.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Refresh started."),
+        @ApiResponse(responseCode = "409", description = "A refresh is already in progress.")
+    })
+    public ResponseEntity<ReportedDataRefreshService.Status> refreshAll() {
+        if (!refreshService.refreshAll()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(refreshService.getStatus());
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(refreshService.getStatus());
+    }
+
+    @GetMapping("status")
+    @Operation(summary = "Returns the progress of the refresh of reported data",
+        description = "Returns the progress of the current or last refresh, the time of the last refresh per partner " +
+            "and the age of the oldest refreshed partner data.")
+    public ResponseEntity<ReportedDataRefreshService.Status> getStatus() {
+        return ResponseEntity.ok(refreshService.getStatus());
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.refresh.logic.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
+import org.eclipse.tractusx.puris.backend.delivery.logic.service.DeliveryRequestApiService;
+import org.eclipse.tractusx.puris.backend.demand.logic.services.DemandRequestApiService;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
+import org.eclipse.tractusx.puris.backend.production.logic.service.ProductionRequestApiService;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.eclipse.tractusx.puris.backend.stock.logic.service.ItemStockRequestApiService;
+import org.eclipse.tractusx.puris.backend.supply.logic.service.DaysOfSupplyRequestApiService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Regularly refreshes the data that all partners report to us, for all materials.
+ * <p>
+ * The submodel requests are grouped by partner. All requests to one partner are sent one after
+ * another by a single task, so that they share the contract and EDR session of this partner's
+ * connector and the connector isn't flooded with parallel requests.
+ */
+@Service
+@Slf4j
+public class ReportedDataRefreshService {
+
+    @Autowired
+    private MaterialPartnerRelationService mprService;
+    @Autowired
+    private ItemStockRequestApiService itemStockRequestApiService;
+    @Autowired
+    private DemandRequestApiService demandRequestApiService;
+    @Autowired
+    private ProductionRequestApiService productionRequestApiService;
+    @Autowired
+    private DeliveryRequestApiService deliveryRequestApiService;
+    @Autowired
+    private DaysOfSupplyRequestApiService daysOfSupplyRequestApiService;
+    @Autowired
+    private BoundedExecutorService executorService;
+
+    @Value("${puris.refresh.enabled}")
+    private boolean enabled;
+
+    @Value("${puris.refresh.partnerrequestinterval}")
+    private long partnerRequestInterval;
+
+    /**
+     * The progress of the current or last refresh.
+     *
+     * @param running           true, if a refresh is in progress
+     * @param lastRunStarted    start of the current or last refresh
+     * @param lastRunFinished   end of the last completed refresh
+     * @param partnersTotal     number of partners of the current or last refresh
+     * @param partnersDone      number of partners whose requests are done
+     * @param requestsTotal     number of submodel requests of the current or last refresh
+     * @param requestsDone      number of submodel requests that are done
+     * @param requestsFailed    number of submodel requests that failed or were rejected
+     * @param lag               age of the oldest refreshed partner data (milliseconds), -1 if no partner was refreshed yet
+     * @param lastPartnerRefresh end of the last refresh per partner bpnl in which all requests to the partner succeeded
+     */
+    public record Status(boolean running, Date lastRunStarted, Date lastRunFinished, int partnersTotal, int partnersDone,
+                         int requestsTotal, int requestsDone, int requestsFailed, long lag,
+                         Map<String, Date> lastPartnerRefresh) {
+    }
+
+    private record PartnerRequests(Partner partner, List<BooleanSupplier> requests) {
+    }
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Date lastRunStarted;
+    private volatile Date lastRunFinished;
+    private final AtomicInteger partnersTotal = new AtomicInteger();
+    private final AtomicInteger partnersDone = new AtomicInteger();
+    private final AtomicInteger requestsTotal = new AtomicInteger();
+    private final AtomicInteger requestsDone = new AtomicInteger();
+    private final AtomicInteger requestsFailed = new AtomicInteger();
+    private final Map<String, Long> lastPartnerRefresh = new ConcurrentHashMap<>();
+
+    @Scheduled(fixedDelayString = "${puris.refresh.interval}", initialDelayString = "${puris.refresh.interval}")
+    public void scheduledRefresh() {
+        if (enabled && !refreshAll()) {
+            log.warn("Skipped scheduled refresh of reported data, the previous refresh is still in progress");
+        }
+    }
+
+    /**
+     * Starts a refresh of the reported data of all partners for all materials.
+     * The requests are processed asynchronously.
+     *
+     * @return false, if a refresh is already in progress
+     */
+    public boolean refreshAll() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Collection<PartnerRequests> requestsByPartner;
+        try {
+            requestsByPartner = collectRequests();
+            lastRunStarted = new Date();
+            partnersTotal.set(requestsByPartner.size());
+            partnersDone.set(0);
+            requestsTotal.set(requestsByPartner.stream().mapToInt(partnerRequests -> partnerRequests.requests().size()).sum());
+            requestsDone.set(0);
+            requestsFailed.set(0);
+        } catch (RuntimeException e) {
+            // otherwise no later refresh could ever start
+            running.set(false);
+            throw e;
+        }
+        log.info("Refreshing reported data: " + requestsTotal.get() + " requests to " + partnersTotal.get() + " partners");
+        if (requestsByPartner.isEmpty()) {
+            finishRun();
+            return true;
+        }
+        AtomicInteger remainingPartners = new AtomicInteger(requestsByPartner.size());
+        for (PartnerRequests partnerRequests : requestsByPartner) {
+            Runnable partnerDone = () -> {
+                partnersDone.incrementAndGet();
+                if (remainingPartners.decrementAndGet() == 0) {
+                    finishRun();
+                }
+            };
+            try {
+                executorService.submit(partnerRequests.partner().getBpnl(), () -> {
+                    try {
+                        refreshPartner(partnerRequests);
+                    } finally {
+                        partnerDone.run();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                log.warn("Could not refresh reported data of partner " + partnerRequests.partner().getBpnl() + ": " + e.getMessage());
+                requestsFailed.addAndGet(partnerRequests.requests().size());
+                partnerDone.run();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the progress of the current or last refresh
+     */
+    public Status getStatus() {
+        long now = System.currentTimeMillis();
+        Map<String, Date> lastRefreshDates = new TreeMap<>();
+        long oldestRefresh = Long.MAX_VALUE;
+        for (var entry : lastPartnerRefresh.entrySet()) {
+            lastRefreshDates.put(entry.getKey(), new Date(entry.getValue()));
+            oldestRefresh = Math.min(oldestRefresh, entry.getValue());
+        }
+        return new Status(running.get(), lastRunStarted, lastRunFinished, partnersTotal.get(), partnersDone.get(),
+            requestsTotal.get(), requestsDone.get(), requestsFailed.get(),
+            lastRefreshDates.isEmpty() ? -1 : now - oldestRefresh, lastRefreshDates);
+    }
+
+    private Collection<PartnerRequests> collectRequests() {
+        Map<UUID, PartnerRequests> requestsByPartner = new LinkedHashMap<>();
+        for (MaterialPartnerRelation mpr : mprService.findAll()) {
+            Partner partner = mpr.getPartner();
+            Material material = mpr.getMaterial();
+            List<BooleanSupplier> requests = requestsByPartner.computeIfAbsent(partner.getUuid(),
+                uuid -> new PartnerRequests(partner, new ArrayList<>())).requests();
+            if (mpr.isPartnerSuppliesMaterial()) {
+                requests.add(() -> itemStockRequestApiService.doItemStockSubmodelReportedMaterialItemStockRequest(partner, material));
+                requests.add(() -> productionRequestApiService.doReportedProductionRequest(partner, material));
+                requests.add(() -> daysOfSupplyRequestApiService.doReportedDaysOfSupplyRequest(partner, material, DirectionCharacteristic.OUTBOUND));
+            }
+            if (mpr.isPartnerBuysMaterial()) {
+                requests.add(() -> itemStockRequestApiService.doItemStockSubmodelReportedProductItemStockRequest(partner, material));
+                requests.add(() -> demandRequestApiService.doReportedDemandRequest(partner, material));
+                requests.add(() -> daysOfSupplyRequestApiService.doReportedDaysOfSupplyRequest(partner, material, DirectionCharacteristic.INBOUND));
+            }
+            if (material.isMaterialFlag() ? mpr.isPartnerSuppliesMaterial() : mpr.isPartnerBuysMaterial()) {
+                requests.add(() -> deliveryRequestApiService.doReportedDeliveryRequest(partner, material));
+            }
+        }
+        requestsByPartner.values().removeIf(partnerRequests -> partnerRequests.requests().isEmpty());
+        return requestsByPartner.values();
+    }
+
+    private void refreshPartner(PartnerRequests partnerRequests) {
+        boolean first = true;
+        boolean failed = false;
+        for (BooleanSupplier request : partnerRequests.requests()) {
+            if (!first && partnerRequestInterval > 0) {
+                try {
+                    // limit the rate of requests to the partner's connector
+                    Thread.sleep(partnerRequestInterval);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.warn("Refresh of reported data of partner " + partnerRequests.partner().getBpnl() + " was interrupted");
+                    return;
+                }
+            }
+            first = false;
+            try {
+                if (request.getAsBoolean()) {
+                    requestsDone.incrementAndGet();
+                } else {
+                    requestsFailed.incrementAndGet();
+                    failed = true;
+                }
+            } catch (Exception e) {
+                requestsFailed.incrementAndGet();
+                failed = true;
+                log.error("Error while refreshing reported data of partner " + partnerRequests.partner().getBpnl(), e);
+            }
+        }
+        if (!failed) {
+            // otherwise, some of the partner's data is as old as before and the lag must not hide that
+            lastPartnerRefresh.put(partnerRequests.partner().getBpnl(), System.currentTimeMillis());
+        }
+    }
+
+    private void finishRun() {
+        lastRunFinished = new Date();
+        running.set(false);
+        log.info("Refreshed reported data: " + requestsDone.get() + " requests done, " + requestsFailed.get() + " failed");
+    }
+}
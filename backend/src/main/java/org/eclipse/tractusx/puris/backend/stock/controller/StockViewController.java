@@ -30,18 +30,27 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
 import org.eclipse.tractusx.puris.backend.common.util.PatternStore;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Address;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Site;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.dto.AddressDto;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.dto.MaterialDto;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.dto.PartnerDto;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.dto.SiteDto;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.ItemStock;
 import org.eclipse.tractusx.puris.backend.stock.domain.model.MaterialItemStock;
 import org.eclipse.tractusx.puris.backend.stock.domain.model.ProductItemStock;
 import org.eclipse.tractusx.puris.backend.stock.domain.model.ReportedMaterialItemStock;
 import org.eclipse.tractusx.puris.backend.stock.domain.model.ReportedProductItemStock;
 import org.eclipse.tractusx.puris.backend.stock.logic.dto.*;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
 import org.eclipse.tractusx.puris.backend.stock.logic.service.*;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,7 +61,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.*;
-import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -96,7 +105,7 @@ public class StockViewController {
     private Validator validator;
 
     @Autowired
-    private ExecutorService executorService;
+    private BoundedExecutorService executorService;
 
     private final Pattern materialPattern = PatternStore.NON_EMPTY_NON_VERTICAL_WHITESPACE_PATTERN;
 
@@ -146,8 +155,11 @@ public class StockViewController {
     @ResponseBody
     @Operation(description = "Returns a list of all product-stocks")
     public List<ProductStockDto> getProductStocks() {
-        return productItemStockService.findAll().stream()
-            .map(this::convertToDto)
+        var productStocks = productItemStockService.findAll();
+        var relations = findRelations(productStocks);
+        var partnerDtos = new HashMap<UUID, PartnerDto>();
+        return productStocks.stream()
+            .map(stock -> convertToDto(stock, relations.get(relationKey(stock)), partnerDtos))
             .collect(Collectors.toList());
     }
 
@@ -243,21 +255,16 @@ public class StockViewController {
     }
 
     private ProductStockDto convertToDto(ProductItemStock entity) {
-        ProductStockDto dto = modelMapper.map(entity, ProductStockDto.class);
-        dto.getMaterial().setMaterialNumberSupplier(entity.getMaterial().getOwnMaterialNumber());
         var materialPartnerRelation =
             mprService.find(entity.getMaterial().getOwnMaterialNumber(), entity.getPartner().getUuid());
-        dto.getMaterial().setMaterialNumberCustomer(materialPartnerRelation.getPartnerMaterialNumber());
-
-        dto.getMaterial().setMaterialNumberCx(entity.getMaterial().getMaterialNumberCx());
-
-        dto.setStockLocationBpns(entity.getLocationBpns());
-        dto.setStockLocationBpna(entity.getLocationBpna());
-
-        dto.setCustomerOrderNumber(entity.getCustomerOrderId());
-        dto.setCustomerOrderPositionNumber(entity.getCustomerOrderPositionId());
-        dto.setSupplierOrderNumber(entity.getSupplierOrderId());
+        return convertToDto(entity, materialPartnerRelation, new HashMap<>());
+    }
 
+    private ProductStockDto convertToDto(ProductItemStock entity, MaterialPartnerRelation materialPartnerRelation,
+                                         Map<UUID, PartnerDto> partnerDtos) {
+        ProductStockDto dto = fillStockDto(new ProductStockDto(), entity, partnerDtos);
+        dto.getMaterial().setMaterialNumberSupplier(entity.getMaterial().getOwnMaterialNumber());
+        dto.getMaterial().setMaterialNumberCustomer(materialPartnerRelation.getPartnerMaterialNumber());
         return dto;
     }
 
@@ -293,8 +300,11 @@ public class StockViewController {
     @ResponseBody
     @Operation(description = "Returns a list of all material-stocks")
     public List<MaterialStockDto> getMaterialStocks() {
-        List<MaterialStockDto> allMaterialStocks = materialItemStockService.findAll().stream()
-            .map(this::convertToDto)
+        var materialStocks = materialItemStockService.findAll();
+        var relations = findRelations(materialStocks);
+        var partnerDtos = new HashMap<UUID, PartnerDto>();
+        List<MaterialStockDto> allMaterialStocks = materialStocks.stream()
+            .map(stock -> convertToDto(stock, relations.get(relationKey(stock)), partnerDtos))
             .collect(Collectors.toList());
         return allMaterialStocks;
     }
@@ -385,20 +395,16 @@ public class StockViewController {
     }
 
     private MaterialStockDto convertToDto(MaterialItemStock entity) {
-        MaterialStockDto dto = modelMapper.map(entity, MaterialStockDto.class);
-        dto.getMaterial().setMaterialNumberCx(entity.getMaterial().getMaterialNumberCx());
-        dto.getMaterial().setMaterialNumberCustomer(entity.getMaterial().getOwnMaterialNumber());
         var materialPartnerRelation = mprService.find(entity.getMaterial().getOwnMaterialNumber(),
             entity.getPartner().getUuid());
-        dto.getMaterial().setMaterialNumberSupplier(materialPartnerRelation.getPartnerMaterialNumber());
-
-        dto.setStockLocationBpns(entity.getLocationBpns());
-        dto.setStockLocationBpna(entity.getLocationBpna());
-
-        dto.setCustomerOrderNumber(entity.getCustomerOrderId());
-        dto.setCustomerOrderPositionNumber(entity.getCustomerOrderPositionId());
-        dto.setSupplierOrderNumber(entity.getSupplierOrderId());
+        return convertToDto(entity, materialPartnerRelation, new HashMap<>());
+    }
 
+    private MaterialStockDto convertToDto(MaterialItemStock entity, MaterialPartnerRelation materialPartnerRelation,
+                                          Map<UUID, PartnerDto> partnerDtos) {
+        MaterialStockDto dto = fillStockDto(new MaterialStockDto(), entity, partnerDtos);
+        dto.getMaterial().setMaterialNumberCustomer(entity.getMaterial().getOwnMaterialNumber());
+        dto.getMaterial().setMaterialNumberSupplier(materialPartnerRelation.getPartnerMaterialNumber());
         return dto;
     }
 
@@ -447,28 +453,20 @@ public class StockViewController {
         if (!materialPattern.matcher(ownMaterialNumber).matches()) {
             return new ResponseEntity<>(HttpStatusCode.valueOf(400));
         }
-        return ResponseEntity.ok(reportedMaterialItemStockService.
-            findByOwnMaterialNumber(ownMaterialNumber)
+        var reportedStocks = reportedMaterialItemStockService.findByOwnMaterialNumber(ownMaterialNumber);
+        var relations = findRelations(reportedStocks);
+        var partnerDtos = new HashMap<UUID, PartnerDto>();
+        return ResponseEntity.ok(reportedStocks
             .stream()
-            .map(this::convertToDto)
+            .map(stock -> convertToDto(stock, relations.get(relationKey(stock)), partnerDtos))
             .toList());
     }
 
-    private ReportedMaterialStockDto convertToDto(ReportedMaterialItemStock entity) {
-        ReportedMaterialStockDto dto = modelMapper.map(entity, ReportedMaterialStockDto.class);
-        dto.getMaterial().setMaterialNumberCx(entity.getMaterial().getMaterialNumberCx());
+    private ReportedMaterialStockDto convertToDto(ReportedMaterialItemStock entity, MaterialPartnerRelation materialPartnerRelation,
+                                                  Map<UUID, PartnerDto> partnerDtos) {
+        ReportedMaterialStockDto dto = fillStockDto(new ReportedMaterialStockDto(), entity, partnerDtos);
         dto.getMaterial().setMaterialNumberCustomer(entity.getMaterial().getOwnMaterialNumber());
-        var materialPartnerRelation = mprService.find(entity.getMaterial().getOwnMaterialNumber(),
-            entity.getPartner().getUuid());
         dto.getMaterial().setMaterialNumberSupplier(materialPartnerRelation.getPartnerMaterialNumber());
-
-        dto.setStockLocationBpns(entity.getLocationBpns());
-        dto.setStockLocationBpna(entity.getLocationBpna());
-
-        dto.setCustomerOrderNumber(entity.getCustomerOrderId());
-        dto.setCustomerOrderPositionNumber(entity.getCustomerOrderPositionId());
-        dto.setSupplierOrderNumber(entity.getSupplierOrderId());
-
         return dto;
     }
 
@@ -489,20 +487,66 @@ public class StockViewController {
         if (!materialPattern.matcher(ownMaterialNumber).matches()) {
             return new ResponseEntity<>(HttpStatusCode.valueOf(400));
         }
-        return ResponseEntity.ok(reportedProductItemStockService.
-            findByOwnMaterialNumber(ownMaterialNumber)
+        var reportedStocks = reportedProductItemStockService.findByOwnMaterialNumber(ownMaterialNumber);
+        var relations = findRelations(reportedStocks);
+        var partnerDtos = new HashMap<UUID, PartnerDto>();
+        return ResponseEntity.ok(reportedStocks
             .stream()
-            .map(this::convertToDto)
+            .map(stock -> convertToDto(stock, relations.get(relationKey(stock)), partnerDtos))
             .toList());
     }
 
-    private ReportedProductStockDto convertToDto(ReportedProductItemStock entity) {
-        ReportedProductStockDto dto = modelMapper.map(entity, ReportedProductStockDto.class);
-        dto.getMaterial().setMaterialNumberCx(entity.getMaterial().getMaterialNumberCx());
+    private ReportedProductStockDto convertToDto(ReportedProductItemStock entity, MaterialPartnerRelation materialPartnerRelation,
+                                                 Map<UUID, PartnerDto> partnerDtos) {
+        ReportedProductStockDto dto = fillStockDto(new ReportedProductStockDto(), entity, partnerDtos);
         dto.getMaterial().setMaterialNumberSupplier(entity.getMaterial().getOwnMaterialNumber());
-        var materialPartnerRelation = mprService.find(entity.getMaterial().getOwnMaterialNumber(),
-            entity.getPartner().getUuid());
         dto.getMaterial().setMaterialNumberCustomer(materialPartnerRelation.getPartnerMaterialNumber());
+        return dto;
+    }
+
+    /**
+     * Fetches the MaterialPartnerRelations of all given stocks with a single query,
+     * so that they don't have to be looked up one by one when converting the stocks.
+     *
+     * @param stocks the stocks
+     * @return the MaterialPartnerRelations by their key
+     */
+    private Map<MaterialPartnerRelation.Key, MaterialPartnerRelation> findRelations(List<? extends ItemStock> stocks) {
+        Set<MaterialPartnerRelation.Key> keys = stocks.stream()
+            .map(this::relationKey)
+            .collect(Collectors.toSet());
+        return mprService.findAll(keys).stream()
+            .collect(Collectors.toMap(MaterialPartnerRelation::getKey, Function.identity()));
+    }
+
+    private MaterialPartnerRelation.Key relationKey(ItemStock stock) {
+        return new MaterialPartnerRelation.Key(stock.getMaterial().getOwnMaterialNumber(), stock.getPartner().getUuid());
+    }
+
+    /**
+     * Sets the fields that all stock dtos share. The material numbers depending on the direction
+     * have to be set by the caller.
+     *
+     * @param dto         the dto to fill
+     * @param entity      the stock
+     * @param partnerDtos dtos of partners that were already converted, a new dto is added if the partner is missing
+     * @return the dto
+     */
+    private <T extends StockDto> T fillStockDto(T dto, ItemStock entity, Map<UUID, PartnerDto> partnerDtos) {
+        Material material = entity.getMaterial();
+        MaterialDto materialDto = new MaterialDto();
+        materialDto.setMaterialFlag(material.isMaterialFlag());
+        materialDto.setProductFlag(material.isProductFlag());
+        materialDto.setMaterialNumberCx(material.getMaterialNumberCx());
+        materialDto.setName(material.getName());
+        dto.setMaterial(materialDto);
+        dto.setPartner(partnerDtos.computeIfAbsent(entity.getPartner().getUuid(), uuid -> convertToDto(entity.getPartner())));
+
+        dto.setUuid(entity.getUuid());
+        dto.setQuantity(entity.getQuantity());
+        dto.setMeasurementUnit(entity.getMeasurementUnit());
+        dto.setLastUpdatedOn(entity.getLastUpdatedOnDateTime());
+        dto.setBlocked(entity.isBlocked());
 
         dto.setStockLocationBpns(entity.getLocationBpns());
         dto.setStockLocationBpna(entity.getLocationBpna());
@@ -510,10 +554,43 @@ public class StockViewController {
         dto.setCustomerOrderNumber(entity.getCustomerOrderId());
         dto.setCustomerOrderPositionNumber(entity.getCustomerOrderPositionId());
         dto.setSupplierOrderNumber(entity.getSupplierOrderId());
-
         return dto;
     }
 
+    @GetMapping("stock-summary")
+    @Operation(description = "Returns the summed up quantities of all stocks of the given material per partner, site and " +
+        "measurement unit. For direction INBOUND, the own material-stocks and the material-stocks reported by the " +
+        "suppliers are returned. For direction OUTBOUND, the own product-stocks and the product-stocks reported by the " +
+        "customers are returned.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+    })
+    public ResponseEntity<List<StockSummaryDto>> getStockSummary(
+        @RequestParam @Parameter(description = "encoded in base64") String ownMaterialNumber,
+        @RequestParam DirectionCharacteristic direction) {
+        try {
+            ownMaterialNumber = new String(Base64.getDecoder().decode(ownMaterialNumber));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.emptyList());
+        }
+        if (!materialPattern.matcher(ownMaterialNumber).matches()) {
+            return new ResponseEntity<>(HttpStatusCode.valueOf(400));
+        }
+        ItemStockService<?> ownStockService = direction == DirectionCharacteristic.INBOUND ?
+            materialItemStockService : productItemStockService;
+        ItemStockService<?> reportedStockService = direction == DirectionCharacteristic.INBOUND ?
+            reportedMaterialItemStockService : reportedProductItemStockService;
+        List<StockSummaryDto> summaries = new ArrayList<>();
+        for (var summary : ownStockService.getSummaryByOwnMaterialNumber(ownMaterialNumber)) {
+            summaries.add(new StockSummaryDto(summary, false));
+        }
+        for (var summary : reportedStockService.getSummaryByOwnMaterialNumber(ownMaterialNumber)) {
+            summaries.add(new StockSummaryDto(summary, true));
+        }
+        return ResponseEntity.ok(summaries);
+    }
+
     @GetMapping("customer")
     @Operation(description = "Returns a list of all Partners that are ordering the given material")
     @ApiResponses(value = {
@@ -564,7 +641,8 @@ public class StockViewController {
         "call to the GET reported-material-stocks endpoint.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "OK"),
-        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content),
+        @ApiResponse(responseCode = "503", description = "Too many pending requests to partners, retry later", content = @Content)
     })
     public ResponseEntity<List<PartnerDto>> triggerReportedMaterialStockUpdateForMaterialNumber(
         @RequestParam @Parameter(description = "encoded in base64") String ownMaterialNumber) {
@@ -582,7 +660,7 @@ public class StockViewController {
         List<Partner> allSupplierPartnerEntities = mprService.findAllSuppliersForOwnMaterialNumber(ownMaterialNumber);
 
         for (Partner supplierPartner : allSupplierPartnerEntities) {
-            executorService.submit(() ->
+            executorService.submit(supplierPartner.getBpnl(), () ->
             itemStockRequestApiService.doItemStockSubmodelReportedMaterialItemStockRequest(supplierPartner, materialEntity));
         }
 
@@ -599,7 +677,8 @@ public class StockViewController {
         "call to the GET reported-material-stocks endpoint.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "OK"),
-        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content)
+        @ApiResponse(responseCode = "400", description = "Invalid parameter", content = @Content),
+        @ApiResponse(responseCode = "503", description = "Too many pending requests to partners, retry later", content = @Content)
     })
     public ResponseEntity<List<PartnerDto>> triggerReportedProductStockUpdateForMaterialNumber(
         @RequestParam @Parameter(description = "encoded in base64") String ownMaterialNumber) {
@@ -617,7 +696,7 @@ public class StockViewController {
         List<Partner> allCustomerPartnerEntities = mprService.findAllCustomersForOwnMaterialNumber(ownMaterialNumber);
 
         for (Partner customerPartner : allCustomerPartnerEntities) {
-            executorService.submit(() ->
+            executorService.submit(customerPartner.getBpnl(), () ->
             itemStockRequestApiService.doItemStockSubmodelReportedProductItemStockRequest(customerPartner, materialEntity));
         }
 
@@ -627,7 +706,26 @@ public class StockViewController {
     }
 
     private PartnerDto convertToDto(Partner entity) {
-        return modelMapper.map(entity, PartnerDto.class);
+        PartnerDto dto = new PartnerDto();
+        dto.setUuid(entity.getUuid());
+        dto.setName(entity.getName());
+        dto.setEdcUrl(entity.getEdcUrl());
+        dto.setBpnl(entity.getBpnl());
+        for (Address address : entity.getAddresses()) {
+            dto.getAddresses().add(convertToDto(address));
+        }
+        for (Site site : entity.getSites()) {
+            Set<AddressDto> addresses = new HashSet<>();
+            for (Address address : site.getAddresses()) {
+                addresses.add(convertToDto(address));
+            }
+            dto.getSites().add(new SiteDto(site.getBpns(), site.getName(), addresses));
+        }
+        return dto;
+    }
+
+    private AddressDto convertToDto(Address entity) {
+        return new AddressDto(entity.getBpna(), entity.getStreetAndNumber(), entity.getZipCodeAndCity(), entity.getCountry());
     }
 
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.stock.domain.model;
+
+import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemUnitEnumeration;
+
+/**
+ * The summed up quantity of all stocks of one material, partner, site and measurement unit.
+ *
+ * @param ownMaterialNumber the own material number of the material
+ * @param partnerBpnl       the bpnl of the partner
+ * @param locationBpns      the bpns of the site where the stocks are located
+ * @param measurementUnit   the measurement unit of the quantity
+ * @param quantity          the sum of the quantities
+ */
+public record ItemStockSummary(String ownMaterialNumber, String partnerBpnl, String locationBpns,
+                               ItemUnitEnumeration measurementUnit, double quantity) {
+}
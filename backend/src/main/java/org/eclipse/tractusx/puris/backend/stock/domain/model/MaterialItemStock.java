@@ -21,11 +21,16 @@
 package org.eclipse.tractusx.puris.backend.stock.domain.model;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_material_item_stock_material_partner", columnList = "material_ownMaterialNumber, partner_uuid, locationBpns")
+})
 @SuperBuilder
 @NoArgsConstructor
 @ToString(callSuper = true)
@@ -23,6 +23,7 @@ package org.eclipse.tractusx.puris.backend.stock.domain.repository;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.stock.domain.model.ItemStock;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.ItemStockSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
@@ -66,5 +67,15 @@ public interface ItemStockRepository<T extends ItemStock> extends JpaRepository<
         throw new UnsupportedOperationException("Implementation needed");
     }
 
+    default List<ItemStockSummary> getSummaryForOwnMatNbr(String ownMaterialNumber) {
+        // default implementation prevents Jpa from trying to
+        // auto-generate this method.
+        throw new UnsupportedOperationException("Implementation needed");
+    }
 
+    default List<ItemStockSummary> getSummaryForPartnerBpnlAndOwnMatNbr(String partnerBpnl, String ownMaterialNumber) {
+        // default implementation prevents Jpa from trying to
+        // auto-generate this method.
+        throw new UnsupportedOperationException("Implementation needed");
+    }
 }
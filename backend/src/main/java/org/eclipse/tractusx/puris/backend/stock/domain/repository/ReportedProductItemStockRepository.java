@@ -22,7 +22,10 @@ package org.eclipse.tractusx.puris.backend.stock.domain.repository;
 
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.ItemStockSummary;
 import org.eclipse.tractusx.puris.backend.stock.domain.model.ReportedProductItemStock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -41,6 +44,19 @@ public interface ReportedProductItemStockRepository extends ItemStockRepository<
 
     List<ReportedProductItemStock> findByPartner_BpnlAndMaterial_OwnMaterialNumber(String partnerBpnl, String ownMaterialNumber);
 
+    @Query("SELECT new org.eclipse.tractusx.puris.backend.stock.domain.model.ItemStockSummary(" +
+        "s.material.ownMaterialNumber, s.partner.bpnl, s.locationBpns, s.measurementUnit, SUM(s.quantity)) " +
+        "FROM ReportedProductItemStock s WHERE s.material.ownMaterialNumber = :ownMaterialNumber " +
+        "GROUP BY s.material.ownMaterialNumber, s.partner.bpnl, s.locationBpns, s.measurementUnit")
+    List<ItemStockSummary> sumQuantityByOwnMaterialNumber(@Param("ownMaterialNumber") String ownMaterialNumber);
+
+    @Query("SELECT new org.eclipse.tractusx.puris.backend.stock.domain.model.ItemStockSummary(" +
+        "s.material.ownMaterialNumber, s.partner.bpnl, s.locationBpns, s.measurementUnit, SUM(s.quantity)) " +
+        "FROM ReportedProductItemStock s WHERE s.material.ownMaterialNumber = :ownMaterialNumber AND s.partner.bpnl = :partnerBpnl " +
+        "GROUP BY s.material.ownMaterialNumber, s.partner.bpnl, s.locationBpns, s.measurementUnit")
+    List<ItemStockSummary> sumQuantityByPartnerBpnlAndOwnMaterialNumber(@Param("partnerBpnl") String partnerBpnl,
+                                                                        @Param("ownMaterialNumber") String ownMaterialNumber);
+
     @Override
     default List<ReportedProductItemStock> getForPartnerAndMaterial(Partner partner, Material material) {
         return findByPartnerAndMaterial(partner, material);
@@ -70,4 +86,14 @@ public interface ReportedProductItemStockRepository extends ItemStockRepository<
     default List<ReportedProductItemStock> getForPartnerBpnlAndOwnMatNbr(String partnerBpnl, String ownMaterialNumber) {
         return findByPartner_BpnlAndMaterial_OwnMaterialNumber(partnerBpnl, ownMaterialNumber);
     }
+
+    @Override
+    default List<ItemStockSummary> getSummaryForOwnMatNbr(String ownMaterialNumber) {
+        return sumQuantityByOwnMaterialNumber(ownMaterialNumber);
+    }
+
+    @Override
+    default List<ItemStockSummary> getSummaryForPartnerBpnlAndOwnMatNbr(String partnerBpnl, String ownMaterialNumber) {
+        return sumQuantityByPartnerBpnlAndOwnMaterialNumber(partnerBpnl, ownMaterialNumber);
+    }
 }
@@ -125,7 +125,10 @@ public class ItemStockRequestApiService {
 
     }
 
-    public void doItemStockSubmodelReportedMaterialItemStockRequest(Partner partner, Material material) {
+    /**
+     * @return true, if the partner's data was received and stored
+     */
+    public boolean doItemStockSubmodelReportedMaterialItemStockRequest(Partner partner, Material material) {
         try {
             var mpr = mprService.find(material, partner);
             var data = edcAdapterService.doSubmodelRequest(AssetType.ITEM_STOCK_SUBMODEL, mpr, DirectionCharacteristic.OUTBOUND, 1);
@@ -136,23 +139,22 @@ public class ItemStockRequestApiService {
                 var stockMaterial = stock.getMaterial();
                 if (!partner.equals(stockPartner) || !material.equals(stockMaterial)) {
                     log.warn("Received inconsistent data from " + partner.getBpnl() + "\n" + stocks);
-                    return;
+                    return false;
                 }
             }
-            var oldStocks = reportedMaterialItemStockService.findByPartnerAndMaterial(partner, material);
-            for (var oldStock : oldStocks) {
-                reportedMaterialItemStockService.delete(oldStock.getUuid());
-            }
-            for (var newStock : stocks) {
-                reportedMaterialItemStockService.create(newStock);
-            }
-            log.info("Updated ReportedMaterialItemStocks for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl());
+            var result = reportedMaterialItemStockService.replaceAll(partner, material, stocks);
+            log.info("Updated ReportedMaterialItemStocks for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl() + ": " + result);
+            return true;
         } catch (Exception e) {
             log.error("Error in ReportedMaterialItemStockRequest for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl(), e);
+            return false;
         }
     }
 
-    public void doItemStockSubmodelReportedProductItemStockRequest(Partner partner, Material material) {
+    /**
+     * @return true, if the partner's data was received and stored
+     */
+    public boolean doItemStockSubmodelReportedProductItemStockRequest(Partner partner, Material material) {
         try {
             var mpr = mprService.find(material, partner);
             if (mpr.getPartnerCXNumber() == null) {
@@ -167,20 +169,15 @@ public class ItemStockRequestApiService {
                 var stockMaterial = stock.getMaterial();
                 if (!partner.equals(stockPartner) || !material.equals(stockMaterial)) {
                     log.warn("Received inconsistent data from " + partner.getBpnl() + "\n" + stocks);
-                    return;
+                    return false;
                 }
             }
-            // delete older data:
-            var oldStocks = reportedProductItemStockService.findByPartnerAndMaterial(partner, material);
-            for (var oldStock : oldStocks) {
-                reportedProductItemStockService.delete(oldStock.getUuid());
-            }
-            for (var newStock : stocks) {
-                reportedProductItemStockService.create(newStock);
-            }
-            log.info("Updated ReportedProductItemStocks for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl());
+            var result = reportedProductItemStockService.replaceAll(partner, material, stocks);
+            log.info("Updated ReportedProductItemStocks for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl() + ": " + result);
+            return true;
         } catch (Exception e) {
             log.error("Error in ReportedProductItemStockRequest for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl(), e);
+            return false;
         }
     }
 
@@ -21,19 +21,22 @@ package org.eclipse.tractusx.puris.backend.stock.logic.service;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.eclipse.tractusx.puris.backend.common.util.ReportedDataReconciler;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
 import org.eclipse.tractusx.puris.backend.stock.domain.model.ItemStock;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.ItemStockSummary;
 import org.eclipse.tractusx.puris.backend.stock.domain.repository.ItemStockRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.function.Function;
-import java.util.stream.Stream;
 
 @Slf4j
 public abstract class ItemStockService<T extends ItemStock> {
@@ -46,6 +49,9 @@ public abstract class ItemStockService<T extends ItemStock> {
 
     protected final Function<T, Boolean> validator;
 
+    @Autowired
+    private ReportedDataReconciler reconciler;
+
     public ItemStockService(PartnerService partnerService, MaterialPartnerRelationService mprService,
             ItemStockRepository<T> repository) {
         this.partnerService = partnerService;
@@ -79,6 +85,32 @@ public abstract class ItemStockService<T extends ItemStock> {
         repository.deleteById(uuid);
     }
 
+    /**
+     * Replaces all stocks of the given partner and material with the given stocks.
+     * <p>
+     * Stocks are matched by their location, order position reference and blocked flag. Only
+     * stocks that were added, changed or removed are written, in one transaction.
+     * Invalid stocks are skipped.
+     *
+     * @param partner    the partner
+     * @param material   the material
+     * @param itemStocks the complete list of current stocks of this partner and material
+     * @return the number of affected stocks
+     */
+    public final ReportedDataReconciler.Result replaceAll(Partner partner, Material material, List<T> itemStocks) {
+        List<T> validStocks = itemStocks.stream().filter(validator::apply).toList();
+        return reconciler.reconcile(repository, () -> repository.getForPartnerAndMaterial(partner, material), validStocks,
+            stock -> Arrays.asList(stock.getLocationBpns(), stock.getLocationBpna(), stock.isBlocked(),
+                stock.getSupplierOrderId(), stock.getCustomerOrderId(), stock.getCustomerOrderPositionId()),
+            stock -> Arrays.asList(stock.getQuantity(), stock.getMeasurementUnit(),
+                stock.getLastUpdatedOnDateTime() == null ? null : stock.getLastUpdatedOnDateTime().getTime()),
+            (stored, received) -> {
+                stored.setQuantity(received.getQuantity());
+                stored.setMeasurementUnit(received.getMeasurementUnit());
+                stored.setLastUpdatedOnDateTime(received.getLastUpdatedOnDateTime());
+            });
+    }
+
     public final List<T> findAll() {
         return repository.findAll();
     }
@@ -108,25 +140,39 @@ public abstract class ItemStockService<T extends ItemStock> {
     }
 
     public final List<T> findAllByMaterialAndPartner(String ownMaterialNumber, String partnerBpnl) {
-        Stream<T> stream = repository.findAll().stream();
+        return repository.getForPartnerBpnlAndOwnMatNbr(partnerBpnl, ownMaterialNumber);
+    }
 
-        stream = stream.filter(stock -> stock.getMaterial().getOwnMaterialNumber().equals(ownMaterialNumber));
-        stream = stream.filter(stock -> stock.getPartner().getBpnl().equals(partnerBpnl));
-        return stream.toList();
+    /**
+     * @param ownMaterialNumber the own material number
+     * @return the summed up quantities of all stocks of this material per partner, site and measurement unit
+     */
+    public final List<ItemStockSummary> getSummaryByOwnMaterialNumber(String ownMaterialNumber) {
+        return repository.getSummaryForOwnMatNbr(ownMaterialNumber);
+    }
+
+    /**
+     * @param ownMaterialNumber the own material number
+     * @param partnerBpnl       the bpnl of the partner
+     * @return the summed up quantities of all stocks of this material and partner per site and measurement unit
+     */
+    public final List<ItemStockSummary> getSummaryByMaterialAndPartner(String ownMaterialNumber, String partnerBpnl) {
+        return repository.getSummaryForPartnerBpnlAndOwnMatNbr(partnerBpnl, ownMaterialNumber);
     }
 
     public final double getSumOfQuantities(List<T> stocks) {
         double sum = 0;
         for (T stock : stocks) {
-            sum = stock.getQuantity();
+            sum += stock.getQuantity();
         }
         return sum;
     }
 
     public final double getInitialStockQuantity(String material, String partnerBpnl) {
-        List<T> stocks = findAllByMaterialAndPartner(material, partnerBpnl);
-        double initialStockQuantity = getSumOfQuantities(stocks);
-
+        double initialStockQuantity = 0;
+        for (ItemStockSummary summary : getSummaryByMaterialAndPartner(material, partnerBpnl)) {
+            initialStockQuantity += summary.quantity();
+        }
         return initialStockQuantity;
     }
 
@@ -22,6 +22,7 @@ package org.eclipse.tractusx.puris.backend.supply.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
 import org.eclipse.tractusx.puris.backend.common.util.PatternStore;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
@@ -47,7 +48,6 @@ import org.springframework.web.bind.annotation.RestController;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
 import java.util.regex.Pattern;
 
 @RestController
@@ -68,7 +68,7 @@ public class SupplyController {
     private ModelMapper modelMapper;
     private final Pattern materialPattern = PatternStore.NON_EMPTY_NON_VERTICAL_WHITESPACE_PATTERN;
     @Autowired
-    private ExecutorService executorService;
+    private BoundedExecutorService executorService;
 
     @GetMapping("customer")
     @ResponseBody
@@ -105,7 +105,7 @@ public class SupplyController {
         Material materialEntity = materialService.findByOwnMaterialNumber(ownMaterialNumber);
         List<Partner> allCustomerPartnerEntities = mprService.findAllCustomersForOwnMaterialNumber(ownMaterialNumber);
         for (Partner customerPartner : allCustomerPartnerEntities) {
-            executorService.submit(() ->
+            executorService.submit(customerPartner.getBpnl(), () ->
                 daysOfSupplyRequestApiService.doReportedDaysOfSupplyRequest(customerPartner, materialEntity, DirectionCharacteristic.INBOUND));
         }
         return ResponseEntity.ok(allCustomerPartnerEntities.stream().map(partner -> modelMapper.map(partner, PartnerDto.class)).toList());
@@ -145,7 +145,7 @@ public class SupplyController {
         Material materialEntity = materialService.findByOwnMaterialNumber(ownMaterialNumber);
         List<Partner> allSupplierPartnerEntities = mprService.findAllSuppliersForOwnMaterialNumber(ownMaterialNumber);
         for (Partner supplierPartner : allSupplierPartnerEntities) {
-            executorService.submit(() ->
+            executorService.submit(supplierPartner.getBpnl(), () ->
                 daysOfSupplyRequestApiService.doReportedDaysOfSupplyRequest(supplierPartner, materialEntity, DirectionCharacteristic.OUTBOUND));
         }
         return ResponseEntity.ok(allSupplierPartnerEntities.stream().map(partner -> modelMapper.map(partner, PartnerDto.class)).toList());
@@ -21,11 +21,18 @@
  package org.eclipse.tractusx.puris.backend.supply.domain.model;
 
  import jakarta.persistence.Entity;
+ import jakarta.persistence.Table;
+ import jakarta.persistence.UniqueConstraint;
  import lombok.NoArgsConstructor;
  import lombok.ToString;
  import lombok.experimental.SuperBuilder;
  
  @Entity
+ @Table(uniqueConstraints = {
+     @UniqueConstraint(name = "uc_reported_customer_supply_natural_key", columnNames = {
+         "material_ownMaterialNumber", "partner_uuid", "stockLocationBPNS", "stockLocationBPNA", "date"
+     })
+ })
  @SuperBuilder
  @NoArgsConstructor
  @ToString(callSuper = true)
@@ -20,12 +20,7 @@
 
 package org.eclipse.tractusx.puris.backend.supply.domain.repository;
 
-import java.util.List;
-import java.util.UUID;
-
 import org.eclipse.tractusx.puris.backend.supply.domain.model.ReportedCustomerSupply;
-import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface ReportedCustomerSupplyRepository extends JpaRepository<ReportedCustomerSupply, UUID> {
-    List<ReportedCustomerSupply> findByMaterial_OwnMaterialNumberAndPartner_Bpnl(String ownMaterialNumber, String bpnl);
+public interface ReportedCustomerSupplyRepository extends SupplyRepository<ReportedCustomerSupply> {
 }
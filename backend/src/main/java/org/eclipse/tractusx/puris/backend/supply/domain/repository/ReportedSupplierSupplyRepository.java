@@ -23,9 +23,7 @@ package org.eclipse.tractusx.puris.backend.supply.domain.repository;
 import java.util.List;
 import java.util.UUID;
 import org.eclipse.tractusx.puris.backend.supply.domain.model.ReportedSupplierSupply;
-import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface ReportedSupplierSupplyRepository extends JpaRepository<ReportedSupplierSupply, UUID> {
-        List<ReportedSupplierSupply> findByMaterial_OwnMaterialNumberAndPartner_Bpnl(String ownMaterialNumber, String bpnl);
+public interface ReportedSupplierSupplyRepository extends SupplyRepository<ReportedSupplierSupply> {
 }
 
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.eclipse.tractusx.puris.backend.supply.domain.repository;
+
+import org.eclipse.tractusx.puris.backend.supply.domain.model.Supply;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+public interface SupplyRepository<T extends Supply> extends JpaRepository<T, UUID> {
+
+    List<T> findByMaterial_OwnMaterialNumberAndPartner_Bpnl(String ownMaterialNumber, String bpnl);
+
+    boolean existsByMaterial_OwnMaterialNumberAndPartner_UuidAndStockLocationBPNSAndStockLocationBPNAAndDate(
+        String ownMaterialNumber, UUID partnerUuid, String stockLocationBpns, String stockLocationBpna, Date date);
+
+    /**
+     * @param supply the days of supply
+     * @return true, if days of supply for the same material, partner, location and date exist
+     */
+    default boolean existsByNaturalKey(T supply) {
+        return existsByMaterial_OwnMaterialNumberAndPartner_UuidAndStockLocationBPNSAndStockLocationBPNAAndDate(
+            supply.getMaterial().getOwnMaterialNumber(), supply.getPartner().getUuid(), supply.getStockLocationBPNS(),
+            supply.getStockLocationBPNA(), supply.getDate());
+    }
+}
@@ -58,17 +58,22 @@ public class CustomerSupplyService extends SupplyService<OwnCustomerSupply, Repo
     }
 
     @Override
-    protected List<Double> getAddedValues(String material, String partnerBpnl, String siteBpns, int numberOfDays) {
-        List<Double> ownDeliveries = ownDeliveryService.getQuantityForDays(material, partnerBpnl, siteBpns, DirectionCharacteristic.INBOUND, numberOfDays);
-        List<Double> reportedDeliveries = reportedDeliveryService.getQuantityForDays(material, partnerBpnl, siteBpns, DirectionCharacteristic.INBOUND, numberOfDays);
-        List<Double> deliveries = mergeDeliveries(ownDeliveries, reportedDeliveries);
-        return deliveries;
+    protected void collectAddedValues(String material, String partnerBpnl, DailyQuantities addedValues) {
+        var start = addedValues.getStart();
+        var end = addedValues.getEnd();
+        for (var delivery : ownDeliveryService.findAllByDateRange(material, partnerBpnl, DirectionCharacteristic.INBOUND, start, end)) {
+            addedValues.add(delivery.getDestinationBpns(), delivery.getDateOfArrival(), delivery.getQuantity());
+        }
+        for (var delivery : reportedDeliveryService.findAllByDateRange(material, partnerBpnl, DirectionCharacteristic.INBOUND, start, end)) {
+            addedValues.add(delivery.getDestinationBpns(), delivery.getDateOfArrival(), delivery.getQuantity());
+        }
     }
 
     @Override
-    protected List<Double> getConsumedValues(String material, String partnerBpnl, String siteBpns, int numberOfDays) {
-        List<Double> demands = demandService.getQuantityForDays(material, partnerBpnl, siteBpns, numberOfDays);
-        return demands;
+    protected void collectConsumedValues(String material, String partnerBpnl, DailyQuantities consumedValues) {
+        for (var demand : demandService.findAllByDateRange(material, partnerBpnl, consumedValues.getStart(), consumedValues.getEnd())) {
+            consumedValues.add(demand.getDemandLocationBpns(), demand.getDay(), demand.getQuantity());
+        }
     }
 
     /**
@@ -85,6 +90,7 @@ public class CustomerSupplyService extends SupplyService<OwnCustomerSupply, Repo
         return calculateDaysOfSupply(material, partnerBpnl, siteBpns, numberOfDays);
     }
     
+    @Override
     public final List<ReportedCustomerSupply> findAllByMaterialNumberAndPartnerBpnl(String ownMaterialNumber, String partnerBpnl) {
         return repository.findByMaterial_OwnMaterialNumberAndPartner_Bpnl(ownMaterialNumber, partnerBpnl);
     }
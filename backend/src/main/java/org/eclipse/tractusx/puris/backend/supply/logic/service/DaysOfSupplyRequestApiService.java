@@ -32,17 +32,13 @@ import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerServic
 import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
 import org.eclipse.tractusx.puris.backend.supply.domain.model.OwnCustomerSupply;
 import org.eclipse.tractusx.puris.backend.supply.domain.model.OwnSupplierSupply;
-import org.eclipse.tractusx.puris.backend.supply.domain.model.ReportedCustomerSupply;
-import org.eclipse.tractusx.puris.backend.supply.domain.model.ReportedSupplierSupply;
 import org.eclipse.tractusx.puris.backend.supply.logic.adapter.DaysOfSupplySammMapper;
 import org.eclipse.tractusx.puris.backend.supply.logic.dto.daysofsupplysamm.DaysOfSupply;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 @Service
 @Slf4j
@@ -61,8 +57,6 @@ public class DaysOfSupplyRequestApiService {
     private DaysOfSupplySammMapper sammMapper;
     @Autowired
     private ObjectMapper objectMapper;
-    @Autowired
-    private ModelMapper modelMapper;
 
     public DaysOfSupply handleDaysOfSupplySubmodelRequest(String bpnl, String materialNumberCx, DirectionCharacteristic direction) {
         Partner partner = partnerService.findByBpnl(bpnl);
@@ -84,10 +78,11 @@ public class DaysOfSupplyRequestApiService {
 
         var sites = partnerService.getOwnPartnerEntity().getSites();
         if (direction == DirectionCharacteristic.OUTBOUND) {
+            var supplierSupplies = supplierSupplyService.calculateDaysOfSupply(material.getOwnMaterialNumber(),
+                partner.getBpnl(), sites.stream().map(site -> site.getBpns()).toList(), 28);
             List<List<OwnSupplierSupply>> suppliesBySite = new ArrayList<>();
             for (var site : sites) {
-                var supplierSupply = supplierSupplyService.calculateSupplierDaysOfSupply(
-                        material.getOwnMaterialNumber(), partner.getBpnl(), site.getBpns(), 28);
+                var supplierSupply = supplierSupplies.get(site.getBpns());
                 supplierSupply.forEach(supply -> {
                     supply.setStockLocationBPNS(site.getBpns());
                     supply.setStockLocationBPNA(site.getAddresses().first().getBpna());
@@ -96,10 +91,11 @@ public class DaysOfSupplyRequestApiService {
             }
             return sammMapper.supplierSupplyToSamm(suppliesBySite, partner, material);
         } else {
+            var customerSupplies = customerSupplyService.calculateDaysOfSupply(material.getOwnMaterialNumber(),
+                partner.getBpnl(), sites.stream().map(site -> site.getBpns()).toList(), 28);
             List<List<OwnCustomerSupply>> suppliesBySite = new ArrayList<>();
             for (var site : sites) {
-                var customerSupply = customerSupplyService.calculateCustomerDaysOfSupply(
-                    material.getOwnMaterialNumber(), partner.getBpnl(), site.getBpns(), 28);
+                var customerSupply = customerSupplies.get(site.getBpns());
                 customerSupply.forEach(supply -> {
                     supply.setStockLocationBPNS(site.getBpns());
                     supply.setStockLocationBPNA(site.getAddresses().first().getBpna());
@@ -110,7 +106,10 @@ public class DaysOfSupplyRequestApiService {
         }
     }
 
-    public void doReportedDaysOfSupplyRequest(Partner partner, Material material, DirectionCharacteristic direction) {
+    /**
+     * @return true, if the partner's data was received and stored
+     */
+    public boolean doReportedDaysOfSupplyRequest(Partner partner, Material material, DirectionCharacteristic direction) {
         try {
             var mpr = mprService.find(material, partner);
             if (mpr.getPartnerCXNumber() == null) {
@@ -127,16 +126,11 @@ public class DaysOfSupplyRequestApiService {
                     if (!partner.equals(supplyPartner) || !material.equals(supplyMaterial)) {
                         log.warn("Received inconsistent data from " + partner.getBpnl() + "\n"
                                 + reportedCustomerSupplies);
-                        return;
+                        return false;
                     }
                 }
-                var oldSupplies = customerSupplyService.findAllByFilters(Optional.of(material.getOwnMaterialNumber()), Optional.of(partner.getBpnl()));
-                for (var oldSupply : oldSupplies) {
-                customerSupplyService.deleteReportedSupply(oldSupply);
-                }
-                for (var newSupply : reportedCustomerSupplies) {
-                    customerSupplyService.createReportedSupply(modelMapper.map(newSupply, ReportedCustomerSupply.class));
-                }
+                var result = customerSupplyService.replaceAllReportedSupplies(partner, material, reportedCustomerSupplies);
+                log.info("Updated ReportedCustomerSupply for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl() + ": " + result);
             } else {
                 var reportedSupplierSupplies = sammMapper.sammToReportedSupplierSupply(samm, partner);
                 for (var reportedSupplierSupply : reportedSupplierSupplies) {
@@ -145,20 +139,16 @@ public class DaysOfSupplyRequestApiService {
                     if (!partner.equals(supplyPartner) || !material.equals(supplyMaterial)) {
                         log.warn("Received inconsistent data from " + partner.getBpnl() + "\n"
                                 + reportedSupplierSupplies);
-                        return;
+                        return false;
                     }
                 }
-                var oldSupplies = supplierSupplyService.findAllByFilters(Optional.of(material.getOwnMaterialNumber()), Optional.of(partner.getBpnl()));
-                for (var oldSupply : oldSupplies) {
-                supplierSupplyService.deleteReportedSupply(oldSupply);
-                }
-                for (var newSupply : reportedSupplierSupplies) {
-                    supplierSupplyService.createReportedSupply(modelMapper.map(newSupply, ReportedSupplierSupply.class));
-                }
+                var result = supplierSupplyService.replaceAllReportedSupplies(partner, material, reportedSupplierSupplies);
+                log.info("Updated ReportedSupplierSupply for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl() + ": " + result);
             }
-            log.info("Updated ReportedSupply for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl());
+            return true;
         } catch (Exception e) {
             log.error("Error in ReportedDaysOfSupply request for " + material.getOwnMaterialNumber() + " and partner " + partner.getBpnl(), e);
+            return false;
         }
     }
 }
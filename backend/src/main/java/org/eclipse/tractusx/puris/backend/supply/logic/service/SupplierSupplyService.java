@@ -58,17 +58,22 @@ public class SupplierSupplyService extends SupplyService<OwnSupplierSupply, Repo
     }
 
     @Override
-    protected List<Double> getAddedValues(String material, String partnerBpnl, String siteBpns, int numberOfDays) {
-        List<Double> productions = productionService.getQuantityForDays(material, partnerBpnl, siteBpns, numberOfDays);
-        return productions;
+    protected void collectAddedValues(String material, String partnerBpnl, DailyQuantities addedValues) {
+        for (var production : productionService.findAllByDateRange(material, partnerBpnl, addedValues.getStart(), addedValues.getEnd())) {
+            addedValues.add(production.getProductionSiteBpns(), production.getEstimatedTimeOfCompletion(), production.getQuantity());
+        }
     }
 
     @Override
-    protected List<Double> getConsumedValues(String material, String partnerBpnl, String siteBpns, int numberOfDays) {
-        List<Double> ownDeliveries = ownDeliveryService.getQuantityForDays(material, partnerBpnl, siteBpns, DirectionCharacteristic.OUTBOUND, numberOfDays);
-        List<Double> reportedDeliveries = reportedDeliveryService.getQuantityForDays(material, partnerBpnl, siteBpns, DirectionCharacteristic.OUTBOUND, numberOfDays);
-        List<Double> deliveries = mergeDeliveries(ownDeliveries, reportedDeliveries);
-        return deliveries;
+    protected void collectConsumedValues(String material, String partnerBpnl, DailyQuantities consumedValues) {
+        var start = consumedValues.getStart();
+        var end = consumedValues.getEnd();
+        for (var delivery : ownDeliveryService.findAllByDateRange(material, partnerBpnl, DirectionCharacteristic.OUTBOUND, start, end)) {
+            consumedValues.add(delivery.getOriginBpns(), delivery.getDateOfDeparture(), delivery.getQuantity());
+        }
+        for (var delivery : reportedDeliveryService.findAllByDateRange(material, partnerBpnl, DirectionCharacteristic.OUTBOUND, start, end)) {
+            consumedValues.add(delivery.getOriginBpns(), delivery.getDateOfDeparture(), delivery.getQuantity());
+        }
     }
 
     /**
@@ -85,6 +90,7 @@ public class SupplierSupplyService extends SupplyService<OwnSupplierSupply, Repo
         return calculateDaysOfSupply(material, partnerBpnl, siteBpns, numberOfDays);
     }
 
+    @Override
     public final List<ReportedSupplierSupply> findAllByMaterialNumberAndPartnerBpnl(String ownMaterialNumber, String partnerBpnl) {
         return repository.findByMaterial_OwnMaterialNumberAndPartner_Bpnl(ownMaterialNumber, partnerBpnl);
     }
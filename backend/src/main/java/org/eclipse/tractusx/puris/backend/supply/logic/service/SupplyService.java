@@ -21,37 +21,47 @@
 package org.eclipse.tractusx.puris.backend.supply.logic.service;
 
 import java.time.LocalDate;
-import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 import java.util.function.Function;
 
 import javax.management.openmbean.KeyAlreadyExistsException;
 
+import org.eclipse.tractusx.puris.backend.common.util.ReportedDataReconciler;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
 import org.eclipse.tractusx.puris.backend.stock.domain.model.ItemStock;
 import org.eclipse.tractusx.puris.backend.stock.logic.service.ItemStockService;
 import org.eclipse.tractusx.puris.backend.supply.domain.model.Supply;
+import org.eclipse.tractusx.puris.backend.supply.domain.repository.SupplyRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.jpa.repository.JpaRepository;
 
-public abstract class SupplyService<T extends Supply, TReported extends Supply, TRepository extends JpaRepository<TReported, UUID>, TStock extends ItemStock, TStockService extends ItemStockService<TStock>> {
+public abstract class SupplyService<T extends Supply, TReported extends Supply, TRepository extends SupplyRepository<TReported>, TStock extends ItemStock, TStockService extends ItemStockService<TStock>> {
     @Autowired
     private TStockService stockService;
     @Autowired
     private MaterialService materialService;
     @Autowired
     protected PartnerService partnerService;
+    @Autowired
+    private ReportedDataReconciler reconciler;
     protected final TRepository repository;
 
     protected abstract T createSupplyInstance();
-    protected abstract List<Double> getAddedValues(String material, String partnerBpnl, String siteBpns, int numberOfDays);
-    protected abstract List<Double> getConsumedValues(String material, String partnerBpnl, String siteBpns, int numberOfDays);
+    protected abstract void collectAddedValues(String material, String partnerBpnl, DailyQuantities addedValues);
+    protected abstract void collectConsumedValues(String material, String partnerBpnl, DailyQuantities consumedValues);
     protected abstract boolean validate(TReported daysOfSupply);
+    public abstract List<TReported> findAllByMaterialNumberAndPartnerBpnl(String ownMaterialNumber, String partnerBpnl);
 
     protected final Function<TReported, Boolean> validator;
 
@@ -66,7 +76,7 @@ public abstract class SupplyService<T extends Supply, TReported extends Supply,
         if (!validator.apply(supply)) {
             throw new IllegalArgumentException("Invalid days of supply");
         }
-        if (repository.findAll().stream().anyMatch(d -> d.equals(supply))) {
+        if (repository.existsByNaturalKey(supply)) {
             throw new KeyAlreadyExistsException("Supply already exists");
         }
         return repository.save(supply);
@@ -76,6 +86,28 @@ public abstract class SupplyService<T extends Supply, TReported extends Supply,
         repository.delete(entity);
     }
 
+    /**
+     * Replaces all reported days of supply of the given partner and material with the given ones.
+     * <p>
+     * Entries are matched by their location and date. Only entries that were added, changed or
+     * removed are written, in one transaction. Invalid entries are skipped.
+     *
+     * @param partner  the partner
+     * @param material the material
+     * @param supplies the complete list of current days of supply of this partner and material
+     * @return the number of affected entries
+     */
+    public final ReportedDataReconciler.Result replaceAllReportedSupplies(Partner partner, Material material, List<TReported> supplies) {
+        List<TReported> validSupplies = supplies.stream().filter(validator::apply).toList();
+        return reconciler.reconcile(repository,
+            () -> findAllByMaterialNumberAndPartnerBpnl(material.getOwnMaterialNumber(), partner.getBpnl()),
+            validSupplies,
+            supply -> Arrays.asList(supply.getStockLocationBPNS(), supply.getStockLocationBPNA(),
+                supply.getDate() == null ? null : supply.getDate().getTime()),
+            Supply::getDaysOfSupply,
+            (stored, received) -> stored.setDaysOfSupply(received.getDaysOfSupply()));
+    }
+
     /**
      * Calculates the days of supply for a given material, partner, and site over a specified number of days.
      * It combines added values (deliveries/productions), and consumed values (deliveries/demands) to forecast the number of days the stock will last.
@@ -87,77 +119,79 @@ public abstract class SupplyService<T extends Supply, TReported extends Supply,
      * @return a list of {@link Supply} objects, each containing the calculated days of supply for a specific date.
      */
     public final List<T> calculateDaysOfSupply(String material, String partnerBpnl, String siteBpns, int numberOfDays) {
-        List<T> supplyList = new ArrayList<>();
-        LocalDate localDate = LocalDate.now();
-        Partner partner = partnerService.findByBpnl(partnerBpnl);
-
-        List<Double> addedValues = getAddedValues(material, partnerBpnl, siteBpns, numberOfDays);
-        List<Double> consumedValues = getConsumedValues(material, partnerBpnl, siteBpns, numberOfDays);
-        double stockQuantity = stockService.getInitialStockQuantity(material, partnerBpnl);
-
-        for (int i = 0; i < numberOfDays; i++) {
-            Date date = Date.from(localDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
-
-            var remainingAddedValues = addedValues.subList(i, addedValues.size());
-            var remainingConsumedValues = consumedValues.subList(i, consumedValues.size());
-            double daysOfSupply = getDaysOfSupply(stockQuantity, remainingAddedValues, remainingConsumedValues);
-
-            T supply = createSupplyInstance();
-            supply.setMaterial(materialService.findByOwnMaterialNumber(material));
-            supply.setDate(date);
-            supply.setDaysOfSupply(daysOfSupply);
-            supply.setPartner(partner);
-            supplyList.add(supply);
-
-            stockQuantity = stockQuantity - consumedValues.get(i) + addedValues.get(i);
-
-            localDate = localDate.plusDays(1);
-        }
-
-        return supplyList;
+        return calculateDaysOfSupply(material, partnerBpnl, List.of(siteBpns), numberOfDays).get(siteBpns);
     }
 
     /**
-     * Merges own and reported deliveries into a single list.
-     * @param list1 Own deliveries
-     * @param list2 Reported deliveries
-     * @return a new list containing the summed delivery quantities from the input lists.
+     * Calculates the days of supply for a given material and partner for several sites at once.
+     * <p>
+     * The added and consumed values of the whole period are loaded once for all sites and summed up
+     * per site and day, before the days of supply are calculated for each site.
+     *
+     * @param material the material identifier for which the days of supply are being calculated.
+     * @param partnerBpnl The bpnl of the partner.
+     * @param sites the bpns of the sites where the added values and consumed values are recorded.
+     * @param numberOfDays the number of days over which the forecast should be calculated.
+     * @return a map from the site's bpns to the list of {@link Supply} objects for that site.
      */
-    public static List<Double> mergeDeliveries(List<Double> list1, List<Double> list2) {
-        if (list1.size() != list2.size()) {
-            throw new IllegalArgumentException("Lists must be of the same length");
-        }
+    public final Map<String, List<T>> calculateDaysOfSupply(String material, String partnerBpnl, Collection<String> sites, int numberOfDays) {
+        // the days of the forecast and the days of the added and consumed values are all cut in UTC
+        LocalDate firstDay = LocalDate.now(ZoneOffset.UTC);
+        DailyQuantities addedValues = new DailyQuantities(firstDay, numberOfDays, sites);
+        DailyQuantities consumedValues = new DailyQuantities(firstDay, numberOfDays, sites);
+        collectAddedValues(material, partnerBpnl, addedValues);
+        collectConsumedValues(material, partnerBpnl, consumedValues);
 
-        List<Double> mergedList = new ArrayList<>(list1.size());
+        Partner partner = partnerService.findByBpnl(partnerBpnl);
+        Material materialEntity = materialService.findByOwnMaterialNumber(material);
+        double initialStockQuantity = stockService.getInitialStockQuantity(material, partnerBpnl);
 
-        for (int i = 0; i < list1.size(); i++) {
-            mergedList.add(list1.get(i) + list2.get(i));
+        Date[] dates = new Date[numberOfDays];
+        for (int i = 0; i < numberOfDays; i++) {
+            dates[i] = Date.from(firstDay.plusDays(i).atStartOfDay(ZoneOffset.UTC).toInstant());
         }
 
-        return mergedList;
+        Map<String, List<T>> suppliesBySite = new LinkedHashMap<>();
+        for (String site : sites) {
+            double[] added = addedValues.get(site);
+            double[] consumed = consumedValues.get(site);
+            double stockQuantity = initialStockQuantity;
+            List<T> supplyList = new ArrayList<>(numberOfDays);
+            for (int i = 0; i < numberOfDays; i++) {
+                T supply = createSupplyInstance();
+                supply.setMaterial(materialEntity);
+                supply.setDate(dates[i]);
+                supply.setDaysOfSupply(getDaysOfSupply(stockQuantity, added, consumed, i));
+                supply.setPartner(partner);
+                supplyList.add(supply);
+
+                stockQuantity = stockQuantity - consumed[i] + added[i];
+            }
+            suppliesBySite.put(site, supplyList);
+        }
+        return suppliesBySite;
     }
 
     /**
-     * Calculates the number of days of supply based on the current stock quantity and a list of consumed values.
+     * Calculates the number of days of supply based on the current stock quantity and the values of the following days.
      * @param stockQuantity Current stock amount
-     * @param addedValues Remaining list of added values for current iteration
-     * @param consumedValues Remaining list of consumed values for current iteration
+     * @param addedValues Added values per day
+     * @param consumedValues Consumed values per day
+     * @param firstDay Index of the current day
      * @return The number of days of supply that the stock can cover.
      */
-    private final double getDaysOfSupply(double stockQuantity, List<Double> addedValues, List<Double> consumedValues) {
+    private double getDaysOfSupply(double stockQuantity, double[] addedValues, double[] consumedValues, int firstDay) {
         double daysOfSupply = 0;
 
-        for (int i = 0; i < addedValues.size(); i++) {
-            Double addedValue = addedValues.get(i);
-            Double consumedValue = consumedValues.get(i);
+        for (int i = firstDay; i < addedValues.length; i++) {
+            double addedValue = addedValues[i];
+            double consumedValue = consumedValues[i];
 
             if ((stockQuantity + addedValue - consumedValue) >= 0) {
                 daysOfSupply += 1;
                 stockQuantity = stockQuantity + addedValue - consumedValue;
-            } else if ((stockQuantity + addedValue - consumedValue) < 0 && stockQuantity > 0) {
-                double fractional = (stockQuantity + addedValue) / consumedValue;
-                daysOfSupply += fractional;
-                stockQuantity = stockQuantity + addedValue - consumedValue;
+            } else if (stockQuantity > 0) {
+                daysOfSupply += (stockQuantity + addedValue) / consumedValue;
                 break;
             } else {
                 break;
@@ -165,4 +199,67 @@ public abstract class SupplyService<T extends Supply, TReported extends Supply,
         }
         return daysOfSupply;
     }
+
+    /**
+     * Sums up quantities per site and day for a period of days.
+     */
+    protected static final class DailyQuantities {
+        private final LocalDate firstDay;
+        private final int numberOfDays;
+        private final Map<String, double[]> quantitiesBySite = new HashMap<>();
+
+        /**
+         * @param firstDay     the first day of the period (UTC)
+         * @param numberOfDays the length of the period
+         * @param sites        the sites whose quantities are collected, quantities for other sites are ignored
+         */
+        DailyQuantities(LocalDate firstDay, int numberOfDays, Collection<String> sites) {
+            this.firstDay = firstDay;
+            this.numberOfDays = numberOfDays;
+            for (String site : sites) {
+                quantitiesBySite.put(site, new double[numberOfDays]);
+            }
+        }
+
+        /**
+         * @return the start of the period (inclusive)
+         */
+        Date getStart() {
+            return Date.from(firstDay.atStartOfDay(ZoneOffset.UTC).toInstant());
+        }
+
+        /**
+         * @return the end of the period (exclusive)
+         */
+        Date getEnd() {
+            return Date.from(firstDay.plusDays(numberOfDays).atStartOfDay(ZoneOffset.UTC).toInstant());
+        }
+
+        /**
+         * Adds the quantity to the day of the given date, if the site and date are within the collected range.
+         *
+         * @param siteBpns the site
+         * @param date     the date
+         * @param quantity the quantity
+         */
+        void add(String siteBpns, Date date, double quantity) {
+            double[] quantities = quantitiesBySite.get(siteBpns);
+            if (quantities == null || date == null) {
+                return;
+            }
+            LocalDate day = date.toInstant().atOffset(ZoneOffset.UTC).toLocalDate();
+            long index = ChronoUnit.DAYS.between(firstDay, day);
+            if (index >= 0 && index < numberOfDays) {
+                quantities[(int) index] += quantity;
+            }
+        }
+
+        /**
+         * @param siteBpns the site
+         * @return the quantities per day for this site
+         */
+        double[] get(String siteBpns) {
+            return quantitiesBySite.get(siteBpns);
+        }
+    }
 }
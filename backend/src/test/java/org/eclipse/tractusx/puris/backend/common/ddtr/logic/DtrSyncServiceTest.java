@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.ddtr.logic;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.tractusx.puris.backend.common.ddtr.domain.model.DigitalTwinMapping;
+import org.eclipse.tractusx.puris.backend.common.ddtr.logic.util.DtrRequestBodyBuilder;
+import org.eclipse.tractusx.puris.backend.common.logic.service.LeaseService;
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
+import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.MaterialPartnerRelationRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.MaterialRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class DtrSyncServiceTest {
+
+    @Mock
+    private DtrAdapterService dtrAdapterService;
+
+    @Mock
+    private DtrRequestBodyBuilder dtrRequestBodyBuilder;
+
+    @Mock
+    private DigitalTwinMappingService digitalTwinMappingService;
+
+    @Mock
+    private MaterialPartnerRelationRepository mprRepository;
+
+    @Mock
+    private MaterialRepository materialRepository;
+
+    @Mock
+    private VariablesService variablesService;
+
+    @Mock
+    private LeaseService leaseService;
+
+    @Mock
+    private BoundedExecutorService executorService;
+
+    @InjectMocks
+    private DtrSyncService dtrSyncService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String PRODUCT_TWIN_ID = "urn:uuid:0b1c7e3c-7a6f-4a34-9a9c-4e6d6c0e5d01";
+
+    private static final String PARTNER_CX_ID = "urn:uuid:2f9a8d4e-1b3c-4f5a-8e7d-6c5b4a392817";
+
+    private AutoCloseable mocks;
+
+    @BeforeEach
+    void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        when(variablesService.getDtrSyncWindow()).thenReturn(50L);
+        // run the submitted tasks right away
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(executorService).execute(any(Runnable.class));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mocks.close();
+    }
+
+    @Test
+    void manyNewCustomers_relationChanged_writesProductShellOnce() throws InterruptedException {
+        // given
+        Material product = material("MNR-PRODUCT", false, true);
+        List<MaterialPartnerRelation> customers = List.of(
+            customer(product, "BPNL1111111111ZZ"),
+            customer(product, "BPNL2222222222ZZ"),
+            customer(product, "BPNL3333333333ZZ"));
+        when(mprRepository.findAllByMaterial_OwnMaterialNumberAndPartnerBuysMaterialIsTrue("MNR-PRODUCT")).thenReturn(customers);
+        when(dtrAdapterService.updateProduct(product, customers)).thenReturn(204);
+
+        // when
+        customers.forEach(mpr -> dtrSyncService.relationChanged(mpr, false));
+
+        // then
+        verify(dtrAdapterService, timeout(1000)).updateProduct(product, customers);
+        Thread.sleep(200);
+        verify(dtrAdapterService, times(1)).updateProduct(any(), any());
+        verify(dtrAdapterService, never()).registerProductAtDtr(any(), any());
+        var statistics = dtrSyncService.getStatistics();
+        assertEquals(3, statistics.changes());
+        assertEquals(2, statistics.coalesced());
+        assertEquals(1, statistics.written());
+        assertEquals(0, statistics.pending());
+    }
+
+    @Test
+    void unknownProductShell_relationChanged_registersProductShell() {
+        // given
+        Material product = material("MNR-PRODUCT", false, true);
+        List<MaterialPartnerRelation> customers = List.of(customer(product, "BPNL1111111111ZZ"));
+        when(mprRepository.findAllByMaterial_OwnMaterialNumberAndPartnerBuysMaterialIsTrue("MNR-PRODUCT")).thenReturn(customers);
+        when(dtrAdapterService.updateProduct(product, customers)).thenReturn(404);
+        when(dtrAdapterService.registerProductAtDtr(product, customers)).thenReturn(201);
+
+        // when
+        dtrSyncService.relationChanged(customers.get(0), false);
+
+        // then
+        verify(dtrAdapterService, timeout(1000)).registerProductAtDtr(product, customers);
+    }
+
+    @Test
+    void supplierWithoutCxId_relationChanged_postponesMaterialShell() {
+        // given
+        Material material = material("MNR-MATERIAL", true, false);
+        MaterialPartnerRelation supplier = supplier(material, "BPNL1111111111ZZ", null);
+        when(mprRepository.findById(supplier.getKey())).thenReturn(Optional.of(supplier));
+
+        // when
+        dtrSyncService.relationChanged(supplier, false);
+
+        // then
+        verify(mprRepository, timeout(1000)).findById(supplier.getKey());
+        verify(dtrAdapterService, never()).updateMaterialAtDtr(any());
+        verify(dtrAdapterService, never()).registerMaterialAtDtr(any());
+    }
+
+    @Test
+    void shellsAtDtr_reconcile_writesDeviatingAndMissingShellsOnly() {
+        // given
+        Material product = material("MNR-PRODUCT", false, true);
+        List<MaterialPartnerRelation> customers = List.of(customer(product, "BPNL1111111111ZZ"));
+        Material material = material("MNR-MATERIAL", true, false);
+        MaterialPartnerRelation supplier = supplier(material, "BPNL2222222222ZZ", PARTNER_CX_ID);
+        when(mprRepository.findAllByPartnerBuysMaterialIsTrue()).thenReturn(customers);
+        when(mprRepository.findAllByPartnerSuppliesMaterialIsTrue()).thenReturn(List.of(supplier));
+        when(digitalTwinMappingService.get(product)).thenReturn(new DigitalTwinMapping("MNR-PRODUCT", PRODUCT_TWIN_ID));
+        when(dtrRequestBodyBuilder.createProductRegistrationRequestBody(product, PRODUCT_TWIN_ID, customers))
+            .thenReturn(descriptor(PRODUCT_TWIN_ID, "MNR-PRODUCT"));
+        when(dtrRequestBodyBuilder.createMaterialRegistrationRequestBody(supplier))
+            .thenReturn(descriptor(PARTNER_CX_ID, "MNR-MATERIAL"));
+        // the product shell is up to date, the material shell is missing
+        when(dtrAdapterService.getAllShellDescriptors()).thenReturn(Map.of(PRODUCT_TWIN_ID, descriptor(PRODUCT_TWIN_ID, "MNR-PRODUCT")));
+        when(dtrAdapterService.registerMaterialAtDtr(supplier)).thenReturn(201);
+
+        // when
+        var result = dtrSyncService.reconcile();
+
+        // then
+        assertEquals(new DtrSyncService.ReconciliationResult(1, 0, 1, 0), result);
+        verify(dtrAdapterService, never()).updateProduct(any(), any());
+        verify(dtrAdapterService, never()).registerProductAtDtr(any(), any());
+        verify(dtrAdapterService).registerMaterialAtDtr(supplier);
+    }
+
+    @Test
+    void deviatingShellAtDtr_reconcile_updatesShell() {
+        // given
+        Material product = material("MNR-PRODUCT", false, true);
+        List<MaterialPartnerRelation> customers = List.of(customer(product, "BPNL1111111111ZZ"));
+        when(mprRepository.findAllByPartnerBuysMaterialIsTrue()).thenReturn(customers);
+        when(mprRepository.findAllByPartnerSuppliesMaterialIsTrue()).thenReturn(List.of());
+        when(digitalTwinMappingService.get(product)).thenReturn(new DigitalTwinMapping("MNR-PRODUCT", PRODUCT_TWIN_ID));
+        when(dtrRequestBodyBuilder.createProductRegistrationRequestBody(product, PRODUCT_TWIN_ID, customers))
+            .thenReturn(descriptor(PRODUCT_TWIN_ID, "MNR-PRODUCT"));
+        when(dtrAdapterService.getAllShellDescriptors()).thenReturn(Map.of(PRODUCT_TWIN_ID, descriptor(PRODUCT_TWIN_ID, "MNR-OUTDATED")));
+        when(dtrAdapterService.updateProduct(product, customers)).thenReturn(204);
+
+        // when
+        var result = dtrSyncService.reconcile();
+
+        // then
+        assertEquals(new DtrSyncService.ReconciliationResult(0, 1, 0, 0), result);
+        verify(dtrAdapterService).updateProduct(product, customers);
+    }
+
+    @Test
+    void leaseHeldByOtherReplica_scheduledReconciliation_skipsReconciliation() {
+        // given
+        when(variablesService.isDtrReconciliationEnabled()).thenReturn(true);
+        when(variablesService.getDtrReconciliationInterval()).thenReturn(3600000L);
+        when(leaseService.tryAcquire(eq(DtrSyncService.LEASE), anyLong())).thenReturn(false);
+
+        // when
+        dtrSyncService.scheduledReconciliation();
+
+        // then
+        verify(dtrAdapterService, never()).getAllShellDescriptors();
+    }
+
+    private static Material material(String ownMaterialNumber, boolean materialFlag, boolean productFlag) {
+        return Material.builder()
+            .ownMaterialNumber(ownMaterialNumber)
+            .materialFlag(materialFlag)
+            .productFlag(productFlag)
+            .build();
+    }
+
+    private static Partner partner(String bpnl) {
+        Partner partner = new Partner();
+        partner.setUuid(UUID.randomUUID());
+        partner.setBpnl(bpnl);
+        return partner;
+    }
+
+    private static MaterialPartnerRelation customer(Material product, String bpnl) {
+        return new MaterialPartnerRelation(product, partner(bpnl), "PMNR-" + bpnl, false, true);
+    }
+
+    private static MaterialPartnerRelation supplier(Material material, String bpnl, String partnerCXNumber) {
+        var mpr = new MaterialPartnerRelation(material, partner(bpnl), "PMNR-" + bpnl, true, false);
+        mpr.setPartnerCXNumber(partnerCXNumber);
+        return mpr;
+    }
+
+    private JsonNode descriptor(String id, String manufacturerPartId) {
+        var body = objectMapper.createObjectNode();
+        body.put("id", id);
+        body.put("globalAssetId", id);
+        var specificAssetId = body.putArray("specificAssetIds").addObject();
+        specificAssetId.put("name", "manufacturerPartId");
+        specificAssetId.put("value", manufacturerPartId);
+        return body;
+    }
+}
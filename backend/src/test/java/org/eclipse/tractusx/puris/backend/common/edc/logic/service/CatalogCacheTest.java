@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+public class CatalogCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final CatalogCache.Key key = new CatalogCache.Key("https://partner.example/api/v1/dsp", "BPNL1234567890ZZ",
+        Map.of("https://w3id.org/catenax/ontology/common#version", "3.0"));
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @Mock
+    private VariablesService variablesService;
+
+    @InjectMocks
+    private CatalogCache catalogCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(variablesService.getCatalogCacheTtl()).thenReturn(60_000L);
+    }
+
+    @Test
+    void cachedCatalog_get_sendsOneRequest() throws Exception {
+        // when
+        JsonNode first = catalogCache.get(key, this::catalog);
+        JsonNode second = catalogCache.get(new CatalogCache.Key(key.dspUrl(), key.partnerBpnl(), Map.copyOf(key.filter())), this::catalog);
+
+        // then
+        assertEquals(first, second);
+        assertEquals(1, requests.get());
+        assertEquals(1, catalogCache.getStatistics().hits());
+    }
+
+    @Test
+    void failedRequest_get_isNotCached() throws Exception {
+        // given
+        assertThrows(IOException.class, () -> catalogCache.get(key, () -> {
+            throw new IOException("Catalog request failed");
+        }));
+
+        // when
+        catalogCache.get(key, this::catalog);
+
+        // then
+        assertEquals(1, requests.get());
+        assertEquals(2, catalogCache.getStatistics().misses());
+    }
+
+    @Test
+    void concurrentRequests_get_shareOneRequest() throws Exception {
+        // given
+        CountDownLatch requestStarted = new CountDownLatch(1);
+        CountDownLatch releaseRequest = new CountDownLatch(1);
+        var firstCaller = CompletableFuture.supplyAsync(() -> {
+            try {
+                return catalogCache.get(key, () -> {
+                    requestStarted.countDown();
+                    releaseRequest.await(5, TimeUnit.SECONDS);
+                    return catalog();
+                });
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertTrue(requestStarted.await(5, TimeUnit.SECONDS));
+
+        // when
+        var secondCaller = CompletableFuture.supplyAsync(() -> {
+            try {
+                return catalogCache.get(key, this::catalog);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        while (catalogCache.getStatistics().coalesced() == 0) {
+            Thread.sleep(10);
+        }
+        releaseRequest.countDown();
+
+        // then
+        assertEquals(firstCaller.get(5, TimeUnit.SECONDS), secondCaller.get(5, TimeUnit.SECONDS));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void invalidatedPartner_invalidateAll_removesCatalogs() throws Exception {
+        // given
+        catalogCache.get(key, this::catalog);
+
+        // when
+        int removed = catalogCache.invalidateAll(key.partnerBpnl());
+        catalogCache.get(key, this::catalog);
+
+        // then
+        assertEquals(1, removed);
+        assertEquals(2, requests.get());
+    }
+
+    private JsonNode catalog() throws IOException {
+        requests.incrementAndGet();
+        return objectMapper.readTree("{\"@id\": \"catalog-1\", \"@type\": \"dcat:Catalog\", \"dcat:dataset\": []}");
+    }
+}
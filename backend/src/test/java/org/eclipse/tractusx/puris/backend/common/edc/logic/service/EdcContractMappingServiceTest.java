@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
+
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.ContractMapping;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.ItemStockContractMapping;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.repository.*;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class EdcContractMappingServiceTest {
+
+    private static final String PARTNER_BPNL = "BPNL1234567890ZZ";
+
+    private static final String DSP_URL = "https://partner-edc:8184/api/v1/dsp";
+
+    @Mock
+    private DtrContractMappingRepository dtrContractMappingRepository;
+
+    @Mock
+    private ItemStockContractMappingRepository itemStockContractMappingRepository;
+
+    @Mock
+    private ProductionContractMappingRepository productionContractMappingRepository;
+
+    @Mock
+    private DemandContractMappingRepository demandContractMappingRepository;
+
+    @Mock
+    private DeliveryContractMappingRepository deliveryContractMappingRepository;
+
+    @Mock
+    private DemandAndCapacityNotificationContractMappingRepository demandAndCapacityNotificationContractMappingRepository;
+
+    @Mock
+    private DaysOfSupplyContractMappingRepository daysOfSupplyContractMappingRepository;
+
+    @Mock
+    private PartTypeContractMappingRepository partTypeContractMappingRepository;
+
+    @InjectMocks
+    private EdcContractMappingService edcContractMappingService;
+
+    private Partner partner;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doReturn(ItemStockContractMapping.class).when(itemStockContractMappingRepository).getType();
+        when(itemStockContractMappingRepository.checkedSave(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        partner = new Partner();
+        partner.setBpnl(PARTNER_BPNL);
+    }
+
+    @Test
+    void storedMapping_getContractId_readsFromMemory() {
+        // given
+        when(itemStockContractMappingRepository.findAll()).thenReturn(List.of(mapping(Map.of("asset-1\n@\n" + DSP_URL, "contract-1"))));
+        edcContractMappingService.loadContractMappings();
+
+        // when
+        String contractId = edcContractMappingService.getContractId(partner, AssetType.ITEM_STOCK_SUBMODEL, "asset-1", DSP_URL);
+
+        // then
+        assertEquals("contract-1", contractId);
+        verify(itemStockContractMappingRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void putContractId_getContractId_writesThroughAndReadsFromMemory() {
+        // given
+        when(itemStockContractMappingRepository.findById(PARTNER_BPNL)).thenReturn(Optional.empty());
+
+        // when
+        edcContractMappingService.putContractId(partner, AssetType.ITEM_STOCK_SUBMODEL, "asset-1", DSP_URL, "contract-1");
+        String contractId = edcContractMappingService.getContractId(partner, AssetType.ITEM_STOCK_SUBMODEL, "asset-1", DSP_URL);
+
+        // then
+        assertEquals("contract-1", contractId);
+        var captor = ArgumentCaptor.forClass(ContractMapping.class);
+        verify(itemStockContractMappingRepository).checkedSave(captor.capture());
+        assertEquals("contract-1", captor.getValue().getAssetToContractMapping().get("asset-1\n@\n" + DSP_URL));
+        verify(itemStockContractMappingRepository, times(1)).findById(PARTNER_BPNL);
+    }
+
+    @Test
+    void invalidatedContractId_getContractId_returnsNull() {
+        // given
+        var stored = mapping(Map.of("asset-1\n@\n" + DSP_URL, "contract-1"));
+        when(itemStockContractMappingRepository.findAll()).thenReturn(List.of(stored));
+        when(itemStockContractMappingRepository.findById(PARTNER_BPNL)).thenReturn(Optional.of(stored));
+        edcContractMappingService.loadContractMappings();
+
+        // when
+        edcContractMappingService.invalidateContractId(partner, AssetType.ITEM_STOCK_SUBMODEL, "asset-1", DSP_URL);
+        String contractId = edcContractMappingService.getContractId(partner, AssetType.ITEM_STOCK_SUBMODEL, "asset-1", DSP_URL);
+
+        // then
+        assertNull(contractId);
+        assertTrue(stored.getAssetToContractMapping().isEmpty());
+        verify(itemStockContractMappingRepository).checkedSave(stored);
+    }
+
+    @Test
+    void contractOfOtherInstance_getContractId_readsDatabaseOnce() {
+        // given
+        when(itemStockContractMappingRepository.findById(PARTNER_BPNL))
+            .thenReturn(Optional.of(mapping(Map.of("asset-1\n@\n" + DSP_URL, "contract-1"))));
+
+        // when
+        edcContractMappingService.getContractId(partner, AssetType.ITEM_STOCK_SUBMODEL, "asset-1", DSP_URL);
+        String contractId = edcContractMappingService.getContractId(partner, AssetType.ITEM_STOCK_SUBMODEL, "asset-1", DSP_URL);
+
+        // then
+        assertEquals("contract-1", contractId);
+        verify(itemStockContractMappingRepository, times(1)).findById(PARTNER_BPNL);
+    }
+
+    private ItemStockContractMapping mapping(Map<String, String> assetToContractMapping) {
+        var mapping = new ItemStockContractMapping();
+        mapping.setPartnerBpnl(PARTNER_BPNL);
+        mapping.setAssetToContractMapping(new HashMap<>(assetToContractMapping));
+        return mapping;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.tractusx.puris.backend.common.edc.logic.service.EdcAdapterService.EdcRegistration;
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
+import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class EdcRegistrationServiceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final EdcRegistration POLICY = registration(EdcAdapterService.POLICY_DEFINITIONS, "policy-1");
+
+    private static final EdcRegistration ASSET_1 = registration(EdcAdapterService.ASSETS, "asset-1");
+
+    private static final EdcRegistration ASSET_2 = registration(EdcAdapterService.ASSETS, "asset-2");
+
+    @Mock
+    private EdcAdapterService edcAdapterService;
+
+    @Mock
+    private VariablesService variablesService;
+
+    @Spy
+    private BoundedExecutorService executorService = new BoundedExecutorService("test", 4, 100, 4);
+
+    @InjectMocks
+    private EdcRegistrationService edcRegistrationService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        when(variablesService.getEdcRegistrationMaxAttempts()).thenReturn(3);
+        when(variablesService.getEdcRegistrationBackoff()).thenReturn(1L);
+        when(edcAdapterService.getInitialRegistrations()).thenReturn(List.of(POLICY, ASSET_1, ASSET_2));
+        when(edcAdapterService.findRegisteredIds(any(), any())).thenReturn(Set.of());
+    }
+
+    @Test
+    void existingAsset_registerInitially_skipsAsset() throws Exception {
+        // given
+        when(edcAdapterService.findRegisteredIds(eq(EdcAdapterService.ASSETS), any())).thenReturn(Set.of("asset-1"));
+        when(edcAdapterService.register(any())).thenReturn(true);
+
+        // when
+        boolean success = edcRegistrationService.registerInitially().get(5, TimeUnit.SECONDS);
+
+        // then
+        assertTrue(success);
+        verify(edcAdapterService, never()).register(ASSET_1);
+        verify(edcAdapterService).register(ASSET_2);
+        verify(edcAdapterService).register(POLICY);
+        var status = edcRegistrationService.getStatuses().get(0);
+        assertEquals(EdcRegistrationService.State.COMPLETED, status.state());
+        assertEquals(1, status.skipped());
+        assertEquals(2, status.registered());
+        assertTrue(edcRegistrationService.isInitialRegistrationCompleted());
+    }
+
+    @Test
+    void failingRegistration_registerInitially_retriesFailedRegistrationOnly() throws Exception {
+        // given
+        when(edcAdapterService.register(any())).thenReturn(true);
+        when(edcAdapterService.register(ASSET_2)).thenReturn(false, true);
+
+        // when
+        boolean success = edcRegistrationService.registerInitially().get(5, TimeUnit.SECONDS);
+
+        // then
+        assertTrue(success);
+        verify(edcAdapterService, times(1)).register(ASSET_1);
+        verify(edcAdapterService, times(2)).register(ASSET_2);
+        assertTrue(edcRegistrationService.isInitialRegistrationCompleted());
+    }
+
+    @Test
+    void unavailableControlPlane_registerInitially_givesUpAfterMaxAttempts() throws Exception {
+        // given
+        when(edcAdapterService.findRegisteredIds(any(), any())).thenThrow(new IOException("connection refused"));
+        when(edcAdapterService.register(any())).thenReturn(false);
+
+        // when
+        boolean success = edcRegistrationService.registerInitially().get(5, TimeUnit.SECONDS);
+
+        // then
+        assertFalse(success);
+        verify(edcAdapterService, times(3)).register(ASSET_1);
+        var status = edcRegistrationService.getStatuses().get(0);
+        assertEquals(EdcRegistrationService.State.FAILED, status.state());
+        assertEquals(3, status.failed());
+        assertFalse(edcRegistrationService.isInitialRegistrationCompleted());
+    }
+
+    private static EdcRegistration registration(String resource, String id) {
+        return new EdcRegistration(resource, id, MAPPER.createObjectNode().put("@id", id));
+    }
+}
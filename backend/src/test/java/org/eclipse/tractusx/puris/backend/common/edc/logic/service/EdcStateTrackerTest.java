@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+public class EdcStateTrackerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private VariablesService variablesService;
+
+    @InjectMocks
+    private EdcStateTracker edcStateTracker;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(variablesService.getEdcStateTimeout()).thenReturn(10_000L);
+    }
+
+    @Test
+    void negotiationFinalized_update_completesFuture() throws Exception {
+        // given
+        var future = edcStateTracker.awaitState(EdcStateTracker.ProcessType.NEGOTIATION, "negotiation-1", "FINALIZED");
+
+        // when
+        edcStateTracker.update(EdcStateTracker.ProcessType.NEGOTIATION, process("negotiation-1", "REQUESTED"));
+
+        // then
+        assertFalse(future.isDone());
+        assertEquals(1, edcStateTracker.getPendingIds(EdcStateTracker.ProcessType.NEGOTIATION).size());
+
+        // when
+        var finalized = process("negotiation-1", "FINALIZED").put("contractAgreementId", "contract-1");
+        edcStateTracker.update(EdcStateTracker.ProcessType.NEGOTIATION, finalized);
+
+        // then
+        assertTrue(future.isDone());
+        assertEquals("contract-1", future.get().get("contractAgreementId").asText());
+        assertTrue(edcStateTracker.getPendingIds(EdcStateTracker.ProcessType.NEGOTIATION).isEmpty());
+    }
+
+    @Test
+    void transferTerminated_update_completesFutureExceptionally() {
+        // given
+        var future = edcStateTracker.awaitState(EdcStateTracker.ProcessType.TRANSFER, "transfer-1", "STARTED");
+
+        // when
+        edcStateTracker.update(EdcStateTracker.ProcessType.TRANSFER, process("transfer-1", "TERMINATED"));
+
+        // then
+        var exception = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    void overdueTransfer_expireOverdue_completesFutureWithTimeout() {
+        // given
+        when(variablesService.getEdcStateTimeout()).thenReturn(0L);
+        var future = edcStateTracker.awaitState(EdcStateTracker.ProcessType.TRANSFER, "transfer-1", "STARTED");
+
+        // when
+        edcStateTracker.expireOverdue();
+
+        // then
+        var exception = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        assertTrue(edcStateTracker.getPendingIds(EdcStateTracker.ProcessType.TRANSFER).isEmpty());
+    }
+
+    @Test
+    void startedTransfer_updateEdr_completesFuture() throws Exception {
+        // given
+        var edr = new EdcAdapterService.EdrDto("Authorization", "token", "https://partner-dataplane/api/public");
+        var future = edcStateTracker.awaitState(EdcStateTracker.ProcessType.TRANSFER, "transfer-1", "STARTED")
+            .thenCompose(transferProcess -> edcStateTracker.awaitEdr("transfer-1"));
+
+        // when
+        edcStateTracker.update(EdcStateTracker.ProcessType.TRANSFER, process("transfer-1", "STARTED"));
+
+        // then
+        assertFalse(future.isDone());
+        assertEquals(1, edcStateTracker.getPendingEdrIds().size());
+
+        // when
+        edcStateTracker.updateEdr("transfer-1", edr);
+
+        // then
+        assertEquals(edr, future.get());
+        assertTrue(edcStateTracker.getPendingEdrIds().isEmpty());
+    }
+
+    @Test
+    void overdueEdr_expireOverdue_completesFutureWithTimeout() {
+        // given
+        when(variablesService.getEdcStateTimeout()).thenReturn(0L);
+        var future = edcStateTracker.awaitEdr("transfer-1");
+
+        // when
+        edcStateTracker.expireOverdue();
+
+        // then
+        var exception = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        assertTrue(edcStateTracker.getPendingEdrIds().isEmpty());
+    }
+
+    private ObjectNode process(String id, String state) {
+        var node = objectMapper.createObjectNode();
+        node.put("@id", id);
+        node.put("state", state);
+        return node;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+public class EdrSessionCacheTest {
+
+    private static final String PARTNER_BPNL = "BPNL1234567890ZZ";
+
+    private static final String DSP_URL = "https://partner-edc:8184/api/v1/dsp";
+
+    @Mock
+    private VariablesService variablesService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private EdrSessionCache edrSessionCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(variablesService.getEdrCacheIdleTimeout()).thenReturn(600_000L);
+        when(variablesService.getEdrCacheRefreshMargin()).thenReturn(30_000L);
+        when(variablesService.getEdrCacheMaxSize()).thenReturn(2);
+    }
+
+    @Test
+    void cachedSession_acquire_returnsSessionAndCountsHit() {
+        // given
+        var key = new EdrSessionCache.Key(PARTNER_BPNL, "asset-1", DSP_URL);
+        var edr = new EdcAdapterService.EdrDto("Authorization", token(300), "https://partner-dataplane/api/public");
+        List<EdrSessionCache.EdrSession> evicted = new ArrayList<>();
+        edrSessionCache.release(edrSessionCache.put(key, "transfer-1", "contract-1", edr, evicted));
+        assertTrue(evicted.isEmpty());
+
+        // when
+        var session = edrSessionCache.acquire(key, "contract-1", evicted);
+
+        // then
+        assertNotNull(session);
+        assertEquals("transfer-1", session.transferProcessId());
+        assertEquals(edr, session.edr());
+        assertTrue(evicted.isEmpty());
+        assertFalse(edrSessionCache.needsRefresh(session));
+        assertEquals(1, edrSessionCache.getStatistics().hits());
+        assertEquals(0, edrSessionCache.getStatistics().misses());
+    }
+
+    @Test
+    void sessionWithOtherContract_acquire_evictsSession() {
+        // given
+        var key = new EdrSessionCache.Key(PARTNER_BPNL, "asset-1", DSP_URL);
+        var edr = new EdcAdapterService.EdrDto("Authorization", token(300), "https://partner-dataplane/api/public");
+        edrSessionCache.release(edrSessionCache.put(key, "transfer-1", "contract-1", edr, new ArrayList<>()));
+
+        // when
+        List<EdrSessionCache.EdrSession> evicted = new ArrayList<>();
+        var session = edrSessionCache.acquire(key, "contract-2", evicted);
+
+        // then
+        assertNull(session);
+        assertEquals(1, evicted.size());
+        assertEquals("transfer-1", evicted.get(0).transferProcessId());
+        assertEquals(0, edrSessionCache.getStatistics().size());
+        assertEquals(1, edrSessionCache.getStatistics().misses());
+    }
+
+    @Test
+    void sessionInUse_invalidate_terminatesOnLastRelease() {
+        // given
+        var key = new EdrSessionCache.Key(PARTNER_BPNL, "asset-1", DSP_URL);
+        var edr = new EdcAdapterService.EdrDto("Authorization", token(300), "https://partner-dataplane/api/public");
+        var session = edrSessionCache.put(key, "transfer-1", "contract-1", edr, new ArrayList<>());
+        assertSame(session, edrSessionCache.acquire(key, "contract-1", new ArrayList<>()));
+
+        // when
+        boolean terminateOnInvalidate = edrSessionCache.invalidate(key, session);
+        boolean terminateOnFirstRelease = edrSessionCache.release(session);
+        boolean terminateOnLastRelease = edrSessionCache.release(session);
+
+        // then
+        assertFalse(terminateOnInvalidate);
+        assertFalse(terminateOnFirstRelease);
+        assertTrue(terminateOnLastRelease);
+        assertFalse(edrSessionCache.acquire(session));
+        assertNull(edrSessionCache.acquire(key, "contract-1", new ArrayList<>()));
+    }
+
+    @Test
+    void sessionInUse_put_replacesSessionWithoutTerminatingIt() {
+        // given
+        var key = new EdrSessionCache.Key(PARTNER_BPNL, "asset-1", DSP_URL);
+        var edr = new EdcAdapterService.EdrDto("Authorization", token(300), "https://partner-dataplane/api/public");
+        var session = edrSessionCache.put(key, "transfer-1", "contract-1", edr, new ArrayList<>());
+
+        // when
+        List<EdrSessionCache.EdrSession> evicted = new ArrayList<>();
+        var replacement = edrSessionCache.put(key, "transfer-2", "contract-1", edr, evicted);
+
+        // then
+        assertTrue(evicted.isEmpty());
+        assertTrue(edrSessionCache.release(session));
+        assertSame(replacement, edrSessionCache.acquire(key, "contract-1", evicted));
+    }
+
+    @Test
+    void pendingTransfer_getPendingTransfer_returnsTransferOfFirstCaller() {
+        // given
+        var key = new EdrSessionCache.Key(PARTNER_BPNL, "asset-1", DSP_URL);
+        var edr = new EdcAdapterService.EdrDto("Authorization", token(300), "https://partner-dataplane/api/public");
+        CompletableFuture<EdrSessionCache.EdrSession> first = new CompletableFuture<>();
+        CompletableFuture<EdrSessionCache.EdrSession> second = new CompletableFuture<>();
+        assertSame(first, edrSessionCache.getPendingTransfer(key, first));
+
+        // when
+        var pendingTransfer = edrSessionCache.getPendingTransfer(key, second);
+        var session = edrSessionCache.put(key, "transfer-1", "contract-1", edr, new ArrayList<>());
+        edrSessionCache.completePendingTransfer(key, first, session);
+
+        // then
+        assertSame(first, pendingTransfer);
+        assertSame(session, pendingTransfer.join());
+        assertTrue(edrSessionCache.acquire(session));
+        assertSame(second, edrSessionCache.getPendingTransfer(key, second));
+    }
+
+    @Test
+    void tokenCloseToExpiry_needsRefresh_returnsTrue() {
+        // given
+        var key = new EdrSessionCache.Key(PARTNER_BPNL, "asset-1", DSP_URL);
+        var edr = new EdcAdapterService.EdrDto("Authorization", token(10), "https://partner-dataplane/api/public");
+
+        // when
+        var session = edrSessionCache.put(key, "transfer-1", "contract-1", edr, new ArrayList<>());
+
+        // then
+        assertTrue(edrSessionCache.needsRefresh(session));
+        assertFalse(edrSessionCache.isExpired(session));
+        assertEquals(1, edrSessionCache.getSessionsDueForRefresh().size());
+    }
+
+    @Test
+    void fullCache_put_evictsLeastRecentlyUsedSession() throws InterruptedException {
+        // given
+        var edr = new EdcAdapterService.EdrDto("Authorization", "opaque-token", "https://partner-dataplane/api/public");
+        var key1 = new EdrSessionCache.Key(PARTNER_BPNL, "asset-1", DSP_URL);
+        var key2 = new EdrSessionCache.Key(PARTNER_BPNL, "asset-2", DSP_URL);
+        var key3 = new EdrSessionCache.Key(PARTNER_BPNL, "asset-3", DSP_URL);
+        var session1 = edrSessionCache.put(key1, "transfer-1", "contract-1", edr, new ArrayList<>());
+        edrSessionCache.release(session1);
+        Thread.sleep(5);
+        edrSessionCache.release(edrSessionCache.put(key2, "transfer-2", "contract-2", edr, new ArrayList<>()));
+        Thread.sleep(5);
+        edrSessionCache.acquire(key1, "contract-1", new ArrayList<>());
+        edrSessionCache.release(session1);
+
+        // when
+        List<EdrSessionCache.EdrSession> evicted = new ArrayList<>();
+        edrSessionCache.put(key3, "transfer-3", "contract-3", edr, evicted);
+
+        // then
+        assertEquals(1, evicted.size());
+        assertEquals("transfer-2", evicted.get(0).transferProcessId());
+        assertEquals(2, edrSessionCache.getStatistics().size());
+        assertEquals(1, edrSessionCache.getStatistics().evictions());
+    }
+
+    private static String token(long secondsUntilExpiry) {
+        long exp = System.currentTimeMillis() / 1000 + secondsUntilExpiry;
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+        String claims = encoder.encodeToString(("{\"exp\":" + exp + "}").getBytes(StandardCharsets.UTF_8));
+        return header + "." + claims + ".signature";
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
+
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NegotiationCoalescerTest {
+
+    private static final NegotiationCoalescer.Key KEY = new NegotiationCoalescer.Key(
+        "BPNL1234567890ZZ", AssetType.DELIVERY_SUBMODEL, "asset-1", "https://partner-edc:8184/api/v1/dsp");
+
+    private final NegotiationCoalescer negotiationCoalescer = new NegotiationCoalescer();
+
+    @Test
+    void concurrentNegotiations_negotiate_negotiatesOnce() throws Exception {
+        // given
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var negotiations = new AtomicInteger();
+        var first = CompletableFuture.supplyAsync(() -> negotiationCoalescer.negotiate(KEY, () -> {
+            negotiations.incrementAndGet();
+            started.countDown();
+            return await(release);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // when
+        var second = CompletableFuture.supplyAsync(() -> negotiationCoalescer.negotiate(KEY, () -> {
+            negotiations.incrementAndGet();
+            return true;
+        }));
+        while (negotiationCoalescer.getCoalesced() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // then
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, negotiations.get());
+    }
+
+    @Test
+    void failedNegotiation_negotiate_negotiatesAgain() {
+        // given
+        assertFalse(negotiationCoalescer.negotiate(KEY, () -> false));
+
+        // when
+        boolean result = negotiationCoalescer.negotiate(KEY, () -> true);
+
+        // then
+        assertTrue(result);
+        assertEquals(0, negotiationCoalescer.getCoalesced());
+    }
+
+    @Test
+    void throwingNegotiation_negotiate_releasesKey() {
+        // given
+        assertThrows(IllegalStateException.class, () -> negotiationCoalescer.negotiate(KEY, () -> {
+            throw new IllegalStateException("connector unavailable");
+        }));
+
+        // when
+        boolean result = negotiationCoalescer.negotiate(KEY, () -> true);
+
+        // then
+        assertTrue(result);
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
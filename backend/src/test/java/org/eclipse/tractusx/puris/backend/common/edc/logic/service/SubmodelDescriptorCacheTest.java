@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2023 Volkswagen AG
+ * Copyright (c) 2023 Fraunhofer-Gesellschaft zur Foerderung der angewandten Forschung e.V. (represented by Fraunhofer ISST)
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.edc.logic.service;
+
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.CachedSubmodelDescriptor;
+import org.eclipse.tractusx.puris.backend.common.edc.domain.repository.CachedSubmodelDescriptorRepository;
+import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class SubmodelDescriptorCacheTest {
+
+    private static final String ITEM_STOCK = AssetType.ITEM_STOCK_SUBMODEL.URN_SEMANTIC_ID;
+
+    private static final String DELIVERY = AssetType.DELIVERY_SUBMODEL.URN_SEMANTIC_ID;
+
+    private static final long TTL = 60_000;
+
+    @Mock
+    private VariablesService variablesService;
+
+    @Mock
+    private CachedSubmodelDescriptorRepository repository;
+
+    @InjectMocks
+    private SubmodelDescriptorCache submodelDescriptorCache;
+
+    private MaterialPartnerRelation mpr;
+
+    private MaterialPartnerRelation otherMpr;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(variablesService.getSubmodelDescriptorCacheTtl()).thenReturn(TTL);
+        when(variablesService.isSubmodelDescriptorCachePersistent()).thenReturn(false);
+        Material material = new Material(true, false, "MNR-7307-AU340474.002", UUID.randomUUID().toString(), "Semiconductor");
+        mpr = new MaterialPartnerRelation(material, partner("BPNL1234567890ZZ"), "MNR-4177", true, false);
+        otherMpr = new MaterialPartnerRelation(material, partner("BPNL5555555555XX"), "MNR-4178", true, false);
+    }
+
+    @Test
+    void cachedDescriptor_get_returnsDescriptor() {
+        // given
+        var submodelData = submodelData("asset-1");
+        submodelDescriptorCache.put(mpr, ITEM_STOCK, DirectionCharacteristic.INBOUND, submodelData);
+
+        // when
+        var cached = submodelDescriptorCache.get(mpr, ITEM_STOCK, DirectionCharacteristic.INBOUND);
+
+        // then
+        assertEquals(submodelData, cached);
+        assertNull(submodelDescriptorCache.get(mpr, ITEM_STOCK, DirectionCharacteristic.OUTBOUND));
+        assertNull(submodelDescriptorCache.get(otherMpr, ITEM_STOCK, DirectionCharacteristic.INBOUND));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void expiredDescriptor_get_returnsNullAndRemovesDescriptor() {
+        // given
+        submodelDescriptorCache.put(mpr, DELIVERY, null, submodelData("asset-1"));
+        when(variablesService.getSubmodelDescriptorCacheTtl()).thenReturn(0L);
+
+        // when
+        var cached = submodelDescriptorCache.get(mpr, DELIVERY, null);
+
+        // then
+        assertNull(cached);
+        when(variablesService.getSubmodelDescriptorCacheTtl()).thenReturn(TTL);
+        assertNull(submodelDescriptorCache.get(mpr, DELIVERY, null));
+    }
+
+    @Test
+    void failedRequest_invalidate_removesDescriptorOfDirectionOnly() {
+        // given
+        var outbound = submodelData("asset-2");
+        submodelDescriptorCache.put(mpr, ITEM_STOCK, DirectionCharacteristic.INBOUND, submodelData("asset-1"));
+        submodelDescriptorCache.put(mpr, ITEM_STOCK, DirectionCharacteristic.OUTBOUND, outbound);
+
+        // when
+        submodelDescriptorCache.invalidate(mpr, ITEM_STOCK, DirectionCharacteristic.INBOUND);
+
+        // then
+        assertNull(submodelDescriptorCache.get(mpr, ITEM_STOCK, DirectionCharacteristic.INBOUND));
+        assertEquals(outbound, submodelDescriptorCache.get(mpr, ITEM_STOCK, DirectionCharacteristic.OUTBOUND));
+    }
+
+    @Test
+    void descriptorsOfTwoRelations_invalidateAll_removesDescriptorsOfRelationOnly() {
+        // given
+        var other = submodelData("asset-3");
+        submodelDescriptorCache.put(mpr, ITEM_STOCK, DirectionCharacteristic.INBOUND, submodelData("asset-1"));
+        submodelDescriptorCache.put(mpr, DELIVERY, null, submodelData("asset-2"));
+        submodelDescriptorCache.put(otherMpr, ITEM_STOCK, DirectionCharacteristic.INBOUND, other);
+
+        // when
+        submodelDescriptorCache.invalidateAll(mpr.getKey());
+
+        // then
+        assertNull(submodelDescriptorCache.get(mpr, ITEM_STOCK, DirectionCharacteristic.INBOUND));
+        assertNull(submodelDescriptorCache.get(mpr, DELIVERY, null));
+        assertEquals(other, submodelDescriptorCache.get(otherMpr, ITEM_STOCK, DirectionCharacteristic.INBOUND));
+    }
+
+    @Test
+    void persistenceEnabled_put_storesDescriptor() {
+        // given
+        when(variablesService.isSubmodelDescriptorCachePersistent()).thenReturn(true);
+
+        // when
+        submodelDescriptorCache.put(mpr, ITEM_STOCK, DirectionCharacteristic.INBOUND, submodelData("asset-1"));
+
+        // then
+        var captor = ArgumentCaptor.forClass(CachedSubmodelDescriptor.class);
+        verify(repository).save(captor.capture());
+        var stored = captor.getValue();
+        assertEquals(mpr.getKey().getOwnMaterialNumber(), stored.getOwnMaterialNumber());
+        assertEquals(mpr.getKey().getPartnerUuid(), stored.getPartnerUuid());
+        assertEquals(ITEM_STOCK, stored.getSemanticId());
+        assertEquals(DirectionCharacteristic.INBOUND.name(), stored.getDirectionCharacteristic());
+        assertEquals("asset-1", stored.getAssetId());
+        assertEquals("https://partner-edc:8184/api/v1/dsp", stored.getDspUrl());
+        assertEquals("https://partner-dataplane/api/public/shells/asset-1", stored.getHref());
+    }
+
+    @Test
+    void storedDescriptorAfterRestart_get_loadsDescriptorOnce() {
+        // given
+        when(variablesService.isSubmodelDescriptorCachePersistent()).thenReturn(true);
+        var key = entityKey(mpr, DELIVERY, "");
+        when(repository.findById(key)).thenReturn(Optional.of(entity(mpr, DELIVERY, "", System.currentTimeMillis())));
+
+        // when
+        var cached = submodelDescriptorCache.get(mpr, DELIVERY, null);
+
+        // then
+        assertEquals(submodelData("asset-1"), cached);
+        assertEquals(submodelData("asset-1"), submodelDescriptorCache.get(mpr, DELIVERY, null));
+        verify(repository, times(1)).findById(key);
+    }
+
+    @Test
+    void expiredStoredDescriptor_get_returnsNullAndDeletesDescriptor() {
+        // given
+        when(variablesService.isSubmodelDescriptorCachePersistent()).thenReturn(true);
+        var key = entityKey(mpr, ITEM_STOCK, DirectionCharacteristic.OUTBOUND.name());
+        when(repository.findById(key)).thenReturn(Optional.of(
+            entity(mpr, ITEM_STOCK, DirectionCharacteristic.OUTBOUND.name(), System.currentTimeMillis() - TTL - 1)));
+        when(repository.existsById(key)).thenReturn(true);
+
+        // when
+        var cached = submodelDescriptorCache.get(mpr, ITEM_STOCK, DirectionCharacteristic.OUTBOUND);
+
+        // then
+        assertNull(cached);
+        verify(repository).deleteById(key);
+    }
+
+    @Test
+    void persistenceEnabled_invalidateAll_deletesStoredDescriptorsOfRelation() {
+        // given
+        when(variablesService.isSubmodelDescriptorCachePersistent()).thenReturn(true);
+        var stored = List.of(entity(mpr, ITEM_STOCK, DirectionCharacteristic.INBOUND.name(), System.currentTimeMillis()),
+            entity(mpr, DELIVERY, "", System.currentTimeMillis()));
+        when(repository.findAllByOwnMaterialNumberAndPartnerUuid(mpr.getKey().getOwnMaterialNumber(), mpr.getKey().getPartnerUuid()))
+            .thenReturn(stored);
+
+        // when
+        submodelDescriptorCache.invalidateAll(mpr.getKey());
+
+        // then
+        verify(repository).deleteAll(stored);
+        verify(repository, never()).deleteById(any());
+    }
+
+    private static Partner partner(String bpnl) {
+        Partner partner = new Partner();
+        partner.setUuid(UUID.randomUUID());
+        partner.setBpnl(bpnl);
+        return partner;
+    }
+
+    private static EdcAdapterService.SubmodelData submodelData(String assetId) {
+        return new EdcAdapterService.SubmodelData(assetId, "https://partner-edc:8184/api/v1/dsp",
+            "https://partner-dataplane/api/public/shells/" + assetId);
+    }
+
+    private static CachedSubmodelDescriptor.Key entityKey(MaterialPartnerRelation mpr, String semanticId, String direction) {
+        return new CachedSubmodelDescriptor.Key(mpr.getKey().getOwnMaterialNumber(), mpr.getKey().getPartnerUuid(),
+            semanticId, direction);
+    }
+
+    private static CachedSubmodelDescriptor entity(MaterialPartnerRelation mpr, String semanticId, String direction, long fetchedAt) {
+        var submodelData = submodelData("asset-1");
+        return new CachedSubmodelDescriptor(mpr.getKey().getOwnMaterialNumber(), mpr.getKey().getPartnerUuid(), semanticId,
+            direction, submodelData.assetId(), submodelData.dspUrl(), submodelData.href(), fetchedAt);
+    }
+}
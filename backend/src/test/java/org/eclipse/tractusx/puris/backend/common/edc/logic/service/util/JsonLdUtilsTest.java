@@ -24,11 +24,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.tractusx.puris.backend.common.edc.logic.util.JsonLdUtils;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.MockitoAnnotations;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 @Slf4j
 public class JsonLdUtilsTest {
@@ -60,6 +62,22 @@ public class JsonLdUtilsTest {
         assertEquals(expandedAgain, expanded);
     }
 
+    @Test
+    public void repeatedCatalog_expand_returnsIndependentCopies() throws Exception {
+        JsonLdUtils util = new JsonLdUtils();
+        // GIVEN
+        var catalogJson = objectMapper.readTree(test2);
+
+        // WHEN
+        var expanded = util.expand(catalogJson);
+        expanded.put("modified", true);
+        var expandedAgain = util.expand(objectMapper.readTree(test2));
+
+        // THEN
+        assertFalse(expandedAgain.has("modified"));
+        assertEquals(objectMapper.readTree(expandedAgain.toString()), expandedAgain);
+    }
+
     final static String test0 = "{\n" +
         "    \"@id\": \"0a5ad415-0d0d-4b04-afe7-172de85efe2e\",\n" +
         "    \"@type\": \"dcat:Catalog\",\n" +
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedExecutorServiceTest {
+
+    private static final String PARTNER_BPNL = "BPNL1234567890ZZ";
+
+    private BoundedExecutorService executorService;
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void tasksForOnePartner_submit_respectsPartnerLimit() throws Exception {
+        // given
+        executorService = new BoundedExecutorService("test", 10, 100, 2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 6; i++) {
+            futures.add(executorService.submit(PARTNER_BPNL, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+                running.decrementAndGet();
+            }));
+        }
+        Thread.sleep(100);
+
+        // then
+        assertEquals(2, executorService.getStatistics().active());
+        assertEquals(4, executorService.getStatistics().queued());
+
+        // when
+        release.countDown();
+        for (var future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        // then
+        assertEquals(2, maxRunning.get());
+        assertEquals(6, executorService.getStatistics().completed());
+        assertEquals(0, executorService.getStatistics().queued());
+    }
+
+    @Test
+    void fullQueue_submit_rejectsTask() throws InterruptedException {
+        // given
+        executorService = new BoundedExecutorService("test", 1, 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocking = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+        };
+        executorService.submit(PARTNER_BPNL, blocking);
+        while (executorService.getStatistics().active() < 1) {
+            Thread.sleep(5);
+        }
+        executorService.submit(PARTNER_BPNL, blocking);
+
+        // when / then
+        assertThrows(RejectedExecutionException.class, () -> executorService.submit(PARTNER_BPNL, blocking));
+        assertEquals(1, executorService.getStatistics().rejected());
+        release.countDown();
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import javax.management.openmbean.KeyAlreadyExistsException;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkImporterTest {
+
+    private final BulkImporter bulkImporter = new BulkImporter(new ObjectMapper());
+
+    private final List<String> persisted = new ArrayList<>();
+
+    @Test
+    void jsonArray_importAll_skipsInvalidEntries() {
+        // given
+        String body = "[{\"name\": \"a\", \"quantity\": 1}, {\"name\": \"b\", \"quantity\": -1}, {\"name\": \"c\", \"quantity\": 3}]";
+
+        // when
+        var result = bulkImporter.importAll(stream(body), Entry.class, this::convert, this::persist);
+
+        // then
+        assertEquals(3, result.received());
+        assertEquals(2, result.created());
+        assertEquals(1, result.rejected());
+        assertEquals(List.of("Entry 1: Invalid quantity"), result.errors());
+        assertEquals(List.of("a", "c"), persisted);
+    }
+
+    @Test
+    void ndjson_importAll_persistsInChunks() {
+        // given
+        StringBuilder body = new StringBuilder();
+        int count = BulkImporter.CHUNK_SIZE + 10;
+        for (int i = 0; i < count; i++) {
+            body.append("{\"name\": \"").append(i).append("\", \"quantity\": 1}\n");
+        }
+        List<Integer> chunkSizes = new ArrayList<>();
+
+        // when
+        var result = bulkImporter.importAll(stream(body.toString()), Entry.class, this::convert, chunk -> {
+            chunkSizes.add(chunk.size());
+            return persist(chunk);
+        });
+
+        // then
+        assertEquals(count, result.created());
+        assertEquals(List.of(BulkImporter.CHUNK_SIZE, 10), chunkSizes);
+        assertTrue(result.errors().isEmpty());
+    }
+
+    @Test
+    void malformedEntry_importAll_persistsEntriesBefore() {
+        // given
+        String body = "{\"name\": \"a\", \"quantity\": 1}\n{\"name\": \"b\", \"quantity\": \n";
+
+        // when
+        var result = bulkImporter.importAll(stream(body), Entry.class, this::convert, this::persist);
+
+        // then
+        assertEquals(1, result.created());
+        assertEquals(List.of("a"), persisted);
+        assertEquals(List.of("Entry 1: Malformed entry, stopped reading."), result.errors());
+    }
+
+    @Test
+    void rejectedChunk_importAll_reportsRejectedEntriesOnly() {
+        // given
+        String body = "[{\"name\": \"a\", \"quantity\": 1}, {\"name\": \"b\", \"quantity\": -1}, "
+            + "{\"name\": \"c\", \"quantity\": 2}, {\"name\": \"d\", \"quantity\": 3}]";
+        Function<List<String>, List<String>> persister = chunk -> {
+            if (chunk.contains("c")) {
+                throw new KeyAlreadyExistsException("Entry already exists");
+            }
+            return persist(chunk);
+        };
+
+        // when
+        var result = bulkImporter.importAll(stream(body), Entry.class, this::convert, persister);
+
+        // then
+        assertEquals(4, result.received());
+        assertEquals(2, result.created());
+        assertEquals(2, result.rejected());
+        assertEquals(List.of("Entry 1: Invalid quantity", "Entry 2: Entry already exists"), result.errors());
+        assertEquals(List.of("a", "d"), persisted);
+    }
+
+    private String convert(Entry entry) {
+        if (entry.quantity() <= 0) {
+            throw new IllegalArgumentException("Invalid quantity");
+        }
+        return entry.name();
+    }
+
+    private List<String> persist(List<String> chunk) {
+        persisted.addAll(chunk);
+        return chunk;
+    }
+
+    private ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    record Entry(String name, int quantity) {
+    }
+}
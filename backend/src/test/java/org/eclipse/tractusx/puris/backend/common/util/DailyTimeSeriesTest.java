@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.util;
+
+import org.eclipse.tractusx.puris.backend.common.domain.model.DailyQuantity;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DailyTimeSeriesTest {
+
+    private final LocalDate from = LocalDate.of(2024, 2, 27);
+
+    @Test
+    void sparseQuantities_of_fillsMissingDaysWithZero() {
+        // given
+        var dailyQuantities = List.of(
+            new DailyQuantity(from, 10),
+            new DailyQuantity(from.plusDays(2), 5),
+            new DailyQuantity(from.plusDays(7), 99));
+
+        // when
+        var timeSeries = DailyTimeSeries.of(from, from.plusDays(4), dailyQuantities);
+
+        // then
+        assertArrayEquals(new double[]{10, 0, 5, 0}, timeSeries.quantities());
+        assertEquals(from, timeSeries.from());
+        assertEquals(from.plusDays(4), timeSeries.to());
+    }
+
+    @Test
+    void invalidPeriod_checkPeriod_throwsException() {
+        // when / then
+        assertThrows(IllegalArgumentException.class, () -> DailyTimeSeries.checkPeriod(from, from));
+        assertThrows(IllegalArgumentException.class, () -> DailyTimeSeries.checkPeriod(from, from.minusDays(1)));
+        assertThrows(IllegalArgumentException.class,
+            () -> DailyTimeSeries.checkPeriod(from, from.plusDays(DailyTimeSeries.MAX_DAYS + 1)));
+        assertDoesNotThrow(() -> DailyTimeSeries.checkPeriod(from, from.plusDays(DailyTimeSeries.MAX_DAYS)));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.common.util;
+
+import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemUnitEnumeration;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.ReportedMaterialItemStock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ReportedDataReconcilerTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private JpaRepository<ReportedMaterialItemStock, UUID> repository;
+
+    private ReportedDataReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        reconciler = new ReportedDataReconciler(transactionManager);
+    }
+
+    @Test
+    void changedStocks_reconcile_writesOnlyDifferences() {
+        // given
+        var unchangedStock = stock("BPNS1234567890AA", 10);
+        var changedStock = stock("BPNS1234567890BB", 5);
+        var outdatedStock = stock("BPNS1234567890CC", 3);
+        var addedStock = stock("BPNS1234567890DD", 8);
+        List<ReportedMaterialItemStock> received = List.of(
+            stock("BPNS1234567890AA", 10), stock("BPNS1234567890BB", 7), addedStock);
+
+        // when
+        var result = reconciler.reconcile(repository, () -> List.of(unchangedStock, changedStock, outdatedStock), received,
+            ReportedMaterialItemStock::getLocationBpns, ReportedMaterialItemStock::getQuantity,
+            (stored, update) -> stored.setQuantity(update.getQuantity()));
+
+        // then
+        assertEquals(new ReportedDataReconciler.Result(1, 1, 1, 1), result);
+        assertEquals(7, changedStock.getQuantity());
+        verify(repository).deleteAllInBatch(List.of(outdatedStock));
+        verify(repository).saveAll(List.of(addedStock));
+        verify(repository, never()).save(any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void unchangedStocks_reconcile_skipsDelete() {
+        // given
+        var storedStock = stock("BPNS1234567890AA", 10);
+
+        // when
+        var result = reconciler.reconcile(repository, () -> List.of(storedStock), List.of(stock("BPNS1234567890AA", 10)),
+            ReportedMaterialItemStock::getLocationBpns, ReportedMaterialItemStock::getQuantity,
+            (stored, update) -> stored.setQuantity(update.getQuantity()));
+
+        // then
+        assertEquals(new ReportedDataReconciler.Result(0, 0, 0, 1), result);
+        verify(repository, never()).deleteAllInBatch(any());
+        verify(repository).saveAll(List.of());
+    }
+
+    @Test
+    void duplicateStocks_reconcile_insertsFirstOnly() {
+        // given
+        var firstStock = stock("BPNS1234567890AA", 10);
+
+        // when
+        var result = reconciler.reconcile(repository, List::of, List.of(firstStock, stock("BPNS1234567890AA", 12)),
+            ReportedMaterialItemStock::getLocationBpns, ReportedMaterialItemStock::getQuantity,
+            (stored, update) -> stored.setQuantity(update.getQuantity()));
+
+        // then
+        assertEquals(new ReportedDataReconciler.Result(1, 0, 0, 0), result);
+        verify(repository).saveAll(List.of(firstStock));
+    }
+
+    private ReportedMaterialItemStock stock(String bpns, double quantity) {
+        return ReportedMaterialItemStock.builder()
+            .locationBpns(bpns)
+            .quantity(quantity)
+            .measurementUnit(ItemUnitEnumeration.UNIT_PIECE)
+            .build();
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2023 Volkswagen AG
+ * Copyright (c) 2023 Fraunhofer-Gesellschaft zur Foerderung der angewandten Forschung e.V. (represented by Fraunhofer ISST)
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.delivery.domain.repository;
+
+import org.eclipse.tractusx.puris.backend.common.domain.model.DailyQuantity;
+import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemUnitEnumeration;
+import org.eclipse.tractusx.puris.backend.common.util.DailyTimeSeries;
+import org.eclipse.tractusx.puris.backend.delivery.domain.model.EventTypeEnumeration;
+import org.eclipse.tractusx.puris.backend.delivery.domain.model.IncotermEnumeration;
+import org.eclipse.tractusx.puris.backend.delivery.domain.model.OwnDelivery;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.MaterialRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.PartnerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+public class OwnDeliveryRepositoryTest {
+
+    private static final String ORIGIN_BPNS = "BPNS1234567890ZZ";
+
+    private static final String DESTINATION_BPNS = "BPNS4444444444XX";
+
+    private static final String OTHER_DESTINATION_BPNS = "BPNS4444444444YY";
+
+    private static final LocalDate FROM = LocalDate.of(2024, 3, 5);
+
+    private static final LocalDate TO = LocalDate.of(2024, 3, 8);
+
+    @Autowired
+    private OwnDeliveryRepository ownDeliveryRepository;
+
+    @Autowired
+    private PartnerRepository partnerRepository;
+
+    @Autowired
+    private MaterialRepository materialRepository;
+
+    private Partner supplier;
+
+    private Partner otherSupplier;
+
+    private Material material;
+
+    @BeforeEach
+    void setUp() {
+        supplier = partnerRepository.save(new Partner("Scenario Supplier", "http://supplier-control-plane:8184/api/v1/dsp",
+            "BPNL1234567890ZZ", ORIGIN_BPNS, "Hauptwerk Musterhausen", "BPNA1234567890ZZ",
+            "Musterstraße 35b", "77777 Musterhausen", "Germany"));
+        otherSupplier = partnerRepository.save(new Partner("Other Supplier", "http://other-control-plane:8184/api/v1/dsp",
+            "BPNL5555555555XX", "BPNS5555555555XX", "Werk Beispielstadt", "BPNA5555555555AA",
+            "Beispielweg 1", "88888 Beispielstadt", "Germany"));
+        material = materialRepository.save(new Material(true, false, "MNR-7307-AU340474.002", UUID.randomUUID().toString(), "Semiconductor"));
+    }
+
+    @Test
+    void partialDayTimestamps_sumQuantitiesPerDayOfArrival_sumsPerUtcDay() {
+        // given
+        ownDeliveryRepository.save(delivery(supplier, DESTINATION_BPNS, "2024-03-05T00:00:00Z", 10));
+        ownDeliveryRepository.save(delivery(supplier, DESTINATION_BPNS, "2024-03-05T13:30:00Z", 20));
+        ownDeliveryRepository.save(delivery(supplier, DESTINATION_BPNS, "2024-03-05T23:59:59Z", 30));
+        ownDeliveryRepository.save(delivery(supplier, DESTINATION_BPNS, "2024-03-07T08:15:00Z", 5));
+
+        // when
+        List<DailyQuantity> quantities = ownDeliveryRepository.sumQuantitiesPerDayOfArrival(material.getOwnMaterialNumber(),
+            supplier.getBpnl(), DESTINATION_BPNS, DailyTimeSeries.startOf(FROM), DailyTimeSeries.startOf(TO));
+
+        // then
+        assertEquals(List.of(new DailyQuantity(FROM, 60), new DailyQuantity(FROM.plusDays(2), 5)), quantities);
+    }
+
+    @Test
+    void nullFilters_sumQuantitiesPerDayOfArrival_sumsAllPartnersAndSites() {
+        // given
+        ownDeliveryRepository.save(delivery(supplier, DESTINATION_BPNS, "2024-03-05T10:00:00Z", 10));
+        ownDeliveryRepository.save(delivery(supplier, OTHER_DESTINATION_BPNS, "2024-03-05T10:00:00Z", 20));
+        ownDeliveryRepository.save(delivery(otherSupplier, DESTINATION_BPNS, "2024-03-05T10:00:00Z", 40));
+
+        // when
+        List<DailyQuantity> all = ownDeliveryRepository.sumQuantitiesPerDayOfArrival(material.getOwnMaterialNumber(),
+            null, null, DailyTimeSeries.startOf(FROM), DailyTimeSeries.startOf(TO));
+        List<DailyQuantity> ofPartner = ownDeliveryRepository.sumQuantitiesPerDayOfArrival(material.getOwnMaterialNumber(),
+            supplier.getBpnl(), null, DailyTimeSeries.startOf(FROM), DailyTimeSeries.startOf(TO));
+        List<DailyQuantity> ofSite = ownDeliveryRepository.sumQuantitiesPerDayOfArrival(material.getOwnMaterialNumber(),
+            null, DESTINATION_BPNS, DailyTimeSeries.startOf(FROM), DailyTimeSeries.startOf(TO));
+
+        // then
+        assertEquals(List.of(new DailyQuantity(FROM, 70)), all);
+        assertEquals(List.of(new DailyQuantity(FROM, 30)), ofPartner);
+        assertEquals(List.of(new DailyQuantity(FROM, 50)), ofSite);
+    }
+
+    @Test
+    void deliveriesAtPeriodBounds_sumQuantitiesPerDayOfDeparture_includesStartAndExcludesEnd() {
+        // given
+        // the deliveries depart one day before they arrive
+        ownDeliveryRepository.save(delivery(supplier, DESTINATION_BPNS, "2024-03-05T23:59:59Z", 1));
+        ownDeliveryRepository.save(delivery(supplier, DESTINATION_BPNS, "2024-03-06T00:00:00Z", 10));
+        ownDeliveryRepository.save(delivery(supplier, DESTINATION_BPNS, "2024-03-08T23:59:59Z", 20));
+        ownDeliveryRepository.save(delivery(supplier, DESTINATION_BPNS, "2024-03-09T00:00:00Z", 100));
+
+        // when
+        List<DailyQuantity> quantities = ownDeliveryRepository.sumQuantitiesPerDayOfDeparture(material.getOwnMaterialNumber(),
+            null, ORIGIN_BPNS, DailyTimeSeries.startOf(FROM), DailyTimeSeries.startOf(TO));
+
+        // then
+        assertEquals(List.of(new DailyQuantity(FROM, 10), new DailyQuantity(TO.minusDays(1), 20)), quantities);
+    }
+
+    private OwnDelivery delivery(Partner partner, String destinationBpns, String dateOfArrival, double quantity) {
+        Date arrival = Date.from(Instant.parse(dateOfArrival));
+        return OwnDelivery.builder()
+            .partner(partner)
+            .material(material)
+            .quantity(quantity)
+            .measurementUnit(ItemUnitEnumeration.UNIT_PIECE)
+            .trackingNumber("1Z9829WDE02128")
+            .incoterm(IncotermEnumeration.FAS)
+            .originBpns(ORIGIN_BPNS)
+            .originBpna("BPNA1234567890ZZ")
+            .destinationBpns(destinationBpns)
+            .destinationBpna("BPNA4444444444AA")
+            .dateOfDeparture(Date.from(arrival.toInstant().minus(1, ChronoUnit.DAYS)))
+            .dateOfArrival(arrival)
+            .departureType(EventTypeEnumeration.ESTIMATED_DEPARTURE)
+            .arrivalType(EventTypeEnumeration.ESTIMATED_ARRIVAL)
+            .build();
+    }
+}
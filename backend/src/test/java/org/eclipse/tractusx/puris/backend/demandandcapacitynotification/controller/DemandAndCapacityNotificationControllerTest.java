@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2023 Volkswagen AG
+ * Copyright (c) 2023 Fraunhofer-Gesellschaft zur Foerderung der angewandten Forschung e.V. (represented by Fraunhofer ISST)
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.demandandcapacitynotification.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.tractusx.puris.backend.common.security.DtrSecurityConfiguration;
+import org.eclipse.tractusx.puris.backend.common.security.SecurityConfig;
+import org.eclipse.tractusx.puris.backend.common.security.annotation.WithMockApiKey;
+import org.eclipse.tractusx.puris.backend.common.security.logic.ApiKeyAuthenticationProvider;
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
+import org.eclipse.tractusx.puris.backend.controller.RejectedExecutionExceptionHandler;
+import org.eclipse.tractusx.puris.backend.demandandcapacitynotification.domain.model.OwnDemandAndCapacityNotification;
+import org.eclipse.tractusx.puris.backend.demandandcapacitynotification.logic.dto.DemandAndCapacityNotificationDto;
+import org.eclipse.tractusx.puris.backend.demandandcapacitynotification.logic.service.DemandAndCapacityNotifcationRequestApiService;
+import org.eclipse.tractusx.puris.backend.demandandcapacitynotification.logic.service.OwnDemandAndCapacityNotificationService;
+import org.eclipse.tractusx.puris.backend.demandandcapacitynotification.logic.service.ReportedDemandAndCapacityNotificationService;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(DemandAndCapacityNotificationController.class)
+@Import({SecurityConfig.class, ApiKeyAuthenticationProvider.class, DtrSecurityConfiguration.class})
+class DemandAndCapacityNotificationControllerTest {
+
+    private static final String SUPPLIER_BPNL = "BPNL1234567890ZZ";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private OwnDemandAndCapacityNotificationService ownNotificationService;
+
+    @MockBean
+    private ReportedDemandAndCapacityNotificationService reportedNotificationService;
+
+    @MockBean
+    private DemandAndCapacityNotifcationRequestApiService demandAndCapacityNotifcationRequestApiService;
+
+    @MockBean
+    private MaterialService materialService;
+
+    @MockBean
+    private PartnerService partnerService;
+
+    @MockBean
+    private BoundedExecutorService executorService;
+
+    @Test
+    @WithMockApiKey
+    void saturatedExecutor_createNotification_returnsServiceUnavailableAndDeletesNotification() throws Exception {
+        // given
+        Partner supplier = new Partner("Supplier", "http://supplier-control-plane:8184/api/v1/dsp", SUPPLIER_BPNL,
+            "BPNS1234567890ZZ", "Supplier Site", "BPNA1234567890AA", "Hauptstrasse 1", "12345 Musterstadt", "Germany");
+        Partner ownPartner = new Partner("Customer", "http://customer-control-plane:8184/api/v1/dsp", "BPNL4444444444XX",
+            "BPNS4444444444XX", "Customer Site", "BPNA4444444444ZZ", "Musterstrasse 35b", "77777 Musterhausen", "Germany");
+        when(partnerService.findByBpnl(SUPPLIER_BPNL)).thenReturn(supplier);
+        when(partnerService.getOwnPartnerEntity()).thenReturn(ownPartner);
+        UUID uuid = UUID.randomUUID();
+        when(ownNotificationService.create(any())).thenAnswer(invocation -> {
+            OwnDemandAndCapacityNotification notification = invocation.getArgument(0);
+            notification.setUuid(uuid);
+            return notification;
+        });
+        when(executorService.submit(anyString(), any(Runnable.class)))
+            .thenThrow(new RejectedExecutionException("Too many waiting tasks in executor partner-requests"));
+
+        DemandAndCapacityNotificationDto dto = new DemandAndCapacityNotificationDto();
+        dto.setNotificationId(UUID.randomUUID());
+        dto.setPartnerBpnl(SUPPLIER_BPNL);
+        dto.setText("Production line is down");
+
+        // when
+        mockMvc.perform(post("/demand-and-capacity-notification")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(dto)))
+            // then
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, String.valueOf(RejectedExecutionExceptionHandler.RETRY_AFTER_SECONDS)));
+
+        verify(ownNotificationService).delete(uuid);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2024 Fraunhofer-Gesellschaft zur Foerderung der angewandten Forschung e.V.
+ * (represented by Fraunhofer ISST)
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.erpadapter.logic.service;
+
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
+import org.eclipse.tractusx.puris.backend.erpadapter.ErpAdapterConfiguration;
+import org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterRequest;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ErpAdapterRequestBatcherTest {
+
+    @Mock
+    private ErpAdapterConfiguration erpAdapterConfiguration;
+
+    @Mock
+    private ErpAdapterRequestService erpAdapterRequestService;
+
+    @Mock
+    private BoundedExecutorService executorService;
+
+    @InjectMocks
+    private ErpAdapterRequestBatcher erpAdapterRequestBatcher;
+
+    private static final String BPNL = "BPNL1234567890ZZ";
+
+    private AutoCloseable mocks;
+
+    @BeforeEach
+    void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        when(erpAdapterConfiguration.getBatchingWindow()).thenReturn(50L);
+        when(erpAdapterConfiguration.getBatchingMaxSize()).thenReturn(3);
+        // run the submitted tasks right away
+        when(executorService.submit(anyString(), any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, Runnable.class).run();
+            return null;
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mocks.close();
+    }
+
+    @Test
+    void requestsForSamePartner_add_sendsOneBatchAfterWindow() {
+        // given
+        var first = request(BPNL, "MNR-1", DirectionCharacteristic.INBOUND);
+        var second = request(BPNL, "MNR-2", DirectionCharacteristic.INBOUND);
+
+        // when
+        erpAdapterRequestBatcher.add(first);
+        erpAdapterRequestBatcher.add(second);
+
+        // then
+        verify(erpAdapterRequestService, never()).createAndSendBatch(any());
+        verify(erpAdapterRequestService, timeout(1000)).createAndSendBatch(List.of(first, second));
+        verify(erpAdapterRequestService, never()).createAndSend(any());
+    }
+
+    @Test
+    void fullBatch_add_sendsBatchRightAwayWithoutDuplicates() {
+        // given
+        var first = request(BPNL, "MNR-1", DirectionCharacteristic.INBOUND);
+        var duplicate = request(BPNL, "MNR-1", DirectionCharacteristic.INBOUND);
+        var otherDirection = request(BPNL, "MNR-1", DirectionCharacteristic.OUTBOUND);
+        var third = request(BPNL, "MNR-3", DirectionCharacteristic.INBOUND);
+
+        // when
+        erpAdapterRequestBatcher.add(first);
+        erpAdapterRequestBatcher.add(duplicate);
+        erpAdapterRequestBatcher.add(otherDirection);
+        erpAdapterRequestBatcher.add(third);
+
+        // then
+        verify(erpAdapterRequestService).createAndSendBatch(List.of(first, otherDirection, third));
+        verify(erpAdapterRequestService, after(200).times(1)).createAndSendBatch(any());
+    }
+
+    @Test
+    void requestsForDifferentPartners_add_sendsSeparateRequests() {
+        // given
+        var first = request(BPNL, "MNR-1", DirectionCharacteristic.INBOUND);
+        var second = request("BPNL4444444444XX", "MNR-1", DirectionCharacteristic.INBOUND);
+
+        // when
+        erpAdapterRequestBatcher.add(first);
+        erpAdapterRequestBatcher.add(second);
+
+        // then
+        verify(erpAdapterRequestService, timeout(1000)).createAndSend(first);
+        verify(erpAdapterRequestService, timeout(1000)).createAndSend(second);
+        verify(erpAdapterRequestService, never()).createAndSendBatch(any());
+    }
+
+    private static ErpAdapterRequest request(String partnerBpnl, String ownMaterialNumber, DirectionCharacteristic direction) {
+        return ErpAdapterRequest.builder()
+            .partnerBpnl(partnerBpnl)
+            .ownMaterialNumber(ownMaterialNumber)
+            .directionCharacteristic(direction)
+            .requestType(AssetType.ITEM_STOCK_SUBMODEL)
+            .sammVersion(AssetType.ITEM_STOCK_SUBMODEL.ERP_SAMMVERSION)
+            .requestDate(new Date())
+            .build();
+    }
+}
@@ -40,6 +40,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.InputStream;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -132,4 +133,55 @@ public class ErpAdapterRequestClientTest {
             Assertions.assertThat(requestBodyNode.get("responseUrl").asText()).isEqualTo(erpResponseUrl);
         }
     }
+
+    @Test
+    public void batch_sendBatchRequest_listsRequestIdPerMaterial() throws Exception {
+        // given
+        ErpAdapterRequest inbound = ErpAdapterRequest.builder()
+            .requestDate(new Date())
+            .partnerBpnl(supplierPartnerBpnl)
+            .id(UUID.randomUUID())
+            .directionCharacteristic(DirectionCharacteristic.INBOUND)
+            .ownMaterialNumber(matNbrCustomer)
+            .requestType(requestType)
+            .sammVersion(sammVersion)
+            .build();
+        ErpAdapterRequest withoutDirection = ErpAdapterRequest.builder()
+            .requestDate(inbound.getRequestDate())
+            .partnerBpnl(supplierPartnerBpnl)
+            .id(UUID.randomUUID())
+            .ownMaterialNumber("MNR-8101-ID146955.001")
+            .requestType(requestType)
+            .sammVersion(sammVersion)
+            .build();
+
+        // when
+        Mockito.when(erpAdapterConfiguration.getErpAdapterUrl()).thenReturn(mockWebServer.url("/").toString());
+        Mockito.when(erpAdapterConfiguration.getErpAdapterAuthKey()).thenReturn(apiKey);
+        Mockito.when(erpAdapterConfiguration.getErpAdapterAuthSecret()).thenReturn(apiSecret);
+        Mockito.when(erpAdapterConfiguration.getErpResponseUrl()).thenReturn(erpResponseUrl);
+        erpAdapterRequestClient.sendBatchRequest(List.of(inbound, withoutDirection));
+        RecordedRequest request = mockWebServer.takeRequest(2, TimeUnit.SECONDS);
+
+        // then
+        var pairs = request.getPath().substring(2).split("&");
+        Map<String, String> parameters = Stream.of(pairs)
+            .map(string -> string.split("="))
+            .collect(Collectors.toMap(pair -> pair[0], pair -> pair[1]));
+
+        Assertions.assertThat(parameters.size()).isEqualTo(4);
+        Assertions.assertThat(parameters).doesNotContainKey("request-id");
+
+        try (InputStream stream = request.getBody().inputStream()) {
+            JsonNode requestBodyNode = objectMapper.readTree(new String(stream.readAllBytes()));
+            JsonNode requests = requestBodyNode.get("requests");
+            Assertions.assertThat(requests.size()).isEqualTo(2);
+            Assertions.assertThat(requests.get(0).get("request-id").asText()).isEqualTo(inbound.getId().toString());
+            Assertions.assertThat(requests.get(0).get("material").asText()).isEqualTo(matNbrCustomer);
+            Assertions.assertThat(requests.get(0).get("direction").asText()).isEqualTo(DirectionCharacteristic.INBOUND.toString());
+            Assertions.assertThat(requests.get(1).get("request-id").asText()).isEqualTo(withoutDirection.getId().toString());
+            Assertions.assertThat(requests.get(1).has("direction")).isFalse();
+            Assertions.assertThat(requestBodyNode.get("responseUrl").asText()).isEqualTo(erpResponseUrl);
+        }
+    }
 }
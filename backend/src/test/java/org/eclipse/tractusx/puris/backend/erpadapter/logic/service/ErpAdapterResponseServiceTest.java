@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2024 Fraunhofer-Gesellschaft zur Foerderung der angewandten Forschung e.V.
+ * (represented by Fraunhofer ISST)
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.erpadapter.logic.service;
+
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
+import org.eclipse.tractusx.puris.backend.erpadapter.ErpAdapterConfiguration;
+import org.eclipse.tractusx.puris.backend.erpadapter.controller.ErpAdapterController;
+import org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterRequest;
+import org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterResponse;
+import org.eclipse.tractusx.puris.backend.erpadapter.domain.repository.ErpAdapterResponseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ErpAdapterResponseServiceTest {
+
+    @Mock
+    private ErpAdapterResponseRepository repository;
+
+    @Mock
+    private ErpAdapterRequestService erpAdapterRequestService;
+
+    @Mock
+    private ItemStockErpAdapterService itemStockErpAdapterService;
+
+    @Mock
+    private ErpAdapterConfiguration erpAdapterConfiguration;
+
+    @Mock
+    private BoundedExecutorService executorService;
+
+    @InjectMocks
+    private ErpAdapterResponseService erpAdapterResponseService;
+
+    private static final String BPNL = "BPNL1234567890ZZ";
+
+    private final UUID requestId = UUID.randomUUID();
+
+    private AutoCloseable mocks;
+
+    @BeforeEach
+    void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        when(erpAdapterConfiguration.getResponsesBatchSize()).thenReturn(20);
+        // run the submitted tasks right away
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(executorService).execute(any(Runnable.class));
+        when(erpAdapterRequestService.get(requestId)).thenReturn(ErpAdapterRequest.builder()
+            .id(requestId).partnerBpnl(BPNL).requestType(AssetType.ITEM_STOCK_SUBMODEL).build());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mocks.close();
+    }
+
+    @Test
+    void unknownRequestId_accept_returns404() {
+        // when
+        int responseCode = erpAdapterResponseService.accept(dto(UUID.randomUUID()), "{}");
+
+        // then
+        assertEquals(404, responseCode);
+        verify(repository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void concurrentDuplicateResponse_accept_returns409() {
+        // given
+        when(repository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // when
+        int responseCode = erpAdapterResponseService.accept(dto(requestId), "{}");
+
+        // then
+        assertEquals(409, responseCode);
+        verify(executorService, never()).execute(any());
+    }
+
+    @Test
+    void validResponse_accept_storesAndProcessesResponse() {
+        // given
+        var stored = response("{\"direction\": \"INBOUND\"}");
+        when(repository.findByStateOrderByReceivedDateAsc(eq(ErpAdapterResponse.State.ACCEPTED), any()))
+            .thenReturn(List.of(stored), List.of());
+        when(repository.claim(eq(requestId), any())).thenReturn(1);
+        when(itemStockErpAdapterService.receiveItemStockUpdate(any())).thenReturn(201);
+
+        // when
+        int responseCode = erpAdapterResponseService.accept(dto(requestId), "{\"direction\": \"INBOUND\"}");
+
+        // then
+        assertEquals(202, responseCode);
+        verify(repository).saveAndFlush(argThat(response -> response.getState() == ErpAdapterResponse.State.ACCEPTED &&
+            response.getBody().contains("INBOUND") && response.isNew()));
+        ArgumentCaptor<ErpAdapterController.Dto> dtoCaptor = ArgumentCaptor.forClass(ErpAdapterController.Dto.class);
+        verify(itemStockErpAdapterService).receiveItemStockUpdate(dtoCaptor.capture());
+        assertEquals("INBOUND", dtoCaptor.getValue().body().get("direction").asText());
+        assertEquals(ErpAdapterResponse.State.PROCESSED, stored.getState());
+        assertEquals(201, stored.getStatusCode());
+        assertNull(stored.getBody());
+        verify(repository).save(stored);
+    }
+
+    @Test
+    void invalidBody_processRemaining_rejectsResponse() {
+        // given
+        var stored = response("{ invalid");
+        when(erpAdapterConfiguration.isErpAdapterEnabled()).thenReturn(true);
+        when(repository.findByStateOrderByReceivedDateAsc(eq(ErpAdapterResponse.State.ACCEPTED), any()))
+            .thenReturn(List.of(stored), List.of());
+        when(repository.claim(eq(requestId), any())).thenReturn(1);
+
+        // when
+        erpAdapterResponseService.processRemaining();
+
+        // then
+        verify(itemStockErpAdapterService, never()).receiveItemStockUpdate(any());
+        assertEquals(ErpAdapterResponse.State.REJECTED, stored.getState());
+        assertEquals(400, stored.getStatusCode());
+        verify(repository).save(stored);
+    }
+
+    @Test
+    void processingThrows_processRemaining_storesFailureAndContinues() {
+        // given
+        var failing = response("{}");
+        var next = response("{}");
+        next.setRequestId(UUID.randomUUID());
+        when(erpAdapterConfiguration.isErpAdapterEnabled()).thenReturn(true);
+        when(repository.findByStateOrderByReceivedDateAsc(eq(ErpAdapterResponse.State.ACCEPTED), any()))
+            .thenReturn(List.of(failing, next), List.of());
+        when(repository.claim(any(), any())).thenReturn(1);
+        when(itemStockErpAdapterService.receiveItemStockUpdate(any()))
+            .thenThrow(new IllegalStateException("database unavailable"))
+            .thenReturn(201);
+
+        // when
+        erpAdapterResponseService.processRemaining();
+
+        // then
+        assertEquals(ErpAdapterResponse.State.FAILED, failing.getState());
+        assertEquals(500, failing.getStatusCode());
+        assertNull(failing.getBody());
+        verify(repository).save(failing);
+        assertEquals(ErpAdapterResponse.State.PROCESSED, next.getState());
+        verify(repository).save(next);
+    }
+
+    @Test
+    void responseClaimedByOtherReplica_processRemaining_skipsResponse() {
+        // given
+        var stored = response("{}");
+        when(erpAdapterConfiguration.isErpAdapterEnabled()).thenReturn(true);
+        when(repository.findByStateOrderByReceivedDateAsc(eq(ErpAdapterResponse.State.ACCEPTED), any()))
+            .thenReturn(List.of(stored), List.of());
+        when(repository.claim(eq(requestId), any())).thenReturn(0);
+
+        // when
+        erpAdapterResponseService.processRemaining();
+
+        // then
+        verify(itemStockErpAdapterService, never()).receiveItemStockUpdate(any());
+        assertEquals(ErpAdapterResponse.State.ACCEPTED, stored.getState());
+        verify(repository, never()).save(any());
+    }
+
+    private ErpAdapterController.Dto dto(UUID id) {
+        return new ErpAdapterController.Dto(id, BPNL, AssetType.ITEM_STOCK_SUBMODEL.ERP_KEYWORD, "2.0", new Date(), null);
+    }
+
+    private ErpAdapterResponse response(String body) {
+        return ErpAdapterResponse.builder()
+            .requestId(requestId)
+            .partnerBpnl(BPNL)
+            .responseType(AssetType.ITEM_STOCK_SUBMODEL.ERP_KEYWORD)
+            .sammVersion("2.0")
+            .responseTimestamp(new Date())
+            .state(ErpAdapterResponse.State.ACCEPTED)
+            .receivedDate(new Date())
+            .body(body)
+            .build();
+    }
+}
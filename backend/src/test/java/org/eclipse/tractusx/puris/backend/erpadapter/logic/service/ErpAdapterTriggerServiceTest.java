@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2024 Fraunhofer-Gesellschaft zur Foerderung der angewandten Forschung e.V.
+ * (represented by Fraunhofer ISST)
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.erpadapter.logic.service;
+
+import org.eclipse.tractusx.puris.backend.common.edc.domain.model.AssetType;
+import org.eclipse.tractusx.puris.backend.common.logic.service.LeaseService;
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
+import org.eclipse.tractusx.puris.backend.erpadapter.ErpAdapterConfiguration;
+import org.eclipse.tractusx.puris.backend.erpadapter.domain.model.ErpAdapterTriggerDataset;
+import org.eclipse.tractusx.puris.backend.erpadapter.domain.repository.ErpAdapterTriggerDatasetRepository;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ErpAdapterTriggerServiceTest {
+
+    @Mock
+    private ErpAdapterTriggerDatasetRepository repository;
+
+    @Mock
+    private ErpAdapterConfiguration erpAdapterConfiguration;
+
+    @Mock
+    private ErpAdapterRequestService erpAdapterRequestService;
+
+    @Mock
+    private BoundedExecutorService executorService;
+
+    @Mock
+    private ErpAdapterRequestBatcher erpAdapterRequestBatcher;
+
+    @Mock
+    private LeaseService leaseService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ErpAdapterTriggerService erpAdapterTriggerService;
+
+    private static final String BPNL = "BPNL1234567890ZZ";
+
+    private static final String MATERIAL_NUMBER = "MNR-7307-AU340474.002";
+
+    private static final long HOUR = 60 * 60 * 1000;
+
+    private AutoCloseable mocks;
+
+    @BeforeEach
+    void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        when(erpAdapterConfiguration.isErpAdapterEnabled()).thenReturn(true);
+        when(erpAdapterConfiguration.getRefreshInterval()).thenReturn(HOUR);
+        when(erpAdapterConfiguration.getRefreshTimeLimit()).thenReturn(24 * HOUR);
+        when(erpAdapterConfiguration.getFlushInterval()).thenReturn(50L);
+        when(erpAdapterConfiguration.getLeaseDuration()).thenReturn(10_000L);
+        when(leaseService.tryAcquire(eq(ErpAdapterTriggerService.LEASE), anyLong())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        erpAdapterTriggerService.stop();
+        mocks.close();
+    }
+
+    @Test
+    void dueDataset_start_dispatchesRequestAndReschedules() {
+        // given
+        long now = new Date().getTime();
+        var dataset = new ErpAdapterTriggerDataset(BPNL, MATERIAL_NUMBER, AssetType.ITEM_STOCK_SUBMODEL,
+            DirectionCharacteristic.INBOUND.name(), now - HOUR, now - 1000);
+        when(repository.findAll()).thenReturn(List.of(dataset));
+
+        // when
+        erpAdapterTriggerService.start();
+
+        // then
+        verify(executorService, timeout(1000)).submit(eq(BPNL), any(Runnable.class));
+        verify(repository, timeout(1000)).updateSchedule(eq(BPNL), eq(MATERIAL_NUMBER), eq(AssetType.ITEM_STOCK_SUBMODEL),
+            eq(DirectionCharacteristic.INBOUND.name()), eq(now - HOUR), longThat(next -> next > now));
+        var statistics = erpAdapterTriggerService.getStatistics();
+        assertTrue(statistics.leader());
+        assertEquals(1, statistics.scheduled());
+        assertEquals(0, statistics.overdue());
+        assertEquals(1, statistics.dispatched());
+    }
+
+    @Test
+    void expiredDataset_start_deletesDataset() {
+        // given
+        long now = new Date().getTime();
+        var dataset = new ErpAdapterTriggerDataset(BPNL, MATERIAL_NUMBER, AssetType.ITEM_STOCK_SUBMODEL,
+            "", now - 25 * HOUR, now - 1000);
+        when(repository.findAll()).thenReturn(List.of(dataset));
+
+        // when
+        erpAdapterTriggerService.start();
+
+        // then
+        verify(repository, timeout(1000)).deleteIfNotRequestedSince(BPNL, MATERIAL_NUMBER,
+            AssetType.ITEM_STOCK_SUBMODEL, "", now - 25 * HOUR);
+        verify(executorService, never()).submit(anyString(), any(Runnable.class));
+        assertEquals(0, erpAdapterTriggerService.getStatistics().scheduled());
+        assertEquals(1, erpAdapterTriggerService.getStatistics().expired());
+    }
+
+    @Test
+    void leader_notifyPartnerRequest_dispatchesOnlyOnce() throws InterruptedException {
+        // given
+        when(repository.findAll()).thenReturn(List.of());
+        erpAdapterTriggerService.start();
+        awaitLeadership();
+
+        // when
+        erpAdapterTriggerService.notifyPartnerRequest(BPNL, MATERIAL_NUMBER, AssetType.ITEM_STOCK_SUBMODEL, DirectionCharacteristic.OUTBOUND);
+        erpAdapterTriggerService.notifyPartnerRequest(BPNL, MATERIAL_NUMBER, AssetType.ITEM_STOCK_SUBMODEL, DirectionCharacteristic.OUTBOUND);
+
+        // then
+        verify(executorService, times(1)).submit(eq(BPNL), any(Runnable.class));
+        verify(repository, timeout(1000)).save(any(ErpAdapterTriggerDataset.class));
+        verify(repository, never()).updateLastPartnerRequest(any(), any(), any(), any(), anyLong());
+        assertEquals(1, erpAdapterTriggerService.getStatistics().scheduled());
+    }
+
+    @Test
+    void follower_notifyPartnerRequest_storesRequestInDatabase() {
+        // given
+        when(leaseService.tryAcquire(eq(ErpAdapterTriggerService.LEASE), anyLong())).thenReturn(false);
+        when(repository.updateLastPartnerRequest(any(), any(), any(), any(), anyLong())).thenReturn(0, 1);
+        erpAdapterTriggerService.start();
+
+        // when
+        erpAdapterTriggerService.notifyPartnerRequest(BPNL, MATERIAL_NUMBER, AssetType.ITEM_STOCK_SUBMODEL, null);
+        erpAdapterTriggerService.notifyPartnerRequest(BPNL, MATERIAL_NUMBER, AssetType.ITEM_STOCK_SUBMODEL, null);
+
+        // then
+        verify(repository, times(1)).save(argThat(dataset -> dataset.getDirectionCharacteristic().isEmpty()));
+        verify(executorService, times(1)).submit(eq(BPNL), any(Runnable.class));
+        verify(repository, never()).findAll();
+        assertEquals(0, erpAdapterTriggerService.getStatistics().scheduled());
+    }
+
+    @Test
+    void datasetCreatedConcurrently_notifyPartnerRequest_treatsDatasetAsExisting() {
+        // given
+        when(leaseService.tryAcquire(eq(ErpAdapterTriggerService.LEASE), anyLong())).thenReturn(false);
+        when(repository.updateLastPartnerRequest(any(), any(), any(), any(), anyLong())).thenReturn(0);
+        when(repository.save(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        erpAdapterTriggerService.start();
+
+        // when
+        erpAdapterTriggerService.notifyPartnerRequest(BPNL, MATERIAL_NUMBER, AssetType.ITEM_STOCK_SUBMODEL, null);
+
+        // then
+        verify(executorService, never()).submit(any(), any(Runnable.class));
+    }
+
+    @Test
+    void databaseUnreachable_start_backsOffBetweenAttempts() throws InterruptedException {
+        // given
+        when(leaseService.tryAcquire(eq(ErpAdapterTriggerService.LEASE), anyLong()))
+            .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        // when
+        erpAdapterTriggerService.start();
+        Thread.sleep(200);
+
+        // then
+        verify(leaseService, atMost(10)).tryAcquire(eq(ErpAdapterTriggerService.LEASE), anyLong());
+    }
+
+    private void awaitLeadership() throws InterruptedException {
+        for (int i = 0; i < 100 && !erpAdapterTriggerService.getStatistics().leader(); i++) {
+            Thread.sleep(10);
+        }
+    }
+}
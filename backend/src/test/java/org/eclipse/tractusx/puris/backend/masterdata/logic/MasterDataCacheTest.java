@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.masterdata.logic;
+
+import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MasterDataCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+public class MasterDataCacheTest {
+
+    @Mock
+    private VariablesService variablesService;
+
+    private MasterDataCache masterDataCache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Function<String, Material> loader = ownMaterialNumber -> {
+        loads.incrementAndGet();
+        return "MNR-404".equals(ownMaterialNumber) ? null : new Material(true, false, ownMaterialNumber, "uuid-value", "Test Material");
+    };
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(variablesService.getMasterDataCacheTtl()).thenReturn(60_000L);
+        masterDataCache = new MasterDataCache(variablesService);
+    }
+
+    @Test
+    void cachedMaterial_getMaterial_loadsOnce() {
+        // when
+        Material first = masterDataCache.getMaterial("MNR-123", loader);
+        Material second = masterDataCache.getMaterial("MNR-123", loader);
+        Material missing = masterDataCache.getMaterial("MNR-404", loader);
+        masterDataCache.getMaterial("MNR-404", loader);
+
+        // then
+        assertSame(first, second);
+        assertNull(missing);
+        assertEquals(2, loads.get());
+        var statistics = masterDataCache.getStatistics().stream()
+            .filter(region -> region.name().equals("materialsByOwnMaterialNumber")).findFirst().orElseThrow();
+        assertEquals(2, statistics.hits());
+        assertEquals(2, statistics.misses());
+        assertEquals(0.5, statistics.hitRate());
+    }
+
+    @Test
+    void invalidatedMaterial_getMaterial_loadsAgain() {
+        // given
+        Material first = masterDataCache.getMaterial("MNR-123", loader);
+
+        // when
+        masterDataCache.invalidateMaterial("MNR-123");
+        Material second = masterDataCache.getMaterial("MNR-123", loader);
+
+        // then
+        assertNotSame(first, second);
+        assertEquals(2, loads.get());
+    }
+}
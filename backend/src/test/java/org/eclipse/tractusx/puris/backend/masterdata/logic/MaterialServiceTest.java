@@ -20,11 +20,13 @@
 package org.eclipse.tractusx.puris.backend.masterdata.logic;
 
 import org.eclipse.tractusx.puris.backend.common.ddtr.logic.DigitalTwinMappingService;
+import org.eclipse.tractusx.puris.backend.common.util.VariablesService;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Site;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.MaterialRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MasterDataCache;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,6 +34,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import java.util.List;
 import java.util.Optional;
@@ -50,6 +53,10 @@ public class MaterialServiceTest {
     @Mock
     private DigitalTwinMappingService digitalTwinMappingService;
 
+    // a time to live of zero passes every lookup through to the repository
+    @Spy
+    private MasterDataCache masterDataCache = new MasterDataCache(mock(VariablesService.class));
+
     @InjectMocks
     private MaterialServiceImpl materialService;
 
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.production.logic.service;
+
+import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemUnitEnumeration;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.MaterialRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.repository.PartnerRepository;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.eclipse.tractusx.puris.backend.production.domain.model.OwnProduction;
+import org.eclipse.tractusx.puris.backend.production.domain.repository.OwnProductionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import(OwnProductionService.class)
+public class OwnProductionServiceTest {
+
+    private static final String SITE_BPNS = "BPNS1234567890ZZ";
+
+    @Autowired
+    private OwnProductionService ownProductionService;
+
+    @Autowired
+    private OwnProductionRepository ownProductionRepository;
+
+    @Autowired
+    private PartnerRepository partnerRepository;
+
+    @Autowired
+    private MaterialRepository materialRepository;
+
+    @MockBean
+    private PartnerService partnerService;
+
+    private Partner customer;
+
+    private Partner otherCustomer;
+
+    private Material product;
+
+    @BeforeEach
+    void setUp() {
+        customer = partnerRepository.save(new Partner("Scenario Customer", "http://customer-control-plane:8184/api/v1/dsp",
+            "BPNL4444444444XX", "BPNS4444444444XX", "Hauptwerk Musterhausen", "BPNA4444444444AA",
+            "Musterstraße 35b", "77777 Musterhausen", "Germany"));
+        otherCustomer = partnerRepository.save(new Partner("Other Customer", "http://other-control-plane:8184/api/v1/dsp",
+            "BPNL5555555555XX", "BPNS5555555555XX", "Werk Beispielstadt", "BPNA5555555555AA",
+            "Beispielweg 1", "88888 Beispielstadt", "Germany"));
+        product = materialRepository.save(new Material(false, true, "MNR-7307-AU340474.002", UUID.randomUUID().toString(), "Semiconductor"));
+    }
+
+    @Test
+    void productionsInOtherMonth_findAllByFilters_returnsProductionsOfDayOnly() {
+        // given
+        var march = ownProductionRepository.save(production(customer, "2024-03-05T10:00:00Z"));
+        ownProductionRepository.save(production(customer, "2024-04-05T10:00:00Z"));
+        ownProductionRepository.save(production(customer, "2024-03-06T00:00:00Z"));
+
+        // when
+        List<OwnProduction> productions = ownProductionService.findAllByFilters(Optional.of(product.getOwnMaterialNumber()),
+            Optional.of(customer.getBpnl()), Optional.of(SITE_BPNS), Optional.of(Date.from(Instant.parse("2024-03-05T18:00:00Z"))));
+
+        // then
+        assertEquals(List.of(march.getUuid()), productions.stream().map(OwnProduction::getUuid).toList());
+    }
+
+    @Test
+    void productionsOfTwoPartners_findAllByBpnl_returnsProductionsOfPartnerOnly() {
+        // given
+        ownProductionRepository.save(production(customer, "2024-03-05T10:00:00Z"));
+        ownProductionRepository.save(production(otherCustomer, "2024-03-05T10:00:00Z"));
+
+        // when
+        List<OwnProduction> productions = ownProductionService.findAllByBpnl(customer.getBpnl());
+
+        // then
+        assertEquals(1, productions.size());
+        assertEquals(customer.getBpnl(), productions.get(0).getPartner().getBpnl());
+    }
+
+    private OwnProduction production(Partner partner, String estimatedTimeOfCompletion) {
+        return OwnProduction.builder()
+            .partner(partner)
+            .material(product)
+            .quantity(20)
+            .measurementUnit(ItemUnitEnumeration.UNIT_PIECE)
+            .productionSiteBpns(SITE_BPNS)
+            .estimatedTimeOfCompletion(Date.from(Instant.parse(estimatedTimeOfCompletion)))
+            .build();
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2024 Volkswagen AG
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.refresh.logic.service;
+
+import org.eclipse.tractusx.puris.backend.common.util.BoundedExecutorService;
+import org.eclipse.tractusx.puris.backend.delivery.logic.service.DeliveryRequestApiService;
+import org.eclipse.tractusx.puris.backend.demand.logic.services.DemandRequestApiService;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
+import org.eclipse.tractusx.puris.backend.production.logic.service.ProductionRequestApiService;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.eclipse.tractusx.puris.backend.stock.logic.service.ItemStockRequestApiService;
+import org.eclipse.tractusx.puris.backend.supply.logic.service.DaysOfSupplyRequestApiService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ReportedDataRefreshServiceTest {
+
+    @Mock
+    private MaterialPartnerRelationService mprService;
+    @Mock
+    private ItemStockRequestApiService itemStockRequestApiService;
+    @Mock
+    private DemandRequestApiService demandRequestApiService;
+    @Mock
+    private ProductionRequestApiService productionRequestApiService;
+    @Mock
+    private DeliveryRequestApiService deliveryRequestApiService;
+    @Mock
+    private DaysOfSupplyRequestApiService daysOfSupplyRequestApiService;
+    @Mock
+    private BoundedExecutorService executorService;
+
+    @InjectMocks
+    private ReportedDataRefreshService refreshService;
+
+    private Partner supplier;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // run the partner tasks immediately
+        when(executorService.submit(anyString(), any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, Runnable.class).run();
+            return null;
+        });
+        supplier = new Partner("Supplier", "http://supplier-control-plane:8184/api/v1/dsp", "BPNL1234567890ZZ",
+            "BPNS1234567890ZZ", "Supplier Site", "BPNA1234567890AA", "Hauptstrasse 1", "12345 Musterstadt", "Germany");
+        supplier.setUuid(UUID.randomUUID());
+        when(itemStockRequestApiService.doItemStockSubmodelReportedMaterialItemStockRequest(any(), any())).thenReturn(true);
+        when(itemStockRequestApiService.doItemStockSubmodelReportedProductItemStockRequest(any(), any())).thenReturn(true);
+        when(productionRequestApiService.doReportedProductionRequest(any(), any())).thenReturn(true);
+        when(demandRequestApiService.doReportedDemandRequest(any(), any())).thenReturn(true);
+        when(deliveryRequestApiService.doReportedDeliveryRequest(any(), any())).thenReturn(true);
+        when(daysOfSupplyRequestApiService.doReportedDaysOfSupplyRequest(any(), any(), any())).thenReturn(true);
+    }
+
+    @Test
+    void twoMaterialsOfOneSupplier_refreshAll_submitsOneTaskForPartner() {
+        // given
+        Material material1 = Material.builder().ownMaterialNumber("MNR-7307").materialFlag(true).build();
+        Material material2 = Material.builder().ownMaterialNumber("MNR-8101").materialFlag(true).build();
+        when(mprService.findAll()).thenReturn(List.of(
+            new MaterialPartnerRelation(material1, supplier, "MNR-4177", true, false),
+            new MaterialPartnerRelation(material2, supplier, "MNR-4178", true, false)
+        ));
+
+        // when
+        assertTrue(refreshService.refreshAll());
+
+        // then
+        verify(executorService, times(1)).submit(eq("BPNL1234567890ZZ"), any(Runnable.class));
+        verify(itemStockRequestApiService).doItemStockSubmodelReportedMaterialItemStockRequest(supplier, material1);
+        verify(itemStockRequestApiService).doItemStockSubmodelReportedMaterialItemStockRequest(supplier, material2);
+        verify(productionRequestApiService, times(2)).doReportedProductionRequest(eq(supplier), any());
+        verify(deliveryRequestApiService, times(2)).doReportedDeliveryRequest(eq(supplier), any());
+        verify(daysOfSupplyRequestApiService, times(2)).doReportedDaysOfSupplyRequest(eq(supplier), any(), eq(DirectionCharacteristic.OUTBOUND));
+        verifyNoInteractions(demandRequestApiService);
+
+        var status = refreshService.getStatus();
+        assertFalse(status.running());
+        assertEquals(1, status.partnersDone());
+        assertEquals(8, status.requestsTotal());
+        assertEquals(8, status.requestsDone());
+        assertEquals(0, status.requestsFailed());
+        assertTrue(status.lastPartnerRefresh().containsKey("BPNL1234567890ZZ"));
+    }
+
+    @Test
+    void failingRequest_refreshAll_continuesWithNextRequest() {
+        // given
+        Material material = Material.builder().ownMaterialNumber("MNR-7307").materialFlag(true).build();
+        when(mprService.findAll()).thenReturn(List.of(new MaterialPartnerRelation(material, supplier, "MNR-4177", true, false)));
+        doThrow(new IllegalStateException("connector unavailable"))
+            .when(itemStockRequestApiService).doItemStockSubmodelReportedMaterialItemStockRequest(supplier, material);
+
+        // when
+        refreshService.refreshAll();
+
+        // then
+        verify(productionRequestApiService).doReportedProductionRequest(supplier, material);
+        var status = refreshService.getStatus();
+        assertEquals(1, status.requestsFailed());
+        assertEquals(3, status.requestsDone());
+    }
+
+    @Test
+    void unsuccessfulRequest_refreshAll_countsRequestAsFailed() {
+        // given
+        Material material = Material.builder().ownMaterialNumber("MNR-7307").materialFlag(true).build();
+        when(mprService.findAll()).thenReturn(List.of(new MaterialPartnerRelation(material, supplier, "MNR-4177", true, false)));
+        when(productionRequestApiService.doReportedProductionRequest(supplier, material)).thenReturn(false);
+
+        // when
+        refreshService.refreshAll();
+
+        // then
+        verify(deliveryRequestApiService).doReportedDeliveryRequest(supplier, material);
+        var status = refreshService.getStatus();
+        assertEquals(1, status.requestsFailed());
+        assertEquals(3, status.requestsDone());
+        assertFalse(status.lastPartnerRefresh().containsKey("BPNL1234567890ZZ"));
+    }
+
+    @Test
+    void allRequestsUnsuccessful_refreshAll_keepsLastPartnerRefresh() {
+        // given
+        Material material = Material.builder().ownMaterialNumber("MNR-7307").materialFlag(true).build();
+        when(mprService.findAll()).thenReturn(List.of(new MaterialPartnerRelation(material, supplier, "MNR-4177", true, false)));
+        when(itemStockRequestApiService.doItemStockSubmodelReportedMaterialItemStockRequest(any(), any())).thenReturn(false);
+        when(productionRequestApiService.doReportedProductionRequest(any(), any())).thenReturn(false);
+        when(demandRequestApiService.doReportedDemandRequest(any(), any())).thenReturn(false);
+        when(deliveryRequestApiService.doReportedDeliveryRequest(any(), any())).thenReturn(false);
+        when(daysOfSupplyRequestApiService.doReportedDaysOfSupplyRequest(any(), any(), any())).thenReturn(false);
+
+        // when
+        refreshService.refreshAll();
+
+        // then
+        var status = refreshService.getStatus();
+        assertEquals(0, status.requestsDone());
+        assertEquals(4, status.requestsFailed());
+        assertTrue(status.lastPartnerRefresh().isEmpty());
+        assertEquals(-1, status.lag());
+    }
+
+    @Test
+    void failingSetup_refreshAll_allowsNextRefresh() {
+        // given
+        Material material = Material.builder().ownMaterialNumber("MNR-7307").materialFlag(true).build();
+        when(mprService.findAll())
+            .thenThrow(new IllegalStateException("database unavailable"))
+            .thenReturn(List.of(new MaterialPartnerRelation(material, supplier, "MNR-4177", true, false)));
+
+        // when
+        assertThrows(IllegalStateException.class, () -> refreshService.refreshAll());
+
+        // then
+        assertFalse(refreshService.getStatus().running());
+        assertTrue(refreshService.refreshAll());
+        assertEquals(4, refreshService.getStatus().requestsDone());
+    }
+}
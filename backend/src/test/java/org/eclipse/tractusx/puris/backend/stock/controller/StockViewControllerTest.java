@@ -25,11 +25,18 @@ import org.eclipse.tractusx.puris.backend.common.security.DtrSecurityConfigurati
 import org.eclipse.tractusx.puris.backend.common.security.SecurityConfig;
 import org.eclipse.tractusx.puris.backend.common.security.annotation.WithMockApiKey;
 import org.eclipse.tractusx.puris.backend.common.security.logic.ApiKeyAuthenticationProvider;
+import org.eclipse.tractusx.puris.backend.common.domain.model.measurement.ItemUnitEnumeration;
 import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Material;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.MaterialPartnerRelation;
+import org.eclipse.tractusx.puris.backend.masterdata.domain.model.Partner;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialPartnerRelationService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
 import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.ItemStockSummary;
+import org.eclipse.tractusx.puris.backend.stock.domain.model.ProductItemStock;
 import org.eclipse.tractusx.puris.backend.stock.logic.dto.FrontendMaterialDto;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.ProductStockDto;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.StockSummaryDto;
 import org.eclipse.tractusx.puris.backend.stock.logic.service.*;
 import org.junit.jupiter.api.Test;
 import org.modelmapper.ModelMapper;
@@ -41,10 +48,15 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -138,4 +150,95 @@ class StockViewControllerTest {
             });
     }
 
+    @Test
+    @WithMockApiKey
+    void getProductStocks_GivenTwoStocksOfOnePartner_FetchesRelationsOnce() throws Exception {
+
+        // given
+        Material material = Material.builder()
+            .ownMaterialNumber("MNR-7307")
+            .productFlag(true)
+            .name("Test Product")
+            .materialNumberCx("urn:uuid:ccfffbba-cfa0-49c4-bc9c-4e13d7a4ac7a")
+            .build();
+        Partner customer = new Partner("Customer", "http://customer-control-plane:8184/api/v1/dsp", "BPNL4444444444XX",
+            "BPNS4444444444XX", "Customer Site", "BPNA4444444444XX", "Feldweg 1", "12345 Hauptstadt", "Germany");
+        customer.setUuid(UUID.randomUUID());
+        MaterialPartnerRelation mpr = new MaterialPartnerRelation(material, customer, "MNR-4177", false, true);
+        ProductItemStock stock1 = ProductItemStock.builder()
+            .uuid(UUID.randomUUID()).material(material).partner(customer).quantity(20)
+            .measurementUnit(ItemUnitEnumeration.UNIT_PIECE)
+            .locationBpns("BPNS1234567890ZZ").locationBpna("BPNA1234567890AA").build();
+        ProductItemStock stock2 = ProductItemStock.builder()
+            .uuid(UUID.randomUUID()).material(material).partner(customer).quantity(30)
+            .measurementUnit(ItemUnitEnumeration.UNIT_PIECE)
+            .locationBpns("BPNS1234567890ZZ").locationBpna("BPNA1234567890AA").build();
+        when(productItemStockService.findAll()).thenReturn(List.of(stock1, stock2));
+        when(mprService.findAll(anyCollection())).thenReturn(List.of(mpr));
+
+        this.mockMvc.perform(
+                get("/stockView/product-stocks")
+            )
+            .andExpect(status().isOk())
+            .andDo(result -> {
+                String jsonResponse = result.getResponse().getContentAsString();
+                List<ProductStockDto> returnedStocks = new ObjectMapper().readValue(jsonResponse, new TypeReference<>() {
+                });
+
+                // then
+                assertEquals(2, returnedStocks.size());
+                for (ProductStockDto returnedStock : returnedStocks) {
+                    assertEquals("MNR-7307", returnedStock.getMaterial().getMaterialNumberSupplier());
+                    assertEquals("MNR-4177", returnedStock.getMaterial().getMaterialNumberCustomer());
+                    assertEquals("BPNL4444444444XX", returnedStock.getPartner().getBpnl());
+                    assertEquals(1, returnedStock.getPartner().getSites().size());
+                }
+            });
+        verify(mprService, times(1)).findAll(anyCollection());
+        verify(mprService, never()).find(anyString(), any(UUID.class));
+    }
+
+    @Test
+    @WithMockApiKey
+    void getStockSummary_GivenInboundDirection_ReturnsOwnAndReportedSummaries() throws Exception {
+
+        // given
+        String encodedMaterialNumber = Base64.getEncoder().encodeToString("MNR-4711".getBytes());
+        when(materialItemStockService.getSummaryByOwnMaterialNumber("MNR-4711")).thenReturn(List.of(
+            new ItemStockSummary("MNR-4711", "BPNL1234567890ZZ", "BPNS1234567890ZZ", ItemUnitEnumeration.UNIT_PIECE, 50)
+        ));
+        when(reportedMaterialItemStockService.getSummaryByOwnMaterialNumber("MNR-4711")).thenReturn(List.of(
+            new ItemStockSummary("MNR-4711", "BPNL4444444444XX", "BPNS4444444444XX", ItemUnitEnumeration.UNIT_PIECE, 20)
+        ));
+
+        this.mockMvc.perform(
+                get("/stockView/stock-summary")
+                    .param("ownMaterialNumber", encodedMaterialNumber)
+                    .param("direction", "INBOUND")
+            )
+            .andExpect(status().isOk())
+            .andDo(result -> {
+                String jsonResponse = result.getResponse().getContentAsString();
+                List<StockSummaryDto> returnedSummaries = new ObjectMapper().readValue(jsonResponse, new TypeReference<>() {
+                });
+
+                // then
+                assertEquals(2, returnedSummaries.size());
+                StockSummaryDto ownSummary = returnedSummaries.get(0);
+                assertAll(
+                    () -> assertFalse(ownSummary.isReported()),
+                    () -> assertEquals("BPNS1234567890ZZ", ownSummary.getStockLocationBpns()),
+                    () -> assertEquals(50, ownSummary.getQuantity())
+                );
+                StockSummaryDto reportedSummary = returnedSummaries.get(1);
+                assertAll(
+                    () -> assertTrue(reportedSummary.isReported()),
+                    () -> assertEquals("BPNL4444444444XX", reportedSummary.getPartnerBpnl()),
+                    () -> assertEquals(20, reportedSummary.getQuantity())
+                );
+            });
+        verify(productItemStockService, never()).getSummaryByOwnMaterialNumber(anyString());
+        verify(materialItemStockService, never()).findAll();
+    }
+
 }
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2023 Volkswagen AG
+ * Copyright (c) 2023 Fraunhofer-Gesellschaft zur Foerderung der angewandten Forschung e.V. (represented by Fraunhofer ISST)
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.eclipse.tractusx.puris.backend.supply.logic.service;
+
+import org.eclipse.tractusx.puris.backend.common.util.ReportedDataReconciler;
+import org.eclipse.tractusx.puris.backend.delivery.domain.model.OwnDelivery;
+import org.eclipse.tractusx.puris.backend.delivery.domain.model.ReportedDelivery;
+import org.eclipse.tractusx.puris.backend.delivery.logic.service.OwnDeliveryService;
+import org.eclipse.tractusx.puris.backend.delivery.logic.service.ReportedDeliveryService;
+import org.eclipse.tractusx.puris.backend.demand.domain.model.OwnDemand;
+import org.eclipse.tractusx.puris.backend.demand.logic.services.OwnDemandService;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.MaterialService;
+import org.eclipse.tractusx.puris.backend.masterdata.logic.service.PartnerService;
+import org.eclipse.tractusx.puris.backend.stock.logic.dto.itemstocksamm.DirectionCharacteristic;
+import org.eclipse.tractusx.puris.backend.stock.logic.service.MaterialItemStockService;
+import org.eclipse.tractusx.puris.backend.supply.domain.model.OwnCustomerSupply;
+import org.eclipse.tractusx.puris.backend.supply.domain.model.Supply;
+import org.eclipse.tractusx.puris.backend.supply.domain.repository.ReportedCustomerSupplyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig(CustomerSupplyService.class)
+public class CustomerSupplyServiceTest {
+
+    private static final String MATERIAL_NUMBER = "MNR-7307-AU340474.002";
+
+    private static final String SUPPLIER_BPNL = "BPNL1234567890ZZ";
+
+    private static final String SITE_BPNS = "BPNS4444444444XX";
+
+    private static final String OTHER_SITE_BPNS = "BPNS4444444444YY";
+
+    private static final String UNREQUESTED_SITE_BPNS = "BPNS4444444444ZZ";
+
+    private static final int NUMBER_OF_DAYS = 5;
+
+    private static final double DELTA = 1e-9;
+
+    @Autowired
+    private CustomerSupplyService customerSupplyService;
+
+    @MockBean
+    private ReportedCustomerSupplyRepository repository;
+
+    @MockBean
+    private PartnerService partnerService;
+
+    @MockBean
+    private MaterialService materialService;
+
+    @MockBean
+    private MaterialItemStockService materialItemStockService;
+
+    @MockBean
+    private ReportedDataReconciler reconciler;
+
+    @MockBean
+    private OwnDeliveryService ownDeliveryService;
+
+    @MockBean
+    private ReportedDeliveryService reportedDeliveryService;
+
+    @MockBean
+    private OwnDemandService ownDemandService;
+
+    /**
+     * The first day of the calculation, all days are cut in UTC.
+     */
+    private LocalDate firstDay;
+
+    @BeforeEach
+    void setUp() {
+        firstDay = LocalDate.now(ZoneOffset.UTC);
+        when(materialItemStockService.getInitialStockQuantity(MATERIAL_NUMBER, SUPPLIER_BPNL)).thenReturn(100.0);
+        when(ownDeliveryService.findAllByDateRange(eq(MATERIAL_NUMBER), eq(SUPPLIER_BPNL), eq(DirectionCharacteristic.INBOUND), any(), any()))
+            .thenReturn(List.of());
+        when(reportedDeliveryService.findAllByDateRange(eq(MATERIAL_NUMBER), eq(SUPPLIER_BPNL), eq(DirectionCharacteristic.INBOUND), any(), any()))
+            .thenReturn(List.of());
+        when(ownDemandService.findAllByDateRange(eq(MATERIAL_NUMBER), eq(SUPPLIER_BPNL), any(), any()))
+            .thenReturn(List.of());
+    }
+
+    @Test
+    void deliveriesAndDemands_calculateCustomerDaysOfSupply_returnsDaysOfSupplyPerDay() {
+        // given
+        when(ownDemandService.findAllByDateRange(eq(MATERIAL_NUMBER), eq(SUPPLIER_BPNL), any(), any())).thenReturn(List.of(
+            demand(SITE_BPNS, 0, LocalTime.NOON, 30),
+            demand(SITE_BPNS, 1, LocalTime.MIDNIGHT, 20),
+            demand(SITE_BPNS, 1, LocalTime.of(23, 30), 10),
+            demand(SITE_BPNS, 2, LocalTime.NOON, 30),
+            demand(SITE_BPNS, 3, LocalTime.NOON, 30),
+            demand(SITE_BPNS, 4, LocalTime.NOON, 30),
+            // outside of the period
+            demand(SITE_BPNS, NUMBER_OF_DAYS, LocalTime.NOON, 1000)));
+        when(ownDeliveryService.findAllByDateRange(eq(MATERIAL_NUMBER), eq(SUPPLIER_BPNL), eq(DirectionCharacteristic.INBOUND), any(), any()))
+            .thenReturn(List.of(ownDelivery(SITE_BPNS, 2, 20)));
+        when(reportedDeliveryService.findAllByDateRange(eq(MATERIAL_NUMBER), eq(SUPPLIER_BPNL), eq(DirectionCharacteristic.INBOUND), any(), any()))
+            .thenReturn(List.of(reportedDelivery(SITE_BPNS, 2, 10)));
+
+        // when
+        List<OwnCustomerSupply> supplies = customerSupplyService.calculateCustomerDaysOfSupply(MATERIAL_NUMBER, SUPPLIER_BPNL,
+            SITE_BPNS, NUMBER_OF_DAYS);
+
+        // then
+        // stock at the start of the days: 100, 70, 40, 40, 10
+        assertArrayEquals(new double[]{4 + 1 / 3.0, 3 + 1 / 3.0, 2 + 1 / 3.0, 1 + 1 / 3.0, 1 / 3.0}, daysOfSupply(supplies), DELTA);
+        for (int i = 0; i < NUMBER_OF_DAYS; i++) {
+            assertEquals(at(i, LocalTime.MIDNIGHT), supplies.get(i).getDate());
+        }
+    }
+
+    @Test
+    void defaultZoneEastOfUtc_calculateCustomerDaysOfSupply_keepsValuesOnTheirDays() {
+        // given
+        when(ownDemandService.findAllByDateRange(eq(MATERIAL_NUMBER), eq(SUPPLIER_BPNL), any(), any())).thenReturn(List.of(
+            demand(SITE_BPNS, 0, LocalTime.NOON, 60),
+            demand(SITE_BPNS, 1, LocalTime.NOON, 60)));
+        TimeZone defaultTimeZone = TimeZone.getDefault();
+        List<OwnCustomerSupply> supplies;
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Europe/Berlin"));
+
+            // when
+            supplies = customerSupplyService.calculateCustomerDaysOfSupply(MATERIAL_NUMBER, SUPPLIER_BPNL,
+                SITE_BPNS, NUMBER_OF_DAYS);
+        } finally {
+            TimeZone.setDefault(defaultTimeZone);
+        }
+
+        // then
+        // stock at the start of the days: 100, 40, -20, -20, -20
+        assertArrayEquals(new double[]{1 + 40 / 60.0, 40 / 60.0, 0, 0, 0}, daysOfSupply(supplies), DELTA);
+        for (int i = 0; i < NUMBER_OF_DAYS; i++) {
+            assertEquals(at(i, LocalTime.MIDNIGHT), supplies.get(i).getDate());
+        }
+    }
+
+    @Test
+    void emptyDays_calculateCustomerDaysOfSupply_countsDaysWithoutConsumption() {
+        // given
+        when(ownDemandService.findAllByDateRange(eq(MATERIAL_NUMBER), eq(SUPPLIER_BPNL), any(), any())).thenReturn(List.of(
+            demand(SITE_BPNS, 2, LocalTime.NOON, 150)));
+
+        // when
+        List<OwnCustomerSupply> supplies = customerSupplyService.calculateCustomerDaysOfSupply(MATERIAL_NUMBER, SUPPLIER_BPNL,
+            SITE_BPNS, NUMBER_OF_DAYS);
+
+        // then
+        // the stock of 100 covers two empty days and two thirds of the third day
+        assertArrayEquals(new double[]{2 + 2 / 3.0, 1 + 2 / 3.0, 2 / 3.0, 0, 0}, daysOfSupply(supplies), DELTA);
+    }
+
+    @Test
+    void severalSites_calculateDaysOfSupply_calculatesEachSiteFromItsOwnValues() {
+        // given
+        when(ownDemandService.findAllByDateRange(eq(MATERIAL_NUMBER), eq(SUPPLIER_BPNL), any(), any())).thenReturn(List.of(
+            demand(SITE_BPNS, 0, LocalTime.NOON, 60),
+            demand(SITE_BPNS, 1, LocalTime.NOON, 60),
+            demand(OTHER_SITE_BPNS, 3, LocalTime.NOON, 50),
+            demand(UNREQUESTED_SITE_BPNS, 0, LocalTime.NOON, 1000)));
+        when(ownDeliveryService.findAllByDateRange(eq(MATERIAL_NUMBER), eq(SUPPLIER_BPNL), eq(DirectionCharacteristic.INBOUND), any(), any()))
+            .thenReturn(List.of(ownDelivery(SITE_BPNS, 1, 10), ownDelivery(OTHER_SITE_BPNS, 0, 20)));
+
+        // when
+        var suppliesBySite = customerSupplyService.calculateDaysOfSupply(MATERIAL_NUMBER, SUPPLIER_BPNL,
+            List.of(SITE_BPNS, OTHER_SITE_BPNS), NUMBER_OF_DAYS);
+
+        // then
+        assertEquals(List.of(SITE_BPNS, OTHER_SITE_BPNS), List.copyOf(suppliesBySite.keySet()));
+        // stock at the start of the days: 100, 40, -10, -10, -10
+        assertArrayEquals(new double[]{1 + 50 / 60.0, 50 / 60.0, 0, 0, 0}, daysOfSupply(suppliesBySite.get(SITE_BPNS)), DELTA);
+        // stock at the start of the days: 100, 120, 120, 120, 70
+        assertArrayEquals(new double[]{5, 4, 3, 2, 1}, daysOfSupply(suppliesBySite.get(OTHER_SITE_BPNS)), DELTA);
+        // the same results as for a single site
+        assertArrayEquals(daysOfSupply(suppliesBySite.get(SITE_BPNS)), daysOfSupply(
+            customerSupplyService.calculateCustomerDaysOfSupply(MATERIAL_NUMBER, SUPPLIER_BPNL, SITE_BPNS, NUMBER_OF_DAYS)), DELTA);
+    }
+
+    @Test
+    void noValues_calculateDaysOfSupply_countsAllRemainingDays() {
+        // when
+        var suppliesBySite = customerSupplyService.calculateDaysOfSupply(MATERIAL_NUMBER, SUPPLIER_BPNL,
+            List.of(SITE_BPNS, OTHER_SITE_BPNS), NUMBER_OF_DAYS);
+
+        // then
+        assertArrayEquals(new double[]{5, 4, 3, 2, 1}, daysOfSupply(suppliesBySite.get(SITE_BPNS)), DELTA);
+        assertArrayEquals(new double[]{5, 4, 3, 2, 1}, daysOfSupply(suppliesBySite.get(OTHER_SITE_BPNS)), DELTA);
+    }
+
+    private Date at(int day, LocalTime time) {
+        return Date.from(firstDay.plusDays(day).atTime(time).toInstant(ZoneOffset.UTC));
+    }
+
+    private OwnDemand demand(String demandLocationBpns, int day, LocalTime time, double quantity) {
+        return OwnDemand.builder()
+            .demandLocationBpns(demandLocationBpns)
+            .day(at(day, time))
+            .quantity(quantity)
+            .build();
+    }
+
+    private OwnDelivery ownDelivery(String destinationBpns, int day, double quantity) {
+        return OwnDelivery.builder()
+            .destinationBpns(destinationBpns)
+            .dateOfArrival(at(day, LocalTime.NOON))
+            .quantity(quantity)
+            .build();
+    }
+
+    private ReportedDelivery reportedDelivery(String destinationBpns, int day, double quantity) {
+        return ReportedDelivery.builder()
+            .destinationBpns(destinationBpns)
+            .dateOfArrival(at(day, LocalTime.NOON))
+            .quantity(quantity)
+            .build();
+    }
+
+    private static double[] daysOfSupply(List<? extends Supply> supplies) {
+        return supplies.stream().mapToDouble(Supply::getDaysOfSupply).toArray();
+    }
+}